@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.converter;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.connector.hdfs.config.HdfsConfig;
+import com.dtstack.chunjun.connector.hdfs.converter.HdfsTextSyncConverter;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link HdfsTextSyncConverter} parsing text fields and formatting rows back to text. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class HdfsTextConverterBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    private HdfsTextSyncConverter converter;
+    private GenericRowData[] textRows;
+    private ColumnRowData[] rows;
+    private String[] output;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        RowFixtures fixtures = new RowFixtures(shape);
+        HdfsConfig hdfsConfig = new HdfsConfig();
+        hdfsConfig.setColumn(fixtures.getFieldConfigs());
+        converter = new HdfsTextSyncConverter(fixtures.getFieldConfigs(), hdfsConfig);
+        textRows = fixtures.textRows();
+        rows = fixtures.columnRows();
+        output = new String[fixtures.getArity()];
+    }
+
+    @Benchmark
+    public RowData toInternal() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return converter.toInternal(textRows[cursor]);
+    }
+
+    @Benchmark
+    public String[] toExternal() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return converter.toExternal(rows[cursor], output);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.converter;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.config.CommonConfig;
+import com.dtstack.chunjun.connector.jdbc.converter.JdbcSyncConverter;
+import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import org.apache.flink.table.data.RowData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JdbcSyncConverter#toInternal} and {@link JdbcSyncConverter#toExternal} against in-memory
+ * stubs of {@link ResultSet} and {@link FieldNamedPreparedStatement}, so that only conversion cost
+ * is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JdbcConverterBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    private JdbcSyncConverter converter;
+    private RowFixtures fixtures;
+    private ColumnRowData[] rows;
+    private ResultSet resultSet;
+    private FieldNamedPreparedStatement statement;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        fixtures = new RowFixtures(shape);
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.setColumn(fixtures.getFieldConfigs());
+        converter = new JdbcSyncConverter(fixtures.getRowType(), commonConfig);
+        rows = fixtures.columnRows();
+        resultSet = resultSetOverFixtures();
+        statement = noopStatement();
+    }
+
+    @Benchmark
+    public RowData toInternal() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return converter.toInternal(resultSet);
+    }
+
+    @Benchmark
+    public FieldNamedPreparedStatement toExternal() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return converter.toExternal(rows[cursor], statement);
+    }
+
+    /** A result set positioned on the fixture row selected by {@link #cursor}. */
+    private ResultSet resultSetOverFixtures() {
+        return (ResultSet)
+                Proxy.newProxyInstance(
+                        getClass().getClassLoader(),
+                        new Class[] {ResultSet.class},
+                        (proxy, method, args) -> {
+                            if ("getObject".equals(method.getName())
+                                    && args.length == 1
+                                    && args[0] instanceof Integer) {
+                                return fixtures.rawRow(cursor)[(Integer) args[0] - 1];
+                            }
+                            return defaultValue(method.getReturnType());
+                        });
+    }
+
+    private static FieldNamedPreparedStatement noopStatement() {
+        return (FieldNamedPreparedStatement)
+                Proxy.newProxyInstance(
+                        JdbcConverterBenchmark.class.getClassLoader(),
+                        new Class[] {FieldNamedPreparedStatement.class},
+                        (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0D;
+        } else if (type == float.class) {
+            return 0F;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.converter;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.connector.kafka.conf.KafkaConfig;
+import com.dtstack.chunjun.connector.kafka.converter.KafkaSyncConverter;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import org.apache.flink.table.data.RowData;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link KafkaSyncConverter} decoding json records and encoding rows back to json. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class KafkaConverterBenchmark {
+
+    private static final String TOPIC = "benchmark";
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    private KafkaSyncConverter converter;
+    private ConsumerRecord<byte[], byte[]>[] records;
+    private ColumnRowData[] rows;
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        RowFixtures fixtures = new RowFixtures(shape);
+        KafkaConfig kafkaConfig = new KafkaConfig();
+        kafkaConfig.setCodec("json");
+        kafkaConfig.setAddMessage(false);
+        kafkaConfig.setTopic(TOPIC);
+        kafkaConfig.setColumn(fixtures.getFieldConfigs());
+        kafkaConfig.setTableFields(fixtures.getFieldNames());
+        converter = new KafkaSyncConverter(fixtures.getRowType(), kafkaConfig);
+
+        byte[][] json = fixtures.jsonRows();
+        records = new ConsumerRecord[json.length];
+        for (int i = 0; i < json.length; i++) {
+            records[i] = new ConsumerRecord<>(TOPIC, 0, i, null, json[i]);
+        }
+        rows = fixtures.columnRows();
+    }
+
+    @Benchmark
+    public RowData toInternal() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return converter.toInternal(records[cursor]);
+    }
+
+    @Benchmark
+    public byte[] toExternal() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return converter.toExternal(rows[cursor], null);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.fixture;
+
+import com.dtstack.chunjun.config.FieldConfig;
+import com.dtstack.chunjun.config.TypeConfig;
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.BooleanColumn;
+import com.dtstack.chunjun.element.column.DoubleColumn;
+import com.dtstack.chunjun.element.column.IntColumn;
+import com.dtstack.chunjun.element.column.LongColumn;
+import com.dtstack.chunjun.element.column.SqlDateColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+import com.dtstack.chunjun.element.column.TimestampColumn;
+import com.dtstack.chunjun.util.JsonUtil;
+
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic row fixtures shared by all benchmarks.
+ *
+ * <p>Columns cycle through {@link ColumnKind} so that a {@link RowShape#NARROW} row contains every
+ * kind exactly once and a {@link RowShape#WIDE} row repeats the pattern. All values are derived
+ * from a fixed seed, so two runs of the same benchmark always see the same data and results can be
+ * compared against a stored baseline.
+ */
+public final class RowFixtures {
+
+    public static final long SEED = 20230101L;
+
+    /** Number of distinct rows in each pool, large enough to defeat branch prediction on values. */
+    public static final int POOL_SIZE = 1024;
+
+    private static final String ALPHABET =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final long BASE_MILLIS = Timestamp.valueOf("2023-01-01 00:00:00").getTime();
+    private static final long BASE_EPOCH_DAY = LocalDate.of(2020, 1, 1).toEpochDay();
+
+    /** The column kinds used by the fixtures, in the order they appear in a row. */
+    public enum ColumnKind {
+        INT(new IntType()),
+        BIGINT(new BigIntType()),
+        DOUBLE(new DoubleType()),
+        STRING(new VarCharType(VarCharType.MAX_LENGTH)),
+        DECIMAL(new DecimalType(18, 4)),
+        TIMESTAMP(new TimestampType(3)),
+        BOOLEAN(new BooleanType()),
+        DATE(new DateType());
+
+        private final LogicalType logicalType;
+
+        ColumnKind(LogicalType logicalType) {
+            this.logicalType = logicalType;
+        }
+
+        public LogicalType getLogicalType() {
+            return logicalType;
+        }
+    }
+
+    private final RowShape shape;
+    private final ColumnKind[] kinds;
+    private final List<String> fieldNames;
+    /** Plain java values, one array per row, as a JDBC driver would return them. */
+    private final Object[][] values;
+
+    public RowFixtures(RowShape shape) {
+        this.shape = shape;
+        int arity = shape.getArity();
+        this.kinds = new ColumnKind[arity];
+        List<String> names = new ArrayList<>(arity);
+        ColumnKind[] all = ColumnKind.values();
+        for (int i = 0; i < arity; i++) {
+            kinds[i] = all[i % all.length];
+            names.add("c" + i + "_" + kinds[i].name().toLowerCase(Locale.ENGLISH));
+        }
+        this.fieldNames = Collections.unmodifiableList(names);
+
+        Random random = new Random(SEED + arity);
+        this.values = new Object[POOL_SIZE][];
+        for (int row = 0; row < POOL_SIZE; row++) {
+            Object[] rowValues = new Object[arity];
+            for (int i = 0; i < arity; i++) {
+                rowValues[i] = randomValue(kinds[i], random);
+            }
+            values[row] = rowValues;
+        }
+    }
+
+    public RowShape getShape() {
+        return shape;
+    }
+
+    public int getArity() {
+        return kinds.length;
+    }
+
+    public ColumnKind getKind(int pos) {
+        return kinds[pos];
+    }
+
+    public List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    public RowType getRowType() {
+        List<RowType.RowField> fields = new ArrayList<>(kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            fields.add(new RowType.RowField(fieldNames.get(i), kinds[i].getLogicalType()));
+        }
+        return new RowType(fields);
+    }
+
+    /** Script column definitions, as they would appear in a sync job json. */
+    public List<FieldConfig> getFieldConfigs() {
+        List<FieldConfig> fieldConfigs = new ArrayList<>(kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            FieldConfig fieldConfig = new FieldConfig();
+            fieldConfig.setName(fieldNames.get(i));
+            fieldConfig.setIndex(i);
+            fieldConfig.setType(TypeConfig.fromString(kinds[i].name()));
+            fieldConfigs.add(fieldConfig);
+        }
+        return fieldConfigs;
+    }
+
+    public Object[] rawRow(int row) {
+        return values[row];
+    }
+
+    public ColumnRowData[] columnRows() {
+        ColumnRowData[] rows = new ColumnRowData[POOL_SIZE];
+        for (int row = 0; row < POOL_SIZE; row++) {
+            ColumnRowData columnRowData = new ColumnRowData(kinds.length);
+            for (int i = 0; i < kinds.length; i++) {
+                columnRowData.addField(toColumn(kinds[i], values[row][i]));
+            }
+            rows[row] = columnRowData;
+        }
+        return rows;
+    }
+
+    /** Rows in flink internal format, as produced by the sql connectors. */
+    public GenericRowData[] genericRows() {
+        GenericRowData[] rows = new GenericRowData[POOL_SIZE];
+        for (int row = 0; row < POOL_SIZE; row++) {
+            GenericRowData genericRowData = new GenericRowData(kinds.length);
+            for (int i = 0; i < kinds.length; i++) {
+                genericRowData.setField(i, toInternal(kinds[i], values[row][i]));
+            }
+            rows[row] = genericRowData;
+        }
+        return rows;
+    }
+
+    /** Rows whose fields are the text representation of each value, as read from a text file. */
+    public GenericRowData[] textRows() {
+        GenericRowData[] rows = new GenericRowData[POOL_SIZE];
+        for (int row = 0; row < POOL_SIZE; row++) {
+            GenericRowData genericRowData = new GenericRowData(kinds.length);
+            for (int i = 0; i < kinds.length; i++) {
+                genericRowData.setField(i, toText(values[row][i]));
+            }
+            rows[row] = genericRowData;
+        }
+        return rows;
+    }
+
+    /** Rows encoded as utf-8 json objects keyed by field name, as consumed from kafka. */
+    public byte[][] jsonRows() {
+        byte[][] rows = new byte[POOL_SIZE][];
+        for (int row = 0; row < POOL_SIZE; row++) {
+            Map<String, Object> map = new LinkedHashMap<>((kinds.length << 2) / 3 + 1);
+            for (int i = 0; i < kinds.length; i++) {
+                Object value = values[row][i];
+                boolean numeric =
+                        value instanceof Number && !(value instanceof BigDecimal)
+                                || value instanceof Boolean;
+                map.put(fieldNames.get(i), numeric ? value : toText(value));
+            }
+            rows[row] = JsonUtil.toJson(map).getBytes(StandardCharsets.UTF_8);
+        }
+        return rows;
+    }
+
+    private static Object randomValue(ColumnKind kind, Random random) {
+        switch (kind) {
+            case INT:
+                return random.nextInt();
+            case BIGINT:
+                return random.nextLong();
+            case DOUBLE:
+                return random.nextDouble() * 1_000_000D;
+            case STRING:
+                return randomString(random, 8 + random.nextInt(25));
+            case DECIMAL:
+                return BigDecimal.valueOf(Math.abs(random.nextLong() % 100_000_000_000_000L), 4);
+            case TIMESTAMP:
+                return new Timestamp(
+                        BASE_MILLIS + random.nextInt(31_536_000) * 1000L + random.nextInt(1000));
+            case BOOLEAN:
+                return random.nextBoolean();
+            case DATE:
+                return Date.valueOf(LocalDate.ofEpochDay(BASE_EPOCH_DAY + random.nextInt(1500)));
+            default:
+                throw new IllegalArgumentException("Unsupported column kind: " + kind);
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    private static AbstractBaseColumn toColumn(ColumnKind kind, Object value) {
+        switch (kind) {
+            case INT:
+                return new IntColumn((Integer) value);
+            case BIGINT:
+                return new LongColumn((Long) value);
+            case DOUBLE:
+                return new DoubleColumn((Double) value);
+            case STRING:
+                return new StringColumn((String) value);
+            case DECIMAL:
+                return new BigDecimalColumn((BigDecimal) value);
+            case TIMESTAMP:
+                return new TimestampColumn((Timestamp) value, 3);
+            case BOOLEAN:
+                return new BooleanColumn((Boolean) value);
+            case DATE:
+                return new SqlDateColumn((Date) value);
+            default:
+                throw new IllegalArgumentException("Unsupported column kind: " + kind);
+        }
+    }
+
+    private static Object toInternal(ColumnKind kind, Object value) {
+        switch (kind) {
+            case STRING:
+                return StringData.fromString((String) value);
+            case DECIMAL:
+                return DecimalData.fromBigDecimal((BigDecimal) value, 18, 4);
+            case TIMESTAMP:
+                return TimestampData.fromTimestamp((Timestamp) value);
+            case DATE:
+                return (int) ((Date) value).toLocalDate().toEpochDay();
+            default:
+                return value;
+        }
+    }
+
+    private static String toText(Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return String.valueOf(value);
+    }
+}
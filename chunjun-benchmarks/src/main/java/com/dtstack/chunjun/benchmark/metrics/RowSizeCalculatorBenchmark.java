@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.metrics;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.metrics.RowSizeCalculator;
+
+import org.apache.flink.table.data.RowData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Cost of each {@link RowSizeCalculator} variant, paid by every sink once per written row. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RowSizeCalculatorBenchmark {
+
+    /** Sync jobs pass {@code ColumnRowData}, sql jobs pass {@code GenericRowData}. */
+    public enum RowFormat {
+        COLUMN,
+        GENERIC
+    }
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    @Param({"COLUMN", "GENERIC"})
+    public RowFormat rowFormat;
+
+    @Param({
+        "syncCalculator",
+        "objectSizeCalculator",
+        "toStringCalculator",
+        "schemaCalculator",
+        "undoCalculator"
+    })
+    public String calculatorType;
+
+    private RowSizeCalculator<RowData> calculator;
+    private RowData[] rows;
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        RowFixtures fixtures = new RowFixtures(shape);
+        rows = rowFormat == RowFormat.COLUMN ? fixtures.columnRows() : fixtures.genericRows();
+        boolean useAbstractColumn =
+                RowSizeCalculator.CalculatorType.SYNC_CALCULATOR
+                        .getTypeName()
+                        .equals(calculatorType);
+        if (useAbstractColumn && rowFormat == RowFormat.GENERIC) {
+            // the sync calculator only understands ColumnRowData, measure the fallback instead
+            calculatorType = RowSizeCalculator.CalculatorType.UNDO_CALCULATOR.getTypeName();
+            useAbstractColumn = false;
+        }
+        calculator = RowSizeCalculator.getRowSizeCalculator(calculatorType, useAbstractColumn);
+    }
+
+    @Benchmark
+    public long getObjectSize() {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return calculator.getObjectSize(rows[cursor]);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.report;
+
+import com.dtstack.chunjun.util.JsonUtil;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH json result against a stored baseline and prints a per-benchmark report.
+ *
+ * <p>Typical usage:
+ *
+ * <pre>
+ * java -jar chunjun-benchmarks/target/chunjun-benchmarks.jar -rf json -rff current.json
+ * java -cp chunjun-benchmarks/target/chunjun-benchmarks.jar \
+ *     com.dtstack.chunjun.benchmark.report.BaselineComparator baseline.json current.json [5]
+ * </pre>
+ *
+ * <p>The optional last argument is the tolerated slowdown in percent (default {@value
+ * #DEFAULT_THRESHOLD_PERCENT}). The process exits with status 1 when at least one benchmark
+ * regressed by more than the threshold, so the comparison can gate a ci job.
+ */
+public class BaselineComparator {
+
+    public static final double DEFAULT_THRESHOLD_PERCENT = 5D;
+
+    private static final String THROUGHPUT_MODE = "thrpt";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println(
+                    "Usage: BaselineComparator <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold =
+                args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Result> baseline = load(new File(args[0]));
+        Map<String, Result> current = load(new File(args[1]));
+
+        int regressions = report(baseline, current, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * Print the comparison table.
+     *
+     * @return the number of regressed benchmarks
+     */
+    static int report(Map<String, Result> baseline, Map<String, Result> current, double threshold) {
+        int regressions = 0;
+        System.out.printf(
+                "%-100s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(
+                        "%-100s %14s %14.3f %9s  NEW%n", entry.getKey(), "-", now.score, "-");
+                continue;
+            }
+            double change = now.improvementOver(before);
+            String verdict = "";
+            if (change < -threshold) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (change > threshold) {
+                verdict = "IMPROVEMENT";
+            }
+            System.out.printf(
+                    "%-100s %14.3f %14.3f %+8.2f%%  %s%n",
+                    entry.getKey(), before.score, now.score, change, verdict);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-100s %14s %14s %9s  MISSING%n", key, "", "-", "-");
+            }
+        }
+        System.out.printf(
+                "%n%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    /** Read a JMH json result file, keyed by benchmark name and parameters. */
+    static Map<String, Result> load(File file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        JsonNode root = JsonUtil.objectMapper.readTree(file);
+        for (JsonNode node : root) {
+            Map<String, String> params = new LinkedHashMap<>();
+            JsonNode paramsNode = node.get("params");
+            if (paramsNode != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = paramsNode.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    params.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            String key = node.get("benchmark").asText() + (params.isEmpty() ? "" : params);
+            JsonNode metric = node.get("primaryMetric");
+            results.put(
+                    key,
+                    new Result(
+                            node.get("mode").asText(),
+                            metric.get("score").asDouble(),
+                            metric.get("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    static class Result {
+        private final String mode;
+        private final double score;
+        private final String unit;
+
+        Result(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        /**
+         * Relative improvement in percent, positive is better. Throughput is better when higher,
+         * every other JMH mode measures time and is better when lower.
+         */
+        double improvementOver(Result baseline) {
+            if (!unit.equals(baseline.unit) || baseline.score == 0D) {
+                return 0D;
+            }
+            double ratio = (score - baseline.score) / baseline.score * 100D;
+            return THROUGHPUT_MODE.equals(mode) ? ratio : -ratio;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.serializer;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.typeutil.serializer.ColumnRowDataSerializer;
+
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.data.RowData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/** Per-record cost of {@link ColumnRowDataSerializer}, the serializer used between operators. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ColumnRowDataSerializerBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    /** Whether rows carry a header map, as cdc rows do. */
+    @Param({"false", "true"})
+    public boolean withHeader;
+
+    private ColumnRowDataSerializer serializer;
+    private ColumnRowData[] rows;
+    private byte[][] serializedRows;
+    private DataOutputSerializer output;
+    private DataInputDeserializer input;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        RowFixtures fixtures = new RowFixtures(shape);
+        serializer = new ColumnRowDataSerializer(fixtures.getRowType());
+        rows = fixtures.columnRows();
+        if (withHeader) {
+            for (ColumnRowData row : rows) {
+                fixtures.getFieldNames().forEach(row::addHeader);
+            }
+        }
+        output = new DataOutputSerializer(4096);
+        input = new DataInputDeserializer();
+        serializedRows = new byte[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            output.clear();
+            serializer.serialize(rows[i], output);
+            serializedRows[i] = output.getCopyOfBuffer();
+        }
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        output.clear();
+        serializer.serialize(nextRow(), output);
+        return output.length();
+    }
+
+    @Benchmark
+    public RowData deserialize() throws IOException {
+        input.setBuffer(serializedRows[nextIndex()]);
+        return serializer.deserialize(input);
+    }
+
+    @Benchmark
+    public RowData copy() {
+        return serializer.copy(nextRow());
+    }
+
+    @Benchmark
+    public int copyBinary() throws IOException {
+        input.setBuffer(serializedRows[nextIndex()]);
+        output.clear();
+        serializer.copy(input, output);
+        return output.length();
+    }
+
+    private ColumnRowData nextRow() {
+        return rows[nextIndex()];
+    }
+
+    private int nextIndex() {
+        int index = cursor;
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return index;
+    }
+}
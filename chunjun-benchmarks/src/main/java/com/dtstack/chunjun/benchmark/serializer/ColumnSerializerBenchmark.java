@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.serializer;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.column.ArrayColumn;
+import com.dtstack.chunjun.element.column.BaseMapColumn;
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.BooleanColumn;
+import com.dtstack.chunjun.element.column.ByteColumn;
+import com.dtstack.chunjun.element.column.BytesColumn;
+import com.dtstack.chunjun.element.column.DayTimeColumn;
+import com.dtstack.chunjun.element.column.DoubleColumn;
+import com.dtstack.chunjun.element.column.FloatColumn;
+import com.dtstack.chunjun.element.column.IntColumn;
+import com.dtstack.chunjun.element.column.LongColumn;
+import com.dtstack.chunjun.element.column.MapColumn;
+import com.dtstack.chunjun.element.column.NullColumn;
+import com.dtstack.chunjun.element.column.ShortColumn;
+import com.dtstack.chunjun.element.column.SqlDateColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+import com.dtstack.chunjun.element.column.TimeColumn;
+import com.dtstack.chunjun.element.column.TimestampColumn;
+import com.dtstack.chunjun.element.column.YearMonthColumn;
+import com.dtstack.chunjun.element.column.ZonedTimestampColumn;
+import com.dtstack.chunjun.typeutil.serializer.base.ArrayColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.BaseMapColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.BooleanColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.ByteColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.BytesColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.DayTimeColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.DecimalColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.DoubleColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.FloatColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.IntColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.LongColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.MapColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.NullColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.ShortColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.SqlDateColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.StringColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.TimeColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.TimestampColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.YearMonthColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.ZonedTimestampColumnSerializer;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DayTimeIntervalType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.types.logical.YearMonthIntervalType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** Per-column cost of every serializer in {@code typeutil.serializer.base}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnSerializerBenchmark {
+
+    /** One entry per column serializer, together with a generator of representative values. */
+    public enum SerializerCase {
+        ARRAY(
+                () -> new ArrayColumnSerializer(new BigIntType()),
+                random -> {
+                    long[] values = new long[16];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = random.nextLong();
+                    }
+                    return ArrayColumn.from(values, values.length, true);
+                }),
+        BASE_MAP(
+                () -> new BaseMapColumnSerializer(new VarCharType(), new BigIntType()),
+                random -> {
+                    Map<String, Long> map = new HashMap<>(16);
+                    for (int i = 0; i < 8; i++) {
+                        map.put("k" + i, random.nextLong());
+                    }
+                    return BaseMapColumn.from(map);
+                }),
+        BOOLEAN(() -> BooleanColumnSerializer.INSTANCE, r -> new BooleanColumn(r.nextBoolean())),
+        BYTE(() -> ByteColumnSerializer.INSTANCE, r -> new ByteColumn((byte) r.nextInt())),
+        BYTES(
+                () -> BytesColumnSerializer.INSTANCE,
+                random -> {
+                    byte[] bytes = new byte[16 + random.nextInt(48)];
+                    random.nextBytes(bytes);
+                    return new BytesColumn(bytes);
+                }),
+        DAY_TIME(
+                () ->
+                        new DayTimeColumnSerializer(
+                                new DayTimeIntervalType(
+                                        DayTimeIntervalType.DayTimeResolution.DAY_TO_SECOND)),
+                r -> new DayTimeColumn(Math.abs(r.nextLong() % 864_000_000L))),
+        DECIMAL(
+                () -> DecimalColumnSerializer.INSTANCE,
+                r -> new BigDecimalColumn(BigDecimal.valueOf(r.nextLong(), 4))),
+        DOUBLE(() -> DoubleColumnSerializer.INSTANCE, r -> new DoubleColumn(r.nextDouble())),
+        FLOAT(() -> FloatColumnSerializer.INSTANCE, r -> new FloatColumn(r.nextFloat())),
+        INT(() -> IntColumnSerializer.INSTANCE, r -> new IntColumn(r.nextInt())),
+        LONG(() -> LongColumnSerializer.INSTANCE, r -> new LongColumn(r.nextLong())),
+        MAP(
+                () -> MapColumnSerializer.INSTANCE,
+                random -> {
+                    Map<String, Object> map = new LinkedHashMap<>(16);
+                    for (int i = 0; i < 8; i++) {
+                        map.put("k" + i, random.nextInt(2) == 0 ? random.nextLong() : "v" + i);
+                    }
+                    return new MapColumn(map);
+                }),
+        NULL(() -> NullColumnSerializer.INSTANCE, r -> new NullColumn()),
+        SHORT(() -> ShortColumnSerializer.INSTANCE, r -> new ShortColumn((short) r.nextInt())),
+        SQL_DATE(
+                () -> SqlDateColumnSerializer.INSTANCE,
+                r -> new SqlDateColumn(new Date(r.nextInt(Integer.MAX_VALUE) * 1000L))),
+        STRING(
+                () -> new StringColumnSerializer(""),
+                random -> {
+                    byte[] bytes = new byte[8 + random.nextInt(56)];
+                    for (int i = 0; i < bytes.length; i++) {
+                        bytes[i] = (byte) ('a' + random.nextInt(26));
+                    }
+                    return new StringColumn(new String(bytes, StandardCharsets.US_ASCII));
+                }),
+        TIME(
+                () -> TimeColumnSerializer.INSTANCE,
+                r -> new TimeColumn(new Time(r.nextInt(86_400_000)))),
+        TIMESTAMP(
+                () -> TimestampColumnSerializer.INSTANCE,
+                r -> new TimestampColumn(new Timestamp(r.nextInt(Integer.MAX_VALUE) * 1000L), 3)),
+        YEAR_MONTH(
+                () ->
+                        new YearMonthColumnSerializer(
+                                new YearMonthIntervalType(
+                                        YearMonthIntervalType.YearMonthResolution.YEAR_TO_MONTH)),
+                r -> new YearMonthColumn(r.nextInt(120_000))),
+        ZONED_TIMESTAMP(
+                () -> ZonedTimestampColumnSerializer.INSTANCE,
+                r -> new ZonedTimestampColumn(r.nextInt(Integer.MAX_VALUE) * 1000L));
+
+        private final Supplier<TypeSerializer<AbstractBaseColumn>> serializerSupplier;
+        private final Function<Random, AbstractBaseColumn> columnGenerator;
+
+        @SuppressWarnings("unchecked")
+        SerializerCase(
+                Supplier<? extends TypeSerializer<? extends AbstractBaseColumn>> serializerSupplier,
+                Function<Random, AbstractBaseColumn> columnGenerator) {
+            this.serializerSupplier =
+                    () -> (TypeSerializer<AbstractBaseColumn>) serializerSupplier.get();
+            this.columnGenerator = columnGenerator;
+        }
+    }
+
+    @Param({
+        "ARRAY",
+        "BASE_MAP",
+        "BOOLEAN",
+        "BYTE",
+        "BYTES",
+        "DAY_TIME",
+        "DECIMAL",
+        "DOUBLE",
+        "FLOAT",
+        "INT",
+        "LONG",
+        "MAP",
+        "NULL",
+        "SHORT",
+        "SQL_DATE",
+        "STRING",
+        "TIME",
+        "TIMESTAMP",
+        "YEAR_MONTH",
+        "ZONED_TIMESTAMP"
+    })
+    public SerializerCase serializerCase;
+
+    private TypeSerializer<AbstractBaseColumn> serializer;
+    private AbstractBaseColumn[] columns;
+    private byte[][] serializedColumns;
+    private DataOutputSerializer output;
+    private DataInputDeserializer input;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        serializer = serializerCase.serializerSupplier.get();
+        Random random = new Random(RowFixtures.SEED);
+        columns = new AbstractBaseColumn[RowFixtures.POOL_SIZE];
+        serializedColumns = new byte[RowFixtures.POOL_SIZE][];
+        output = new DataOutputSerializer(256);
+        input = new DataInputDeserializer();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = serializerCase.columnGenerator.apply(random);
+            output.clear();
+            serializer.serialize(columns[i], output);
+            serializedColumns[i] = output.getCopyOfBuffer();
+        }
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        output.clear();
+        serializer.serialize(columns[nextIndex()], output);
+        return output.length();
+    }
+
+    @Benchmark
+    public AbstractBaseColumn deserialize() throws IOException {
+        input.setBuffer(serializedColumns[nextIndex()]);
+        return serializer.deserialize(input);
+    }
+
+    @Benchmark
+    public AbstractBaseColumn copy() {
+        return serializer.copy(columns[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        int index = cursor;
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        return index;
+    }
+}
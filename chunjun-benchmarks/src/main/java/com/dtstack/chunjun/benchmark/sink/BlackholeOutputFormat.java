@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.sink;
+
+import com.dtstack.chunjun.metrics.RowSizeCalculator;
+import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
+
+import org.apache.flink.api.common.accumulators.LongCounter;
+import org.apache.flink.table.data.RowData;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An output format that hands every flushed row to a JMH {@link Blackhole}, so that {@link
+ * BaseRichOutputFormat#writeRecord} can be measured without a runtime context or external system.
+ */
+public class BlackholeOutputFormat extends BaseRichOutputFormat {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Blackhole blackhole;
+
+    /** Initialise the state that {@link #open(int, int)} would set up in a running job. */
+    public void prepare(int batchSize, RowSizeCalculator<?> rowSizeCalculator, Blackhole bh) {
+        this.batchSize = batchSize;
+        this.rows = new ArrayList<>(batchSize);
+        this.flushEnable = new AtomicBoolean(true);
+        this.rowSizeCalculator = rowSizeCalculator;
+        this.numWriteCounter = new LongCounter();
+        this.bytesWriteCounter = new LongCounter();
+        this.durationCounter = new LongCounter();
+        this.snapshotWriteCounter = new LongCounter();
+        this.startTime = System.currentTimeMillis();
+        this.blackhole = bh;
+    }
+
+    public long getNumWrite() {
+        return numWriteCounter.getLocalValue();
+    }
+
+    @Override
+    protected void writeSingleRecordInternal(RowData rowData) {
+        blackhole.consume(rowData);
+    }
+
+    @Override
+    protected void writeMultipleRecordsInternal() {
+        for (RowData row : rows) {
+            blackhole.consume(row);
+        }
+    }
+
+    @Override
+    protected void openInternal(int taskNumber, int numTasks) {}
+
+    @Override
+    protected void closeInternal() {}
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.sink;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * A parquet {@link RecordConsumer} that hands every value to a JMH {@link Blackhole}, so that the
+ * cost of building and emitting a record can be measured without column encoding or file I/O.
+ */
+public class BlackholeRecordConsumer extends RecordConsumer {
+
+    private final Blackhole blackhole;
+
+    public BlackholeRecordConsumer(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void startMessage() {}
+
+    @Override
+    public void endMessage() {}
+
+    @Override
+    public void startField(String field, int index) {
+        blackhole.consume(index);
+    }
+
+    @Override
+    public void endField(String field, int index) {}
+
+    @Override
+    public void startGroup() {}
+
+    @Override
+    public void endGroup() {}
+
+    @Override
+    public void addInteger(int value) {
+        blackhole.consume(value);
+    }
+
+    @Override
+    public void addLong(long value) {
+        blackhole.consume(value);
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+        blackhole.consume(value);
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+        blackhole.consume(value);
+    }
+
+    @Override
+    public void addFloat(float value) {
+        blackhole.consume(value);
+    }
+
+    @Override
+    public void addDouble(double value) {
+        blackhole.consume(value);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.sink;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.config.CommonConfig;
+import com.dtstack.chunjun.connector.jdbc.converter.JdbcSyncConverter;
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.MultiValuesInsertWrapper;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.SimpleStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
+import com.dtstack.chunjun.converter.RawTypeMapper;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import org.apache.flink.table.data.RowData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per millisecond written in batches of {@value #BATCH_SIZE} through {@link
+ * MultiValuesInsertWrapper} compared with the per-row {@code addBatch}/{@code executeBatch} path of
+ * {@link SimpleStatementWrapper}, against an in-process H2 database.
+ *
+ * <p>Every batch is committed, as {@code JdbcOutputFormat} does outside of exactly-once. H2 runs in
+ * the benchmark JVM, so there is no network between driver and database: the score compares
+ * statement overhead on the database side (one statement per row against one per {@value
+ * #ROWS_PER_STATEMENT} rows) and says nothing about the round trips the multi-row statement saves
+ * on drivers that send a batch row by row. The SQL Server bulk copy and the Oracle direct-path
+ * insert need their own database and are not covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MultiValuesInsertBenchmark {
+
+    /** Rows per multi-row statement, the remainder of a batch goes to a shorter statement. */
+    private static final int ROWS_PER_STATEMENT = 100;
+
+    /** Rows per batch, the score is in rows. */
+    private static final int BATCH_SIZE = 1024;
+
+    private static final String TABLE = "benchmark";
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    private ColumnRowData[] rows;
+    private Connection connection;
+    private JdbcBatchStatementWrapper<RowData> perRowBatch;
+    private JdbcBatchStatementWrapper<RowData> multiValues;
+    private int cursor;
+
+    @Setup
+    public void setup() throws Exception {
+        RowFixtures fixtures = new RowFixtures(shape);
+        CommonConfig commonConfig = new CommonConfig();
+        commonConfig.setColumn(fixtures.getFieldConfigs());
+        JdbcSyncConverter converter = new JdbcSyncConverter(fixtures.getRowType(), commonConfig);
+        rows = fixtures.columnRows();
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createTable(fixtures));
+        }
+        connection.commit();
+
+        String[] fieldNames = fixtures.getFieldNames().toArray(new String[0]);
+        JdbcDialect dialect = new H2Dialect();
+        perRowBatch =
+                new SimpleStatementWrapper(
+                        FieldNamedPreparedStatement.prepareStatement(
+                                connection,
+                                dialect.getInsertIntoStatement(null, TABLE, fieldNames),
+                                fieldNames),
+                        converter);
+        multiValues =
+                new MultiValuesInsertWrapper(
+                        connection,
+                        dialect,
+                        null,
+                        TABLE,
+                        fieldNames,
+                        converter,
+                        ROWS_PER_STATEMENT,
+                        Long.MAX_VALUE);
+    }
+
+    /** The in-memory table is emptied between iterations so that it does not grow unbounded. */
+    @Setup(Level.Iteration)
+    public void truncate() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE \"" + TABLE + "\"");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        perRowBatch.close();
+        multiValues.close();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public JdbcBatchStatementWrapper<RowData> perRowBatch() throws Exception {
+        return writeBatch(perRowBatch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public JdbcBatchStatementWrapper<RowData> multiValues() throws Exception {
+        return writeBatch(multiValues);
+    }
+
+    private JdbcBatchStatementWrapper<RowData> writeBatch(
+            JdbcBatchStatementWrapper<RowData> wrapper) throws Exception {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+            wrapper.addToBatch(rows[cursor]);
+        }
+        wrapper.executeBatch();
+        connection.commit();
+        return wrapper;
+    }
+
+    private static String createTable(RowFixtures fixtures) {
+        List<String> fieldNames = fixtures.getFieldNames();
+        StringBuilder sql = new StringBuilder("CREATE TABLE \"").append(TABLE).append("\" (");
+        for (int i = 0; i < fieldNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('"')
+                    .append(fieldNames.get(i))
+                    .append("\" ")
+                    .append(sqlType(fixtures.getKind(i)));
+        }
+        return sql.append(")").toString();
+    }
+
+    private static String sqlType(RowFixtures.ColumnKind kind) {
+        switch (kind) {
+            case STRING:
+                return "VARCHAR";
+            case DECIMAL:
+                return "DECIMAL(18, 4)";
+            case TIMESTAMP:
+                return "TIMESTAMP(3)";
+            default:
+                return kind.name();
+        }
+    }
+
+    /** H2 accepts the generic ANSI statements, including multi-row VALUES. */
+    private static class H2Dialect implements JdbcDialect {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String dialectName() {
+            return "H2";
+        }
+
+        @Override
+        public boolean canHandle(String url) {
+            return url.startsWith("jdbc:h2:");
+        }
+
+        @Override
+        public RawTypeMapper getRawTypeConverter() {
+            return null;
+        }
+
+        @Override
+        public boolean supportMultiValuesInsert() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.sink;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.config.FieldConfig;
+import com.dtstack.chunjun.connector.hdfs.config.HdfsConfig;
+import com.dtstack.chunjun.connector.hdfs.converter.HdfsParquetSyncConverter;
+import com.dtstack.chunjun.connector.hdfs.sink.ParquetRecord;
+import com.dtstack.chunjun.connector.hdfs.sink.ParquetRecordWriteSupport;
+import com.dtstack.chunjun.connector.hdfs.util.HdfsUtil;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.util.ColumnTypeUtil;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.TimestampData;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.serde2.io.DateWritable;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.GroupWriter;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HDFS parquet sink row path: the former example {@link Group} tree written through {@link
+ * GroupWriter} against {@link HdfsParquetSyncConverter} filling a reused {@link ParquetRecord}
+ * written through {@link ParquetRecordWriteSupport}.
+ *
+ * <p>Both paths emit into a {@link BlackholeRecordConsumer}, so the numbers cover row conversion
+ * and record assembly only; page encoding, compression and file I/O are identical for both and are
+ * left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ParquetWriteBenchmark {
+
+    private static final ColumnTypeUtil.DecimalInfo DECIMAL_INFO =
+            new ColumnTypeUtil.DecimalInfo(18, 4);
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    private RowFixtures fixtures;
+    private ColumnRowData[] rows;
+    private int cursor;
+
+    private SimpleGroupFactory groupFactory;
+    private GroupWriter groupWriter;
+    private List<String> columnNameList;
+
+    private HdfsParquetSyncConverter converter;
+    private ParquetRecord record;
+    private ParquetRecordWriteSupport writeSupport;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        fixtures = new RowFixtures(shape);
+        rows = fixtures.columnRows();
+        columnNameList = fixtures.getFieldNames();
+        MessageType schema = buildSchema();
+        BlackholeRecordConsumer recordConsumer = new BlackholeRecordConsumer(blackhole);
+
+        groupFactory = new SimpleGroupFactory(schema);
+        groupWriter = new GroupWriter(recordConsumer, schema);
+
+        List<FieldConfig> fieldConfigs = fixtures.getFieldConfigs();
+        HdfsConfig hdfsConfig = new HdfsConfig();
+        hdfsConfig.setColumn(fieldConfigs);
+        converter = new HdfsParquetSyncConverter(fieldConfigs, hdfsConfig);
+        converter.setColumnNameList(columnNameList);
+        Map<String, ColumnTypeUtil.DecimalInfo> decimalColInfo = new HashMap<>();
+        for (int i = 0; i < fixtures.getArity(); i++) {
+            if (fixtures.getKind(i) == RowFixtures.ColumnKind.DECIMAL) {
+                decimalColInfo.put(columnNameList.get(i), DECIMAL_INFO);
+            }
+        }
+        converter.setDecimalColInfo(decimalColInfo);
+        record = new ParquetRecord(schema, columnNameList);
+        writeSupport = new ParquetRecordWriteSupport(schema);
+        writeSupport.init(new Configuration(false));
+        writeSupport.prepareForWrite(recordConsumer);
+    }
+
+    @Benchmark
+    public void groupWriter() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        groupWriter.write(toGroup(rows[cursor]));
+    }
+
+    @Benchmark
+    public void recordWriteSupport() throws Exception {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        record.clear();
+        writeSupport.write(converter.toExternal(rows[cursor], record));
+    }
+
+    /** The per-row conversion HdfsParquetSyncConverter did before it wrote into ParquetRecord. */
+    private Group toGroup(RowData rowData) {
+        Group group = groupFactory.newGroup();
+        for (int index = 0; index < columnNameList.size(); index++) {
+            if (rowData.isNullAt(index)) {
+                continue;
+            }
+            String name = columnNameList.get(index);
+            switch (fixtures.getKind(index)) {
+                case INT:
+                    group.add(name, rowData.getInt(index));
+                    break;
+                case BIGINT:
+                    group.add(name, rowData.getLong(index));
+                    break;
+                case DOUBLE:
+                    group.add(name, rowData.getDouble(index));
+                    break;
+                case STRING:
+                    group.add(name, rowData.getString(index).toString());
+                    break;
+                case DECIMAL:
+                    HiveDecimal hiveDecimal =
+                            HiveDecimal.enforcePrecisionScale(
+                                    HiveDecimal.create(
+                                            rowData.getDecimal(
+                                                            index,
+                                                            DECIMAL_INFO.getPrecision(),
+                                                            DECIMAL_INFO.getScale())
+                                                    .toBigDecimal()),
+                                    DECIMAL_INFO.getPrecision(),
+                                    DECIMAL_INFO.getScale());
+                    group.add(
+                            name,
+                            HdfsUtil.decimalToBinary(
+                                    hiveDecimal,
+                                    DECIMAL_INFO.getPrecision(),
+                                    DECIMAL_INFO.getScale()));
+                    break;
+                case TIMESTAMP:
+                    group.add(name, HdfsUtil.timestampToInt96(rowData.getTimestamp(index, 6)));
+                    break;
+                case BOOLEAN:
+                    group.add(name, rowData.getBoolean(index));
+                    break;
+                case DATE:
+                    TimestampData timestampData = rowData.getTimestamp(index, 6);
+                    Date date = Date.valueOf(timestampData.toLocalDateTime().toLocalDate());
+                    group.add(name, DateWritable.dateToDays(date));
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Unsupported column kind: " + fixtures.getKind(index));
+            }
+        }
+        return group;
+    }
+
+    /** The schema HdfsParquetOutputFormat builds for the fixture columns. */
+    private MessageType buildSchema() {
+        Types.MessageTypeBuilder typeBuilder = Types.buildMessage();
+        for (int i = 0; i < fixtures.getArity(); i++) {
+            String name = columnNameList.get(i);
+            switch (fixtures.getKind(i)) {
+                case INT:
+                    typeBuilder.optional(PrimitiveType.PrimitiveTypeName.INT32).named(name);
+                    break;
+                case BIGINT:
+                    typeBuilder.optional(PrimitiveType.PrimitiveTypeName.INT64).named(name);
+                    break;
+                case DOUBLE:
+                    typeBuilder.optional(PrimitiveType.PrimitiveTypeName.DOUBLE).named(name);
+                    break;
+                case STRING:
+                    typeBuilder
+                            .optional(PrimitiveType.PrimitiveTypeName.BINARY)
+                            .as(OriginalType.UTF8)
+                            .named(name);
+                    break;
+                case DECIMAL:
+                    typeBuilder
+                            .optional(PrimitiveType.PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY)
+                            .as(OriginalType.DECIMAL)
+                            .precision(DECIMAL_INFO.getPrecision())
+                            .scale(DECIMAL_INFO.getScale())
+                            .length(
+                                    HdfsUtil.computeMinBytesForPrecision(
+                                            DECIMAL_INFO.getPrecision()))
+                            .named(name);
+                    break;
+                case TIMESTAMP:
+                    typeBuilder.optional(PrimitiveType.PrimitiveTypeName.INT96).named(name);
+                    break;
+                case BOOLEAN:
+                    typeBuilder.optional(PrimitiveType.PrimitiveTypeName.BOOLEAN).named(name);
+                    break;
+                case DATE:
+                    typeBuilder
+                            .optional(PrimitiveType.PrimitiveTypeName.INT32)
+                            .as(OriginalType.DATE)
+                            .named(name);
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Unsupported column kind: " + fixtures.getKind(i));
+            }
+        }
+        return typeBuilder.named("Pair");
+    }
+}
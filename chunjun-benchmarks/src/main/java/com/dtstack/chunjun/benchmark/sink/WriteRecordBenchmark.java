@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.sink;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.metrics.RowSizeCalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Framework overhead of {@link com.dtstack.chunjun.sink.format.BaseRichOutputFormat#writeRecord}:
+ * locking, buffering, batch flushing and write metrics, with a sink that does no I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class WriteRecordBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    @Param({"1", "1024"})
+    public int batchSize;
+
+    @Param({"syncCalculator", "objectSizeCalculator"})
+    public String calculatorType;
+
+    private BlackholeOutputFormat outputFormat;
+    private ColumnRowData[] rows;
+    private int cursor;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        rows = new RowFixtures(shape).columnRows();
+        boolean useAbstractColumn =
+                RowSizeCalculator.CalculatorType.SYNC_CALCULATOR
+                        .getTypeName()
+                        .equals(calculatorType);
+        outputFormat = new BlackholeOutputFormat();
+        outputFormat.prepare(
+                batchSize,
+                RowSizeCalculator.getRowSizeCalculator(calculatorType, useAbstractColumn),
+                blackhole);
+    }
+
+    @Benchmark
+    public void writeRecord() {
+        cursor = (cursor + 1) & (RowFixtures.POOL_SIZE - 1);
+        outputFormat.writeRecord(rows[cursor]);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.benchmark.transformer;
+
+import com.dtstack.chunjun.benchmark.fixture.RowFixtures;
+import com.dtstack.chunjun.benchmark.fixture.RowShape;
+import com.dtstack.chunjun.util.TableUtil;
+
+import org.apache.flink.api.common.functions.RichMapFunction;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.DiscardingSink;
+import org.apache.flink.table.api.Schema;
+import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput of a sync job transformer: rows from the reader are registered as a table,
+ * run through a simple sql and handed back to the writer. {@code retract} is the former {@code
+ * fromDataStream}/{@code toRetractStream} path, {@code changelog} the {@link
+ * TableUtil#fromChangelogStream}/{@link TableUtil#toChangelogStream} bridge.
+ *
+ * <p>Every invocation runs a whole local job, so the score includes job startup, amortized over
+ * {@link #ROWS} rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(TransformBridgeBenchmark.ROWS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransformBridgeBenchmark {
+
+    static final int ROWS = 1_000_000;
+
+    @Param({"NARROW", "WIDE"})
+    public RowShape shape;
+
+    @Param({"retract", "changelog"})
+    public String bridge;
+
+    @Param({"projection", "filter"})
+    public String transform;
+
+    private RowType rowType;
+    private String transformSql;
+
+    @Setup
+    public void setup() {
+        RowFixtures fixtures = new RowFixtures(shape);
+        rowType = fixtures.getRowType();
+        List<String> fieldNames = fixtures.getFieldNames();
+        // column kinds cycle INT, BIGINT, DOUBLE, STRING, ...
+        String intField = fieldNames.get(0);
+        String stringField = fieldNames.get(3);
+        if ("projection".equals(transform)) {
+            transformSql =
+                    String.format(
+                            "select %s + 1 as id, upper(%s) as name from source",
+                            intField, stringField);
+        } else {
+            transformSql = String.format("select * from source where %s %% 2 = 0", intField);
+        }
+    }
+
+    @Benchmark
+    public void transform() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(1);
+        StreamTableEnvironment tableEnv = StreamTableEnvironment.create(env);
+
+        DataStream<RowData> source =
+                env.fromSequence(0, ROWS - 1)
+                        .map(new FixtureRowMapper(shape), InternalTypeInfo.of(rowType));
+
+        DataStream<RowData> result;
+        if ("retract".equals(bridge)) {
+            result = retractBridge(tableEnv, source);
+        } else {
+            tableEnv.createTemporaryView("source", TableUtil.fromChangelogStream(tableEnv, source));
+            result = TableUtil.toChangelogStream(tableEnv, tableEnv.sqlQuery(transformSql));
+        }
+        result.addSink(new DiscardingSink<>());
+        env.execute("transform-bridge-benchmark");
+    }
+
+    private DataStream<RowData> retractBridge(
+            StreamTableEnvironment tableEnv, DataStream<RowData> source) {
+        Schema.Builder builder = Schema.newBuilder();
+        for (RowType.RowField rowField : rowType.getFields()) {
+            builder.column(rowField.getName(), rowField.getType().asSerializableString());
+        }
+        tableEnv.createTemporaryView("source", tableEnv.fromDataStream(source, builder.build()));
+        Table table = tableEnv.sqlQuery(transformSql);
+        return tableEnv.toRetractStream(
+                        table,
+                        TableUtil.getTypeInformation(
+                                table.getSchema().getFieldDataTypes(),
+                                table.getSchema().getFieldNames()))
+                .map(f -> f.f1);
+    }
+
+    /** Cycles through the fixture pool, the rows are built on the task side. */
+    private static class FixtureRowMapper extends RichMapFunction<Long, RowData> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RowShape shape;
+        private transient GenericRowData[] rows;
+
+        private FixtureRowMapper(RowShape shape) {
+            this.shape = shape;
+        }
+
+        @Override
+        public void open(Configuration parameters) {
+            rows = new RowFixtures(shape).genericRows();
+        }
+
+        @Override
+        public RowData map(Long value) {
+            return rows[(int) (value & (RowFixtures.POOL_SIZE - 1))];
+        }
+    }
+}
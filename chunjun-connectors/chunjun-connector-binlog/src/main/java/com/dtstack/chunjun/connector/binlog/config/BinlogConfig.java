@@ -89,4 +89,13 @@ public class BinlogConfig extends CommonConfig {
     private int queryTimeOut = 300000;
 
     private int connectTimeOut = 60000;
+
+    /** canal解析线程与读取线程之间队列的最大条数 */
+    private int queueCapacity = 4096;
+
+    /** canal解析线程与读取线程之间队列的最大字节数 */
+    private long queueMaxBytes = 64 * 1024 * 1024L;
+
+    /** 读取线程每次从队列中批量取出的最大条数 */
+    private int queueDrainSize = 256;
 }
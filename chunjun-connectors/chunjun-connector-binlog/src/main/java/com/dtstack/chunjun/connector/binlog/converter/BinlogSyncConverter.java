@@ -34,9 +34,22 @@ import com.dtstack.chunjun.element.column.MapColumn;
 import com.dtstack.chunjun.element.column.NullColumn;
 import com.dtstack.chunjun.element.column.StringColumn;
 import com.dtstack.chunjun.element.column.TimestampColumn;
+import com.dtstack.chunjun.typeutil.ColumnRowDataTypeInfo;
+import com.dtstack.chunjun.typeutil.serializer.ColumnRowDataSerializer;
+import com.dtstack.chunjun.typeutil.serializer.HeaderDictionary;
+import com.dtstack.chunjun.typeutil.serializer.base.DecimalColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.MapColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.StringColumnSerializer;
 import com.dtstack.chunjun.util.DateUtil;
 
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.MapType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
 import org.apache.flink.types.RowKind;
 
 import com.alibaba.otter.canal.parse.inbound.mysql.ddl.DdlResult;
@@ -73,11 +86,63 @@ public class BinlogSyncConverter extends AbstractCDCRawTypeMapper<BinlogEventRow
 
     private static final long serialVersionUID = -4387050357951282347L;
 
+    /** 不平铺、不拆分update时数据的header */
+    private static final String[] UNPAVED_HEADERS = {
+        DATABASE, SCHEMA, TABLE, TS, LSN, OP_TIME, TYPE, BEFORE, AFTER
+    };
+    /** 不平铺、不拆分update时数据的ext header */
+    private static final String[] UNPAVED_EXT_HEADERS = {
+        DATABASE, SCHEMA, TABLE, TS, LSN, OP_TIME, TYPE
+    };
+
     public BinlogSyncConverter(boolean pavingData, boolean splitUpdate) {
         super.pavingData = pavingData;
         super.split = splitUpdate;
     }
 
+    /** 平铺或拆分update时header包含表的字段名，随表变化，只有不平铺、不拆分时header固定 */
+    @Override
+    @SuppressWarnings("unchecked")
+    public TypeInformation<RowData> getHeaderLayoutTypeInformation() {
+        if (pavingData || split) {
+            return null;
+        }
+        LogicalType string = new VarCharType(VarCharType.MAX_LENGTH);
+        LogicalType map = new MapType(string, string);
+        LogicalType[] types = {
+            string,
+            string,
+            string,
+            new DecimalType(DecimalType.MAX_PRECISION, 0),
+            string,
+            string,
+            string,
+            map,
+            map
+        };
+        // before、after为MapColumn，由MapColumnSerializer序列化
+        TypeSerializer[] serializers = {
+            new StringColumnSerializer(""),
+            new StringColumnSerializer(""),
+            new StringColumnSerializer(""),
+            DecimalColumnSerializer.INSTANCE,
+            new StringColumnSerializer(""),
+            new StringColumnSerializer(""),
+            new StringColumnSerializer(""),
+            MapColumnSerializer.INSTANCE,
+            MapColumnSerializer.INSTANCE
+        };
+        HeaderDictionary headerDictionary =
+                HeaderDictionary.builder()
+                        .addLayout(
+                                Arrays.asList(UNPAVED_HEADERS), Arrays.asList(UNPAVED_EXT_HEADERS))
+                        .build();
+        return new ColumnRowDataTypeInfo<>(
+                RowType.of(types, UNPAVED_HEADERS),
+                RowData.class,
+                new ColumnRowDataSerializer(types, serializers, headerDictionary));
+    }
+
     @Override
     public LinkedList<RowData> toInternal(BinlogEventRow binlogEventRow) throws Exception {
         LinkedList<RowData> result = new LinkedList<>();
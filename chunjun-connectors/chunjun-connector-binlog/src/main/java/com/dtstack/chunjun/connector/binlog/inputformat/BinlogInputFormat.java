@@ -20,12 +20,14 @@ package com.dtstack.chunjun.connector.binlog.inputformat;
 
 import com.dtstack.chunjun.connector.binlog.config.BinlogConfig;
 import com.dtstack.chunjun.connector.binlog.listener.BinlogAlarmHandler;
+import com.dtstack.chunjun.connector.binlog.listener.BinlogEventQueue;
 import com.dtstack.chunjun.connector.binlog.listener.BinlogEventSink;
 import com.dtstack.chunjun.connector.binlog.listener.BinlogJournalValidator;
 import com.dtstack.chunjun.connector.binlog.listener.BinlogPositionManager;
 import com.dtstack.chunjun.connector.binlog.listener.HeartBeatController;
 import com.dtstack.chunjun.connector.binlog.util.BinlogUtil;
 import com.dtstack.chunjun.constants.ConstantValue;
+import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.converter.AbstractCDCRawTypeMapper;
 import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
@@ -34,6 +36,8 @@ import com.dtstack.chunjun.util.JsonUtil;
 
 import org.apache.flink.core.io.GenericInputSplit;
 import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.data.RowData;
 
 import com.alibaba.otter.canal.filter.aviater.AviaterRegexFilter;
@@ -167,6 +171,7 @@ public class BinlogInputFormat extends BaseRichInputFormat {
         log.info("binlog config:{}", JsonUtil.toPrintJson(binlogConfig));
 
         binlogEventSink = new BinlogEventSink(this);
+        registerQueueMetrics(binlogEventSink.getQueue());
         controller =
                 getController(binlogConfig.username, binlogConfig.getFilter(), binlogEventSink);
 
@@ -177,6 +182,18 @@ public class BinlogInputFormat extends BaseRichInputFormat {
         controller.start();
     }
 
+    private void registerQueueMetrics(BinlogEventQueue queue) {
+        MetricGroup metricGroup =
+                getRuntimeContext().getMetricGroup().addGroup(Metrics.METRIC_GROUP_KEY_CHUNJUN);
+        metricGroup.gauge(Metrics.BINLOG_QUEUE_SIZE, (Gauge<Integer>) queue::size);
+        metricGroup.gauge(Metrics.BINLOG_QUEUE_BYTES, (Gauge<Long>) queue::getBytes);
+        metricGroup.gauge(
+                Metrics.BINLOG_QUEUE_FILL_PERCENT, (Gauge<Integer>) queue::getFillPercent);
+        metricGroup.gauge(Metrics.BINLOG_QUEUE_BLOCKED_COUNT, (Gauge<Long>) queue::getBlockedCount);
+        metricGroup.gauge(
+                Metrics.BINLOG_QUEUE_BLOCKED_TIME, (Gauge<Long>) queue::getBlockedTimeMillis);
+    }
+
     protected MysqlEventParser getController(
             String username, String filter, BinlogEventSink binlogEventSink) {
         MysqlEventParser controller = new MysqlEventParser();
@@ -242,6 +259,10 @@ public class BinlogInputFormat extends BaseRichInputFormat {
 
     @Override
     protected void closeInternal() {
+        if (binlogEventSink != null) {
+            // 先释放被队列阻塞的canal解析线程，controller才能正常停止
+            binlogEventSink.close();
+        }
         if (controller != null && controller.isStart()) {
             controller.stop();
             controller = null;
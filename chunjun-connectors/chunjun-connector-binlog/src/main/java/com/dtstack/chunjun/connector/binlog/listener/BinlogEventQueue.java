@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.binlog.listener;
+
+import com.dtstack.chunjun.cdc.DdlRowData;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * canal解析线程与读取线程之间的有界队列，同时按条数和字节数限制容量.
+ *
+ * <p>队列已满时{@link #put(RowData)}阻塞canal解析线程，从而对binlog拉取形成反压；队列为空时总能放入一条数据，避免单条超大数据永远无法放入。
+ */
+public class BinlogEventQueue {
+
+    /** 无法得知字节数的数据（如sql模式下的GenericRowData）按此大小计算 */
+    static final long DEFAULT_ROW_BYTES = 1024;
+
+    private final int capacity;
+    private final long maxBytes;
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private long bytes;
+    private long blockedNanos;
+    private long blockedCount;
+    private boolean closed;
+
+    public BinlogEventQueue(int capacity, long maxBytes) {
+        Preconditions.checkArgument(capacity > 0, "queue capacity must be positive");
+        Preconditions.checkArgument(maxBytes > 0, "queue max bytes must be positive");
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 放入数据，队列已满时阻塞直到有空间.
+     *
+     * @return 队列已关闭时返回false，数据被丢弃
+     */
+    public boolean put(RowData rowData) throws InterruptedException {
+        long size = sizeOf(rowData);
+        lock.lockInterruptibly();
+        try {
+            if (isFull(size)) {
+                blockedCount++;
+                long start = System.nanoTime();
+                try {
+                    while (!closed && isFull(size)) {
+                        notFull.await();
+                    }
+                } finally {
+                    blockedNanos += System.nanoTime() - start;
+                }
+            }
+            if (closed) {
+                return false;
+            }
+            enqueue(rowData, size);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 不受容量限制地放入数据，用于需要立即被读取线程感知的异常数据 */
+    public void forcePut(RowData rowData) {
+        lock.lock();
+        try {
+            enqueue(rowData, sizeOf(rowData));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量取出数据，队列为空时最多等待timeout.
+     *
+     * @return 取出的条数
+     */
+    public int drainTo(Collection<RowData> target, int maxElements, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (entries.isEmpty()) {
+                if (nanos <= 0 || closed) {
+                    return 0;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            int count = 0;
+            Entry entry;
+            while (count < maxElements && (entry = entries.poll()) != null) {
+                target.add(entry.rowData);
+                bytes -= entry.size;
+                count++;
+            }
+            notFull.signalAll();
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 关闭队列，唤醒所有阻塞的线程 */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 按条数和字节数中较高的一项计算的填充率，百分比 */
+    public int getFillPercent() {
+        lock.lock();
+        try {
+            return (int)
+                    Math.min(
+                            100,
+                            Math.max(entries.size() * 100L / capacity, bytes * 100 / maxBytes));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBlockedCount() {
+        lock.lock();
+        try {
+            return blockedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBlockedTimeMillis() {
+        lock.lock();
+        try {
+            return TimeUnit.NANOSECONDS.toMillis(blockedNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFull(long size) {
+        return !entries.isEmpty() && (entries.size() >= capacity || bytes + size > maxBytes);
+    }
+
+    private void enqueue(RowData rowData, long size) {
+        entries.add(new Entry(rowData, size));
+        bytes += size;
+        notEmpty.signal();
+    }
+
+    static long sizeOf(RowData rowData) {
+        if (rowData instanceof ColumnRowData) {
+            return ((ColumnRowData) rowData).getByteSize();
+        } else if (rowData instanceof DdlRowData) {
+            return ((DdlRowData) rowData).getByteSize();
+        }
+        return DEFAULT_ROW_BYTES;
+    }
+
+    private static class Entry {
+        private final RowData rowData;
+        private final long size;
+
+        private Entry(RowData rowData, long size) {
+            this.rowData = rowData;
+            this.size = size;
+        }
+    }
+}
@@ -45,13 +45,13 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -61,14 +61,23 @@ public class BinlogEventSink extends AbstractCanalLifeCycle
         implements com.alibaba.otter.canal.sink.CanalEventSink<List<CanalEntry.Entry>> {
 
     private final BinlogInputFormat format;
-    private final LinkedBlockingDeque<RowData> queue;
+    private final BinlogEventQueue queue;
+    /** 从queue中批量取出、尚未被读取线程返回的数据，只由读取线程访问 */
+    private final ArrayDeque<RowData> drained;
+
+    private final int drainSize;
     private final AbstractCDCRawTypeMapper rowConverter;
 
     private final String OFFSET_LENGTH;
 
     public BinlogEventSink(BinlogInputFormat format) {
         this.format = format;
-        this.queue = new LinkedBlockingDeque<>();
+        BinlogConfig binlogConfig = format.getBinlogConfig();
+        this.queue =
+                new BinlogEventQueue(
+                        binlogConfig.getQueueCapacity(), binlogConfig.getQueueMaxBytes());
+        this.drainSize = binlogConfig.getQueueDrainSize();
+        this.drained = new ArrayDeque<>(drainSize);
         this.rowConverter = format.getCdcRowConverter();
         this.OFFSET_LENGTH = "%0" + this.format.getBinlogConfig().getOffsetLength() + "d";
     }
@@ -225,7 +234,10 @@ public class BinlogEventSink extends AbstractCanalLifeCycle
         RowData rowData = null;
         try {
             while (rowDatalist != null && (rowData = rowDatalist.poll()) != null) {
-                queue.put(rowData);
+                if (!queue.put(rowData)) {
+                    log.warn("queue is closed, discard rowData[{}]", rowData);
+                    break;
+                }
             }
         } catch (InterruptedException e) {
             log.error(
@@ -238,13 +250,18 @@ public class BinlogEventSink extends AbstractCanalLifeCycle
     /**
      * 从队列中获取RowData数据，对于异常情况需要把异常抛出并停止任务
      *
+     * <p>每次从队列批量取出至多drainSize条数据，减少读取线程与canal解析线程之间的锁竞争
+     *
      * @return
      */
     public RowData takeRowDataFromQueue() {
         RowData rowData = null;
         try {
-            // 最多阻塞100ms
-            rowData = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (drained.isEmpty()) {
+                // 最多阻塞100ms
+                queue.drainTo(drained, drainSize, 100, TimeUnit.MILLISECONDS);
+            }
+            rowData = drained.poll();
             if (rowData instanceof ErrorMsgRowData) {
                 throw new RuntimeException(rowData.toString());
             }
@@ -261,14 +278,17 @@ public class BinlogEventSink extends AbstractCanalLifeCycle
      * @param rowData
      */
     public void processErrorMsgRowData(ErrorMsgRowData rowData) {
-        try {
-            queue.put(rowData);
-        } catch (InterruptedException e) {
-            log.error(
-                    "processErrorMsgRowData interrupted rowData:{} error:{}",
-                    rowData,
-                    ExceptionUtil.getErrorMessage(e));
-        }
+        // 异常数据不受队列容量限制，保证读取线程能及时感知并停止任务
+        queue.forcePut(rowData);
+    }
+
+    public BinlogEventQueue getQueue() {
+        return queue;
+    }
+
+    /** 关闭队列，释放被阻塞的canal解析线程 */
+    public void close() {
+        queue.close();
     }
 
     protected String buildLastPosition(CanalEntry.Entry entry) {
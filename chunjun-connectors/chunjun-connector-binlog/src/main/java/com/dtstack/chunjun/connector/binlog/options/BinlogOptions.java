@@ -156,6 +156,27 @@ public class BinlogOptions {
                     .defaultValue(60000)
                     .withDescription(
                             "The timeout period for the database driver (mysql-connector-java) to establish a TCP connection with the mysql server, in milliseconds");
+
+    public static final ConfigOption<Integer> QUEUE_CAPACITY =
+            ConfigOptions.key("queue-capacity")
+                    .intType()
+                    .defaultValue(4096)
+                    .withDescription(
+                            "Max number of parsed rows buffered between the binlog parser and the reader, the parser blocks when it is reached.");
+
+    public static final ConfigOption<Long> QUEUE_MAX_BYTES =
+            ConfigOptions.key("queue-max-bytes")
+                    .longType()
+                    .defaultValue(64 * 1024 * 1024L)
+                    .withDescription(
+                            "Max bytes of parsed rows buffered between the binlog parser and the reader, the parser blocks when it is reached.");
+
+    public static final ConfigOption<Integer> QUEUE_DRAIN_SIZE =
+            ConfigOptions.key("queue-drain-size")
+                    .intType()
+                    .defaultValue(256)
+                    .withDescription("Max number of rows the reader takes from the queue at once.");
+
     public static final ConfigOption<String> TIMESTAMP_FORMAT =
             ConfigOptions.key("timestamp-format.standard")
                     .stringType()
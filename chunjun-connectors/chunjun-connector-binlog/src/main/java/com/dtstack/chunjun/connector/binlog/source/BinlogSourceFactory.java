@@ -31,6 +31,7 @@ import com.dtstack.chunjun.source.SourceFactory;
 import com.dtstack.chunjun.util.JsonUtil;
 import com.dtstack.chunjun.util.TableUtil;
 
+import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.table.data.RowData;
@@ -70,6 +71,16 @@ public class BinlogSourceFactory extends SourceFactory {
         return createInput(builder.finish());
     }
 
+    /** 解析ddl时数据中有DdlRowData，只能以默认的类型信息传输 */
+    @Override
+    protected TypeInformation<RowData> getHeaderLayoutTypeInformation() {
+        if (!binlogConfig.isDdlSkip()) {
+            return null;
+        }
+        return new BinlogSyncConverter(binlogConfig.isPavingData(), binlogConfig.isSplit())
+                .getHeaderLayoutTypeInformation();
+    }
+
     @Override
     public RawTypeMapper getRawTypeMapper() {
         return MysqlBinlogRawTypeMapper::apply;
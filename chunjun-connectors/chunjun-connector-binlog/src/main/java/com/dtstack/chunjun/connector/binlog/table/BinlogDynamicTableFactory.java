@@ -75,6 +75,9 @@ public class BinlogDynamicTableFactory implements DynamicTableSourceFactory {
         options.add(BinlogOptions.QUERY_TIME_OUT);
         options.add(BinlogOptions.CONNECT_TIME_OUT);
         options.add(BinlogOptions.TIMESTAMP_FORMAT);
+        options.add(BinlogOptions.QUEUE_CAPACITY);
+        options.add(BinlogOptions.QUEUE_MAX_BYTES);
+        options.add(BinlogOptions.QUEUE_DRAIN_SIZE);
         return options;
     }
 
@@ -138,6 +141,9 @@ public class BinlogDynamicTableFactory implements DynamicTableSourceFactory {
         binlogConfig.setSplit(true);
         binlogConfig.setQueryTimeOut(config.get(BinlogOptions.QUERY_TIME_OUT));
         binlogConfig.setConnectTimeOut(config.get(BinlogOptions.CONNECT_TIME_OUT));
+        binlogConfig.setQueueCapacity(config.get(BinlogOptions.QUEUE_CAPACITY));
+        binlogConfig.setQueueMaxBytes(config.get(BinlogOptions.QUEUE_MAX_BYTES));
+        binlogConfig.setQueueDrainSize(config.get(BinlogOptions.QUEUE_DRAIN_SIZE));
 
         return binlogConfig;
     }
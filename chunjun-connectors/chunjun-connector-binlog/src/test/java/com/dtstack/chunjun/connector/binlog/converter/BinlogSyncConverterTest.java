@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.binlog.converter;
+
+import com.dtstack.chunjun.connector.binlog.listener.BinlogEventRow;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.typeutil.serializer.ColumnRowDataSerializer;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.data.RowData;
+
+import com.alibaba.otter.canal.protocol.CanalEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class BinlogSyncConverterTest {
+
+    private static BinlogEventRow newUpdateEvent() {
+        CanalEntry.RowData rowData =
+                CanalEntry.RowData.newBuilder()
+                        .addBeforeColumns(newColumn("id", "1"))
+                        .addBeforeColumns(newColumn("name", "before"))
+                        .addAfterColumns(newColumn("id", "1"))
+                        .addAfterColumns(newColumn("name", "after"))
+                        .build();
+        CanalEntry.RowChange rowChange =
+                CanalEntry.RowChange.newBuilder()
+                        .setEventType(CanalEntry.EventType.UPDATE)
+                        .addRowDatas(rowData)
+                        .build();
+        return new BinlogEventRow(rowChange, "dev", "test", 1666000000000L, "mysql-bin.000001/4");
+    }
+
+    private static CanalEntry.Column newColumn(String name, String value) {
+        return CanalEntry.Column.newBuilder()
+                .setName(name)
+                .setValue(value)
+                .setMysqlType("varchar(64)")
+                .build();
+    }
+
+    @Test
+    public void testUnpavedRowUsesHeaderLayout() throws Exception {
+        BinlogSyncConverter converter = new BinlogSyncConverter(false, false);
+        TypeInformation<RowData> typeInformation = converter.getHeaderLayoutTypeInformation();
+        Assert.assertNotNull(typeInformation);
+        ColumnRowDataSerializer serializer =
+                (ColumnRowDataSerializer) typeInformation.createSerializer(new ExecutionConfig());
+
+        List<RowData> rows = converter.toInternal(newUpdateEvent());
+        Assert.assertEquals(1, rows.size());
+        ColumnRowData row = (ColumnRowData) rows.get(0);
+
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        serializer.serialize(row, out);
+        DataInputDeserializer in = new DataInputDeserializer(out.getCopyOfBuffer());
+        // rowKind + byteSize，之后是header的编码，布局id编码为 -2 - id
+        in.readByte();
+        in.readInt();
+        Assert.assertEquals(-2, in.readInt());
+
+        ColumnRowData copy =
+                serializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+        Assert.assertEquals(row.getRowKind(), copy.getRowKind());
+        Assert.assertEquals(row.getHeaderInfo(), copy.getHeaderInfo());
+        Assert.assertEquals(row.getExtHeader(), copy.getExtHeader());
+        Assert.assertEquals(row.getString(2), copy.getString(2));
+        Assert.assertEquals(row.getField(8).asString(), copy.getField(8).asString());
+    }
+
+    @Test
+    public void testPavedRowHasNoHeaderLayout() {
+        Assert.assertNull(new BinlogSyncConverter(true, false).getHeaderLayoutTypeInformation());
+        Assert.assertNull(new BinlogSyncConverter(false, true).getHeaderLayoutTypeInformation());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.binlog.listener;
+
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.StringColumn;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BinlogEventQueueTest {
+
+    private static ColumnRowData row(String value) {
+        ColumnRowData rowData = new ColumnRowData(1);
+        rowData.addField(new StringColumn(value));
+        return rowData;
+    }
+
+    @Test
+    public void testDrainInBatches() throws InterruptedException {
+        BinlogEventQueue queue = new BinlogEventQueue(10, Long.MAX_VALUE);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(queue.put(row(String.valueOf(i))));
+        }
+
+        List<RowData> drained = new ArrayList<>();
+        Assert.assertEquals(3, queue.drainTo(drained, 3, 0, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(2, queue.drainTo(drained, 3, 0, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, queue.drainTo(drained, 3, 10, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(
+                    String.valueOf(i), ((ColumnRowData) drained.get(i)).getField(0).asString());
+        }
+        Assert.assertEquals(0, queue.getBytes());
+    }
+
+    @Test
+    public void testBlockWhenFull() throws InterruptedException {
+        ColumnRowData first = row("aaaa");
+        long rowBytes = BinlogEventQueue.sizeOf(first);
+        BinlogEventQueue queue = new BinlogEventQueue(10, rowBytes);
+        Assert.assertTrue(queue.put(first));
+        Assert.assertEquals(100, queue.getFillPercent());
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean put = new AtomicBoolean(false);
+        Thread producer =
+                new Thread(
+                        () -> {
+                            started.countDown();
+                            try {
+                                put.set(queue.put(row("bbbb")));
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+        producer.start();
+        started.await();
+        Thread.sleep(100);
+        Assert.assertFalse(put.get());
+        Assert.assertEquals(1, queue.size());
+
+        List<RowData> drained = new ArrayList<>();
+        queue.drainTo(drained, 1, 0, TimeUnit.MILLISECONDS);
+        producer.join(10000);
+        Assert.assertTrue(put.get());
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals(1, queue.getBlockedCount());
+    }
+
+    @Test
+    public void testOversizedRowIsAcceptedWhenEmpty() throws InterruptedException {
+        BinlogEventQueue queue = new BinlogEventQueue(10, 1);
+        Assert.assertTrue(queue.put(GenericRowData.of(1)));
+        Assert.assertEquals(BinlogEventQueue.DEFAULT_ROW_BYTES, queue.getBytes());
+
+        queue.forcePut(GenericRowData.of(2));
+        Assert.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testCloseReleasesProducer() throws InterruptedException {
+        BinlogEventQueue queue = new BinlogEventQueue(1, Long.MAX_VALUE);
+        queue.put(row("a"));
+
+        AtomicBoolean put = new AtomicBoolean(true);
+        Thread producer =
+                new Thread(
+                        () -> {
+                            try {
+                                put.set(queue.put(row("b")));
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+        producer.start();
+        Thread.sleep(100);
+        queue.close();
+        producer.join(10000);
+        Assert.assertFalse(put.get());
+    }
+}
@@ -131,6 +131,11 @@ public class Db2Dialect implements JdbcDialect {
         return Optional.of(mergeIntoSql.toString());
     }
 
+    @Override
+    public boolean supportMultiValuesInsert() {
+        return true;
+    }
+
     @Override
     public boolean supportUpsert() {
         return true;
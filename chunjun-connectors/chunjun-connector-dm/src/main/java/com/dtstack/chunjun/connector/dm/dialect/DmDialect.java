@@ -80,6 +80,11 @@ public class DmDialect implements JdbcDialect {
         return sb.toString();
     }
 
+    @Override
+    public boolean supportMultiValuesInsert() {
+        return true;
+    }
+
     @Override
     public boolean supportUpsert() {
         return true;
@@ -109,6 +109,11 @@ public class DorisHttpOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    @Override
+    protected boolean supportsAsyncFlush() {
+        return false;
+    }
+
     @Override
     protected synchronized void writeRecordInternal() {
         if (flushEnable.get()) {
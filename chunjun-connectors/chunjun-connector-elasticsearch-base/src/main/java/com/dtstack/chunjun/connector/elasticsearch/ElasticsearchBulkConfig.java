@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.elasticsearch;
+
+/** es6、es7写出时bulk请求的公共配置 */
+public interface ElasticsearchBulkConfig {
+
+    /** 同时在途的bulk请求数，为0时在task线程中同步发送 */
+    int getConcurrentRequests();
+
+    /** 单个bulk请求的最大字节数，超过后立即发送 */
+    long getBulkFlushMaxBytes();
+
+    /** bulk请求被拒绝（429）时的退避方式：DISABLED、CONSTANT、EXPONENTIAL */
+    String getBulkBackoffType();
+
+    /** 退避重试的初始间隔，单位毫秒 */
+    long getBulkBackoffDelayMills();
+
+    /** 退避重试的最大次数 */
+    int getBulkBackoffMaxRetries();
+}
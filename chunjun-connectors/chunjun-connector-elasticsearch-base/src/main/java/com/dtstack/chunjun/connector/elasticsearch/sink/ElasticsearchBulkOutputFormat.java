@@ -0,0 +1,464 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.elasticsearch.sink;
+
+import com.dtstack.chunjun.connector.elasticsearch.ElasticsearchBulkConfig;
+import com.dtstack.chunjun.constants.Metrics;
+import com.dtstack.chunjun.factory.ChunJunThreadFactory;
+import com.dtstack.chunjun.restore.FormatState;
+import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
+import com.dtstack.chunjun.throwable.WriteRecordException;
+
+import org.apache.flink.table.data.RowData;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * es6、es7通过BulkProcessor异步批量写出的公共流程：请求的发送结果在bulk回调中逐条统计，在task线程中计入写出条数和脏数据
+ *
+ * @param <R> 单条写请求的类型
+ */
+@Slf4j
+public abstract class ElasticsearchBulkOutputFormat<R> extends BaseRichOutputFormat {
+
+    private static final long serialVersionUID = -1529453104712364316L;
+
+    /** 关闭时等待BulkProcessor中请求完成的时间 */
+    protected static final long CLOSE_TIMEOUT_SECONDS = 60L;
+    /** 等待在途bulk请求完成时的最长单次等待时间 */
+    private static final long FLUSH_WAIT_MILLS = 100L;
+    /** 指数退避的最大倍数为2^10 */
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    /** 已加入BulkProcessor、尚未得到最终结果的请求数，同时用作等待请求完成的锁 */
+    private transient AtomicLong pendingRequests;
+    /** 写入成功、尚未计入numWriteCounter的请求数 */
+    private transient AtomicLong succeededRequests;
+    /** 写入失败、等待在task线程中记为脏数据的请求 */
+    private transient ConcurrentLinkedQueue<FailedRequest> failedRequests;
+    /** 已加入BulkProcessor、尚未发送的请求对应的原始数据，按请求对象本身查找 */
+    private transient Map<R, RowData> rowsByRequest;
+
+    private transient ScheduledExecutorService retryScheduler;
+
+    @Override
+    protected void openInternal(int taskNumber, int numTasks) throws IOException {
+        pendingRequests = new AtomicLong();
+        succeededRequests = new AtomicLong();
+        failedRequests = new ConcurrentLinkedQueue<>();
+        rowsByRequest = Collections.synchronizedMap(new IdentityHashMap<>());
+        retryScheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ChunJunThreadFactory("es-bulk-retry", true));
+        openClient(resolveConcurrentRequests());
+    }
+
+    /**
+     * 将批次中的数据交给BulkProcessor异步写出，在途bulk请求数达到concurrentRequests时阻塞，对上游形成反压；
+     * 请求的结果由bulk回调统计，因此返回前清空rows
+     */
+    @Override
+    protected void writeMultipleRecordsInternal() throws Exception {
+        drainBulkResults();
+        for (RowData rowData : rows) {
+            R request;
+            try {
+                request = createRequest(rowData);
+            } catch (Exception e) {
+                collectDirty(rowData, new WriteRecordException(e.getMessage(), e, 0, rowData));
+                continue;
+            }
+            rowsByRequest.put(request, rowData);
+            pendingRequests.incrementAndGet();
+            addRequest(request);
+        }
+        rows.clear();
+        flushProcessor();
+    }
+
+    /**
+     * checkpoint前写出缓存的数据并等待所有在途的bulk请求完成（包括被拒绝后重试的请求），保证checkpoint之前的数据都已写入或记为脏数据
+     *
+     * @return FormatState
+     */
+    @Override
+    public synchronized FormatState getFormatState() throws Exception {
+        writeRecordInternal();
+        flushBulkRequests();
+        return super.getFormatState();
+    }
+
+    /** 写出结果在bulk回调中异步统计，不支持异步写出 */
+    @Override
+    protected boolean supportsAsyncFlush() {
+        return false;
+    }
+
+    @Override
+    protected void closeInternal() throws IOException {
+        try {
+            flushBulkRequests();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for bulk requests", e);
+        } finally {
+            try {
+                closeClient();
+            } finally {
+                if (retryScheduler != null) {
+                    retryScheduler.shutdownNow();
+                }
+            }
+        }
+    }
+
+    /**
+     * 发送一个bulk请求，被拒绝的请求以及因429、连接重置等原因整体失败的bulk请求按退避策略重试，所有请求都得到最终结果后才调用onComplete。
+     * onComplete用于释放BulkProcessor的并发名额，因此重试总是先于后续的bulk请求发送
+     *
+     * @param requests bulk请求中的写请求
+     * @param onComplete 所有请求都得到最终结果后调用
+     */
+    protected void executeBulk(List<R> requests, Runnable onComplete) {
+        List<BulkEntry<R>> entries = new ArrayList<>(requests.size());
+        for (R request : requests) {
+            entries.add(new BulkEntry<>(request, rowsByRequest.remove(request)));
+        }
+        executeBulk(entries, 0, onComplete);
+    }
+
+    private void executeBulk(List<BulkEntry<R>> entries, int retries, Runnable onComplete) {
+        BulkCallback callback =
+                new BulkCallback() {
+                    @Override
+                    public void onResponse(List<BulkItemResult> results) {
+                        handleResponse(entries, results, retries, onComplete);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable failure) {
+                        if (retries < getMaxRetries() && isRetryable(failure)) {
+                            log.warn(
+                                    "bulk request with {} actions failed, retry {}",
+                                    entries.size(),
+                                    retries + 1,
+                                    failure);
+                            retry(entries, retries, onComplete);
+                            return;
+                        }
+                        log.error("bulk request with {} actions failed", entries.size(), failure);
+                        failRequests(entries, failure);
+                        onComplete.run();
+                    }
+                };
+        List<R> requests = new ArrayList<>(entries.size());
+        for (BulkEntry<R> entry : entries) {
+            requests.add(entry.request);
+        }
+        try {
+            sendBulk(requests, callback);
+        } catch (Exception e) {
+            callback.onFailure(e);
+        }
+    }
+
+    private void handleResponse(
+            List<BulkEntry<R>> entries,
+            List<BulkItemResult> results,
+            int retries,
+            Runnable onComplete) {
+        List<BulkEntry<R>> rejected = new ArrayList<>();
+        int finished = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            BulkItemResult result = results.get(i);
+            if (!result.isFailed()) {
+                succeededRequests.incrementAndGet();
+            } else if (result.isRejected() && retries < getMaxRetries()) {
+                rejected.add(entries.get(i));
+                continue;
+            } else {
+                failedRequests.add(
+                        new FailedRequest(
+                                entries.get(i).rowData, result.getMessage(), result.getCause()));
+            }
+            finished++;
+        }
+        finishRequests(finished);
+        if (rejected.isEmpty()) {
+            onComplete.run();
+            return;
+        }
+        retry(rejected, retries, onComplete);
+    }
+
+    /** 按退避策略延迟重新发送 */
+    private void retry(List<BulkEntry<R>> entries, int retries, Runnable onComplete) {
+        try {
+            retryScheduler.schedule(
+                    () -> executeBulk(entries, retries + 1, onComplete),
+                    getBackoffDelay(retries + 1),
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 正在关闭，不再重试
+            failRequests(entries, e);
+            onComplete.run();
+        }
+    }
+
+    /** 整个bulk请求失败时，其中的请求都记为脏数据 */
+    private void failRequests(List<BulkEntry<R>> entries, Throwable failure) {
+        for (BulkEntry<R> entry : entries) {
+            failedRequests.add(new FailedRequest(entry.rowData, failure.getMessage(), failure));
+        }
+        finishRequests(entries.size());
+    }
+
+    /**
+     * 整个bulk请求失败时是否可以重试，异常链中任意一个异常可以重试即可
+     *
+     * @param failure bulk请求的异常
+     * @return 是否可以重试
+     */
+    private boolean isRetryable(Throwable failure) {
+        for (Throwable cause : ExceptionUtils.getThrowableList(failure)) {
+            if (isRetryableCause(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 连接被重置、连接超时等网络异常可以重试，子类补充服务端返回429的异常
+     *
+     * @param cause 异常链中的一个异常
+     * @return 是否可以重试
+     */
+    protected boolean isRetryableCause(Throwable cause) {
+        return cause instanceof SocketException || cause instanceof SocketTimeoutException;
+    }
+
+    /** 发送BulkProcessor中缓存的请求，等待所有在途的请求完成 */
+    private void flushBulkRequests() throws InterruptedException {
+        if (pendingRequests == null) {
+            return;
+        }
+        flushProcessor();
+        while (pendingRequests.get() > 0) {
+            synchronized (pendingRequests) {
+                if (pendingRequests.get() > 0) {
+                    pendingRequests.wait(FLUSH_WAIT_MILLS);
+                }
+            }
+        }
+        drainBulkResults();
+    }
+
+    /** 在task线程中将bulk回调的结果计入写出条数和脏数据 */
+    private void drainBulkResults() {
+        numWriteCounter.add(succeededRequests.getAndSet(0));
+        FailedRequest failedRequest;
+        while ((failedRequest = failedRequests.poll()) != null) {
+            collectDirty(
+                    failedRequest.rowData,
+                    new WriteRecordException(
+                            failedRequest.message, failedRequest.cause, -1, failedRequest.rowData));
+        }
+    }
+
+    private void collectDirty(RowData data, WriteRecordException exception) {
+        long globalErrors = accumulatorCollector.getAccumulatorValue(Metrics.NUM_ERRORS, false);
+        dirtyManager.collect(data, exception, null, globalErrors);
+    }
+
+    private void finishRequests(int count) {
+        if (count > 0 && pendingRequests.addAndGet(-count) <= 0) {
+            synchronized (pendingRequests) {
+                pendingRequests.notifyAll();
+            }
+        }
+    }
+
+    private int getMaxRetries() {
+        ElasticsearchBulkConfig bulkConfig = getBulkConfig();
+        if ("DISABLED".equalsIgnoreCase(bulkConfig.getBulkBackoffType())) {
+            return 0;
+        }
+        return Math.max(0, bulkConfig.getBulkBackoffMaxRetries());
+    }
+
+    private long getBackoffDelay(int retries) {
+        ElasticsearchBulkConfig bulkConfig = getBulkConfig();
+        long delay = bulkConfig.getBulkBackoffDelayMills();
+        if ("EXPONENTIAL".equalsIgnoreCase(bulkConfig.getBulkBackoffType())) {
+            delay = delay << Math.min(retries - 1, MAX_BACKOFF_SHIFT);
+        }
+        return delay;
+    }
+
+    /**
+     * 开启退避重试时，并发的bulk请求可能先于被拒绝请求的重试写入同一文档，因此同时在途的bulk请求数不超过1
+     *
+     * @return BulkProcessor的concurrentRequests
+     */
+    private int resolveConcurrentRequests() {
+        int concurrentRequests = getBulkConfig().getConcurrentRequests();
+        if (concurrentRequests > 1 && getMaxRetries() > 0) {
+            log.warn(
+                    "concurrentRequests {} is reduced to 1 because bulk backoff retry is enabled, "
+                            + "set bulkBackoffType to DISABLED to send bulk requests concurrently",
+                    concurrentRequests);
+            return 1;
+        }
+        return concurrentRequests;
+    }
+
+    /**
+     * 子类实现，创建client和BulkProcessor，BulkProcessor通过{@link #executeBulk(List, Runnable)}发送bulk请求
+     *
+     * @param concurrentRequests 同时在途的bulk请求数
+     * @throws IOException
+     */
+    protected abstract void openClient(int concurrentRequests) throws IOException;
+
+    /**
+     * 子类实现，关闭BulkProcessor和client
+     *
+     * @throws IOException
+     */
+    protected abstract void closeClient() throws IOException;
+
+    /** 返回bulk请求的配置 */
+    protected abstract ElasticsearchBulkConfig getBulkConfig();
+
+    /**
+     * 将数据转为写请求
+     *
+     * @param rowData 数据
+     * @return 写请求
+     * @throws Exception
+     */
+    protected abstract R createRequest(RowData rowData) throws Exception;
+
+    /** 将写请求加入BulkProcessor */
+    protected abstract void addRequest(R request);
+
+    /** 发送BulkProcessor中缓存的请求 */
+    protected abstract void flushProcessor();
+
+    /**
+     * 异步发送bulk请求，请求中每条数据的结果按请求顺序交给callback
+     *
+     * @param requests 写请求
+     * @param callback 回调
+     */
+    protected abstract void sendBulk(List<R> requests, BulkCallback callback);
+
+    /** bulk请求的回调 */
+    protected interface BulkCallback {
+
+        void onResponse(List<BulkItemResult> results);
+
+        void onFailure(Throwable failure);
+    }
+
+    /** bulk请求中单条写请求的结果 */
+    protected static class BulkItemResult {
+
+        private static final BulkItemResult SUCCEEDED =
+                new BulkItemResult(false, false, null, null);
+
+        private final boolean failed;
+        /** 因集群繁忙被拒绝，可以重试 */
+        private final boolean rejected;
+
+        private final String message;
+        private final Throwable cause;
+
+        private BulkItemResult(boolean failed, boolean rejected, String message, Throwable cause) {
+            this.failed = failed;
+            this.rejected = rejected;
+            this.message = message;
+            this.cause = cause;
+        }
+
+        public static BulkItemResult succeeded() {
+            return SUCCEEDED;
+        }
+
+        public static BulkItemResult failed(boolean rejected, String message, Throwable cause) {
+            return new BulkItemResult(true, rejected, message, cause);
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        public boolean isRejected() {
+            return rejected;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+    }
+
+    /** 写请求及其原始数据 */
+    private static class BulkEntry<R> {
+        private final R request;
+        private final RowData rowData;
+
+        private BulkEntry(R request, RowData rowData) {
+            this.request = request;
+            this.rowData = rowData;
+        }
+    }
+
+    private static class FailedRequest {
+        private final RowData rowData;
+        private final String message;
+        private final Throwable cause;
+
+        private FailedRequest(RowData rowData, String message, Throwable cause) {
+            this.rowData = rowData;
+            this.message = message;
+            this.cause = cause;
+        }
+    }
+}
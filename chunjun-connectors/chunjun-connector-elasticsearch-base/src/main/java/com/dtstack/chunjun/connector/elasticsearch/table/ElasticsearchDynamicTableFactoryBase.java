@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.dtstack.chunjun.connector.elasticsearch.table.ElasticsearchSinkOptions.BULK_FLUSH_CONCURRENT_REQUESTS_OPTION;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_PERIOD;
@@ -83,6 +84,7 @@ public abstract class ElasticsearchDynamicTableFactoryBase
                         BULK_FLUSH_BACKOFF_TYPE_OPTION,
                         BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION,
                         BULK_FLUSH_BACKOFF_DELAY_OPTION,
+                        BULK_FLUSH_CONCURRENT_REQUESTS_OPTION,
                         CONNECTION_PATH_PREFIX,
                         FORMAT_OPTION,
                         PASSWORD_OPTION,
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.elasticsearch.sink;
+
+import com.dtstack.chunjun.connector.elasticsearch.ElasticsearchBulkConfig;
+import com.dtstack.chunjun.dirty.manager.DirtyManager;
+import com.dtstack.chunjun.metrics.AccumulatorCollector;
+import com.dtstack.chunjun.metrics.BaseMetric;
+import com.dtstack.chunjun.restore.FormatState;
+
+import org.apache.flink.api.common.accumulators.LongCounter;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.reflect.Whitebox.getInternalState;
+import static org.powermock.reflect.Whitebox.setInternalState;
+
+public class ElasticsearchBulkOutputFormatTest {
+
+    private DirtyManager dirtyManager;
+    private List<RowData> rows;
+    private StubOutputFormat format;
+
+    @Before
+    public void setUp() throws IOException {
+        dirtyManager = mock(DirtyManager.class);
+        rows = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rows.add(GenericRowData.of(i));
+        }
+        format = new StubOutputFormat();
+        setInternalState(format, "dirtyManager", dirtyManager);
+        setInternalState(format, "accumulatorCollector", mock(AccumulatorCollector.class));
+        setInternalState(format, "numWriteCounter", new LongCounter());
+        setInternalState(format, "outputMetric", mock(BaseMetric.class));
+        setInternalState(format, "formatState", new FormatState(0, null));
+        setInternalState(format, "flushEnable", new AtomicBoolean(true));
+        setInternalState(format, "rows", new ArrayList<>(rows));
+        format.openInternal(0, 1);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        format.closeInternal();
+    }
+
+    @Test
+    public void testRejectedItemsAreRetried() throws Exception {
+        format.outcomes.add(items(false, true, false, true));
+        format.outcomes.add(items(false, false));
+
+        FormatState state = format.getFormatState();
+
+        Assert.assertEquals(2, format.sent.size());
+        Assert.assertEquals(Arrays.asList("doc-1", "doc-3"), format.sent.get(1));
+        Assert.assertEquals(4L, state.getNumberWrite());
+        Assert.assertEquals(0L, pendingRequests());
+        verify(dirtyManager, never()).collect(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testRetryableBulkFailureIsRetried() throws Exception {
+        format.outcomes.add(failure(new IOException(new SocketException("Connection reset"))));
+        format.outcomes.add(items(false, false, false, false));
+
+        FormatState state = format.getFormatState();
+
+        Assert.assertEquals(2, format.sent.size());
+        Assert.assertEquals(format.sent.get(0), format.sent.get(1));
+        Assert.assertEquals(4L, state.getNumberWrite());
+        verify(dirtyManager, never()).collect(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testBulkFailureCollectsOriginalRows() throws Exception {
+        format.outcomes.add(failure(new IllegalStateException("mapping error")));
+
+        FormatState state = format.getFormatState();
+
+        // not retryable: every row of the bulk is dirty data, as the row and not the request
+        Assert.assertEquals(1, format.sent.size());
+        Assert.assertEquals(0L, state.getNumberWrite());
+        for (RowData row : rows) {
+            verify(dirtyManager, times(1)).collect(same(row), any(), isNull(), anyLong());
+        }
+        Assert.assertEquals(0L, pendingRequests());
+    }
+
+    @Test
+    public void testRetriesExhausted() throws Exception {
+        format.config.maxRetries = 1;
+        format.outcomes.add(items(false, true, false, false));
+        format.outcomes.add(items(true));
+
+        FormatState state = format.getFormatState();
+
+        Assert.assertEquals(2, format.sent.size());
+        Assert.assertEquals(3L, state.getNumberWrite());
+        verify(dirtyManager, times(1)).collect(same(rows.get(1)), any(), isNull(), anyLong());
+        verify(dirtyManager, times(1)).collect(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testConversionFailureIsDirty() throws Exception {
+        RowData invalid = GenericRowData.of(-1);
+        List<RowData> batch = new ArrayList<>(rows);
+        batch.add(1, invalid);
+        setInternalState(format, "rows", batch);
+        format.outcomes.add(items(false, false, false, false));
+
+        FormatState state = format.getFormatState();
+
+        Assert.assertEquals(Arrays.asList("doc-0", "doc-1", "doc-2", "doc-3"), format.sent.get(0));
+        Assert.assertEquals(4L, state.getNumberWrite());
+        verify(dirtyManager, times(1)).collect(same(invalid), any(), isNull(), anyLong());
+    }
+
+    @Test
+    public void testCheckpointWaitsForPendingBulk() throws Exception {
+        CountDownLatch sent = new CountDownLatch(1);
+        format.outcomes.add(
+                (requests, callback) -> {
+                    sent.countDown();
+                    new Thread(
+                                    () -> {
+                                        sleep(200);
+                                        callback.onResponse(results(false, false, false, false));
+                                    })
+                            .start();
+                });
+
+        format.writeMultipleRecordsInternal();
+        Assert.assertTrue(sent.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals(4L, pendingRequests());
+        Assert.assertTrue(((List<?>) getInternalState(format, "rows")).isEmpty());
+
+        FormatState state = format.getFormatState();
+
+        Assert.assertEquals(0L, pendingRequests());
+        Assert.assertEquals(4L, state.getNumberWrite());
+    }
+
+    private long pendingRequests() {
+        return ((AtomicLong) getInternalState(format, "pendingRequests")).get();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<ElasticsearchBulkOutputFormat.BulkItemResult> results(boolean... rejected) {
+        List<ElasticsearchBulkOutputFormat.BulkItemResult> results = new ArrayList<>();
+        for (boolean r : rejected) {
+            results.add(
+                    r
+                            ? ElasticsearchBulkOutputFormat.BulkItemResult.failed(
+                                    true, "rejected", null)
+                            : ElasticsearchBulkOutputFormat.BulkItemResult.succeeded());
+        }
+        return results;
+    }
+
+    private static Outcome items(boolean... rejected) {
+        return (requests, callback) -> callback.onResponse(results(rejected));
+    }
+
+    private static Outcome failure(Throwable failure) {
+        return (requests, callback) -> callback.onFailure(failure);
+    }
+
+    private interface Outcome {
+        void apply(List<String> requests, ElasticsearchBulkOutputFormat.BulkCallback callback);
+    }
+
+    private static class StubBulkConfig implements ElasticsearchBulkConfig {
+
+        private int maxRetries = 8;
+
+        @Override
+        public int getConcurrentRequests() {
+            return 1;
+        }
+
+        @Override
+        public long getBulkFlushMaxBytes() {
+            return -1;
+        }
+
+        @Override
+        public String getBulkBackoffType() {
+            return "EXPONENTIAL";
+        }
+
+        @Override
+        public long getBulkBackoffDelayMills() {
+            return 1;
+        }
+
+        @Override
+        public int getBulkBackoffMaxRetries() {
+            return maxRetries;
+        }
+    }
+
+    /** Stands in for the BulkProcessor and the client: bulk outcomes are scripted per call. */
+    private static class StubOutputFormat extends ElasticsearchBulkOutputFormat<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final StubBulkConfig config = new StubBulkConfig();
+        private final Deque<Outcome> outcomes = new ArrayDeque<>();
+        private final List<List<String>> sent = Collections.synchronizedList(new ArrayList<>());
+        private List<String> buffered = new ArrayList<>();
+
+        @Override
+        protected void writeSingleRecordInternal(RowData rowData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void openClient(int concurrentRequests) {}
+
+        @Override
+        protected void closeClient() {}
+
+        @Override
+        protected ElasticsearchBulkConfig getBulkConfig() {
+            return config;
+        }
+
+        @Override
+        protected String createRequest(RowData rowData) {
+            int id = rowData.getInt(0);
+            if (id < 0) {
+                throw new IllegalArgumentException("invalid id " + id);
+            }
+            return "doc-" + id;
+        }
+
+        @Override
+        protected void addRequest(String request) {
+            buffered.add(request);
+        }
+
+        @Override
+        protected void flushProcessor() {
+            if (!buffered.isEmpty()) {
+                List<String> requests = buffered;
+                buffered = new ArrayList<>();
+                executeBulk(requests, () -> {});
+            }
+        }
+
+        @Override
+        protected void sendBulk(List<String> requests, BulkCallback callback) {
+            sent.add(new ArrayList<>(requests));
+            Outcome outcome;
+            synchronized (outcomes) {
+                outcome = outcomes.poll();
+            }
+            outcome.apply(requests, callback);
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package com.dtstack.chunjun.connector.elasticsearch6;
 
 import com.dtstack.chunjun.config.CommonConfig;
+import com.dtstack.chunjun.connector.elasticsearch.ElasticsearchBulkConfig;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -28,7 +29,8 @@ import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
 @Data
-public class Elasticsearch6Config extends CommonConfig implements Serializable {
+public class Elasticsearch6Config extends CommonConfig
+        implements ElasticsearchBulkConfig, Serializable {
 
     private static final long serialVersionUID = 5325755340503264018L;
 
@@ -57,4 +59,19 @@ public class Elasticsearch6Config extends CommonConfig implements Serializable {
 
     /** table field names */
     private String[] fieldNames;
+
+    /** 同时在途的bulk请求数，为0时在task线程中同步发送 */
+    private int concurrentRequests = 1;
+
+    /** 单个bulk请求的最大字节数，超过后立即发送 */
+    private long bulkFlushMaxBytes = 5 * 1024 * 1024L;
+
+    /** bulk请求被拒绝（429）时的退避方式：DISABLED、CONSTANT、EXPONENTIAL */
+    private String bulkBackoffType = "EXPONENTIAL";
+
+    /** 退避重试的初始间隔，单位毫秒 */
+    private long bulkBackoffDelayMills = 50L;
+
+    /** 退避重试的最大次数 */
+    private int bulkBackoffMaxRetries = 8;
 }
@@ -35,12 +35,17 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.dtstack.chunjun.connector.elasticsearch.table.ElasticsearchSinkOptions.BULK_FLUSH_CONCURRENT_REQUESTS_OPTION;
+import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.BULK_FLUSH_BACKOFF_DELAY_OPTION;
+import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION;
+import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.BULK_FLUSH_BACKOFF_TYPE_OPTION;
 import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.BULK_FLUSH_MAX_ACTIONS_OPTION;
 import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.HOSTS_OPTION;
 import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.INDEX_OPTION;
 import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.KEY_DELIMITER_OPTION;
 import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.PASSWORD_OPTION;
 import static org.apache.flink.connector.elasticsearch.table.ElasticsearchConnectorOptions.USERNAME_OPTION;
+import static org.apache.flink.streaming.connectors.elasticsearch.table.ElasticsearchConnectorOptions.BULK_FLASH_MAX_SIZE_OPTION;
 import static org.apache.flink.streaming.connectors.elasticsearch.table.ElasticsearchConnectorOptions.DOCUMENT_TYPE_OPTION;
 
 public class Elasticsearch6DynamicTableFactory extends ElasticsearchDynamicTableFactoryBase {
@@ -109,6 +114,19 @@ public class Elasticsearch6DynamicTableFactory extends ElasticsearchDynamicTable
         elasticsearchConfig.setBatchSize(readableConfig.get(BULK_FLUSH_MAX_ACTIONS_OPTION));
         elasticsearchConfig.setUsername(readableConfig.get(USERNAME_OPTION));
         elasticsearchConfig.setPassword(readableConfig.get(PASSWORD_OPTION));
+        elasticsearchConfig.setConcurrentRequests(
+                readableConfig.get(BULK_FLUSH_CONCURRENT_REQUESTS_OPTION));
+        elasticsearchConfig.setBulkFlushMaxBytes(
+                readableConfig.get(BULK_FLASH_MAX_SIZE_OPTION).getBytes());
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_TYPE_OPTION)
+                .ifPresent(type -> elasticsearchConfig.setBulkBackoffType(type.toString()));
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION)
+                .ifPresent(elasticsearchConfig::setBulkBackoffMaxRetries);
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_DELAY_OPTION)
+                .ifPresent(delay -> elasticsearchConfig.setBulkBackoffDelayMills(delay.toMillis()));
 
         List<String> keyFields =
                 schema.getPrimaryKey()
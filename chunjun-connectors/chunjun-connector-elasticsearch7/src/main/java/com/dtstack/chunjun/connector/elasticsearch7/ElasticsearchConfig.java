@@ -19,6 +19,7 @@
 package com.dtstack.chunjun.connector.elasticsearch7;
 
 import com.dtstack.chunjun.config.CommonConfig;
+import com.dtstack.chunjun.connector.elasticsearch.ElasticsearchBulkConfig;
 import com.dtstack.chunjun.sink.WriteMode;
 
 import lombok.Data;
@@ -30,7 +31,8 @@ import java.util.Map;
 
 @EqualsAndHashCode(callSuper = true)
 @Data
-public class ElasticsearchConfig extends CommonConfig implements Serializable {
+public class ElasticsearchConfig extends CommonConfig
+        implements ElasticsearchBulkConfig, Serializable {
 
     private static final long serialVersionUID = -3282191233629067381L;
 
@@ -80,4 +82,19 @@ public class ElasticsearchConfig extends CommonConfig implements Serializable {
 
     /** write mode * */
     private String writeMode = WriteMode.APPEND.name();
+
+    /** 同时在途的bulk请求数，为0时在task线程中同步发送 */
+    private int concurrentRequests = 1;
+
+    /** 单个bulk请求的最大字节数，超过后立即发送 */
+    private long bulkFlushMaxBytes = 5 * 1024 * 1024L;
+
+    /** bulk请求被拒绝（429）时的退避方式：DISABLED、CONSTANT、EXPONENTIAL */
+    private String bulkBackoffType = "EXPONENTIAL";
+
+    /** 退避重试的初始间隔，单位毫秒 */
+    private long bulkBackoffDelayMills = 50L;
+
+    /** 退避重试的最大次数 */
+    private int bulkBackoffMaxRetries = 8;
 }
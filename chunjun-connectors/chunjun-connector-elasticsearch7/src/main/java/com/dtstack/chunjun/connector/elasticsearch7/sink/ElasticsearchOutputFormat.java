@@ -18,49 +18,65 @@
 
 package com.dtstack.chunjun.connector.elasticsearch7.sink;
 
+import com.dtstack.chunjun.connector.elasticsearch.ElasticsearchBulkConfig;
 import com.dtstack.chunjun.connector.elasticsearch.KeyExtractor;
+import com.dtstack.chunjun.connector.elasticsearch.sink.ElasticsearchBulkOutputFormat;
 import com.dtstack.chunjun.connector.elasticsearch.table.IndexGenerator;
 import com.dtstack.chunjun.connector.elasticsearch7.Elasticsearch7ClientFactory;
 import com.dtstack.chunjun.connector.elasticsearch7.Elasticsearch7RequestFactory;
 import com.dtstack.chunjun.connector.elasticsearch7.ElasticsearchConfig;
-import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.sink.WriteMode;
-import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
 
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
 import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.ResponseException;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.MatchAllQueryBuilder;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.rest.RestStatus;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
-public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
+public class ElasticsearchOutputFormat extends ElasticsearchBulkOutputFormat<DocWriteRequest<?>> {
 
     private static final long serialVersionUID = 4075917714665517802L;
 
+    /** BulkProcessor要求的bulk响应，请求的结果已在executeBulk中处理 */
+    private static final BulkResponse EMPTY_RESPONSE =
+            new BulkResponse(new BulkItemResponse[0], 0L);
+
     /** Elasticsearch Configuration */
     ElasticsearchConfig elasticsearchConfig;
 
     /** Elasticsearch High Level Client */
     private transient RestHighLevelClient rhlClient;
 
+    private transient BulkProcessor bulkProcessor;
+
     private final IndexGenerator indexGenerator;
 
     public ElasticsearchOutputFormat(
@@ -130,69 +146,122 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
     }
 
     @Override
-    protected void writeMultipleRecordsInternal() throws Exception {
-        BulkRequest bulkRequest = new BulkRequest();
-        for (RowData rowData : rows) {
-            DocWriteRequest docWriteRequest;
-            switch (rowData.getRowKind()) {
-                case INSERT:
-                case UPDATE_AFTER:
-                    docWriteRequest = processUpsert(rowData);
-                    bulkRequest.add(docWriteRequest);
-                    break;
-                case DELETE:
-                case UPDATE_BEFORE:
-                    docWriteRequest = processDelete(rowData);
-                    bulkRequest.add(docWriteRequest);
-                    break;
-                default:
-                    throw new RuntimeException("Unsupported row kind.");
+    protected void openClient(int concurrentRequests) throws IOException {
+        rhlClient =
+                Elasticsearch7ClientFactory.createClient(
+                        elasticsearchConfig, getRuntimeContext().getDistributedCache());
+        indexGenerator.open();
+
+        // 被拒绝的请求由executeBulk按单条重试，不使用BulkProcessor的整体重试，保证响应与请求一一对应
+        bulkProcessor =
+                BulkProcessor.builder(
+                                (request, listener) ->
+                                        executeBulk(
+                                                request.requests(),
+                                                () -> listener.onResponse(EMPTY_RESPONSE)),
+                                new NoOpBulkListener())
+                        .setBulkActions(Math.max(1, batchSize))
+                        .setBulkSize(new ByteSizeValue(elasticsearchConfig.getBulkFlushMaxBytes()))
+                        .setConcurrentRequests(concurrentRequests)
+                        .setFlushInterval(
+                                TimeValue.timeValueMillis(
+                                        elasticsearchConfig.getFlushIntervalMills()))
+                        .setBackoffPolicy(BackoffPolicy.noBackoff())
+                        .build();
+    }
+
+    @Override
+    protected void closeClient() throws IOException {
+        try {
+            if (bulkProcessor != null) {
+                bulkProcessor.awaitClose(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (rhlClient != null) {
+                rhlClient.close();
             }
-        }
-        BulkResponse response = rhlClient.bulk(bulkRequest, RequestOptions.DEFAULT);
-        if (response.hasFailures()) {
-            processFailResponse(response);
         }
     }
 
-    private void processFailResponse(BulkResponse response) {
-        BulkItemResponse[] itemResponses = response.getItems();
-        WriteRecordException exception;
-        for (BulkItemResponse itemResponds : itemResponses) {
-            if (itemResponds.isFailed()) {
-                if (dirtyManager != null) {
-                    exception =
-                            new WriteRecordException(
-                                    itemResponds.getFailureMessage(),
-                                    itemResponds.getFailure().getCause());
-                    long globalErrors =
-                            accumulatorCollector.getAccumulatorValue(Metrics.NUM_ERRORS, false);
-                    dirtyManager.collect(response, exception, null, globalErrors);
-                }
-
-                if (errCounter != null) {
-                    errCounter.add(1);
-                }
-            }
+    @Override
+    protected ElasticsearchBulkConfig getBulkConfig() {
+        return elasticsearchConfig;
+    }
+
+    @Override
+    protected DocWriteRequest<?> createRequest(RowData rowData) throws Exception {
+        switch (rowData.getRowKind()) {
+            case INSERT:
+            case UPDATE_AFTER:
+                return processUpsert(rowData);
+            case DELETE:
+            case UPDATE_BEFORE:
+                return processDelete(rowData);
+            default:
+                throw new RuntimeException("Unsupported row kind.");
         }
     }
 
     @Override
-    protected void openInternal(int taskNumber, int numTasks) throws IOException {
-        rhlClient =
-                Elasticsearch7ClientFactory.createClient(
-                        elasticsearchConfig, getRuntimeContext().getDistributedCache());
-        indexGenerator.open();
+    protected void addRequest(DocWriteRequest<?> request) {
+        bulkProcessor.add(request);
+    }
+
+    @Override
+    protected void flushProcessor() {
+        bulkProcessor.flush();
     }
 
     @Override
-    protected void closeInternal() throws IOException {
-        if (rhlClient != null) {
-            rhlClient.close();
+    protected void sendBulk(List<DocWriteRequest<?>> requests, BulkCallback callback) {
+        BulkRequest bulkRequest = new BulkRequest();
+        requests.forEach(bulkRequest::add);
+        rhlClient.bulkAsync(
+                bulkRequest,
+                RequestOptions.DEFAULT,
+                new ActionListener<BulkResponse>() {
+                    @Override
+                    public void onResponse(BulkResponse response) {
+                        callback.onResponse(toItemResults(response));
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        callback.onFailure(e);
+                    }
+                });
+    }
+
+    private static List<BulkItemResult> toItemResults(BulkResponse response) {
+        BulkItemResult[] results = new BulkItemResult[response.getItems().length];
+        for (BulkItemResponse itemResponse : response.getItems()) {
+            results[itemResponse.getItemId()] =
+                    itemResponse.isFailed()
+                            ? BulkItemResult.failed(
+                                    itemResponse.status() == RestStatus.TOO_MANY_REQUESTS,
+                                    itemResponse.getFailureMessage(),
+                                    itemResponse.getFailure().getCause())
+                            : BulkItemResult.succeeded();
         }
+        return Arrays.asList(results);
     }
 
-    private DocWriteRequest processUpsert(RowData rowData) throws Exception {
+    /** 服务端返回429时整个bulk请求也可以重试 */
+    @Override
+    protected boolean isRetryableCause(Throwable cause) {
+        if (cause instanceof ElasticsearchException) {
+            return ((ElasticsearchException) cause).status() == RestStatus.TOO_MANY_REQUESTS;
+        }
+        if (cause instanceof ResponseException) {
+            return ((ResponseException) cause).getResponse().getStatusLine().getStatusCode()
+                    == RestStatus.TOO_MANY_REQUESTS.getStatus();
+        }
+        return super.isRetryableCause(cause);
+    }
+
+    private DocWriteRequest<?> processUpsert(RowData rowData) throws Exception {
         Map<String, Object> message =
                 (Map<String, Object>)
                         rowConverter.toExternal(rowData, new HashMap<String, Object>());
@@ -226,4 +295,17 @@ public class ElasticsearchOutputFormat extends BaseRichOutputFormat {
         return Elasticsearch7RequestFactory.createDeleteRequest(
                 elasticsearchConfig.getIndex(), key);
     }
+
+    /** bulk请求的结果已在executeBulk中处理 */
+    private static class NoOpBulkListener implements BulkProcessor.Listener {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {}
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {}
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {}
+    }
 }
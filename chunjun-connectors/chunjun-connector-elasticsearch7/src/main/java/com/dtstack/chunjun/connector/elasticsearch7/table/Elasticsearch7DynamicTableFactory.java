@@ -41,6 +41,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.dtstack.chunjun.connector.elasticsearch.table.ElasticsearchSinkOptions.BULK_FLUSH_CONCURRENT_REQUESTS_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_CONNECT_TIMEOUT_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_KEEPALIVE_TIME_OPTION;
 import static com.dtstack.chunjun.connector.elasticsearch7.table.Elasticsearch7Options.CLIENT_MAX_CONNECTION_PER_ROUTE_OPTION;
@@ -135,6 +136,19 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
         elasticsearchConfig.setKeyDelimiter(readableConfig.get(KEY_DELIMITER_OPTION));
         elasticsearchConfig.setBatchSize(readableConfig.get(BULK_FLUSH_MAX_ACTIONS_OPTION));
         elasticsearchConfig.setParallelism(readableConfig.get(SINK_PARALLELISM));
+        elasticsearchConfig.setConcurrentRequests(
+                readableConfig.get(BULK_FLUSH_CONCURRENT_REQUESTS_OPTION));
+        elasticsearchConfig.setBulkFlushMaxBytes(
+                readableConfig.get(BULK_FLASH_MAX_SIZE_OPTION).getBytes());
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_TYPE_OPTION)
+                .ifPresent(type -> elasticsearchConfig.setBulkBackoffType(type.toString()));
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION)
+                .ifPresent(elasticsearchConfig::setBulkBackoffMaxRetries);
+        readableConfig
+                .getOptional(BULK_FLUSH_BACKOFF_DELAY_OPTION)
+                .ifPresent(delay -> elasticsearchConfig.setBulkBackoffDelayMills(delay.toMillis()));
 
         elasticsearchConfig.setUsername(readableConfig.get(USERNAME_OPTION));
         elasticsearchConfig.setPassword(readableConfig.get(PASSWORD_OPTION));
@@ -197,6 +211,7 @@ public class Elasticsearch7DynamicTableFactory extends ElasticsearchDynamicTable
                         BULK_FLUSH_BACKOFF_TYPE_OPTION,
                         BULK_FLUSH_BACKOFF_MAX_RETRIES_OPTION,
                         BULK_FLUSH_BACKOFF_DELAY_OPTION,
+                        BULK_FLUSH_CONCURRENT_REQUESTS_OPTION,
                         CONNECTION_PATH_PREFIX,
                         FORMAT_OPTION,
                         PASSWORD_OPTION,
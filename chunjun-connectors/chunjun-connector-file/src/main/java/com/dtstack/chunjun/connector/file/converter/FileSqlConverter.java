@@ -40,6 +40,11 @@ public class FileSqlConverter extends AbstractRowConverter<String, String, Strin
         return valueDeserialization.deserialize(input.getBytes());
     }
 
+    /** 行的原始字节，编码与{@link #toInternal(String)}中String.getBytes()使用的默认编码相同 */
+    public RowData toInternal(byte[] input) throws Exception {
+        return valueDeserialization.deserialize(input);
+    }
+
     @Override
     public String toExternal(RowData rowData, String output) {
         throw new ChunJunRuntimeException("Sink type conversion is not supported! ");
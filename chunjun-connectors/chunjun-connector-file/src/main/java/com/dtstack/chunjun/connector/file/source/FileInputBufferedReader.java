@@ -19,12 +19,15 @@
 package com.dtstack.chunjun.connector.file.source;
 
 import com.dtstack.chunjun.config.BaseFileConfig;
+import com.dtstack.chunjun.util.ByteLineReader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -34,12 +37,23 @@ public class FileInputBufferedReader {
 
     private final BaseFileConfig fileConfig;
 
+    /** 按字节读取行，通过readLineBytes读取，行不解码为String */
+    private final boolean byteLines;
+
     private LineNumberReader lr;
 
+    private ByteLineReader blr;
+
     private boolean hasNext = true;
 
     public FileInputBufferedReader(List<String> paths, BaseFileConfig fileConfig) {
+        this(paths, fileConfig, false);
+    }
+
+    public FileInputBufferedReader(
+            List<String> paths, BaseFileConfig fileConfig, boolean byteLines) {
         this.fileConfig = fileConfig;
+        this.byteLines = byteLines;
         pathIterator = paths.iterator();
     }
 
@@ -71,16 +85,45 @@ public class FileInputBufferedReader {
         return line;
     }
 
+    /** 与readLine的跳行规则一致，返回不包含行结束符的字节，文件读完时返回null */
+    public byte[] readLineBytes() throws IOException {
+        if (blr == null) {
+            nextFileStream();
+        }
+
+        if (!hasNext) {
+            return null;
+        }
+
+        boolean read = false;
+        if (blr != null) {
+            do {
+                read = blr.readLine();
+            } while (read && blr.getLineNumber() < fileConfig.getFromLine());
+        }
+
+        if (!read) {
+            close();
+            return readLineBytes();
+        }
+        return Arrays.copyOfRange(
+                blr.getBytes(), blr.getOffset(), blr.getOffset() + blr.getLength());
+    }
+
     public void nextFileStream() throws IOException {
         if (pathIterator.hasNext()) {
             String filePath = pathIterator.next();
-            String encoding = fileConfig.getEncoding();
-            InputStreamReader isr =
-                    new InputStreamReader(
-                            Files.newInputStream(new File(filePath).toPath()), encoding);
-            lr = new LineNumberReader(isr);
+            InputStream in = Files.newInputStream(new File(filePath).toPath());
+            if (byteLines) {
+                blr = new ByteLineReader(in);
+            } else {
+                String encoding = fileConfig.getEncoding();
+                InputStreamReader isr = new InputStreamReader(in, encoding);
+                lr = new LineNumberReader(isr);
+            }
         } else {
             lr = null;
+            blr = null;
             hasNext = false;
         }
     }
@@ -90,5 +133,9 @@ public class FileInputBufferedReader {
             lr.close();
             lr = null;
         }
+        if (blr != null) {
+            blr.close();
+            blr = null;
+        }
     }
 }
@@ -19,8 +19,10 @@
 package com.dtstack.chunjun.connector.file.source;
 
 import com.dtstack.chunjun.config.BaseFileConfig;
+import com.dtstack.chunjun.connector.file.converter.FileSqlConverter;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
 import com.dtstack.chunjun.throwable.ReadRecordException;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 import com.dtstack.chunjun.util.GsonUtil;
 
 import org.apache.flink.core.io.InputSplit;
@@ -30,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -46,6 +49,11 @@ public class FileInputFormat extends BaseRichInputFormat {
 
     private transient String line;
 
+    /** 按字节读取时的当前行 */
+    private transient byte[] lineBytes;
+
+    private transient boolean byteLines;
+
     @Override
     protected InputSplit[] createInputSplitsInternal(int minNumSplits) {
 
@@ -89,15 +97,34 @@ public class FileInputFormat extends BaseRichInputFormat {
 
         FileInputSplit fileInputSplit = (FileInputSplit) inputSplit;
         List<String> paths = fileInputSplit.getPaths();
-        fbr = new FileInputBufferedReader(paths, fileConfig);
+        byteLines = isByteLinesSupported();
+        fbr = new FileInputBufferedReader(paths, fileConfig, byteLines);
+    }
+
+    /** FileSqlConverter把行按默认编码转换为字节后反序列化，文件编码就是默认编码且可以按字节切分行时直接读取行的字节，省去解码和重新编码. */
+    private boolean isByteLinesSupported() {
+        if (!(rowConverter instanceof FileSqlConverter)) {
+            return false;
+        }
+        Charset charset = Charset.forName(fileConfig.getEncoding());
+        return charset.equals(Charset.defaultCharset())
+                && DelimitedTextTokenizer.isSupported(charset);
     }
 
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
         try {
-            rowData = rowConverter.toInternal(line);
+            if (byteLines) {
+                rowData = ((FileSqlConverter) rowConverter).toInternal(lineBytes);
+            } else {
+                rowData = rowConverter.toInternal(line);
+            }
         } catch (Exception e) {
-            throw new ReadRecordException("", e, 0, line);
+            String data =
+                    byteLines
+                            ? new String(lineBytes, Charset.forName(fileConfig.getEncoding()))
+                            : line;
+            throw new ReadRecordException("", e, 0, data);
         }
         return rowData;
     }
@@ -111,6 +138,10 @@ public class FileInputFormat extends BaseRichInputFormat {
 
     @Override
     public boolean reachedEnd() throws IOException {
+        if (byteLines) {
+            this.lineBytes = fbr.readLineBytes();
+            return this.lineBytes == null;
+        }
         this.line = fbr.readLine();
         return this.line == null;
     }
@@ -20,6 +20,7 @@ package com.dtstack.chunjun.connector.ftp.client;
 
 import com.dtstack.chunjun.connector.ftp.extend.ftp.FtpParseException;
 import com.dtstack.chunjun.connector.ftp.handler.Position;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 
 import lombok.Getter;
 
@@ -30,6 +31,9 @@ public class Data {
     private Position position;
     private FtpParseException exception;
 
+    /** 按字节切分的记录，只在读取下一条记录之前有效 */
+    private DelimitedTextTokenizer tokenizer;
+
     public Data(String[] data, Position position) {
         this.data = data;
         this.position = position;
@@ -40,4 +44,17 @@ public class Data {
         this.position = position;
         this.exception = exception;
     }
+
+    public Data(DelimitedTextTokenizer tokenizer, Position position) {
+        this.tokenizer = tokenizer;
+        this.position = position;
+    }
+
+    /** 按字节切分的记录在第一次调用时解码所有字段 */
+    public String[] getData() {
+        if (data == null && tokenizer != null) {
+            data = tokenizer.toStringArray();
+        }
+        return data;
+    }
 }
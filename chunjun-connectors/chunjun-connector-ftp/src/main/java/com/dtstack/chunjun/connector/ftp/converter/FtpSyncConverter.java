@@ -18,12 +18,14 @@
 
 package com.dtstack.chunjun.connector.ftp.converter;
 
+import com.dtstack.chunjun.config.FieldConfig;
 import com.dtstack.chunjun.connector.ftp.config.FtpConfig;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.converter.IDeserializationConverter;
 import com.dtstack.chunjun.converter.ISerializationConverter;
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveColumnRowData;
 import com.dtstack.chunjun.element.column.BigDecimalColumn;
 import com.dtstack.chunjun.element.column.BooleanColumn;
 import com.dtstack.chunjun.element.column.ByteColumn;
@@ -39,6 +41,7 @@ import com.dtstack.chunjun.element.column.TimestampColumn;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.UnsupportedTypeException;
 import com.dtstack.chunjun.util.DateUtil;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
@@ -46,6 +49,8 @@ import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.types.logical.TimestampType;
 
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -58,13 +63,21 @@ public class FtpSyncConverter extends AbstractRowConverter<RowData, RowData, Str
 
     private final FtpConfig ftpConfig;
 
+    /** 直接从字节转换字段的转换器，与toInternalConverters一一对应 */
+    private final List<TokenConverter> tokenConverters = new ArrayList<>();
+
+    /** 从字节转换的记录使用的行结构 */
+    private final PrimitiveColumnRowData.Layout layout;
+
     public FtpSyncConverter(RowType rowType, FtpConfig ftpConfig) {
         super(rowType, ftpConfig);
         this.ftpConfig = ftpConfig;
+        this.layout = PrimitiveColumnRowData.Layout.of(fieldTypes);
         for (int i = 0; i < rowType.getFieldCount(); i++) {
             toInternalConverters.add(
                     wrapIntoNullableInternalConverter(
                             createInternalConverter(rowType.getTypeAt(i))));
+            tokenConverters.add(createTokenConverter(rowType.getTypeAt(i)));
             toExternalConverters.add(
                     wrapIntoNullableExternalConverter(
                             createExternalConverter(rowType.getTypeAt(i)), rowType.getTypeAt(i)));
@@ -92,6 +105,61 @@ public class FtpSyncConverter extends AbstractRowConverter<RowData, RowData, Str
         return row;
     }
 
+    /**
+     * 从按字节切分的记录转换，只转换配置的列，效果与把字段组装为GenericRowData后调用{@link #toInternal(RowData)}一致.
+     *
+     * <p>配置了value的列使用value，空字段替换为nullIsReplacedWithValue。返回{@link
+     * PrimitiveColumnRowData}，整数、布尔和字符串字段不创建列。
+     */
+    @SuppressWarnings("unchecked")
+    public RowData toInternal(DelimitedTextTokenizer tokenizer, List<FieldConfig> columns)
+            throws Exception {
+        PrimitiveColumnRowData row = new PrimitiveColumnRowData(layout);
+        for (int i = 0; i < columns.size(); i++) {
+            FieldConfig fieldConfig = columns.get(i);
+            Object value = fieldConfig.getValue();
+            if (value == null) {
+                int index = fieldConfig.getIndex();
+                checkColumnIndex(index, tokenizer.size());
+                if (!tokenizer.isEmpty(index)) {
+                    convertToken(i, tokenizer, index, row);
+                    continue;
+                }
+            }
+            if ("".equals(value) || value == null) {
+                value = ftpConfig.getNullIsReplacedWithValue();
+            }
+            row.setField(i, (AbstractBaseColumn) toInternalConverters.get(i).deserialize(value));
+        }
+        return row;
+    }
+
+    /** 列的下标超出记录的字段数量时抛出异常 */
+    public static void checkColumnIndex(int index, int dataSize) {
+        if (index >= dataSize) {
+            String errorMessage =
+                    String.format(
+                            "The column index is greater than the data size."
+                                    + " The current column index is [%s], but the data size is [%s]. Data loss may occur.",
+                            index, dataSize);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    /** 从字节转换失败时按String转换，抛出与String转换相同的异常 */
+    private void convertToken(
+            int pos, DelimitedTextTokenizer tokenizer, int index, PrimitiveColumnRowData row)
+            throws Exception {
+        try {
+            tokenConverters.get(pos).convert(tokenizer, index, row, pos);
+        } catch (Exception e) {
+            row.setField(
+                    pos,
+                    (AbstractBaseColumn)
+                            toInternalConverters.get(pos).deserialize(tokenizer.getString(index)));
+        }
+    }
+
     @Override
     public String toExternal(RowData rowData, String output) throws Exception {
         StringBuilder sb = new StringBuilder(128);
@@ -172,6 +240,56 @@ public class FtpSyncConverter extends AbstractRowConverter<RowData, RowData, Str
         }
     }
 
+    /** 整数和布尔值直接从字节解析，UTF-8字符串直接复制字节，其余类型解码为String后使用原有的转换器 */
+    @SuppressWarnings("unchecked")
+    private TokenConverter createTokenConverter(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return (tokenizer, index, row, pos) ->
+                        row.setBoolean(pos, tokenizer.getBoolean(index));
+            case TINYINT:
+                return (tokenizer, index, row, pos) -> {
+                    int value = tokenizer.getInt(index);
+                    if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+                        value = Byte.parseByte(tokenizer.getString(index));
+                    }
+                    row.setByte(pos, (byte) value);
+                };
+            case SMALLINT:
+                return (tokenizer, index, row, pos) -> {
+                    int value = tokenizer.getInt(index);
+                    if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+                        value = Short.parseShort(tokenizer.getString(index));
+                    }
+                    row.setShort(pos, (short) value);
+                };
+            case INTEGER:
+                return (tokenizer, index, row, pos) -> row.setInt(pos, tokenizer.getInt(index));
+            case BIGINT:
+                return (tokenizer, index, row, pos) -> row.setLong(pos, tokenizer.getLong(index));
+            case VARCHAR:
+            case CHAR:
+                return (tokenizer, index, row, pos) -> {
+                    if (StandardCharsets.UTF_8.equals(tokenizer.getCharset())) {
+                        row.setUtf8(
+                                pos,
+                                tokenizer.getBuffer(),
+                                tokenizer.getStart(index),
+                                tokenizer.getLength(index));
+                    } else {
+                        row.setString(pos, tokenizer.getString(index));
+                    }
+                };
+            default:
+                IDeserializationConverter internalConverter = createInternalConverter(type);
+                return (tokenizer, index, row, pos) ->
+                        row.setField(
+                                pos,
+                                (AbstractBaseColumn)
+                                        internalConverter.deserialize(tokenizer.getString(index)));
+        }
+    }
+
     @Override
     protected ISerializationConverter<List<String>> createExternalConverter(
             LogicalType logicalType) {
@@ -196,4 +314,11 @@ public class FtpSyncConverter extends AbstractRowConverter<RowData, RowData, Str
                 };
         }
     }
+
+    @FunctionalInterface
+    private interface TokenConverter extends Serializable {
+        void convert(
+                DelimitedTextTokenizer tokenizer, int index, PrimitiveColumnRowData row, int pos)
+                throws Exception;
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.ftp.extend.ftp.format;
+
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
+
+import java.io.IOException;
+
+/** 可以按字节切分记录的read format，字段不解码为String，由调用方按需读取 */
+public interface ITokenizedFileReadFormat extends IFileReadFormat {
+
+    /**
+     * 当前打开的文件是否按字节切分，在open之后调用.
+     *
+     * <p>为false时只能通过{@link #nextRecord()}读取记录。
+     */
+    boolean isTokenized();
+
+    /**
+     * Reads the next record from the input without decoding its fields.
+     *
+     * @return 已切分当前记录的tokenizer，只在下一次调用hasNext之前有效
+     * @throws IOException Thrown, if an I/O error occurred.
+     */
+    DelimitedTextTokenizer nextTokenizedRecord() throws IOException;
+}
@@ -383,11 +383,17 @@ public class FtpHandler implements DTFtpHandler {
 
     @Override
     public InputStream getInputStreamByPosition(String filePath, long startPosition) {
-        if (startPosition != 0) {
-            throw new RuntimeException("ftp协议，暂不支持从指定位置读取文件");
+        if (startPosition == 0) {
+            return getInputStream(filePath);
         }
 
-        return getInputStream(filePath);
+        // 通过REST命令从指定位置开始传输，需要二进制传输模式
+        ftpClient.setRestartOffset(startPosition);
+        try {
+            return getInputStream(filePath);
+        } finally {
+            ftpClient.setRestartOffset(0);
+        }
     }
 
     @Override
@@ -20,7 +20,9 @@ package com.dtstack.chunjun.connector.ftp.iformat;
 
 import com.dtstack.chunjun.connector.ftp.extend.ftp.File;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.IFormatConfig;
-import com.dtstack.chunjun.connector.ftp.extend.ftp.format.IFileReadFormat;
+import com.dtstack.chunjun.connector.ftp.extend.ftp.format.ITokenizedFileReadFormat;
+import com.dtstack.chunjun.util.ByteLineReader;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 
 import com.csvreader.CsvReader;
 import lombok.extern.slf4j.Slf4j;
@@ -31,17 +33,28 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 @Slf4j
-public class CsvFileFormat implements IFileReadFormat {
+public class CsvFileFormat implements ITokenizedFileReadFormat {
 
     private CsvReader csvReader;
     private BufferedReader bufferedReader;
 
+    /** 不使用csv转义字符时按字节读取行，不为null时不使用csvReader */
+    private ByteLineReader lineReader;
+
+    private DelimitedTextTokenizer tokenizer;
+    private boolean trimWhitespace;
+
     @Override
     public void open(File file, InputStream inputStream, IFormatConfig config) throws IOException {
         log.info("open file : {}", file.getFileName());
+        if (openTokenized(inputStream, config)) {
+            return;
+        }
+        lineReader = null;
         bufferedReader =
                 new BufferedReader(new InputStreamReader(inputStream, config.getEncoding()));
         csvReader = new CsvReader(bufferedReader);
@@ -61,19 +74,72 @@ public class CsvFileFormat implements IFileReadFormat {
         }
     }
 
+    /**
+     * 不使用csv转义字符、跳过空行、不限制单列长度且编码支持按字节切分时，CsvReader只按分隔符和换行符切分，改为按字节切分.
+     *
+     * <p>未配置fileConfig时CsvReader默认使用csv转义字符，仍使用CsvReader。
+     */
+    private boolean openTokenized(InputStream inputStream, IFormatConfig config) {
+        Map<String, Object> csvConfig = config.getFileConfig();
+        Charset charset = Charset.forName(config.getEncoding());
+        if (MapUtils.isEmpty(csvConfig)
+                || (Boolean) csvConfig.getOrDefault("useTextQualifier", true)
+                || !(Boolean) csvConfig.getOrDefault("skipEmptyRecords", true)
+                || (Boolean) csvConfig.getOrDefault("safetySwitch", false)
+                || !DelimitedTextTokenizer.isSupported(charset)) {
+            return false;
+        }
+        csvReader = null;
+        bufferedReader = null;
+        lineReader = new ByteLineReader(inputStream);
+        tokenizer =
+                new DelimitedTextTokenizer(
+                        String.valueOf(config.getFieldDelimiter().charAt(0)), charset);
+        trimWhitespace = (Boolean) csvConfig.getOrDefault("trimWhitespace", false);
+        return true;
+    }
+
     @Override
     public boolean hasNext() throws IOException {
+        if (lineReader != null) {
+            while (lineReader.readLine()) {
+                if (lineReader.getLength() > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
         return csvReader.readRecord();
     }
 
     @Override
     public String[] nextRecord() throws IOException {
+        if (lineReader != null) {
+            return nextTokenizedRecord().toStringArray();
+        }
         return csvReader.getValues();
     }
 
+    @Override
+    public boolean isTokenized() {
+        return lineReader != null;
+    }
+
+    @Override
+    public DelimitedTextTokenizer nextTokenizedRecord() {
+        tokenizer.tokenize(lineReader.getBytes(), lineReader.getOffset(), lineReader.getLength());
+        if (trimWhitespace) {
+            tokenizer.trimWhitespace();
+        }
+        return tokenizer;
+    }
+
     @Override
     public void close() throws IOException {
-        csvReader.close();
+        if (csvReader != null) {
+            csvReader.close();
+        }
         IOUtils.closeQuietly(bufferedReader);
+        IOUtils.closeQuietly(lineReader);
     }
 }
@@ -20,7 +20,9 @@ package com.dtstack.chunjun.connector.ftp.iformat;
 
 import com.dtstack.chunjun.connector.ftp.extend.ftp.File;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.IFormatConfig;
-import com.dtstack.chunjun.connector.ftp.extend.ftp.format.IFileReadFormat;
+import com.dtstack.chunjun.connector.ftp.extend.ftp.format.ITokenizedFileReadFormat;
+import com.dtstack.chunjun.util.ByteLineReader;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
@@ -30,35 +32,67 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 
 @Slf4j
-public class TextFileFormat implements IFileReadFormat {
+public class TextFileFormat implements ITokenizedFileReadFormat {
 
     private BufferedReader bufferedReader;
     private String filedDelimiter;
     private String line;
 
+    /** 编码支持按字节切分时按字节读取行，不为null时不使用bufferedReader */
+    private ByteLineReader lineReader;
+
+    private DelimitedTextTokenizer tokenizer;
+
     @Override
     public void open(File file, InputStream inputStream, IFormatConfig config) throws IOException {
         log.info("open file : {}", file.getFileName());
-        this.bufferedReader =
-                new BufferedReader(new InputStreamReader(inputStream, config.getEncoding()));
         this.filedDelimiter = config.getFieldDelimiter();
+        Charset charset = Charset.forName(config.getEncoding());
+        if (StringUtils.isNotEmpty(filedDelimiter) && DelimitedTextTokenizer.isSupported(charset)) {
+            this.bufferedReader = null;
+            this.lineReader = new ByteLineReader(inputStream);
+            this.tokenizer = new DelimitedTextTokenizer(filedDelimiter, charset);
+        } else {
+            this.lineReader = null;
+            this.bufferedReader =
+                    new BufferedReader(new InputStreamReader(inputStream, config.getEncoding()));
+        }
     }
 
     @Override
     public boolean hasNext() throws IOException {
+        if (lineReader != null) {
+            return lineReader.readLine();
+        }
         line = bufferedReader.readLine();
         return line != null;
     }
 
     @Override
     public String[] nextRecord() {
+        if (lineReader != null) {
+            return nextTokenizedRecord().toStringArray();
+        }
         return StringUtils.splitByWholeSeparatorPreserveAllTokens(line, filedDelimiter);
     }
 
+    @Override
+    public boolean isTokenized() {
+        return lineReader != null;
+    }
+
+    @Override
+    public DelimitedTextTokenizer nextTokenizedRecord() {
+        tokenizer.tokenize(lineReader.getBytes(), lineReader.getOffset(), lineReader.getLength());
+        return tokenizer;
+    }
+
     @Override
     public void close() throws IOException {
         IOUtils.closeQuietly(bufferedReader);
+        IOUtils.closeQuietly(lineReader);
     }
 }
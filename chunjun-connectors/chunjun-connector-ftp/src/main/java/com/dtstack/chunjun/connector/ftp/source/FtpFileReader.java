@@ -27,12 +27,14 @@ import com.dtstack.chunjun.connector.ftp.extend.ftp.FtpParseException;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.IFormatConfig;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.concurrent.FtpFileSplit;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.format.IFileReadFormat;
+import com.dtstack.chunjun.connector.ftp.extend.ftp.format.ITokenizedFileReadFormat;
 import com.dtstack.chunjun.connector.ftp.handler.DTFtpHandler;
 import com.dtstack.chunjun.connector.ftp.handler.FtpHandler;
 import com.dtstack.chunjun.connector.ftp.handler.FtpHandlerFactory;
 import com.dtstack.chunjun.connector.ftp.handler.Position;
 import com.dtstack.chunjun.connector.ftp.iformat.IFormatFactory;
 import com.dtstack.chunjun.metrics.BaseMetric;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 
 import org.apache.flink.api.common.accumulators.LongCounter;
 import org.apache.flink.api.common.functions.RuntimeContext;
@@ -125,7 +127,18 @@ public class FtpFileReader {
             }
 
             try {
-                String[] record = currentFileReadFormat.nextRecord();
+                boolean tokenized =
+                        currentFileReadFormat instanceof ITokenizedFileReadFormat
+                                && ((ITokenizedFileReadFormat) currentFileReadFormat).isTokenized();
+                String[] record = null;
+                DelimitedTextTokenizer tokenizer = null;
+                if (tokenized) {
+                    tokenizer =
+                            ((ITokenizedFileReadFormat) currentFileReadFormat)
+                                    .nextTokenizedRecord();
+                } else {
+                    record = currentFileReadFormat.nextRecord();
+                }
                 if (enableMetric) {
                     String readBytesMetricName = getMetricName("readBytes");
                     LongCounter readBytesCounter = counterMap.get(readBytesMetricName);
@@ -136,12 +149,12 @@ public class FtpFileReader {
                     updateMetric(counter, 1);
                 }
 
-                return new Data(
-                        record,
+                Position position =
                         new Position(
                                 currentInputStream.getCurrentReadBytes()
                                         + currentFileSplit.getStartPosition(),
-                                currentFileSplit));
+                                currentFileSplit);
+                return tokenized ? new Data(tokenizer, position) : new Data(record, position);
 
             } catch (FtpParseException e) {
                 String[] record = new String[] {e.getContent()};
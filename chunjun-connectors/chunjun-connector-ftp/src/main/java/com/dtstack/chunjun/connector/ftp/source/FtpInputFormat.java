@@ -35,6 +35,7 @@ import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
 import com.dtstack.chunjun.throwable.ReadRecordException;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 import com.dtstack.chunjun.util.PrintUtil;
 
 import org.apache.flink.api.common.accumulators.LongCounter;
@@ -160,20 +161,20 @@ public class FtpInputFormat extends BaseRichInputFormat {
 
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
-        String[] fields = data.getData();
         if (data.getException() != null) {
             throw new ReadRecordException(
                     data.getException().getMessage(), data.getException(), 0, rowData);
         }
 
+        DelimitedTextTokenizer tokenizer = data.getTokenizer();
         try {
-            if (fields.length == 1 && StringUtils.isBlank(fields[0])) {
-                log.warn("read data:{}, it will not be written.", Arrays.toString(fields));
+            if (isBlankRecord(tokenizer)) {
+                log.warn("read data:{}, it will not be written.", Arrays.toString(data.getData()));
                 return null;
             }
 
             if (rowConverter instanceof FtpSqlConverter) {
-                rowData = rowConverter.toInternal(String.join(",", fields));
+                rowData = rowConverter.toInternal(String.join(",", data.getData()));
             } else if (rowConverter instanceof FtpSyncConverter) {
 
                 List<FieldConfig> columns = ftpConfig.getColumn();
@@ -192,43 +193,17 @@ public class FtpInputFormat extends BaseRichInputFormat {
                     tmpColumn.setValue(reader.getCurrentFileName());
                     columns.set(tmpIndex, tmpColumn);
                 }
-                GenericRowData genericRowData;
-                if (CollectionUtils.size(columns) == 1
-                        && ConstantValue.STAR_SYMBOL.equals(columns.get(0).getName())) {
-                    genericRowData = new GenericRowData(fields.length);
-                    for (int i = 0; i < fields.length; i++) {
-                        Object value = fields[i];
-                        if (null == value || "".equals(value)) {
-                            value = ftpConfig.getNullIsReplacedWithValue();
-                        }
-                        genericRowData.setField(i, value);
-                    }
+                boolean allColumns =
+                        CollectionUtils.size(columns) == 1
+                                && ConstantValue.STAR_SYMBOL.equals(columns.get(0).getName());
+                if (tokenizer != null && !allColumns) {
+                    // 按字节切分的记录只转换配置的列，不为每个字段创建String
+                    rowData = ((FtpSyncConverter) rowConverter).toInternal(tokenizer, columns);
                 } else {
-                    genericRowData = new GenericRowData(columns.size());
-                    for (int i = 0; i < CollectionUtils.size(columns); i++) {
-                        FieldConfig fieldConfig = columns.get(i);
-
-                        Object value;
-                        if (fieldConfig.getValue() != null) {
-                            value = fieldConfig.getValue();
-                        } else {
-                            if (fieldConfig.getIndex() >= fields.length) {
-                                String errorMessage =
-                                        String.format(
-                                                "The column index is greater than the data size."
-                                                        + " The current column index is [%s], but the data size is [%s]. Data loss may occur.",
-                                                fieldConfig.getIndex(), fields.length);
-                                throw new IllegalArgumentException(errorMessage);
-                            }
-                            value = fields[fieldConfig.getIndex()];
-                        }
-                        if (null == value || "".equals(value)) {
-                            value = ftpConfig.getNullIsReplacedWithValue();
-                        }
-                        genericRowData.setField(i, value);
-                    }
+                    rowData =
+                            rowConverter.toInternal(
+                                    toGenericRowData(columns, allColumns, data.getData()));
                 }
-                rowData = rowConverter.toInternal(genericRowData);
             }
         } catch (Exception e) {
             throw new ReadRecordException("Read data error.", e, 0, rowData);
@@ -237,6 +212,48 @@ public class FtpInputFormat extends BaseRichInputFormat {
         return rowData;
     }
 
+    /** 只有一个空白字段的记录不写入 */
+    private boolean isBlankRecord(DelimitedTextTokenizer tokenizer) {
+        if (tokenizer != null) {
+            return tokenizer.size() == 1 && tokenizer.isBlank(0);
+        }
+        String[] fields = data.getData();
+        return fields.length == 1 && StringUtils.isBlank(fields[0]);
+    }
+
+    private GenericRowData toGenericRowData(
+            List<FieldConfig> columns, boolean allColumns, String[] fields) {
+        GenericRowData genericRowData;
+        if (allColumns) {
+            genericRowData = new GenericRowData(fields.length);
+            for (int i = 0; i < fields.length; i++) {
+                Object value = fields[i];
+                if (null == value || "".equals(value)) {
+                    value = ftpConfig.getNullIsReplacedWithValue();
+                }
+                genericRowData.setField(i, value);
+            }
+        } else {
+            genericRowData = new GenericRowData(columns.size());
+            for (int i = 0; i < CollectionUtils.size(columns); i++) {
+                FieldConfig fieldConfig = columns.get(i);
+
+                Object value;
+                if (fieldConfig.getValue() != null) {
+                    value = fieldConfig.getValue();
+                } else {
+                    FtpSyncConverter.checkColumnIndex(fieldConfig.getIndex(), fields.length);
+                    value = fields[fieldConfig.getIndex()];
+                }
+                if (null == value || "".equals(value)) {
+                    value = ftpConfig.getNullIsReplacedWithValue();
+                }
+                genericRowData.setField(i, value);
+            }
+        }
+        return genericRowData;
+    }
+
     @Override
     public FormatState getFormatState() {
         super.getFormatState();
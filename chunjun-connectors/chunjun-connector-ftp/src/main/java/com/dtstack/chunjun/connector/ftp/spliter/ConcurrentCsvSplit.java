@@ -22,17 +22,41 @@ import com.dtstack.chunjun.connector.ftp.client.FileUtil;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.IFormatConfig;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.IFtpHandler;
 import com.dtstack.chunjun.connector.ftp.extend.ftp.concurrent.FtpFileSplit;
+import com.dtstack.chunjun.connector.ftp.handler.FtpHandler;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
+import com.dtstack.chunjun.util.TextSplitUtil;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.MapUtils;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 按字节范围切分csv、txt文件，切分点对齐到行的起始位置.
+ *
+ * <p>识别文本限定符时，引号内的换行符不会被当作切分点，见{@link TextSplitUtil}。
+ */
 @Slf4j
 public class ConcurrentCsvSplit extends DefaultFileSplit {
 
+    private static final char QUOTE = '"';
+
+    /** 是否识别文本限定符，csv文件中引号内的字段可以包含换行符 */
+    private final boolean useTextQualifier;
+
+    public ConcurrentCsvSplit() {
+        this(false);
+    }
+
+    public ConcurrentCsvSplit(boolean useTextQualifier) {
+        this.useTextQualifier = useTextQualifier;
+    }
+
     @Override
     public List<FtpFileSplit> buildFtpFileSplit(
             IFtpHandler handler, IFormatConfig config, List<String> files) {
@@ -48,64 +72,31 @@ public class ConcurrentCsvSplit extends DefaultFileSplit {
             IFtpHandler ftpHandler, IFormatConfig config, String filePath) {
         List<FtpFileSplit> ftpFileSplits = new ArrayList<>();
 
-        String columnDelimiter = config.getColumnDelimiter();
         try {
             long currentFileSize = ftpHandler.getFileSize(filePath);
             long fetchSize = Math.max(1024 * 1024, config.getFetchMaxSize());
             String filename = FileUtil.getFilename(filePath);
-            if (currentFileSize > fetchSize) {
-                int perSplit =
-                        Math.min(
-                                (int) currentFileSize / config.getParallelism(), Integer.MAX_VALUE);
-                long startPosition = 0;
-                long endPosition = startPosition + perSplit;
-
-                while (endPosition <= currentFileSize) {
-                    if (endPosition == currentFileSize) {
-                        FtpFileSplit ftpFileSplit =
-                                new FtpFileSplit(startPosition, endPosition, filePath, filename);
-                        ftpFileSplits.add(ftpFileSplit);
-                        break;
-                    }
-
-                    InputStream input = ftpHandler.getInputStreamByPosition(filePath, endPosition);
-                    boolean notMatch = true;
-
-                    while (notMatch) {
-                        notMatch = false;
-                        for (char c : columnDelimiter.toCharArray()) {
-                            char ch = (char) input.read();
-                            endPosition += 1;
-
-                            if (ch != c) {
-                                notMatch = true;
-                                break;
-                            }
-                        }
-                    }
-
-                    FtpFileSplit ftpFileSplit =
-                            new FtpFileSplit(startPosition, endPosition, filePath, filename);
-                    ftpFileSplits.add(ftpFileSplit);
-
+            Charset charset = Charset.forName(config.getEncoding());
+            if (currentFileSize > fetchSize
+                    && config.getParallelism() > 1
+                    && isSingleByteDelimiter(charset)) {
+                long[] points =
+                        TextSplitUtil.computeSplitPoints(
+                                currentFileSize,
+                                config.getParallelism(),
+                                position -> openAt(ftpHandler, filePath, position),
+                                config.getColumnDelimiter().getBytes(charset),
+                                config.getFieldDelimiter().getBytes(charset),
+                                isUseTextQualifier(config) ? QUOTE : TextSplitUtil.NO_QUOTE,
+                                TextSplitUtil.DEFAULT_SCAN_BYTES);
+
+                for (int i = 0; i < points.length - 1; i++) {
+                    ftpFileSplits.add(
+                            new FtpFileSplit(points[i], points[i + 1], filePath, filename));
                     log.info(
                             String.format(
                                     "build file split, filename: %s, startPosition: %d, endPosition: %d",
-                                    filePath, startPosition, endPosition));
-
-                    startPosition = endPosition;
-                    endPosition = startPosition + perSplit;
-                }
-
-                if (endPosition != currentFileSize) {
-                    FtpFileSplit ftpFileSplit =
-                            new FtpFileSplit(startPosition, currentFileSize, filePath, filename);
-                    ftpFileSplits.add(ftpFileSplit);
-
-                    log.info(
-                            String.format(
-                                    "build file split, filename: %s, startPosition: %d, endPosition: %d",
-                                    filePath, startPosition, currentFileSize));
+                                    filePath, points[i], points[i + 1]));
                 }
             } else {
                 ftpFileSplits.add(new FtpFileSplit(0, currentFileSize, filePath, filename));
@@ -118,4 +109,38 @@ public class ConcurrentCsvSplit extends DefaultFileSplit {
             throw new ChunJunRuntimeException(e);
         }
     }
+
+    private boolean isUseTextQualifier(IFormatConfig config) {
+        if (!useTextQualifier) {
+            return false;
+        }
+        if (MapUtils.isNotEmpty(config.getFileConfig())) {
+            return (Boolean) config.getFileConfig().getOrDefault("useTextQualifier", true);
+        }
+        return true;
+    }
+
+    /** 行分隔符等ascii字符编码为多个字节时（如UTF-16），无法按字节查找切分点 */
+    private boolean isSingleByteDelimiter(Charset charset) {
+        return "\n".getBytes(charset).length == 1;
+    }
+
+    /** 关闭流时结束ftp的数据传输，保证同一个连接可以继续发送命令 */
+    private InputStream openAt(IFtpHandler ftpHandler, String filePath, long position) {
+        InputStream in = ftpHandler.getInputStreamByPosition(filePath, position);
+        if (in == null) {
+            throw new ChunJunRuntimeException(
+                    String.format("can not get inputStream for file [%s]", filePath));
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                if (ftpHandler instanceof FtpHandler) {
+                    // 提前关闭数据连接时服务端返回426，忽略返回结果
+                    ((FtpHandler) ftpHandler).getFtpClient().completePendingCommand();
+                }
+            }
+        };
+    }
 }
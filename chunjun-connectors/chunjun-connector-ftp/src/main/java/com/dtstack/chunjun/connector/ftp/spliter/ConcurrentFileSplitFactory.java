@@ -56,8 +56,9 @@ public class ConcurrentFileSplitFactory {
         String fileType = config.getFileType();
         switch (fileType.toUpperCase(Locale.ENGLISH)) {
             case "CSV":
+                return new ConcurrentCsvSplit(true);
             case "TXT":
-                return new ConcurrentCsvSplit();
+                return new ConcurrentCsvSplit(false);
 
             case "EXCEL":
             default:
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.ftp.converter;
+
+import com.dtstack.chunjun.config.FieldConfig;
+import com.dtstack.chunjun.connector.ftp.config.FtpConfig;
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.SmallIntType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.TinyIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FtpSyncConverterTest {
+
+    private static final LogicalType[] TYPES = {
+        new BooleanType(),
+        new TinyIntType(),
+        new SmallIntType(),
+        new IntType(),
+        new BigIntType(),
+        new DoubleType(),
+        new DecimalType(10, 2),
+        new VarCharType(),
+        new DateType(),
+        new TimestampType(3),
+    };
+
+    private FtpConfig ftpConfig;
+    private FtpSyncConverter converter;
+    private DelimitedTextTokenizer tokenizer;
+
+    @Before
+    public void setUp() {
+        ftpConfig = new FtpConfig();
+        List<FieldConfig> columns = new ArrayList<>();
+        String[] names = new String[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            FieldConfig column = new FieldConfig();
+            names[i] = "c" + i;
+            column.setName(names[i]);
+            // read the fields in reverse order, so that the token path has to follow the index
+            column.setIndex(TYPES.length - 1 - i);
+            columns.add(column);
+        }
+        ftpConfig.setColumn(columns);
+        converter = new FtpSyncConverter(RowType.of(TYPES, names), ftpConfig);
+        tokenizer = new DelimitedTextTokenizer(",", StandardCharsets.UTF_8);
+    }
+
+    /** Converts the line through the String[] path the input format used before. */
+    private ColumnRowData viaStrings(String line) throws Exception {
+        String[] fields = StringUtils.splitByWholeSeparatorPreserveAllTokens(line, ",");
+        List<FieldConfig> columns = ftpConfig.getColumn();
+        GenericRowData row = new GenericRowData(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            FieldConfig column = columns.get(i);
+            Object value =
+                    column.getValue() != null ? column.getValue() : fields[column.getIndex()];
+            if (null == value || "".equals(value)) {
+                value = ftpConfig.getNullIsReplacedWithValue();
+            }
+            row.setField(i, value);
+        }
+        return (ColumnRowData) converter.toInternal(row);
+    }
+
+    private ColumnRowData viaTokens(String line) throws Exception {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        tokenizer.tokenize(bytes, 0, bytes.length);
+        return (ColumnRowData) converter.toInternal(tokenizer, ftpConfig.getColumn());
+    }
+
+    private void assertSameRow(String line) throws Exception {
+        ColumnRowData expected = viaStrings(line);
+        ColumnRowData actual = viaTokens(line);
+        Assert.assertEquals(line, expected.getArity(), actual.getArity());
+        for (int i = 0; i < expected.getArity(); i++) {
+            AbstractBaseColumn e = expected.getField(i);
+            AbstractBaseColumn a = actual.getField(i);
+            if (e == null) {
+                Assert.assertNull(line, a);
+            } else {
+                Assert.assertEquals(line, e.getClass(), a.getClass());
+                Assert.assertEquals(line, e.getData(), a.getData());
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsStringPath() throws Exception {
+        assertSameRow(
+                "2022-01-01 12:00:00.123,2022-01-01,中文,12.50,1.5,-9223372036854775808,-42,-300,7,TRUE");
+        assertSameRow("2022-01-01 12:00:00,2022-01-01,,0.00,0,+17,2147483647,32767,-128,false");
+        assertSameRow(",,,,,,,,,");
+    }
+
+    @Test
+    public void testNullReplacementAndConstant() throws Exception {
+        ftpConfig.setNullIsReplacedWithValue("1");
+        ftpConfig.getColumn().get(3).setValue("99");
+        assertSameRow("2022-01-01 12:00:00,2022-01-01,a,,,,x,,,");
+        Assert.assertEquals(
+                99,
+                viaTokens("2022-01-01 12:00:00,2022-01-01,,,,,,,,").getField(3).asInt().intValue());
+    }
+
+    @Test
+    public void testInvalidValueFailsLikeStringPath() throws Exception {
+        String line = "2022-01-01 12:00:00,2022-01-01,a,1,1,1,1,1,128,true";
+        Exception expected = null;
+        try {
+            viaStrings(line);
+        } catch (Exception e) {
+            expected = e;
+        }
+        Assert.assertNotNull(expected);
+        try {
+            viaTokens(line);
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertEquals(expected.getClass(), e.getClass());
+            Assert.assertEquals(expected.getMessage(), e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingField() throws Exception {
+        viaTokens("a,b");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.ftp.iformat;
+
+import com.dtstack.chunjun.connector.ftp.extend.ftp.File;
+import com.dtstack.chunjun.connector.ftp.extend.ftp.IFormatConfig;
+
+import com.csvreader.CsvReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CsvFileFormatTest {
+
+    private static final String TEXT = "a,b,c\r\n\r\n 1 ,\t2\t, 中 文 \n,,\n\"q,uoted\",x\r\nlast,";
+
+    private static IFormatConfig config(boolean useTextQualifier, boolean trimWhitespace) {
+        Map<String, Object> fileConfig = new HashMap<>();
+        fileConfig.put("useTextQualifier", useTextQualifier);
+        fileConfig.put("trimWhitespace", trimWhitespace);
+        IFormatConfig config = new IFormatConfig();
+        config.setEncoding("UTF-8");
+        config.setFieldDelimiter(",");
+        config.setFileConfig(fileConfig);
+        return config;
+    }
+
+    private static List<String> readByFormat(IFormatConfig config, boolean tokenized)
+            throws IOException {
+        CsvFileFormat format = new CsvFileFormat();
+        format.open(
+                new File(null, "/test.csv", "test.csv", null),
+                new ByteArrayInputStream(TEXT.getBytes(StandardCharsets.UTF_8)),
+                config);
+        Assert.assertEquals(tokenized, format.isTokenized());
+        List<String> records = new ArrayList<>();
+        while (format.hasNext()) {
+            records.add(Arrays.toString(format.nextRecord()));
+        }
+        format.close();
+        return records;
+    }
+
+    private static List<String> readByCsvReader(boolean trimWhitespace) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(TEXT));
+        reader.setDelimiter(',');
+        reader.setSkipEmptyRecords(true);
+        reader.setUseTextQualifier(false);
+        reader.setTrimWhitespace(trimWhitespace);
+        reader.setSafetySwitch(false);
+        List<String> records = new ArrayList<>();
+        while (reader.readRecord()) {
+            records.add(Arrays.toString(reader.getValues()));
+        }
+        reader.close();
+        return records;
+    }
+
+    @Test
+    public void testTokenizedSameAsCsvReader() throws IOException {
+        Assert.assertEquals(readByCsvReader(false), readByFormat(config(false, false), true));
+        Assert.assertEquals(readByCsvReader(true), readByFormat(config(false, true), true));
+    }
+
+    @Test
+    public void testTextQualifierUsesCsvReader() throws IOException {
+        List<String> records = readByFormat(config(true, false), false);
+        Assert.assertEquals("[q,uoted, x]", records.get(3));
+    }
+}
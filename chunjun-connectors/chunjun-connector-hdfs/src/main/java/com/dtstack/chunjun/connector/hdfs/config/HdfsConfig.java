@@ -41,8 +41,12 @@ public class HdfsConfig extends BaseFileConfig {
     private String filterRegex = "";
     private String fieldDelimiter = "\001";
     private int rowGroupSize = ParquetWriter.DEFAULT_BLOCK_SIZE;
+    private int pageSize = ParquetWriter.DEFAULT_PAGE_SIZE;
+    private int dictionaryPageSize = ParquetWriter.DEFAULT_PAGE_SIZE;
     private boolean enableDictionary = true;
     private List<String> fullColumnName;
     private List<String> fullColumnType;
     private String finishedFileName;
+    /** 读取orc文件时的过滤条件 */
+    private List<OrcFilterConfig> orcFilters;
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.config;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 读取orc文件时的过滤条件，多个条件之间为and关系.
+ *
+ * <p>条件会转换为orc的SearchArgument，用于跳过不满足条件的stripe和row group，读取到的每行数据也会按条件过滤。
+ */
+@Data
+public class OrcFilterConfig implements Serializable {
+
+    private static final long serialVersionUID = 8476231585146338901L;
+
+    /** 字段名，需要与orc文件中的字段名一致 */
+    private String column;
+
+    /** 支持=、!=、<>、<、<=、>、>=、is null、is not null */
+    private String operator;
+
+    /** 比较的值，按orc文件中字段的类型解析，日期格式为yyyy-MM-dd，时间格式为yyyy-MM-dd HH:mm:ss[.fffffffff] */
+    private String value;
+}
@@ -17,6 +17,7 @@
  */
 package com.dtstack.chunjun.connector.hdfs.converter;
 
+import com.dtstack.chunjun.connector.hdfs.sink.ParquetRecord;
 import com.dtstack.chunjun.connector.hdfs.util.HdfsUtil;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.converter.IDeserializationConverter;
@@ -38,7 +39,6 @@ import org.apache.flink.table.types.logical.TimestampType;
 
 import org.apache.hadoop.hive.common.type.HiveDecimal;
 import org.apache.hadoop.hive.serde2.io.DateWritable;
-import org.apache.parquet.example.data.Group;
 import org.apache.parquet.io.api.Binary;
 
 import java.math.BigDecimal;
@@ -48,7 +48,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 public class HdfsParquetSqlConverter
-        extends AbstractRowConverter<RowData, RowData, Group, LogicalType> {
+        extends AbstractRowConverter<RowData, RowData, ParquetRecord, LogicalType> {
 
     private static final long serialVersionUID = -4819153961537643326L;
 
@@ -87,11 +87,11 @@ public class HdfsParquetSqlConverter
 
     @Override
     @SuppressWarnings("unchecked")
-    public Group toExternal(RowData rowData, Group group) throws Exception {
+    public ParquetRecord toExternal(RowData rowData, ParquetRecord record) throws Exception {
         for (int index = 0; index < fieldTypes.length; index++) {
-            toExternalConverters.get(index).serialize(rowData, index, group);
+            toExternalConverters.get(index).serialize(rowData, index, record);
         }
-        return group;
+        return record;
     }
 
     @Override
@@ -101,15 +101,15 @@ public class HdfsParquetSqlConverter
 
     @Override
     @SuppressWarnings("unchecked")
-    protected ISerializationConverter<Group> wrapIntoNullableExternalConverter(
+    protected ISerializationConverter<ParquetRecord> wrapIntoNullableExternalConverter(
             ISerializationConverter serializationConverter, LogicalType type) {
-        return (rowData, index, group) -> {
+        return (rowData, index, record) -> {
             if (rowData == null
                     || rowData.isNullAt(index)
                     || LogicalTypeRoot.NULL.equals(type.getTypeRoot())) {
                 // do nothing
             } else {
-                serializationConverter.serialize(rowData, index, group);
+                serializationConverter.serialize(rowData, index, record);
             }
         };
     }
@@ -169,63 +169,59 @@ public class HdfsParquetSqlConverter
     }
 
     @Override
-    protected ISerializationConverter<Group> createExternalConverter(LogicalType type) {
+    protected ISerializationConverter<ParquetRecord> createExternalConverter(LogicalType type) {
         switch (type.getTypeRoot()) {
             case NULL:
-                return (rowData, index, group) -> {};
+                return (rowData, index, record) -> {};
             case BOOLEAN:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getBoolean(index));
+                return (rowData, index, record) ->
+                        record.setBoolean(index, rowData.getBoolean(index));
             case TINYINT:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getByte(index));
+                return (rowData, index, record) -> record.setInteger(index, rowData.getByte(index));
             case SMALLINT:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getShort(index));
+                return (rowData, index, record) ->
+                        record.setInteger(index, rowData.getShort(index));
             case INTEGER:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getInt(index));
+                return (rowData, index, record) -> record.setInteger(index, rowData.getInt(index));
             case BIGINT:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getLong(index));
+                return (rowData, index, record) -> record.setLong(index, rowData.getLong(index));
             case DATE:
-                return (rowData, index, group) -> {
+                return (rowData, index, record) -> {
                     Date date = Date.valueOf(LocalDate.ofEpochDay(rowData.getInt(index)));
-                    group.add(columnNameList.get(index), DateWritable.dateToDays(date));
+                    record.setInteger(index, DateWritable.dateToDays(date));
                 };
             case FLOAT:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getFloat(index));
+                return (rowData, index, record) -> record.setFloat(index, rowData.getFloat(index));
             case DOUBLE:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getDouble(index));
+                return (rowData, index, record) ->
+                        record.setDouble(index, rowData.getDouble(index));
             case CHAR:
             case VARCHAR:
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getString(index).toString());
+                return (rowData, index, record) ->
+                        record.setBinary(
+                                index,
+                                Binary.fromConstantByteArray(rowData.getString(index).toBytes()));
             case DECIMAL:
-                return (rowData, index, group) -> {
+                return (rowData, index, record) -> {
                     int precision = ((DecimalType) type).getPrecision();
                     int scale = ((DecimalType) type).getScale();
                     HiveDecimal hiveDecimal =
                             HiveDecimal.create(
                                     (rowData.getDecimal(index, precision, scale).toBigDecimal()));
                     hiveDecimal = HiveDecimal.enforcePrecisionScale(hiveDecimal, precision, scale);
-                    group.add(
-                            columnNameList.get(index),
-                            HdfsUtil.decimalToBinary(hiveDecimal, precision, scale));
+                    record.setBinary(
+                            index, HdfsUtil.decimalToBinary(hiveDecimal, precision, scale));
                 };
             case BINARY:
             case VARBINARY:
-                return (rowData, index, group) ->
-                        group.add(
-                                columnNameList.get(index),
-                                Binary.fromReusedByteArray(rowData.getBinary(index)));
+                return (rowData, index, record) ->
+                        record.setBinary(
+                                index, Binary.fromReusedByteArray(rowData.getBinary(index)));
             case TIMESTAMP_WITHOUT_TIME_ZONE:
-                return (rowData, index, group) -> {
+                return (rowData, index, record) -> {
                     TimestampData timestampData =
                             rowData.getTimestamp(index, ((TimestampType) type).getPrecision());
-                    group.add(columnNameList.get(index), HdfsUtil.timestampToInt96(timestampData));
+                    record.setBinary(index, HdfsUtil.timestampToInt96(timestampData));
                 };
             case INTERVAL_DAY_TIME:
             case INTERVAL_YEAR_MONTH:
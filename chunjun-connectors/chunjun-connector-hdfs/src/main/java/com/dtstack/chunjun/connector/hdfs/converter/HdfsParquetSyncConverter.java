@@ -19,6 +19,7 @@ package com.dtstack.chunjun.connector.hdfs.converter;
 
 import com.dtstack.chunjun.config.FieldConfig;
 import com.dtstack.chunjun.connector.hdfs.config.HdfsConfig;
+import com.dtstack.chunjun.connector.hdfs.sink.ParquetRecord;
 import com.dtstack.chunjun.connector.hdfs.util.HdfsUtil;
 import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
@@ -49,7 +50,6 @@ import org.apache.flink.table.data.TimestampData;
 
 import org.apache.hadoop.hive.common.type.HiveDecimal;
 import org.apache.hadoop.hive.serde2.io.DateWritable;
-import org.apache.parquet.example.data.Group;
 import org.apache.parquet.io.api.Binary;
 
 import java.math.BigDecimal;
@@ -60,12 +60,13 @@ import java.util.Locale;
 import java.util.Map;
 
 public class HdfsParquetSyncConverter
-        extends AbstractRowConverter<RowData, RowData, Group, String> {
+        extends AbstractRowConverter<RowData, RowData, ParquetRecord, String> {
 
     private static final long serialVersionUID = -5175141539300795729L;
 
     private List<String> columnNameList;
-    private transient Map<String, ColumnTypeUtil.DecimalInfo> decimalColInfo;
+    /** 按列序号存放decimal列的精度信息 */
+    private transient ColumnTypeUtil.DecimalInfo[] decimalInfos;
 
     public HdfsParquetSyncConverter(List<FieldConfig> fieldConfigList, HdfsConfig hdfsConfig) {
         super(fieldConfigList.size(), hdfsConfig);
@@ -110,11 +111,11 @@ public class HdfsParquetSyncConverter
 
     @Override
     @SuppressWarnings("unchecked")
-    public Group toExternal(RowData rowData, Group group) throws Exception {
+    public ParquetRecord toExternal(RowData rowData, ParquetRecord record) throws Exception {
         for (int index = 0; index < columnNameList.size(); index++) {
-            toExternalConverters.get(index).serialize(rowData, index, group);
+            toExternalConverters.get(index).serialize(rowData, index, record);
         }
-        return group;
+        return record;
     }
 
     @Override
@@ -124,13 +125,13 @@ public class HdfsParquetSyncConverter
 
     @Override
     @SuppressWarnings("unchecked")
-    protected ISerializationConverter<Group> wrapIntoNullableExternalConverter(
+    protected ISerializationConverter<ParquetRecord> wrapIntoNullableExternalConverter(
             ISerializationConverter serializationConverter, String type) {
-        return (rowData, index, group) -> {
+        return (rowData, index, record) -> {
             if (rowData == null || rowData.isNullAt(index)) {
                 // do nothing
             } else {
-                serializationConverter.serialize(rowData, index, group);
+                serializationConverter.serialize(rowData, index, record);
             }
         };
     }
@@ -182,29 +183,25 @@ public class HdfsParquetSyncConverter
     }
 
     @Override
-    protected ISerializationConverter<Group> createExternalConverter(String type) {
+    protected ISerializationConverter<ParquetRecord> createExternalConverter(String type) {
         switch (type.toUpperCase(Locale.ENGLISH)) {
             case "BOOLEAN":
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getBoolean(index));
+                return (rowData, index, record) ->
+                        record.setBoolean(index, rowData.getBoolean(index));
             case "TINYINT":
             case "SMALLINT":
             case "INT":
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getInt(index));
+                return (rowData, index, record) -> record.setInteger(index, rowData.getInt(index));
             case "BIGINT":
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getLong(index));
+                return (rowData, index, record) -> record.setLong(index, rowData.getLong(index));
             case "FLOAT":
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getFloat(index));
+                return (rowData, index, record) -> record.setFloat(index, rowData.getFloat(index));
             case "DOUBLE":
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getDouble(index));
+                return (rowData, index, record) ->
+                        record.setDouble(index, rowData.getDouble(index));
             case "DECIMAL":
-                return (rowData, index, group) -> {
-                    ColumnTypeUtil.DecimalInfo decimalInfo =
-                            decimalColInfo.get(columnNameList.get(index));
+                return (rowData, index, record) -> {
+                    ColumnTypeUtil.DecimalInfo decimalInfo = decimalInfos[index];
                     HiveDecimal hiveDecimal =
                             HiveDecimal.create(
                                     rowData.getDecimal(
@@ -227,8 +224,8 @@ public class HdfsParquetSyncConverter
                                         rowData);
                         throw new WriteRecordException(msg, new IllegalArgumentException());
                     }
-                    group.add(
-                            columnNameList.get(index),
+                    record.setBinary(
+                            index,
                             HdfsUtil.decimalToBinary(
                                     hiveDecimal,
                                     decimalInfo.getPrecision(),
@@ -237,24 +234,25 @@ public class HdfsParquetSyncConverter
             case "STRING":
             case "VARCHAR":
             case "CHAR":
-                return (rowData, index, group) ->
-                        group.add(columnNameList.get(index), rowData.getString(index).toString());
+                return (rowData, index, record) ->
+                        record.setBinary(
+                                index,
+                                Binary.fromConstantByteArray(rowData.getString(index).toBytes()));
             case "TIMESTAMP":
-                return (rowData, index, group) -> {
+                return (rowData, index, record) -> {
                     TimestampData timestampData = rowData.getTimestamp(index, 6);
-                    group.add(columnNameList.get(index), HdfsUtil.timestampToInt96(timestampData));
+                    record.setBinary(index, HdfsUtil.timestampToInt96(timestampData));
                 };
             case "DATE":
-                return (rowData, index, group) -> {
+                return (rowData, index, record) -> {
                     TimestampData timestampData = rowData.getTimestamp(index, 6);
                     Date date = Date.valueOf(timestampData.toLocalDateTime().toLocalDate());
-                    group.add(columnNameList.get(index), DateWritable.dateToDays(date));
+                    record.setInteger(index, DateWritable.dateToDays(date));
                 };
             case "BINARY":
-                return (rowData, index, group) ->
-                        group.add(
-                                columnNameList.get(index),
-                                Binary.fromReusedByteArray(rowData.getBinary(index)));
+                return (rowData, index, record) ->
+                        record.setBinary(
+                                index, Binary.fromReusedByteArray(rowData.getBinary(index)));
             case "ARRAY":
             case "MAP":
             case "STRUCT":
@@ -268,7 +266,11 @@ public class HdfsParquetSyncConverter
         this.columnNameList = columnNameList;
     }
 
+    /** 需要在{@link #setColumnNameList(List)}之后调用，按列名解析出每列的decimal精度信息 */
     public void setDecimalColInfo(Map<String, ColumnTypeUtil.DecimalInfo> decimalColInfo) {
-        this.decimalColInfo = decimalColInfo;
+        this.decimalInfos = new ColumnTypeUtil.DecimalInfo[columnNameList.size()];
+        for (int i = 0; i < columnNameList.size(); i++) {
+            decimalInfos[i] = decimalColInfo.get(columnNameList.get(i));
+        }
     }
 }
@@ -40,14 +40,18 @@ import com.dtstack.chunjun.element.column.TimestampColumn;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.UnsupportedTypeException;
 import com.dtstack.chunjun.util.DateUtil;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -59,8 +63,13 @@ public class HdfsTextSyncConverter
 
     private static final long serialVersionUID = 1191849197062775272L;
 
+    private static final byte[] NULL_BYTES = "\\N".getBytes(StandardCharsets.UTF_8);
+
     private List<String> columnNameList;
 
+    /** 直接从字节转换字段的转换器，与toInternalConverters一一对应 */
+    private final List<TokenConverter> tokenConverters = new ArrayList<>();
+
     public HdfsTextSyncConverter(List<FieldConfig> fieldConfigList, HdfsConfig hdfsConfig) {
         super(fieldConfigList.size(), hdfsConfig);
         columnNameList =
@@ -74,8 +83,9 @@ public class HdfsTextSyncConverter
             if (left > 0 && right > 0) {
                 type = type.substring(0, left);
             }
-            toInternalConverters.add(
-                    wrapIntoNullableInternalConverter(createInternalConverter(type)));
+            IDeserializationConverter internalConverter = createInternalConverter(type);
+            toInternalConverters.add(wrapIntoNullableInternalConverter(internalConverter));
+            tokenConverters.add(createTokenConverter(type, internalConverter));
             toExternalConverters.add(
                     wrapIntoNullableExternalConverter(createExternalConverter(type), type));
         }
@@ -107,6 +117,43 @@ public class HdfsTextSyncConverter
         return row;
     }
 
+    /**
+     * 从切分后的字节直接转换为ColumnRowData，只转换配置的列，效果与先解码为String再调用{@link #toInternal(RowData)}一致
+     *
+     * @param tokenizer 已切分当前行的tokenizer
+     */
+    @SuppressWarnings("unchecked")
+    public RowData toInternal(DelimitedTextTokenizer tokenizer) throws Exception {
+        List<FieldConfig> fieldConfigList = commonConfig.getColumn();
+        ColumnRowData row = new ColumnRowData(fieldConfigList.size());
+        for (int i = 0; i < fieldConfigList.size(); i++) {
+            FieldConfig fieldConfig = fieldConfigList.get(i);
+            AbstractBaseColumn baseColumn = null;
+            if (fieldConfig.getValue() != null) {
+                baseColumn =
+                        (AbstractBaseColumn)
+                                toInternalConverters.get(i).deserialize(fieldConfig.getValue());
+            } else if (fieldConfig.getIndex() != null
+                    && fieldConfig.getIndex() < tokenizer.size()) {
+                int index = fieldConfig.getIndex();
+                if (!tokenizer.isEmpty(index) && !tokenizer.fieldEquals(index, NULL_BYTES)) {
+                    try {
+                        baseColumn = tokenConverters.get(i).convert(tokenizer, index);
+                    } catch (Exception e) {
+                        log.error("value [{}] convent failed ", tokenizer.getString(index));
+                        throw e;
+                    }
+                }
+            }
+            if (baseColumn != null) {
+                row.addField(assembleFieldProps(fieldConfig, baseColumn));
+            } else {
+                row.addField(new NullColumn());
+            }
+        }
+        return row;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public String[] toExternal(RowData rowData, String[] data) throws Exception {
@@ -208,6 +255,36 @@ public class HdfsTextSyncConverter
         }
     }
 
+    /** 整数和布尔值直接从字节解析，其余类型解码为String后使用原有的转换器 */
+    @SuppressWarnings("unchecked")
+    private TokenConverter createTokenConverter(
+            String type, IDeserializationConverter internalConverter) {
+        switch (type.toUpperCase(Locale.ENGLISH)) {
+            case "BOOLEAN":
+                return (tokenizer, index) -> new BooleanColumn(tokenizer.getBoolean(index));
+            case "SMALLINT":
+                return (tokenizer, index) -> {
+                    int value = tokenizer.getInt(index);
+                    if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+                        return new ShortColumn(Short.parseShort(tokenizer.getString(index)));
+                    }
+                    return new ShortColumn((short) value);
+                };
+            case "INT":
+                return (tokenizer, index) -> new IntColumn(tokenizer.getInt(index));
+            case "BIGINT":
+                return (tokenizer, index) -> new LongColumn(tokenizer.getLong(index));
+            case "STRING":
+            case "VARCHAR":
+            case "CHAR":
+                return (tokenizer, index) -> new StringColumn(tokenizer.getString(index));
+            default:
+                return (tokenizer, index) ->
+                        (AbstractBaseColumn)
+                                internalConverter.deserialize(tokenizer.getString(index));
+        }
+    }
+
     @Override
     protected ISerializationConverter<String[]> createExternalConverter(String type) {
         switch (type.toUpperCase(Locale.ENGLISH)) {
@@ -261,4 +338,9 @@ public class HdfsTextSyncConverter
                 throw new UnsupportedTypeException(type);
         }
     }
+
+    @FunctionalInterface
+    private interface TokenConverter extends Serializable {
+        AbstractBaseColumn convert(DelimitedTextTokenizer tokenizer, int index) throws Exception;
+    }
 }
@@ -22,6 +22,8 @@ import com.dtstack.chunjun.table.options.BaseFileOptions;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 
+import parquet.hadoop.ParquetWriter;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -57,6 +59,25 @@ public class HdfsOptions extends BaseFileOptions {
                     .defaultValue(true)
                     .withDescription("enable dictionary");
 
+    public static final ConfigOption<Integer> ROW_GROUP_SIZE =
+            ConfigOptions.key("row-group-size")
+                    .intType()
+                    .defaultValue(ParquetWriter.DEFAULT_BLOCK_SIZE)
+                    .withDescription("The row group size in bytes when fileType is parquet");
+
+    public static final ConfigOption<Integer> PAGE_SIZE =
+            ConfigOptions.key("page-size")
+                    .intType()
+                    .defaultValue(ParquetWriter.DEFAULT_PAGE_SIZE)
+                    .withDescription("The page size in bytes when fileType is parquet");
+
+    public static final ConfigOption<Integer> DICTIONARY_PAGE_SIZE =
+            ConfigOptions.key("dictionary-page-size")
+                    .intType()
+                    .defaultValue(ParquetWriter.DEFAULT_PAGE_SIZE)
+                    .withDescription(
+                            "The max dictionary page size in bytes when fileType is parquet");
+
     public static Map<String, Object> getHadoopConfig(Map<String, String> tableOptions) {
         Map<String, Object> hadoopConfig = new HashMap<>();
         if (hasHadoopConfig(tableOptions)) {
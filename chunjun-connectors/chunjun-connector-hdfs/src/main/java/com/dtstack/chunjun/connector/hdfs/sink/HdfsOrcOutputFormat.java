@@ -29,19 +29,27 @@ import com.dtstack.chunjun.throwable.WriteRecordException;
 import com.dtstack.chunjun.util.ColumnTypeUtil;
 import com.dtstack.chunjun.util.ExceptionUtil;
 import com.dtstack.chunjun.util.FileSystemUtil;
-import com.dtstack.chunjun.util.ReflectionUtils;
 
 import org.apache.flink.table.data.RowData;
 
 import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
 import org.apache.hadoop.hive.ql.io.orc.OrcFile;
-import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
+import org.apache.hadoop.hive.ql.io.orc.Writer;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
-import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.io.compress.BZip2Codec;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.DefaultCodec;
@@ -50,15 +58,22 @@ import org.apache.hadoop.io.compress.Lz4Codec;
 import org.apache.hadoop.io.compress.SnappyCodec;
 import org.apache.hadoop.mapred.FileOutputFormat;
 import org.apache.hadoop.mapred.JobConf;
-import org.apache.hadoop.mapred.RecordWriter;
-import org.apache.hadoop.mapred.Reporter;
+import org.apache.orc.TypeDescription;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * 按列向量写入orc文件.
+ *
+ * <p>数据先填充到{@link VectorizedRowBatch}的列向量中，batch写满、flush或关闭时整批交给orc writer编码，避免逐行经过OrcSerde序列化。
+ */
 @Slf4j
 public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
     private static final long serialVersionUID = -7422373310272271581L;
@@ -66,11 +81,12 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
     private static final ColumnTypeUtil.DecimalInfo ORC_DEFAULT_DECIMAL_INFO =
             new ColumnTypeUtil.DecimalInfo(
                     HiveDecimal.SYSTEM_DEFAULT_PRECISION, HiveDecimal.SYSTEM_DEFAULT_SCALE);
-    private RecordWriter recordWriter;
-    private OrcSerde orcSerde;
+    private transient Writer recordWriter;
     private StructObjectInspector inspector;
-    private FileOutputFormat outputFormat;
     private JobConf jobConfig;
+    private transient VectorizedRowBatch batch;
+    /** 按字段位置向列向量中写入一个非null的值 */
+    private transient OrcValueWriter[] valueWriters;
 
     protected int[] colIndices;
 
@@ -78,8 +94,6 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
     protected void openSource() {
         super.openSource();
 
-        orcSerde = new OrcSerde();
-        outputFormat = new org.apache.hadoop.hive.ql.io.orc.OrcOutputFormat();
         jobConfig = new JobConf(config);
 
         Class<? extends CompressionCodec> codecClass;
@@ -162,15 +176,12 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
 
         try {
             String currentBlockTmpPath = tmpPath + getHdfsPathChar() + currentFileName;
-            recordWriter =
-                    outputFormat.getRecordWriter(
-                            null, jobConfig, currentBlockTmpPath, Reporter.NULL);
+            recordWriter = createWriter(currentBlockTmpPath);
             currentFileIndex++;
 
-            setFs();
             log.info("nextBlock:Current block writer record:" + rowsOfCurrentBlock);
             log.info("Current block file name:" + currentBlockTmpPath);
-        } catch (IOException | IllegalAccessException e) {
+        } catch (IOException e) {
             throw new ChunJunRuntimeException(
                     HdfsUtil.parseErrorMsg(null, ExceptionUtil.getErrorMessage(e)), e);
         }
@@ -183,10 +194,7 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
                 SizeUnitType.readableFileSize(bytesWriteCounter.getLocalValue()));
 
         try {
-            if (recordWriter != null) {
-                recordWriter.close(Reporter.NULL);
-                recordWriter = null;
-            }
+            closeWriter();
         } catch (IOException e) {
             throw new ChunJunRuntimeException(
                     HdfsUtil.parseErrorMsg(
@@ -213,36 +221,82 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
             throw new WriteRecordException(errorMessage, e, -1, rowData);
         }
 
+        int row = batch.size;
         try {
-            List<Object> recordList = new ArrayList<>();
-            for (int i = 0; i < hdfsConfig.getFullColumnName().size(); ++i) {
+            for (int i = 0; i < colIndices.length; ++i) {
                 int colIndex = colIndices[i];
-                if (colIndex == -1) {
-                    recordList.add(null);
+                Object value = colIndex == -1 ? null : data[colIndex];
+                ColumnVector vector = batch.cols[i];
+                if (value == null) {
+                    vector.noNulls = false;
+                    vector.isNull[row] = true;
                 } else {
-                    recordList.add(data[colIndex]);
+                    vector.isNull[row] = false;
+                    valueWriters[i].write(vector, row, value);
                 }
             }
-
-            this.recordWriter.write(
-                    NullWritable.get(), this.orcSerde.serialize(recordList, this.inspector));
-            rowsOfCurrentBlock++;
-            lastRow = rowData;
-        } catch (IOException e) {
+        } catch (RuntimeException e) {
+            // 当前行不计入batch，已写入的列向量会被下一行覆盖
             throw new WriteRecordException(
                     String.format("Data writing to hdfs is abnormal，rowData:{%s}", rowData), e);
         }
+        batch.size++;
+        rowsOfCurrentBlock++;
+        lastRow = rowData;
+
+        if (batch.size == batch.getMaxSize()) {
+            try {
+                writeBatch();
+            } catch (IOException e) {
+                throw new WriteRecordException(
+                        String.format("Data writing to hdfs is abnormal，rowData:{%s}", rowData), e);
+            }
+        }
+    }
+
+    private Writer createWriter(String path) throws IOException {
+        OrcFile.WriterOptions writerOptions = OrcFile.writerOptions(jobConfig).inspector(inspector);
+        if (FileSystemUtil.isOpenKerberos(hdfsConfig.getHadoopConfig())) {
+            // 使用ugi中获取的fs，否则writer会自行初始化一个fs，checkpoint时关闭writer会出现kerberos认证错误
+            writerOptions.fileSystem(fs);
+        }
+        Writer writer = OrcFile.createWriter(new Path(path), writerOptions);
+        if (batch == null) {
+            TypeDescription schema = writer.getSchema();
+            batch = schema.createRowBatch();
+            valueWriters = new OrcValueWriter[schema.getChildren().size()];
+            for (int i = 0; i < valueWriters.length; i++) {
+                valueWriters[i] = createValueWriter(schema.getChildren().get(i));
+            }
+        }
+        batch.reset();
+        return writer;
+    }
+
+    private void writeBatch() throws IOException {
+        if (batch.size > 0) {
+            recordWriter.addRowBatch(batch);
+            batch.reset();
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        Writer writer = this.recordWriter;
+        if (writer != null) {
+            this.recordWriter = null;
+            try {
+                writeBatch();
+            } finally {
+                writer.close();
+            }
+        }
     }
 
     @Override
     protected void closeSource() {
         try {
             log.info("close:Current block writer record:" + rowsOfCurrentBlock);
-            RecordWriter rw = this.recordWriter;
-            if (rw != null) {
-                rw.close(Reporter.NULL);
-                this.recordWriter = null;
-            }
+            closeWriter();
         } catch (IOException e) {
             throw new ChunJunRuntimeException("close stream error.", e);
         } finally {
@@ -255,21 +309,84 @@ public class HdfsOrcOutputFormat extends BaseHdfsOutputFormat {
         return CompressType.getByTypeAndFileType(hdfsConfig.getCompress(), FileType.ORC.name());
     }
 
-    /**
-     * 数据源开启kerberos时 如果这里不通过反射对 writerOptions 赋值fs，则在recordWriter.writer时 会初始化一个fs 此fs不在ugi里获取的
-     * 导致开启了kerberos的数据源在checkpoint时进行 recordWriter.close() 操作，会出现kerberos认证错误
-     *
-     * @throws IllegalAccessException illegal access exception.
-     */
-    private void setFs() throws IllegalAccessException {
-        if (FileSystemUtil.isOpenKerberos(hdfsConfig.getHadoopConfig())) {
-            Field declaredField = ReflectionUtils.getDeclaredField(recordWriter, "options");
-            assert declaredField != null;
-            declaredField.setAccessible(true);
-            OrcFile.WriterOptions writerOptions =
-                    (OrcFile.WriterOptions) declaredField.get(recordWriter);
-            writerOptions.fileSystem(fs);
-            declaredField.setAccessible(false);
+    /** 接受HdfsOrcSyncConverter和HdfsOrcSqlConverter转换出的java类型 */
+    private static OrcValueWriter createValueWriter(TypeDescription type) {
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return (vector, row, value) ->
+                        ((LongColumnVector) vector).vector[row] = (Boolean) value ? 1 : 0;
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return (vector, row, value) ->
+                        ((LongColumnVector) vector).vector[row] = ((Number) value).longValue();
+            case FLOAT:
+            case DOUBLE:
+                return (vector, row, value) ->
+                        ((DoubleColumnVector) vector).vector[row] = ((Number) value).doubleValue();
+            case DECIMAL:
+                return (vector, row, value) -> {
+                    DecimalColumnVector decimals = (DecimalColumnVector) vector;
+                    if (value instanceof HiveDecimalWritable) {
+                        decimals.set(row, (HiveDecimalWritable) value);
+                    } else {
+                        decimals.set(row, HiveDecimal.create(new BigDecimal(value.toString())));
+                    }
+                    if (decimals.isNull[row]) {
+                        // 精度不匹配时set方法会将该行置为null
+                        decimals.noNulls = false;
+                    }
+                };
+            case STRING:
+            case VARCHAR:
+            case CHAR:
+                return (vector, row, value) ->
+                        ((BytesColumnVector) vector)
+                                .setVal(row, value.toString().getBytes(StandardCharsets.UTF_8));
+            case BINARY:
+                return (vector, row, value) -> {
+                    if (value instanceof BytesWritable) {
+                        BytesWritable bytes = (BytesWritable) value;
+                        ((BytesColumnVector) vector)
+                                .setVal(row, bytes.getBytes(), 0, bytes.getLength());
+                    } else {
+                        ((BytesColumnVector) vector).setVal(row, (byte[]) value);
+                    }
+                };
+            case DATE:
+                return (vector, row, value) -> {
+                    long epochDay;
+                    if (value instanceof org.apache.hadoop.hive.common.type.Date) {
+                        epochDay = ((org.apache.hadoop.hive.common.type.Date) value).toEpochDay();
+                    } else if (value instanceof java.sql.Date) {
+                        epochDay = ((java.sql.Date) value).toLocalDate().toEpochDay();
+                    } else {
+                        epochDay = LocalDate.parse(value.toString()).toEpochDay();
+                    }
+                    ((LongColumnVector) vector).vector[row] = epochDay;
+                };
+            case TIMESTAMP:
+                return (vector, row, value) -> {
+                    TimestampColumnVector timestamps = (TimestampColumnVector) vector;
+                    if (value instanceof org.apache.hadoop.hive.common.type.Timestamp) {
+                        org.apache.hadoop.hive.common.type.Timestamp timestamp =
+                                (org.apache.hadoop.hive.common.type.Timestamp) value;
+                        timestamps.time[row] = timestamp.toEpochMilli();
+                        timestamps.nanos[row] = timestamp.getNanos();
+                    } else {
+                        timestamps.set(row, (Timestamp) value);
+                    }
+                };
+            default:
+                throw new ChunJunRuntimeException(
+                        "Field types such as array, map, and struct are not supported.");
         }
     }
+
+    /** 向列向量中写入一个非null的值 */
+    @FunctionalInterface
+    private interface OrcValueWriter {
+        void write(ColumnVector vector, int row, Object value);
+    }
 }
@@ -37,12 +37,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.parquet.column.ParquetProperties;
-import org.apache.parquet.example.data.Group;
-import org.apache.parquet.example.data.simple.SimpleGroupFactory;
 import org.apache.parquet.hadoop.ParquetFileWriter;
 import org.apache.parquet.hadoop.ParquetWriter;
-import org.apache.parquet.hadoop.example.ExampleParquetWriter;
-import org.apache.parquet.hadoop.example.GroupWriteSupport;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.OriginalType;
@@ -62,21 +58,21 @@ public class HdfsParquetOutputFormat extends BaseHdfsOutputFormat {
 
     private static final ColumnTypeUtil.DecimalInfo PARQUET_DEFAULT_DECIMAL_INFO =
             new ColumnTypeUtil.DecimalInfo(10, 0);
-    private SimpleGroupFactory groupFactory;
-    private ParquetWriter<Group> writer;
+    private ParquetWriter<ParquetRecord> writer;
     private MessageType schema;
+    /** 在行与行之间复用，由rowConverter填充后直接写入parquet */
+    private transient ParquetRecord record;
 
     @Override
     protected void openSource() {
         super.openSource();
 
         schema = buildSchema();
-        GroupWriteSupport.setSchema(schema, config);
-        groupFactory = new SimpleGroupFactory(schema);
         List<String> columnNameList =
                 hdfsConfig.getColumn().stream()
                         .map(FieldConfig::getName)
                         .collect(Collectors.toList());
+        record = new ParquetRecord(schema, columnNameList);
         if (rowConverter instanceof HdfsParquetSyncConverter) {
             ((HdfsParquetSyncConverter) rowConverter).setColumnNameList(columnNameList);
             ((HdfsParquetSyncConverter) rowConverter).setDecimalColInfo(decimalColInfo);
@@ -113,15 +109,17 @@ public class HdfsParquetOutputFormat extends BaseHdfsOutputFormat {
                     compressionCodecName = CompressionCodecName.UNCOMPRESSED;
             }
 
-            ExampleParquetWriter.Builder builder =
-                    ExampleParquetWriter.builder(writePath)
+            ParquetRecordWriteSupport.Builder builder =
+                    ParquetRecordWriteSupport.builder(writePath)
                             .withWriteMode(ParquetFileWriter.Mode.CREATE)
                             .withWriterVersion(ParquetProperties.WriterVersion.PARQUET_1_0)
                             .withCompressionCodec(compressionCodecName)
                             .withConf(config)
                             .withType(schema)
                             .withDictionaryEncoding(hdfsConfig.isEnableDictionary())
-                            .withRowGroupSize(hdfsConfig.getRowGroupSize());
+                            .withRowGroupSize(hdfsConfig.getRowGroupSize())
+                            .withPageSize(hdfsConfig.getPageSize())
+                            .withDictionaryPageSize(hdfsConfig.getDictionaryPageSize());
 
             // 开启kerberos 需要在ugi里进行build
             if (FileSystemUtil.isOpenKerberos(hdfsConfig.getHadoopConfig())) {
@@ -177,9 +175,10 @@ public class HdfsParquetOutputFormat extends BaseHdfsOutputFormat {
             nextBlock();
         }
 
-        Group group = groupFactory.newGroup();
+        // 先完成所有列的转换再写入，转换失败的数据不会写入文件
+        record.clear();
         try {
-            group = (Group) rowConverter.toExternal(rowData, group);
+            rowConverter.toExternal(rowData, record);
         } catch (Exception e) {
             String errorMessage =
                     HdfsUtil.parseErrorMsg(
@@ -189,7 +188,7 @@ public class HdfsParquetOutputFormat extends BaseHdfsOutputFormat {
         }
 
         try {
-            writer.write(group);
+            writer.write(record);
             rowsOfCurrentBlock++;
             lastRow = rowData;
         } catch (IOException e) {
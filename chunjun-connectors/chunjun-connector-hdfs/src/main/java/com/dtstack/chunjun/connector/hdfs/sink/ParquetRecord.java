@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.sink;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 一行待写入parquet文件的数据，各列的值按schema中的字段位置存放在基本类型数组中.
+ *
+ * <p>对象在行与行之间复用，列序号到schema字段位置的映射在创建时计算好，写入时由{@link ParquetRecordWriteSupport}按schema顺序直接写入
+ * RecordConsumer，不需要为每行创建Group对象树，也不需要按字段名查找字段。
+ */
+public class ParquetRecord {
+
+    private final String[] fieldNames;
+    private final PrimitiveType.PrimitiveTypeName[] fieldTypes;
+    /** 列序号到schema字段位置的映射，列不在schema中时为-1 */
+    private final int[] columnToField;
+
+    private final List<String> columnNameList;
+
+    private final boolean[] present;
+    /** boolean、int、long类型的值 */
+    private final long[] longValues;
+    /** float、double类型的值 */
+    private final double[] doubleValues;
+    /** binary、fixed_len_byte_array、int96类型的值 */
+    private final Binary[] binaryValues;
+
+    public ParquetRecord(MessageType schema, List<String> columnNameList) {
+        int fieldCount = schema.getFieldCount();
+        this.fieldNames = new String[fieldCount];
+        this.fieldTypes = new PrimitiveType.PrimitiveTypeName[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fieldNames[i] = schema.getFieldName(i);
+            fieldTypes[i] = schema.getType(i).asPrimitiveType().getPrimitiveTypeName();
+        }
+        this.columnNameList = columnNameList;
+        this.columnToField = new int[columnNameList.size()];
+        for (int i = 0; i < columnToField.length; i++) {
+            String name = columnNameList.get(i);
+            columnToField[i] = schema.containsField(name) ? schema.getFieldIndex(name) : -1;
+        }
+        this.present = new boolean[fieldCount];
+        this.longValues = new long[fieldCount];
+        this.doubleValues = new double[fieldCount];
+        this.binaryValues = new Binary[fieldCount];
+    }
+
+    /** 清空上一行的数据，未设置的列写为null */
+    public void clear() {
+        Arrays.fill(present, false);
+        Arrays.fill(binaryValues, null);
+    }
+
+    public void setBoolean(int column, boolean value) {
+        longValues[markPresent(column)] = value ? 1 : 0;
+    }
+
+    public void setInteger(int column, int value) {
+        longValues[markPresent(column)] = value;
+    }
+
+    public void setLong(int column, long value) {
+        longValues[markPresent(column)] = value;
+    }
+
+    public void setFloat(int column, float value) {
+        doubleValues[markPresent(column)] = value;
+    }
+
+    public void setDouble(int column, double value) {
+        doubleValues[markPresent(column)] = value;
+    }
+
+    public void setBinary(int column, Binary value) {
+        binaryValues[markPresent(column)] = value;
+    }
+
+    /** 按schema顺序把一行数据写入recordConsumer，值为null的字段不写入 */
+    public void writeTo(RecordConsumer recordConsumer) {
+        recordConsumer.startMessage();
+        for (int field = 0; field < fieldNames.length; field++) {
+            if (!present[field]) {
+                continue;
+            }
+            recordConsumer.startField(fieldNames[field], field);
+            switch (fieldTypes[field]) {
+                case BOOLEAN:
+                    recordConsumer.addBoolean(longValues[field] != 0);
+                    break;
+                case INT32:
+                    recordConsumer.addInteger((int) longValues[field]);
+                    break;
+                case INT64:
+                    recordConsumer.addLong(longValues[field]);
+                    break;
+                case FLOAT:
+                    recordConsumer.addFloat((float) doubleValues[field]);
+                    break;
+                case DOUBLE:
+                    recordConsumer.addDouble(doubleValues[field]);
+                    break;
+                default:
+                    recordConsumer.addBinary(binaryValues[field]);
+                    break;
+            }
+            recordConsumer.endField(fieldNames[field], field);
+        }
+        recordConsumer.endMessage();
+    }
+
+    private int markPresent(int column) {
+        int field = columnToField[column];
+        if (field < 0) {
+            throw new IllegalArgumentException(
+                    "column [" + columnNameList.get(column) + "] does not exist in parquet schema");
+        }
+        present[field] = true;
+        return field;
+    }
+}
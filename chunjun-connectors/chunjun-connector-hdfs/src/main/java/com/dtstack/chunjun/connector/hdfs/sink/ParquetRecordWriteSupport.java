@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.sink;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+
+import java.util.HashMap;
+
+/** 把{@link ParquetRecord}直接写入parquet RecordConsumer的WriteSupport */
+public class ParquetRecordWriteSupport extends WriteSupport<ParquetRecord> {
+
+    private final MessageType schema;
+    private RecordConsumer recordConsumer;
+
+    public ParquetRecordWriteSupport(MessageType schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration) {
+        return new WriteContext(schema, new HashMap<>());
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+        this.recordConsumer = recordConsumer;
+    }
+
+    @Override
+    public void write(ParquetRecord record) {
+        record.writeTo(recordConsumer);
+    }
+
+    public static Builder builder(Path path) {
+        return new Builder(path);
+    }
+
+    public static class Builder extends ParquetWriter.Builder<ParquetRecord, Builder> {
+
+        private MessageType schema;
+
+        private Builder(Path path) {
+            super(path);
+        }
+
+        public Builder withType(MessageType schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<ParquetRecord> getWriteSupport(Configuration conf) {
+            return new ParquetRecordWriteSupport(schema);
+        }
+    }
+}
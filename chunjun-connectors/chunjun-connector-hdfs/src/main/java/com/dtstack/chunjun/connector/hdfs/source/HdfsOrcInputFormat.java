@@ -19,7 +19,6 @@ package com.dtstack.chunjun.connector.hdfs.source;
 
 import com.dtstack.chunjun.config.FieldConfig;
 import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsOrcInputSplit;
-import com.dtstack.chunjun.connector.hdfs.util.HdfsUtil;
 import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.ReadRecordException;
@@ -29,35 +28,63 @@ import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
 import org.apache.hadoop.hive.ql.io.orc.OrcFile;
 import org.apache.hadoop.hive.ql.io.orc.OrcInputFormat;
-import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
 import org.apache.hadoop.hive.ql.io.orc.OrcSplit;
-import org.apache.hadoop.hive.serde2.objectinspector.StructField;
-import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.ql.io.orc.Reader;
 import org.apache.hadoop.mapred.InputFormat;
-import org.apache.hadoop.mapred.Reporter;
+import org.apache.orc.RecordReader;
+import org.apache.orc.TypeDescription;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.PrivilegedAction;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Properties;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * 按列向量读取orc文件.
+ *
+ * <p>每次从orc reader读取一个{@link VectorizedRowBatch}，只解码需要读取的列，再按行从列向量中取值；配置了过滤条件时， 条件下推给orc
+ * reader跳过不满足条件的stripe和row group，并在列向量上逐行过滤。
+ */
 @Slf4j
 public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
 
-    private static final String COMPLEX_FIELD_TYPE_SYMBOL_REGEX = ".*(<|>|\\{|}|[|]).*";
     private static final long serialVersionUID = 5825411463826640071L;
+
+    /** orc split的生成策略，ETL策略读取文件footer，按stripe生成split */
+    private static final String ORC_SPLIT_STRATEGY_KEY = "hive.exec.orc.split.strategy";
+
+    private static final String ORC_SPLIT_STRATEGY_ETL = "ETL";
+
     private final AtomicBoolean isInit = new AtomicBoolean(false);
     private transient String[] fullColNames;
-    private transient StructObjectInspector inspector;
-    private transient List<? extends StructField> fields;
+
+    private transient Reader orcReader;
+    private transient RecordReader rows;
+    private transient VectorizedRowBatch batch;
+    /** batch中下一行的位置 */
+    private transient int rowInBatch;
+    /** 按字段位置从列向量中取值 */
+    private transient OrcValueReader[] valueReaders;
+
+    private transient OrcRowFilter rowFilter;
 
     @Override
     public HdfsOrcInputSplit[] createHdfsSplit(int minNumSplits) throws IOException {
@@ -75,6 +102,10 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
         org.apache.hadoop.mapred.FileInputFormat.setInputPaths(hadoopJobConf, path);
         org.apache.hadoop.mapred.FileInputFormat.setInputPathFilter(
                 hadoopJobConf, HdfsPathFilter.class);
+        if (hadoopJobConf.get(ORC_SPLIT_STRATEGY_KEY) == null) {
+            // 大文件按stripe切分，多个并发可以同时读取同一个文件
+            hadoopJobConf.set(ORC_SPLIT_STRATEGY_KEY, ORC_SPLIT_STRATEGY_ETL);
+        }
         org.apache.hadoop.mapred.InputSplit[] splits =
                 new OrcInputFormat().getSplits(hadoopJobConf, minNumSplits);
 
@@ -138,101 +169,123 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
         HdfsOrcInputSplit hdfsOrcInputSplit = (HdfsOrcInputSplit) inputSplit;
         OrcSplit orcSplit = hdfsOrcInputSplit.getOrcSplit();
         findCurrentPartition(orcSplit.getPath());
-        recordReader = inputFormat.getRecordReader(orcSplit, hadoopJobConf, Reporter.NULL);
-        key = recordReader.createKey();
-        value = recordReader.createValue();
-        fields = inspector.getAllStructFieldRefs();
-    }
+        currentReadFilePath = orcSplit.getPath().toString();
 
-    private void init(Path path) throws Exception {
-        OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(hadoopJobConf);
-        readerOptions.filesystem(fs);
+        closeOrcReader();
+        orcReader = createReader(orcSplit.getPath());
+        TypeDescription schema = orcReader.getSchema();
+        checkSchema(schema, orcSplit.getPath());
+        List<TypeDescription> children = schema.getChildren();
 
-        try (org.apache.hadoop.hive.ql.io.orc.Reader reader =
-                OrcFile.createReader(path, readerOptions)) {
-            String typeStruct = reader.getObjectInspector().getTypeName();
-            log.info("orc typeStruct = {}", typeStruct);
-
-            if (StringUtils.isEmpty(typeStruct)) {
-                throw new ChunJunRuntimeException("can't retrieve type struct from " + path);
-            }
+        valueReaders = new OrcValueReader[children.size()];
+        for (int i = 0; i < children.size(); i++) {
+            valueReaders[i] = createValueReader(children.get(i));
+        }
 
-            int startIndex = typeStruct.indexOf("<") + 1;
-            int endIndex = typeStruct.lastIndexOf(">");
-            typeStruct = typeStruct.substring(startIndex, endIndex);
+        boolean[] include = new boolean[schema.getMaximumId() + 1];
+        include[0] = true;
+        for (int fieldIndex : getReadFieldIndexes(children.size())) {
+            include[children.get(fieldIndex).getId()] = true;
+        }
 
-            if (typeStruct.matches(COMPLEX_FIELD_TYPE_SYMBOL_REGEX)) {
-                throw new ChunJunRuntimeException(
-                        "Field types such as array, map, and struct are not supported.");
+        org.apache.orc.Reader.Options options =
+                orcReader.options().range(orcSplit.getStart(), orcSplit.getLength());
+        if (CollectionUtils.isNotEmpty(hdfsConfig.getOrcFilters())) {
+            rowFilter = new OrcRowFilter(hdfsConfig.getOrcFilters(), schema);
+            for (int fieldIndex : rowFilter.getFieldIndexes()) {
+                include[children.get(fieldIndex).getId()] = true;
             }
+            options.searchArgument(
+                    rowFilter.getSearchArgument(), schema.getFieldNames().toArray(new String[0]));
+        } else {
+            rowFilter = null;
+        }
+        options.include(include);
 
-            List<String> columnList = parseColumnAndType(typeStruct);
-
-            fullColNames = new String[columnList.size()];
-            String[] fullColTypes = new String[columnList.size()];
+        rows = orcReader.rows(options);
+        batch = schema.createRowBatch();
+        batch.size = 0;
+        rowInBatch = 0;
+    }
 
-            for (int i = 0; i < columnList.size(); ++i) {
-                String[] temp = columnList.get(i).split(ConstantValue.COLON_SYMBOL);
-                fullColNames[i] = temp[0];
-                fullColTypes[i] = temp[1];
+    /** 需要读取的字段位置，字段不在当前文件中的列不需要读取 */
+    private int[] getReadFieldIndexes(int fieldCount) {
+        List<FieldConfig> fieldConfList = hdfsConfig.getColumn();
+        if (fieldConfList.size() == 1
+                && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
+            int[] indexes = new int[Math.min(fieldCount, fullColNames.length)];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
             }
+            return indexes;
+        }
+        return fieldConfList.stream()
+                .filter(fieldConfig -> fieldConfig.getValue() == null)
+                .map(FieldConfig::getIndex)
+                .filter(index -> index != null && index < fieldCount)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
 
-            Properties p = new Properties();
-            p.setProperty("columns", StringUtils.join(fullColNames, ConstantValue.COMMA_SYMBOL));
-            p.setProperty(
-                    "columns.types", StringUtils.join(fullColTypes, ConstantValue.COLON_SYMBOL));
-
-            OrcSerde orcSerde = new OrcSerde();
-            orcSerde.initialize(hadoopJobConf, p);
+    private Reader createReader(Path path) throws IOException {
+        OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(hadoopJobConf);
+        readerOptions.filesystem(fs);
+        return OrcFile.createReader(path, readerOptions);
+    }
 
-            this.inspector = (StructObjectInspector) orcSerde.getObjectInspector();
+    private void init(Path path) throws Exception {
+        try (Reader reader = createReader(path)) {
+            TypeDescription schema = reader.getSchema();
+            log.info("orc typeStruct = {}", schema);
+            checkSchema(schema, path);
+            fullColNames = schema.getFieldNames().toArray(new String[0]);
         }
     }
 
-    private List<String> parseColumnAndType(String typeStruct) {
-        List<String> columnList = new ArrayList<>();
-        List<String> splitList = Arrays.asList(typeStruct.split(ConstantValue.COMMA_SYMBOL));
-        Iterator<String> it = splitList.iterator();
-        while (it.hasNext()) {
-            StringBuilder current = new StringBuilder(it.next());
-            String currentStr = current.toString();
-            boolean left = currentStr.contains(ConstantValue.LEFT_PARENTHESIS_SYMBOL);
-            boolean right = currentStr.contains(ConstantValue.RIGHT_PARENTHESIS_SYMBOL);
-            if (!left && !right) {
-                columnList.add(currentStr);
-                continue;
+    private void checkSchema(TypeDescription schema, Path path) {
+        if (schema == null || schema.getCategory() != TypeDescription.Category.STRUCT) {
+            throw new ChunJunRuntimeException("can't retrieve type struct from " + path);
+        }
+        for (TypeDescription child : schema.getChildren()) {
+            if (!child.getCategory().isPrimitive()) {
+                throw new ChunJunRuntimeException(
+                        "Field types such as array, map, and struct are not supported.");
             }
+        }
+    }
 
-            if (left && right) {
-                columnList.add(currentStr);
-                continue;
+    @Override
+    public boolean reachedEnd() throws IOException {
+        while (true) {
+            while (rowInBatch < batch.size) {
+                if (rowFilter == null || rowFilter.test(batch, rowInBatch)) {
+                    return false;
+                }
+                rowInBatch++;
             }
-
-            if (left) {
-                while (it.hasNext()) {
-                    String next = it.next();
-                    current.append(ConstantValue.COMMA_SYMBOL).append(next);
-                    if (next.contains(ConstantValue.RIGHT_PARENTHESIS_SYMBOL)) {
-                        break;
-                    }
+            try {
+                if (!rows.nextBatch(batch)) {
+                    return true;
                 }
-                columnList.add(current.toString());
+            } catch (IOException e) {
+                throw new ChunJunRuntimeException(
+                        e.getMessage() + ", current read file path: " + currentReadFilePath, e);
             }
+            rowInBatch = 0;
         }
-        return columnList;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
+        int row = rowInBatch++;
         List<FieldConfig> fieldConfList = hdfsConfig.getColumn();
         GenericRowData genericRowData;
         if (fieldConfList.size() == 1
                 && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName())) {
             genericRowData = new GenericRowData(fullColNames.length);
             for (int i = 0; i < fullColNames.length; i++) {
-                Object obj = inspector.getStructFieldData(value, fields.get(i));
-                genericRowData.setField(i, HdfsUtil.getWritableValue(obj));
+                genericRowData.setField(i, readValue(i, row));
             }
         } else {
             genericRowData = new GenericRowData(fieldConfList.size());
@@ -243,10 +296,10 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
                     obj = fieldConfig.getValue();
                 } else if (fieldConfig.getIndex() != null
                         && fieldConfig.getIndex() < fullColNames.length) {
-                    obj = inspector.getStructFieldData(value, fields.get(fieldConfig.getIndex()));
+                    obj = readValue(fieldConfig.getIndex(), row);
                 }
 
-                genericRowData.setField(i, HdfsUtil.getWritableValue(obj));
+                genericRowData.setField(i, obj);
             }
         }
         try {
@@ -255,4 +308,93 @@ public class HdfsOrcInputFormat extends BaseHdfsInputFormat {
             throw new ReadRecordException("", e, 0, rowData);
         }
     }
+
+    private Object readValue(int fieldIndex, int row) {
+        if (fieldIndex >= valueReaders.length) {
+            // 当前文件中没有该字段
+            return null;
+        }
+        ColumnVector vector = batch.cols[fieldIndex];
+        int r = vector.isRepeating ? 0 : row;
+        if (!vector.noNulls && vector.isNull[r]) {
+            return null;
+        }
+        return valueReaders[fieldIndex].read(vector, r);
+    }
+
+    @Override
+    public void closeInternal() throws IOException {
+        closeOrcReader();
+        super.closeInternal();
+    }
+
+    private void closeOrcReader() throws IOException {
+        if (rows != null) {
+            rows.close();
+            rows = null;
+        }
+        if (orcReader != null) {
+            orcReader.close();
+            orcReader = null;
+        }
+    }
+
+    /** 转换后的java类型与原先通过OrcSerde读取时一致，rowConverter不需要区分读取方式 */
+    private static OrcValueReader createValueReader(TypeDescription type) {
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return (vector, r) -> ((LongColumnVector) vector).vector[r] != 0;
+            case BYTE:
+                return (vector, r) -> (byte) ((LongColumnVector) vector).vector[r];
+            case SHORT:
+                return (vector, r) -> (short) ((LongColumnVector) vector).vector[r];
+            case INT:
+                return (vector, r) -> (int) ((LongColumnVector) vector).vector[r];
+            case LONG:
+                return (vector, r) -> ((LongColumnVector) vector).vector[r];
+            case FLOAT:
+                return (vector, r) -> (float) ((DoubleColumnVector) vector).vector[r];
+            case DOUBLE:
+                return (vector, r) -> ((DoubleColumnVector) vector).vector[r];
+            case DECIMAL:
+                return (vector, r) ->
+                        ((DecimalColumnVector) vector).vector[r].getHiveDecimal().bigDecimalValue();
+            case STRING:
+            case VARCHAR:
+            case CHAR:
+                return (vector, r) -> {
+                    BytesColumnVector bytes = (BytesColumnVector) vector;
+                    return new String(
+                            bytes.vector[r],
+                            bytes.start[r],
+                            bytes.length[r],
+                            StandardCharsets.UTF_8);
+                };
+            case BINARY:
+                return (vector, r) -> {
+                    BytesColumnVector bytes = (BytesColumnVector) vector;
+                    return Arrays.copyOfRange(
+                            bytes.vector[r], bytes.start[r], bytes.start[r] + bytes.length[r]);
+                };
+            case DATE:
+                return (vector, r) ->
+                        Date.valueOf(LocalDate.ofEpochDay(((LongColumnVector) vector).vector[r]));
+            case TIMESTAMP:
+                return (vector, r) -> {
+                    TimestampColumnVector timestamps = (TimestampColumnVector) vector;
+                    Timestamp timestamp = new Timestamp(timestamps.time[r]);
+                    timestamp.setNanos(timestamps.nanos[r]);
+                    return timestamp;
+                };
+            default:
+                throw new ChunJunRuntimeException(
+                        "Field types such as array, map, and struct are not supported.");
+        }
+    }
+
+    /** 从列向量中读取一个非null的值 */
+    @FunctionalInterface
+    private interface OrcValueReader {
+        Object read(ColumnVector vector, int row);
+    }
 }
@@ -19,10 +19,12 @@ package com.dtstack.chunjun.connector.hdfs.source;
 
 import com.dtstack.chunjun.config.FieldConfig;
 import com.dtstack.chunjun.connector.hdfs.InputSplit.HdfsTextInputSplit;
+import com.dtstack.chunjun.connector.hdfs.converter.HdfsTextSyncConverter;
 import com.dtstack.chunjun.connector.hdfs.util.HdfsUtil;
 import com.dtstack.chunjun.constants.ConstantValue;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.ReadRecordException;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 import com.dtstack.chunjun.util.ExceptionUtil;
 
 import org.apache.flink.core.io.InputSplit;
@@ -39,6 +41,7 @@ import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +51,9 @@ public class HdfsTextInputFormat extends BaseHdfsInputFormat {
 
     private static final long serialVersionUID = -1740154546581800492L;
 
+    /** 同步任务按字节切分每行数据，不支持时为null，按解码后的String切分 */
+    private transient DelimitedTextTokenizer tokenizer;
+
     @Override
     public InputSplit[] createHdfsSplit(int minNumSplits) throws IOException {
         super.initHadoopJobConf();
@@ -110,12 +116,41 @@ public class HdfsTextInputFormat extends BaseHdfsInputFormat {
         super.key = new LongWritable();
         super.value = new Text();
         super.currentReadFilePath = ((FileSplit) fileSplit).getPath().toString();
+        if (tokenizer == null) {
+            tokenizer = createTokenizer();
+        }
+    }
+
+    /** 同步任务、未配置*且编码支持按字节切分时使用tokenizer；多个空白字符组成的分隔符按任一字符切分，与tokenizer不一致，不使用tokenizer */
+    private DelimitedTextTokenizer createTokenizer() {
+        List<FieldConfig> fieldConfList = hdfsConfig.getColumn();
+        String fieldDelimiter = hdfsConfig.getFieldDelimiter();
+        if (!(rowConverter instanceof HdfsTextSyncConverter)
+                || StringUtils.isEmpty(fieldDelimiter)
+                || (StringUtils.isBlank(fieldDelimiter) && fieldDelimiter.length() > 1)
+                || (fieldConfList.size() == 1
+                        && ConstantValue.STAR_SYMBOL.equals(fieldConfList.get(0).getName()))) {
+            return null;
+        }
+        Charset charset = Charset.forName(hdfsConfig.getEncoding());
+        if (!DelimitedTextTokenizer.isSupported(charset)) {
+            log.info(
+                    "encoding [{}] can not be split by bytes, decode each line before split",
+                    charset);
+            return null;
+        }
+        return new DelimitedTextTokenizer(fieldDelimiter, charset);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
         try {
+            if (tokenizer != null) {
+                Text text = (Text) value;
+                tokenizer.tokenize(text.getBytes(), 0, text.getLength());
+                return ((HdfsTextSyncConverter) rowConverter).toInternal(tokenizer);
+            }
             String line =
                     new String(
                             ((Text) value).getBytes(),
@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.source;
+
+import com.dtstack.chunjun.connector.hdfs.config.OrcFilterConfig;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.orc.TypeDescription;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * orc文件的过滤条件.
+ *
+ * <p>条件转换为SearchArgument后交给orc reader，按stripe和row group的统计信息跳过不可能满足条件的数据；由于统计信息只能排除整块数据，
+ * 读取到的每行数据还需要通过{@link #test(VectorizedRowBatch, int)}在列向量上逐行判断。
+ */
+public class OrcRowFilter {
+
+    private final Predicate[] predicates;
+    private final SearchArgument searchArgument;
+
+    public OrcRowFilter(List<OrcFilterConfig> filters, TypeDescription schema) {
+        List<String> fieldNames = schema.getFieldNames();
+        List<TypeDescription> children = schema.getChildren();
+        predicates = new Predicate[filters.size()];
+        SearchArgument.Builder builder = SearchArgumentFactory.newBuilder().startAnd();
+        for (int i = 0; i < filters.size(); i++) {
+            OrcFilterConfig filter = filters.get(i);
+            int fieldIndex = indexOf(fieldNames, filter.getColumn());
+            Predicate predicate =
+                    new Predicate(
+                            fieldIndex,
+                            children.get(fieldIndex).getCategory(),
+                            Operator.of(filter.getOperator()),
+                            filter.getValue());
+            predicate.addTo(builder, fieldNames.get(fieldIndex));
+            predicates[i] = predicate;
+        }
+        searchArgument = builder.end().build();
+    }
+
+    public SearchArgument getSearchArgument() {
+        return searchArgument;
+    }
+
+    /** 过滤条件涉及的字段位置 */
+    public int[] getFieldIndexes() {
+        int[] indexes = new int[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            indexes[i] = predicates[i].fieldIndex;
+        }
+        return indexes;
+    }
+
+    /** batch中的第row行是否满足所有条件 */
+    public boolean test(VectorizedRowBatch batch, int row) {
+        for (Predicate predicate : predicates) {
+            if (!predicate.test(batch.cols[predicate.fieldIndex], row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(List<String> fieldNames, String column) {
+        for (int i = 0; i < fieldNames.size(); i++) {
+            if (fieldNames.get(i).equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(
+                "orc filter column [" + column + "] does not exist in " + fieldNames);
+    }
+
+    private enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        LESS_THAN,
+        LESS_THAN_EQUALS,
+        GREATER_THAN,
+        GREATER_THAN_EQUALS,
+        IS_NULL,
+        IS_NOT_NULL;
+
+        static Operator of(String operator) {
+            String op =
+                    operator == null
+                            ? ""
+                            : operator.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ENGLISH);
+            switch (op) {
+                case "=":
+                case "==":
+                    return EQUALS;
+                case "!=":
+                case "<>":
+                    return NOT_EQUALS;
+                case "<":
+                    return LESS_THAN;
+                case "<=":
+                    return LESS_THAN_EQUALS;
+                case ">":
+                    return GREATER_THAN;
+                case ">=":
+                    return GREATER_THAN_EQUALS;
+                case "is null":
+                    return IS_NULL;
+                case "is not null":
+                    return IS_NOT_NULL;
+                default:
+                    throw new IllegalArgumentException(
+                            "unsupported orc filter operator: " + operator);
+            }
+        }
+    }
+
+    private static class Predicate {
+
+        private final int fieldIndex;
+        private final TypeDescription.Category category;
+        private final Operator operator;
+        /** 逐行比较时使用的值 */
+        private final Comparable<Object> literal;
+        /** SearchArgument使用的值及类型 */
+        private final Object sargLiteral;
+
+        private final PredicateLeaf.Type sargType;
+
+        @SuppressWarnings("unchecked")
+        Predicate(
+                int fieldIndex,
+                TypeDescription.Category category,
+                Operator operator,
+                String value) {
+            this.fieldIndex = fieldIndex;
+            this.category = category;
+            this.operator = operator;
+            if (operator == Operator.IS_NULL || operator == Operator.IS_NOT_NULL) {
+                this.literal = null;
+                this.sargLiteral = null;
+                this.sargType = sargType(category);
+                return;
+            }
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "value of orc filter operator [" + operator + "] can not be null");
+            }
+            switch (category) {
+                case BOOLEAN:
+                    boolean b = Boolean.parseBoolean(value.trim());
+                    literal = (Comparable) (b ? 1L : 0L);
+                    sargLiteral = b;
+                    break;
+                case BYTE:
+                case SHORT:
+                case INT:
+                case LONG:
+                    long l = Long.parseLong(value.trim());
+                    literal = (Comparable) l;
+                    sargLiteral = l;
+                    break;
+                case DATE:
+                    Date date = Date.valueOf(value.trim());
+                    literal = (Comparable) date.toLocalDate().toEpochDay();
+                    sargLiteral = date;
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    // float列在列向量和统计信息中都是float转成的double，字面量也要先按float解析，否则0.1这样的值永远不相等
+                    double d =
+                            category == TypeDescription.Category.FLOAT
+                                    ? (double) Float.parseFloat(value.trim())
+                                    : Double.parseDouble(value.trim());
+                    literal = (Comparable) d;
+                    sargLiteral = d;
+                    break;
+                case STRING:
+                case VARCHAR:
+                    literal = (Comparable) value;
+                    sargLiteral = value;
+                    break;
+                case CHAR:
+                    // char类型比较时忽略末尾的空格
+                    literal = (Comparable) StringUtils.stripEnd(value, " ");
+                    sargLiteral = value;
+                    break;
+                case DECIMAL:
+                    HiveDecimal decimal = HiveDecimal.create(value.trim());
+                    literal = (Comparable) decimal;
+                    sargLiteral = new HiveDecimalWritable(decimal);
+                    break;
+                case TIMESTAMP:
+                    Timestamp timestamp = Timestamp.valueOf(value.trim());
+                    literal = (Comparable) timestamp;
+                    sargLiteral = timestamp;
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "orc filter does not support column type: " + category);
+            }
+            this.sargType = sargType(category);
+        }
+
+        void addTo(SearchArgument.Builder builder, String column) {
+            switch (operator) {
+                case EQUALS:
+                    builder.equals(column, sargType, sargLiteral);
+                    break;
+                case NOT_EQUALS:
+                    builder.startNot().equals(column, sargType, sargLiteral).end();
+                    break;
+                case LESS_THAN:
+                    builder.lessThan(column, sargType, sargLiteral);
+                    break;
+                case LESS_THAN_EQUALS:
+                    builder.lessThanEquals(column, sargType, sargLiteral);
+                    break;
+                case GREATER_THAN:
+                    builder.startNot().lessThanEquals(column, sargType, sargLiteral).end();
+                    break;
+                case GREATER_THAN_EQUALS:
+                    builder.startNot().lessThan(column, sargType, sargLiteral).end();
+                    break;
+                case IS_NULL:
+                    builder.isNull(column, sargType);
+                    break;
+                default:
+                    builder.startNot().isNull(column, sargType).end();
+            }
+        }
+
+        boolean test(ColumnVector vector, int row) {
+            int r = vector.isRepeating ? 0 : row;
+            boolean isNull = !vector.noNulls && vector.isNull[r];
+            if (operator == Operator.IS_NULL) {
+                return isNull;
+            } else if (operator == Operator.IS_NOT_NULL) {
+                return !isNull;
+            } else if (isNull) {
+                return false;
+            }
+            // literal在前比较，取反得到列值与literal的大小关系
+            int cmp = -Integer.signum(literal.compareTo(value(vector, r)));
+            switch (operator) {
+                case EQUALS:
+                    return cmp == 0;
+                case NOT_EQUALS:
+                    return cmp != 0;
+                case LESS_THAN:
+                    return cmp < 0;
+                case LESS_THAN_EQUALS:
+                    return cmp <= 0;
+                case GREATER_THAN:
+                    return cmp > 0;
+                default:
+                    return cmp >= 0;
+            }
+        }
+
+        private Object value(ColumnVector vector, int r) {
+            switch (category) {
+                case FLOAT:
+                case DOUBLE:
+                    return ((DoubleColumnVector) vector).vector[r];
+                case STRING:
+                case VARCHAR:
+                    BytesColumnVector bytes = (BytesColumnVector) vector;
+                    return new String(
+                            bytes.vector[r],
+                            bytes.start[r],
+                            bytes.length[r],
+                            StandardCharsets.UTF_8);
+                case CHAR:
+                    BytesColumnVector chars = (BytesColumnVector) vector;
+                    return StringUtils.stripEnd(
+                            new String(
+                                    chars.vector[r],
+                                    chars.start[r],
+                                    chars.length[r],
+                                    StandardCharsets.UTF_8),
+                            " ");
+                case DECIMAL:
+                    return ((DecimalColumnVector) vector).vector[r].getHiveDecimal();
+                case TIMESTAMP:
+                    return ((TimestampColumnVector) vector).asScratchTimestamp(r);
+                default:
+                    return ((LongColumnVector) vector).vector[r];
+            }
+        }
+
+        private static PredicateLeaf.Type sargType(TypeDescription.Category category) {
+            switch (category) {
+                case BOOLEAN:
+                    return PredicateLeaf.Type.BOOLEAN;
+                case BYTE:
+                case SHORT:
+                case INT:
+                case LONG:
+                    return PredicateLeaf.Type.LONG;
+                case DATE:
+                    return PredicateLeaf.Type.DATE;
+                case FLOAT:
+                case DOUBLE:
+                    return PredicateLeaf.Type.FLOAT;
+                case STRING:
+                case VARCHAR:
+                case CHAR:
+                    return PredicateLeaf.Type.STRING;
+                case DECIMAL:
+                    return PredicateLeaf.Type.DECIMAL;
+                case TIMESTAMP:
+                    return PredicateLeaf.Type.TIMESTAMP;
+                default:
+                    throw new IllegalArgumentException(
+                            "orc filter does not support column type: " + category);
+            }
+        }
+    }
+}
@@ -74,6 +74,9 @@ public class HdfsDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         options.add(HdfsOptions.FILTER_REGEX);
         options.add(HdfsOptions.FIELD_DELIMITER);
         options.add(HdfsOptions.ENABLE_DICTIONARY);
+        options.add(HdfsOptions.ROW_GROUP_SIZE);
+        options.add(HdfsOptions.PAGE_SIZE);
+        options.add(HdfsOptions.DICTIONARY_PAGE_SIZE);
         options.add(HdfsOptions.SINK_COMMIT_FINISHED_FILE_NAME);
         return options;
     }
@@ -143,6 +146,9 @@ public class HdfsDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         hdfsConfig.setFieldDelimiter(
                 StringEscapeUtils.unescapeJava(config.get(HdfsOptions.FIELD_DELIMITER)));
         hdfsConfig.setEnableDictionary(config.get(HdfsOptions.ENABLE_DICTIONARY));
+        hdfsConfig.setRowGroupSize(config.get(HdfsOptions.ROW_GROUP_SIZE));
+        hdfsConfig.setPageSize(config.get(HdfsOptions.PAGE_SIZE));
+        hdfsConfig.setDictionaryPageSize(config.get(HdfsOptions.DICTIONARY_PAGE_SIZE));
         hdfsConfig.setFinishedFileName(config.get(HdfsOptions.SINK_COMMIT_FINISHED_FILE_NAME));
 
         return hdfsConfig;
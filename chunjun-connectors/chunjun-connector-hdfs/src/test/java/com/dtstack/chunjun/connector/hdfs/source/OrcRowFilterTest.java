@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.hdfs.source;
+
+import com.dtstack.chunjun.connector.hdfs.config.OrcFilterConfig;
+
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.orc.TypeDescription;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class OrcRowFilterTest {
+
+    private static final TypeDescription SCHEMA =
+            TypeDescription.fromString("struct<id:int,price:float,amount:double,name:char(5)>");
+
+    private VectorizedRowBatch batch;
+
+    @Before
+    public void setup() {
+        batch = SCHEMA.createRowBatch();
+        float[] prices = {0.1F, 2.5F, 0.3F};
+        double[] amounts = {0.1D, 2.5D, 0.3D};
+        String[] names = {"a", "b    ", null};
+        for (int i = 0; i < 3; i++) {
+            ((LongColumnVector) batch.cols[0]).vector[i] = i;
+            ((DoubleColumnVector) batch.cols[1]).vector[i] = prices[i];
+            ((DoubleColumnVector) batch.cols[2]).vector[i] = amounts[i];
+            BytesColumnVector nameVector = (BytesColumnVector) batch.cols[3];
+            if (names[i] == null) {
+                nameVector.noNulls = false;
+                nameVector.isNull[i] = true;
+            } else {
+                nameVector.setVal(i, names[i].getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        batch.size = 3;
+    }
+
+    private static OrcFilterConfig filter(String column, String operator, String value) {
+        OrcFilterConfig config = new OrcFilterConfig();
+        config.setColumn(column);
+        config.setOperator(operator);
+        config.setValue(value);
+        return config;
+    }
+
+    private boolean[] test(OrcFilterConfig... filters) {
+        OrcRowFilter rowFilter = new OrcRowFilter(Arrays.asList(filters), SCHEMA);
+        boolean[] result = new boolean[batch.size];
+        for (int i = 0; i < batch.size; i++) {
+            result[i] = rowFilter.test(batch, i);
+        }
+        return result;
+    }
+
+    @Test
+    public void testFloatLiteral() {
+        // 0.1 and 0.3 are not exact in float, the literal has to widen the same way the column does
+        Assert.assertArrayEquals(
+                new boolean[] {true, false, false}, test(filter("price", "=", "0.1")));
+        Assert.assertArrayEquals(
+                new boolean[] {false, true, true}, test(filter("price", ">=", "0.3")));
+        Assert.assertArrayEquals(
+                new boolean[] {true, false, true}, test(filter("price", "<=", "0.3")));
+
+        OrcRowFilter rowFilter =
+                new OrcRowFilter(Collections.singletonList(filter("price", "=", "0.1")), SCHEMA);
+        List<PredicateLeaf> leaves = rowFilter.getSearchArgument().getLeaves();
+        Assert.assertEquals(PredicateLeaf.Type.FLOAT, leaves.get(0).getType());
+        Assert.assertEquals((double) 0.1F, leaves.get(0).getLiteral());
+    }
+
+    @Test
+    public void testDoubleLiteral() {
+        Assert.assertArrayEquals(
+                new boolean[] {true, false, false}, test(filter("amount", "=", "0.1")));
+        Assert.assertArrayEquals(
+                new boolean[] {false, true, true}, test(filter("AMOUNT", ">", "0.1")));
+    }
+
+    @Test
+    public void testCharAndNull() {
+        Assert.assertArrayEquals(
+                new boolean[] {false, true, false}, test(filter("name", "=", "b")));
+        Assert.assertArrayEquals(
+                new boolean[] {true, true, false}, test(filter("name", "is not null", null)));
+        Assert.assertArrayEquals(
+                new boolean[] {false, false, true}, test(filter("name", " IS  NULL ", null)));
+        Assert.assertArrayEquals(
+                new boolean[] {true, false, false}, test(filter("name", "<>", "b")));
+    }
+
+    @Test
+    public void testAndAcrossColumns() {
+        Assert.assertArrayEquals(
+                new boolean[] {false, false, true},
+                test(filter("id", ">", "0"), filter("price", "<", "2.5")));
+        Assert.assertArrayEquals(
+                new int[] {0, 1},
+                new OrcRowFilter(
+                                Arrays.asList(filter("id", ">", "0"), filter("price", "<", "2.6")),
+                                SCHEMA)
+                        .getFieldIndexes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownColumn() {
+        new OrcRowFilter(Collections.singletonList(filter("missing", "=", "1")), SCHEMA);
+    }
+}
@@ -114,6 +114,11 @@ public class HiveOutputFormat extends BaseRichOutputFormat {
         primaryCreateTable();
     }
 
+    @Override
+    protected boolean supportsAsyncFlush() {
+        return false;
+    }
+
     @Override
     public synchronized void writeRecord(RowData rowData) {
         if (RowKind.INSERT != rowData.getRowKind()) {
@@ -35,8 +35,13 @@ public class JdbcConfig extends CommonConfig implements Serializable {
     private static final long serialVersionUID = 7543830865792973979L;
 
     protected List<String> fullColumn;
-    /** for postgresql */
+    /**
+     * postgresql为copy时使用copy写入；为multi-values时使用多行VALUES的INSERT语句写入；为bulk时使用数据库特有的批量方式写入，如sqlserver的bulk
+     * copy、oracle的direct-path数组插入。后两者需要数据库支持，不支持时回退为executeBatch
+     */
     protected String insertSqlMode;
+    /** 多行VALUES的INSERT语句的最大字节数 */
+    protected long multiValuesMaxBytes = 2 * 1024 * 1024;
 
     protected String fieldDelim;
     protected String nullDelim;
@@ -56,6 +61,13 @@ public class JdbcConfig extends CommonConfig implements Serializable {
     protected String splitPk;
     protected String splitStrategy;
     protected int fetchSize = 0;
+    /** 是否按切分键keyset分页读取，仅对range切分的非增量任务生效 */
+    protected boolean keysetPaging = false;
+    /** keyset分页每页条数，小于等于0时使用fetchSize */
+    protected int keysetPageSize = 0;
+    /** keyset分页读取时每个并行度对应的分片数，大于1时空闲的并行度可以领取剩余分片 */
+    protected int chunksPerTask = 1;
+
     protected int queryTimeOut = 0;
     // 连接超时时间
     protected int connectTimeOut = 0;
@@ -104,6 +116,9 @@ public class JdbcConfig extends CommonConfig implements Serializable {
     /** upsert 写数据库时，是否null覆盖原来的值 */
     protected boolean allReplace = false;
 
+    /** sql模式upsert写入时，根据前镜像只更新发生变化的列 */
+    protected boolean partialUpdate = false;
+
     protected boolean isAutoCommit = false;
 
     private boolean defineColumnTypeForStatement = false;
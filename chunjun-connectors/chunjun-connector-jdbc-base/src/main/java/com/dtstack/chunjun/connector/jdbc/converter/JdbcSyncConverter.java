@@ -35,7 +35,6 @@ import com.dtstack.chunjun.element.column.DoubleColumn;
 import com.dtstack.chunjun.element.column.FloatColumn;
 import com.dtstack.chunjun.element.column.IntColumn;
 import com.dtstack.chunjun.element.column.LongColumn;
-import com.dtstack.chunjun.element.column.NullColumn;
 import com.dtstack.chunjun.element.column.ShortColumn;
 import com.dtstack.chunjun.element.column.SqlDateColumn;
 import com.dtstack.chunjun.element.column.StringColumn;
@@ -93,8 +92,7 @@ public class JdbcSyncConverter
                     ISerializationConverter<FieldNamedPreparedStatement> serializationConverter,
                     LogicalType type) {
         return (val, index, statement) -> {
-            if (((ColumnRowData) val).getField(index) == null
-                    || ((ColumnRowData) val).getField(index) instanceof NullColumn) {
+            if (val.isNullAt(index)) {
                 statement.setObject(index, null);
             } else {
                 serializationConverter.serialize(val, index, statement);
@@ -198,27 +196,21 @@ public class JdbcSyncConverter
         switch (type.getTypeRoot()) {
             case BOOLEAN:
                 return (val, index, statement) ->
-                        statement.setBoolean(
-                                index, ((ColumnRowData) val).getField(index).asBoolean());
+                        statement.setBoolean(index, val.getBoolean(index));
             case TINYINT:
                 return (val, index, statement) -> statement.setByte(index, val.getByte(index));
             case SMALLINT:
             case INTEGER:
-                return (val, index, statement) ->
-                        statement.setInt(index, ((ColumnRowData) val).getField(index).asInt());
+                return (val, index, statement) -> statement.setInt(index, val.getInt(index));
             case INTERVAL_YEAR_MONTH:
                 return getYearMonthSerialization((YearMonthIntervalType) type);
             case FLOAT:
-                return (val, index, statement) ->
-                        statement.setFloat(index, ((ColumnRowData) val).getField(index).asFloat());
+                return (val, index, statement) -> statement.setFloat(index, val.getFloat(index));
             case DOUBLE:
-                return (val, index, statement) ->
-                        statement.setDouble(
-                                index, ((ColumnRowData) val).getField(index).asDouble());
+                return (val, index, statement) -> statement.setDouble(index, val.getDouble(index));
 
             case BIGINT:
-                return (val, index, statement) ->
-                        statement.setLong(index, ((ColumnRowData) val).getField(index).asLong());
+                return (val, index, statement) -> statement.setLong(index, val.getLong(index));
             case DECIMAL:
                 return (val, index, statement) ->
                         statement.setBigDecimal(
@@ -24,8 +24,10 @@ import com.dtstack.chunjun.connector.jdbc.conf.TableIdentify;
 import com.dtstack.chunjun.connector.jdbc.config.JdbcConfig;
 import com.dtstack.chunjun.connector.jdbc.converter.JdbcSqlConverter;
 import com.dtstack.chunjun.connector.jdbc.converter.JdbcSyncConverter;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
 import com.dtstack.chunjun.connector.jdbc.source.JdbcInputSplit;
 import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
+import com.dtstack.chunjun.connector.jdbc.statement.MultiValuesPreparedStatement;
 import com.dtstack.chunjun.connector.jdbc.util.JdbcUtil;
 import com.dtstack.chunjun.connector.jdbc.util.key.DateTypeUtil;
 import com.dtstack.chunjun.connector.jdbc.util.key.KeyUtil;
@@ -39,6 +41,7 @@ import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 
@@ -50,6 +53,7 @@ import java.io.Serializable;
 import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
@@ -221,6 +225,70 @@ public interface JdbcDialect extends Serializable {
                 + ")";
     }
 
+    /** 是否支持一条INSERT语句写入多行VALUES */
+    default boolean supportMultiValuesInsert() {
+        return false;
+    }
+
+    /** 一条多行INSERT语句中允许的最大参数个数 */
+    default int getMaxMultiValuesParameters() {
+        return 32767;
+    }
+
+    /** 一条多行INSERT语句中允许的最大行数 */
+    default int getMaxMultiValuesRows() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 多行VALUES的INSERT语句，第row行第column列的参数名为{@link MultiValuesPreparedStatement#parameterName(int,
+     * int)}
+     */
+    default String getMultiValuesInsertStatement(
+            String schema, String tableName, String[] fieldNames, int rowCount) {
+        String columns =
+                Arrays.stream(fieldNames)
+                        .map(this::quoteIdentifier)
+                        .collect(Collectors.joining(", "));
+        StringBuilder sql =
+                new StringBuilder(64 + rowCount * fieldNames.length * 8)
+                        .append("INSERT INTO ")
+                        .append(buildTableInfoWithSchema(schema, tableName))
+                        .append("(")
+                        .append(columns)
+                        .append(") VALUES ");
+        for (int row = 0; row < rowCount; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append("(");
+            for (int column = 0; column < fieldNames.length; column++) {
+                if (column > 0) {
+                    sql.append(", ");
+                }
+                sql.append(':').append(MultiValuesPreparedStatement.parameterName(row, column));
+            }
+            sql.append(")");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 数据库特有的批量追加写入方式，insertSqlMode为bulk时使用，例如sqlserver的bulk copy.
+     *
+     * @param fieldNames 写入的列
+     * @param rowConverter 写入数据的行转换器
+     * @return 写入数据的wrapper，不支持时返回null，回退为executeBatch
+     */
+    default JdbcBatchStatementWrapper<RowData> getBulkInsertWrapper(
+            Connection connection,
+            JdbcConfig jdbcConfig,
+            String[] fieldNames,
+            AbstractRowConverter rowConverter)
+            throws SQLException {
+        return null;
+    }
+
     /**
      * Get update one row statement by condition fields, default not use limit 1, because limit 1 is
      * a sql dialect.
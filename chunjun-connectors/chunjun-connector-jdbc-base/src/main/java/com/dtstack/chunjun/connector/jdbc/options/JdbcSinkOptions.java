@@ -29,6 +29,20 @@ public class JdbcSinkOptions {
                     .defaultValue(false)
                     .withDescription("the max retry times if writing records to database failed.");
 
+    public static final ConfigOption<Boolean> SINK_PARTIAL_UPDATE =
+            ConfigOptions.key("sink.partial-update")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "whether to update only the columns changed between the before and after image of an update.");
+
+    public static final ConfigOption<String> SINK_INSERT_SQL_MODE =
+            ConfigOptions.key("sink.insert-sql-mode")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "how to write append-only rows, multi-values packs a batch into multi-row VALUES statements, bulk uses the bulk load path of the database, such as SQL Server bulk copy.");
+
     public static final ConfigOption<Integer> SINK_PARALLELISM =
             ConfigOptions.key("sink.parallelism")
                     .intType()
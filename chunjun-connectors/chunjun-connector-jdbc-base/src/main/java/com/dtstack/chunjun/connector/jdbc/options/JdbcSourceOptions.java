@@ -34,4 +34,27 @@ public class JdbcSourceOptions {
                     .stringType()
                     .noDefaultValue()
                     .withDescription("scan.where");
+
+    public static final ConfigOption<Boolean> SCAN_KEYSET_PAGING =
+            ConfigOptions.key("scan.keyset-paging")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "whether to read each range split page by page ordered by the partition column,"
+                                    + " the partition column must be unique.");
+
+    public static final ConfigOption<Integer> SCAN_KEYSET_PAGE_SIZE =
+            ConfigOptions.key("scan.keyset-paging.page-size")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "the rows of each keyset page, use scan.fetch-size if not positive.");
+
+    public static final ConfigOption<Integer> SCAN_PARTITION_CHUNKS_PER_TASK =
+            ConfigOptions.key("scan.partition.chunks-per-task")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "the number of range splits created for each parallelism in keyset paging mode,"
+                                    + " idle subtasks take the remaining splits.");
 }
@@ -64,11 +64,16 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
     @Override
     public ChangelogMode getChangelogMode(ChangelogMode requestedMode) {
         validatePrimaryKey(requestedMode);
-        return ChangelogMode.newBuilder()
-                .addContainedKind(RowKind.INSERT)
-                .addContainedKind(RowKind.DELETE)
-                .addContainedKind(RowKind.UPDATE_AFTER)
-                .build();
+        ChangelogMode.Builder modeBuilder =
+                ChangelogMode.newBuilder()
+                        .addContainedKind(RowKind.INSERT)
+                        .addContainedKind(RowKind.DELETE)
+                        .addContainedKind(RowKind.UPDATE_AFTER);
+        if (jdbcConfig.isPartialUpdate()) {
+            // 部分列更新需要前镜像来计算变化的列
+            modeBuilder.addContainedKind(RowKind.UPDATE_BEFORE);
+        }
+        return modeBuilder.build();
     }
 
     private void validatePrimaryKey(ChangelogMode requestedMode) {
@@ -119,6 +124,7 @@ public class JdbcDynamicTableSink implements DynamicTableSink {
         builder.setJdbcDialect(jdbcDialect);
         builder.setJdbcConf(jdbcConfig);
         builder.setRowConverter(jdbcDialect.getRowConverter(typeInformation.toRowType()));
+        builder.setRowType(rowType);
         setKeyRowConverter(builder, rowType);
 
         return SinkFunctionProvider.of(
@@ -26,7 +26,9 @@ import com.dtstack.chunjun.connector.jdbc.config.JdbcConfig;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
 import com.dtstack.chunjun.connector.jdbc.sink.wrapper.InsertOrUpdateStatementWrapper;
 import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.MultiValuesInsertWrapper;
 import com.dtstack.chunjun.connector.jdbc.sink.wrapper.SimpleStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.buffer.PartialUpdateCompactionWrapper;
 import com.dtstack.chunjun.connector.jdbc.sink.wrapper.buffer.UpsertDeleteCompactionWrapper;
 import com.dtstack.chunjun.connector.jdbc.sink.wrapper.proxy.RestoreWrapperProxy;
 import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
@@ -56,6 +58,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /** OutputFormat for writing data to relational database. */
 @Slf4j
@@ -63,6 +66,11 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
 
     protected static final long serialVersionUID = 1L;
 
+    /** insertSqlMode为此值时用多行VALUES的INSERT语句写入 */
+    protected static final String MULTI_VALUES_INSERT_SQL_MODE = "multi-values";
+    /** insertSqlMode为此值时用数据库特有的批量方式写入，见{@link JdbcDialect#getBulkInsertWrapper} */
+    protected static final String BULK_INSERT_SQL_MODE = "bulk";
+
     protected JdbcConfig jdbcConfig;
     protected JdbcDialect jdbcDialect;
 
@@ -74,6 +82,8 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
 
     private AbstractRowConverter keyRowConverter;
     private RowType keyRowType;
+    /** sql模式下的整行类型，部分列更新时用于构造只包含变化列的语句 */
+    private RowType rowType;
 
     @Override
     public void initializeGlobal(int parallelism) {
@@ -122,6 +132,11 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
         } else {
             if (useAbstractColumn || CollectionUtils.isEmpty(jdbcConfig.getUniqueKey())) {
                 // sync or sql appendOnly
+                JdbcBatchStatementWrapper<RowData> appendWrapper = buildAppendStatementWrapper();
+                if (appendWrapper != null) {
+                    statementWrapper = appendWrapper;
+                    return;
+                }
                 FieldNamedPreparedStatement fieldNamedPreparedStatement =
                         FieldNamedPreparedStatement.prepareStatement(
                                 dbConn,
@@ -136,6 +151,40 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    /** insertSqlMode指定的追加写入方式，未指定或数据库不支持时返回null，使用executeBatch写入 */
+    private JdbcBatchStatementWrapper<RowData> buildAppendStatementWrapper() throws SQLException {
+        if (!EWriteMode.INSERT.name().equalsIgnoreCase(jdbcConfig.getMode())) {
+            return null;
+        }
+        String[] fieldNames = columnNameList.toArray(new String[0]);
+        if (MULTI_VALUES_INSERT_SQL_MODE.equalsIgnoreCase(jdbcConfig.getInsertSqlMode())) {
+            if (jdbcDialect.supportMultiValuesInsert()) {
+                return new MultiValuesInsertWrapper(
+                        dbConn,
+                        jdbcDialect,
+                        jdbcConfig.getSchema(),
+                        jdbcConfig.getTable(),
+                        fieldNames,
+                        rowConverter,
+                        Math.max(jdbcConfig.getBatchSize(), 1),
+                        jdbcConfig.getMultiValuesMaxBytes());
+            }
+            log.warn(
+                    "{} does not support multi values insert, fall back to batch insert",
+                    jdbcDialect.dialectName());
+        } else if (BULK_INSERT_SQL_MODE.equalsIgnoreCase(jdbcConfig.getInsertSqlMode())) {
+            JdbcBatchStatementWrapper<RowData> wrapper =
+                    jdbcDialect.getBulkInsertWrapper(dbConn, jdbcConfig, fieldNames, rowConverter);
+            if (wrapper != null) {
+                return wrapper;
+            }
+            log.warn(
+                    "{} does not support bulk insert, fall back to batch insert",
+                    jdbcDialect.dialectName());
+        }
+        return null;
+    }
+
     private void buildRetractStatementExecutor() throws SQLException {
         SimpleStatementWrapper deleteExecutor =
                 new SimpleStatementWrapper(
@@ -159,12 +208,25 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
         } else {
             upsertExecutor = getInsertOrUpdateExecutor();
         }
-        statementWrapper =
-                new UpsertDeleteCompactionWrapper(
-                        upsertExecutor,
-                        deleteExecutor,
-                        JdbcUtil.getKeyExtractor(
-                                columnNameList, jdbcConfig.getUniqueKey(), keyRowType, false));
+        Function<RowData, RowData> keyExtractor =
+                JdbcUtil.getKeyExtractor(
+                        columnNameList, jdbcConfig.getUniqueKey(), keyRowType, false);
+        if (jdbcConfig.isPartialUpdate() && rowType != null) {
+            statementWrapper =
+                    new PartialUpdateCompactionWrapper(
+                            dbConn,
+                            jdbcDialect,
+                            jdbcConfig.getSchema(),
+                            jdbcConfig.getTable(),
+                            rowType,
+                            jdbcConfig.getUniqueKey(),
+                            upsertExecutor,
+                            deleteExecutor,
+                            keyExtractor);
+        } else {
+            statementWrapper =
+                    new UpsertDeleteCompactionWrapper(upsertExecutor, deleteExecutor, keyExtractor);
+        }
     }
 
     private JdbcBatchStatementWrapper<RowData> getInsertOrUpdateExecutor() throws SQLException {
@@ -571,4 +633,8 @@ public class JdbcOutputFormat extends BaseRichOutputFormat {
     public void setKeyRowConverter(AbstractRowConverter keyRowConverter) {
         this.keyRowConverter = keyRowConverter;
     }
+
+    public void setRowType(RowType rowType) {
+        this.rowType = rowType;
+    }
 }
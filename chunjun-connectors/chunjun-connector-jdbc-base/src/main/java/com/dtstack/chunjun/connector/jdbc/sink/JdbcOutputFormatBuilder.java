@@ -54,6 +54,10 @@ public class JdbcOutputFormatBuilder extends BaseRichOutputFormatBuilder<JdbcOut
         format.setKeyRowType(keyRowType);
     }
 
+    public void setRowType(RowType rowType) {
+        format.setRowType(rowType);
+    }
+
     public void setKeyRowConverter(AbstractRowConverter keyRowConverter) {
         format.setKeyRowConverter(keyRowConverter);
     }
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.jdbc.sink.wrapper;
+
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.statement.MultiValuesPreparedStatement;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import org.apache.flink.table.data.RowData;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用多行VALUES的INSERT语句写入一批数据，减少逐行executeBatch时驱动与数据库之间的往返次数.
+ *
+ * <p>一条语句的行数同时受参数个数、行数和字节数限制，整批数据按上限切分为若干条语句；满行的语句与剩余行数的语句分别缓存复用。
+ */
+@Slf4j
+public class MultiValuesInsertWrapper implements JdbcBatchStatementWrapper<RowData> {
+
+    /** 无法得知字节数的数据按此大小计算 */
+    private static final long DEFAULT_ROW_BYTES = 256;
+
+    private final JdbcDialect jdbcDialect;
+    private final String schema;
+    private final String table;
+    private final String[] fieldNames;
+    private final AbstractRowConverter rowConverter;
+    private final int maxRows;
+    private final long maxBytes;
+
+    private Connection connection;
+    /** 行数 -> 语句 */
+    private final Map<Integer, MultiValuesPreparedStatement> statements = new HashMap<>();
+
+    private final List<RowData> buffer = new ArrayList<>();
+
+    public MultiValuesInsertWrapper(
+            Connection connection,
+            JdbcDialect jdbcDialect,
+            String schema,
+            String table,
+            String[] fieldNames,
+            AbstractRowConverter rowConverter,
+            int maxRows,
+            long maxBytes) {
+        this.connection = connection;
+        this.jdbcDialect = jdbcDialect;
+        this.schema = schema;
+        this.table = table;
+        this.fieldNames = fieldNames;
+        this.rowConverter = rowConverter;
+        this.maxRows =
+                Math.max(
+                        1,
+                        Math.min(
+                                Math.min(maxRows, jdbcDialect.getMaxMultiValuesRows()),
+                                jdbcDialect.getMaxMultiValuesParameters()
+                                        / Math.max(1, fieldNames.length)));
+        this.maxBytes = maxBytes;
+        log.info("multi values insert, max rows per statement = {}", this.maxRows);
+    }
+
+    @Override
+    public void addToBatch(RowData record) {
+        buffer.add(record);
+    }
+
+    @Override
+    public void executeBatch() throws Exception {
+        int start = 0;
+        long bytes = 0;
+        for (int i = 0; i < buffer.size(); i++) {
+            long rowBytes = sizeOf(buffer.get(i));
+            if (i > start && (i - start >= maxRows || bytes + rowBytes > maxBytes)) {
+                execute(start, i);
+                start = i;
+                bytes = 0;
+            }
+            bytes += rowBytes;
+        }
+        if (start < buffer.size()) {
+            execute(start, buffer.size());
+        }
+        buffer.clear();
+    }
+
+    private void execute(int from, int to) throws Exception {
+        MultiValuesPreparedStatement statement = getStatement(to - from);
+        for (int i = from; i < to; i++) {
+            statement.setRow(i - from);
+            rowConverter.toExternal(buffer.get(i), statement);
+        }
+        statement.execute();
+    }
+
+    private MultiValuesPreparedStatement getStatement(int rowCount) throws SQLException {
+        MultiValuesPreparedStatement statement = statements.get(rowCount);
+        if (statement == null) {
+            // 只保留满行的语句，剩余行数每批不同，避免缓存过多语句
+            if (statements.size() > 1) {
+                for (Map.Entry<Integer, MultiValuesPreparedStatement> entry :
+                        statements.entrySet()) {
+                    if (entry.getKey() != maxRows) {
+                        entry.getValue().close();
+                    }
+                }
+                statements.keySet().removeIf(key -> key != maxRows);
+            }
+            statement =
+                    MultiValuesPreparedStatement.prepareStatement(
+                            connection,
+                            jdbcDialect.getMultiValuesInsertStatement(
+                                    schema, table, fieldNames, rowCount),
+                            fieldNames.length,
+                            rowCount);
+            statements.put(rowCount, statement);
+        }
+        return statement;
+    }
+
+    private static long sizeOf(RowData rowData) {
+        if (rowData instanceof ColumnRowData) {
+            return ((ColumnRowData) rowData).getByteSize();
+        }
+        return DEFAULT_ROW_BYTES;
+    }
+
+    @Override
+    public void writeSingleRecord(RowData record) throws Exception {
+        MultiValuesPreparedStatement statement = getStatement(1);
+        statement.setRow(0);
+        rowConverter.toExternal(record, statement);
+        statement.execute();
+    }
+
+    @Override
+    public ResultSet executeQuery(RowData record) throws SQLException {
+        throw new UnsupportedOperationException("executeQuery is not supported");
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        for (MultiValuesPreparedStatement statement : statements.values()) {
+            statement.clearParameters();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (MultiValuesPreparedStatement statement : statements.values()) {
+            statement.close();
+        }
+        statements.clear();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        buffer.clear();
+    }
+
+    @Override
+    public void reOpen(Connection connection) throws SQLException {
+        this.connection = connection;
+        for (MultiValuesPreparedStatement statement : statements.values()) {
+            statement.reOpen(connection);
+        }
+    }
+
+    @Override
+    public void clearStatementCache() {}
+}
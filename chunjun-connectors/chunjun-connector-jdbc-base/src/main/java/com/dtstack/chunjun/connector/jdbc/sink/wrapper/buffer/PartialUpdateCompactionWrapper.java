@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.jdbc.sink.wrapper.buffer;
+
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * 部分列更新的upsert/delete合并写入.
+ *
+ * <p>同一批次内按主键合并数据，UPDATE_BEFORE提供的前镜像与最终的后镜像比较得到变化的列，只更新变化的列；变化列集合相同的数据共用一个缓存的UPDATE语句批量执行。
+ * 没有前镜像的数据（INSERT、前镜像被DELETE覆盖的UPDATE_AFTER等）仍按整行upsert写入，部分更新未命中任何行时也回退为整行upsert。
+ * 每次executeBatch（包括checkpoint时的preCommit）都会清空缓存：没有等到UPDATE_AFTER的前镜像不写出，数据库中的数据保持不变，
+ * 之后到达的UPDATE_AFTER没有前镜像，按整行upsert写入；只有DELETE会删除数据。
+ */
+@Slf4j
+public class PartialUpdateCompactionWrapper implements JdbcBatchStatementWrapper<RowData> {
+
+    /** 缓存的部分更新语句个数上限，超过后关闭最久未使用的语句 */
+    private static final int MAX_CACHED_STATEMENTS = 128;
+
+    private final JdbcBatchStatementWrapper<RowData> upsertExecutor;
+    private final JdbcBatchStatementWrapper<RowData> deleteExecutor;
+    private final Function<RowData, RowData> keyExtractor;
+
+    private final JdbcDialect jdbcDialect;
+    private final String schema;
+    private final String table;
+    private final List<String> columnNameList;
+    private final List<LogicalType> columnTypeList;
+    private final RowData.FieldGetter[] fieldGetters;
+    private final int[] keyIndexes;
+    /** 主键列不参与比较，也不出现在SET子句中 */
+    private final BitSet keyColumns = new BitSet();
+
+    private Connection connection;
+    private Cache<BitSet, PartialUpdateStatement> statementCache;
+
+    private final Map<RowData, PendingChange> buffer = new LinkedHashMap<>();
+
+    public PartialUpdateCompactionWrapper(
+            Connection connection,
+            JdbcDialect jdbcDialect,
+            String schema,
+            String table,
+            RowType rowType,
+            List<String> keyList,
+            JdbcBatchStatementWrapper<RowData> upsertExecutor,
+            JdbcBatchStatementWrapper<RowData> deleteExecutor,
+            Function<RowData, RowData> keyExtractor) {
+        this.connection = connection;
+        this.jdbcDialect = jdbcDialect;
+        this.schema = schema;
+        this.table = table;
+        this.upsertExecutor = upsertExecutor;
+        this.deleteExecutor = deleteExecutor;
+        this.keyExtractor = keyExtractor;
+        this.columnNameList = rowType.getFieldNames();
+        this.columnTypeList = rowType.getChildren();
+        this.fieldGetters = new RowData.FieldGetter[columnTypeList.size()];
+        for (int i = 0; i < fieldGetters.length; i++) {
+            fieldGetters[i] = RowData.createFieldGetter(columnTypeList.get(i), i);
+        }
+        this.keyIndexes = new int[keyList.size()];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            keyIndexes[i] = columnNameList.indexOf(keyList.get(i));
+            if (keyIndexes[i] < 0) {
+                throw new IllegalArgumentException(
+                        "unique key " + keyList.get(i) + " is not in " + columnNameList);
+            }
+            keyColumns.set(keyIndexes[i]);
+        }
+        initCache();
+    }
+
+    @Override
+    public void addToBatch(RowData record) {
+        RowData key = keyExtractor.apply(record);
+        PendingChange change = buffer.get(key);
+        switch (record.getRowKind()) {
+            case UPDATE_BEFORE:
+                // 只记录批次内第一次出现的前镜像，即写入前数据库中的数据
+                if (change == null) {
+                    buffer.put(key, new PendingChange(record));
+                }
+                break;
+            case INSERT:
+            case UPDATE_AFTER:
+                if (change == null) {
+                    change = new PendingChange(null);
+                    buffer.put(key, change);
+                }
+                change.after = record;
+                break;
+            case DELETE:
+                change = new PendingChange(null);
+                change.deleted = true;
+                buffer.put(key, change);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unknown row kind " + record.getRowKind());
+        }
+    }
+
+    @Override
+    public void executeBatch() throws Exception {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        Map<BitSet, List<RowData>> partialRows = new LinkedHashMap<>();
+        for (Map.Entry<RowData, PendingChange> entry : buffer.entrySet()) {
+            PendingChange change = entry.getValue();
+            if (change.after == null) {
+                if (change.deleted) {
+                    deleteExecutor.addToBatch(entry.getKey());
+                } else {
+                    // 没有等到UPDATE_AFTER的前镜像不写出，保留数据库中的数据
+                    log.debug("drop unmatched update before of key {}", entry.getKey());
+                }
+            } else if (change.before == null) {
+                upsertExecutor.addToBatch(change.after);
+            } else {
+                BitSet changed = changedColumns(change.before, change.after);
+                if (!changed.isEmpty()) {
+                    partialRows.computeIfAbsent(changed, k -> new ArrayList<>()).add(change.after);
+                }
+            }
+        }
+        deleteExecutor.executeBatch();
+
+        for (Map.Entry<BitSet, List<RowData>> entry : partialRows.entrySet()) {
+            List<RowData> rows = entry.getValue();
+            PartialUpdateStatement statement = getStatement(entry.getKey());
+            for (RowData row : rows) {
+                statement.addToBatch(row);
+            }
+            int[] updateCounts = statement.executeBatch();
+            // 目标表中不存在的数据无法部分更新，回退为整行upsert
+            for (int i = 0; i < updateCounts.length && i < rows.size(); i++) {
+                if (updateCounts[i] == 0) {
+                    upsertExecutor.addToBatch(rows.get(i));
+                }
+            }
+        }
+        upsertExecutor.executeBatch();
+        buffer.clear();
+    }
+
+    @Override
+    public void writeSingleRecord(RowData record) throws Exception {
+        if (record.getRowKind() == RowKind.INSERT || record.getRowKind() == RowKind.UPDATE_AFTER) {
+            upsertExecutor.writeSingleRecord(record);
+        } else if (record.getRowKind() == RowKind.DELETE) {
+            deleteExecutor.writeSingleRecord(keyExtractor.apply(record));
+        }
+        // UPDATE_BEFORE单条写出时不做处理，由对应的UPDATE_AFTER整行upsert
+    }
+
+    /** 比较前后镜像，返回值不同的非主键列 */
+    BitSet changedColumns(RowData before, RowData after) {
+        BitSet changed = new BitSet(fieldGetters.length);
+        for (int i = 0; i < fieldGetters.length; i++) {
+            if (keyColumns.get(i)) {
+                continue;
+            }
+            Object oldValue = fieldGetters[i].getFieldOrNull(before);
+            Object newValue = fieldGetters[i].getFieldOrNull(after);
+            boolean equals =
+                    oldValue instanceof byte[] && newValue instanceof byte[]
+                            ? Arrays.equals((byte[]) oldValue, (byte[]) newValue)
+                            : Objects.equals(oldValue, newValue);
+            if (!equals) {
+                changed.set(i);
+            }
+        }
+        return changed;
+    }
+
+    private PartialUpdateStatement getStatement(BitSet changed) throws SQLException {
+        try {
+            return statementCache.get(changed, () -> createStatement(changed));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private PartialUpdateStatement createStatement(BitSet changed) throws SQLException {
+        int[] projection = new int[changed.cardinality() + keyIndexes.length];
+        int pos = 0;
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            projection[pos++] = i;
+        }
+        for (int keyIndex : keyIndexes) {
+            projection[pos++] = keyIndex;
+        }
+
+        String[] fieldNames = new String[projection.length];
+        LogicalType[] fieldTypes = new LogicalType[projection.length];
+        for (int i = 0; i < projection.length; i++) {
+            fieldNames[i] = columnNameList.get(projection[i]);
+            fieldTypes[i] = columnTypeList.get(projection[i]);
+        }
+        String[] keyNames = Arrays.copyOfRange(fieldNames, changed.cardinality(), pos);
+        String sql = jdbcDialect.getUpdateStatement(schema, table, fieldNames, keyNames);
+        log.info("partial update sql: {}", sql);
+
+        FieldNamedPreparedStatement statement =
+                FieldNamedPreparedStatement.prepareStatement(connection, sql, fieldNames);
+        return new PartialUpdateStatement(
+                statement,
+                jdbcDialect.getRowConverter(RowType.of(fieldTypes, fieldNames)),
+                projection);
+    }
+
+    @Override
+    public ResultSet executeQuery(RowData record) throws SQLException {
+        throw new UnsupportedOperationException("executeQuery is not supported");
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        upsertExecutor.clearParameters();
+        deleteExecutor.clearParameters();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statementCache.invalidateAll();
+        upsertExecutor.close();
+        deleteExecutor.close();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        buffer.clear();
+        for (PartialUpdateStatement statement : statementCache.asMap().values()) {
+            statement.statement.clearBatch();
+        }
+        deleteExecutor.clearBatch();
+        upsertExecutor.clearBatch();
+    }
+
+    @Override
+    public void reOpen(Connection connection) throws SQLException {
+        this.connection = connection;
+        // 语句与旧连接绑定，直接丢弃，按需在新连接上重新创建
+        statementCache.invalidateAll();
+        deleteExecutor.reOpen(connection);
+        upsertExecutor.reOpen(connection);
+    }
+
+    @Override
+    public void clearStatementCache() {}
+
+    private void initCache() {
+        this.statementCache =
+                CacheBuilder.newBuilder()
+                        .maximumSize(MAX_CACHED_STATEMENTS)
+                        .<BitSet, PartialUpdateStatement>removalListener(
+                                notification -> {
+                                    try {
+                                        notification.getValue().statement.close();
+                                    } catch (SQLException e) {
+                                        log.warn("close partial update statement failed", e);
+                                    }
+                                })
+                        .build();
+    }
+
+    /** 同一主键在批次内的变化，after为null时deleted表示删除，否则为尚未等到UPDATE_AFTER的前镜像 */
+    private static class PendingChange {
+        private final RowData before;
+        private RowData after;
+        private boolean deleted;
+
+        private PendingChange(RowData before) {
+            this.before = before;
+        }
+    }
+
+    /** 更新一组固定列的语句，参数为变化的列加主键列 */
+    private class PartialUpdateStatement {
+        private final FieldNamedPreparedStatement statement;
+        private final AbstractRowConverter rowConverter;
+        private final int[] projection;
+
+        private PartialUpdateStatement(
+                FieldNamedPreparedStatement statement,
+                AbstractRowConverter rowConverter,
+                int[] projection) {
+            this.statement = statement;
+            this.rowConverter = rowConverter;
+            this.projection = projection;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void addToBatch(RowData row) throws Exception {
+            GenericRowData projected = new GenericRowData(projection.length);
+            for (int i = 0; i < projection.length; i++) {
+                projected.setField(i, fieldGetters[projection[i]].getFieldOrNull(row));
+            }
+            rowConverter.toExternal(projected, statement);
+            statement.addBatch();
+        }
+
+        private int[] executeBatch() throws SQLException {
+            return statement.executeBatch();
+        }
+    }
+}
@@ -64,6 +64,8 @@ public class JdbcInputFormat extends BaseRichInputFormat {
 
     protected static final int resultSetConcurrency = ResultSet.CONCUR_READ_ONLY;
     protected static int resultSetType = ResultSet.TYPE_FORWARD_ONLY;
+    /** keyset分页未配置每页条数且fetchSize不可用时的默认每页条数 */
+    protected static final int DEFAULT_KEYSET_PAGE_SIZE = 1024;
 
     protected JdbcConfig jdbcConfig;
     protected JdbcDialect jdbcDialect;
@@ -89,6 +91,17 @@ public class JdbcInputFormat extends BaseRichInputFormat {
     protected KeyUtil<?, BigInteger> splitKeyUtil;
     private KeyUtil<?, BigInteger> restoreKeyUtil;
 
+    /** 当前分片是否按切分键keyset分页读取 */
+    protected transient boolean readByKeyset;
+    /** keyset分页读取的checkpoint状态，同一并行度读取的所有分片共用 */
+    protected transient volatile JdbcKeysetState keysetState;
+    /** 当前页已读取的条数 */
+    private transient int rowsInPage;
+    /** 是否正在读取切分键为null的数据，只有0号分片会读取 */
+    private transient boolean readingNullKeys;
+
+    private transient int splitPkIndex;
+
     @Override
     public void openInternal(InputSplit inputSplit) {
         this.currentJdbcInputSplit = (JdbcInputSplit) inputSplit;
@@ -102,11 +115,26 @@ public class JdbcInputFormat extends BaseRichInputFormat {
             return;
         }
 
+        readByKeyset = useKeysetPaging();
+        if (readByKeyset && !prepareKeysetPaging()) {
+            hasNext = false;
+            return;
+        }
+
         String querySQL = null;
         try {
             dbConn = getConnection();
             dbConn.setAutoCommit(false);
 
+            if (readByKeyset) {
+                querySQL = buildKeysetQuerySql(currentJdbcInputSplit, false);
+                jdbcConfig.setQuerySql(querySQL);
+                log.info("Executing sql is: '{}'", querySQL);
+                String offset = keysetState.getOffset(currentJdbcInputSplit.getSplitNumber());
+                hasNext = queryKeysetPage(offset) || nextKeysetPage();
+                return;
+            }
+
             querySQL = buildQuerySql(currentJdbcInputSplit);
             jdbcConfig.setQuerySql(querySQL);
             executeQuery(currentJdbcInputSplit.getStartLocation());
@@ -131,6 +159,14 @@ public class JdbcInputFormat extends BaseRichInputFormat {
                             minNumSplits, jdbcConfig.getParallelism()));
         }
 
+        if (useKeysetPaging()) {
+            // 每个并行度创建chunksPerTask个range分片，分片由InputSplitAssigner按需分配，先读完的并行度继续领取剩余分片
+            return createSplitsInternalBySplitRange(minNumSplits * jdbcConfig.getChunksPerTask());
+        } else if (jdbcConfig.isKeysetPaging()) {
+            log.warn(
+                    "keyset paging only supports non-increment task with range split strategy and a split column in columns, fall back to normal reading");
+        }
+
         if (jdbcConfig.getParallelism() > 1
                 && StringUtils.equalsIgnoreCase("range", jdbcConfig.getSplitStrategy())) {
             // splitStrategy = range
@@ -215,6 +251,16 @@ public class JdbcInputFormat extends BaseRichInputFormat {
             if (jdbcConfig.getRestoreColumnIndex() > -1) {
                 state = resultSet.getObject(jdbcConfig.getRestoreColumnIndex() + 1);
             }
+            if (readByKeyset) {
+                rowsInPage++;
+                if (!readingNullKeys) {
+                    keysetState.updateOffset(
+                            currentJdbcInputSplit.getSplitNumber(),
+                            splitKeyUtil
+                                    .getLocationValueFromRs(resultSet, splitPkIndex + 1)
+                                    .toString());
+                }
+            }
             return finalRowData;
         } catch (Exception se) {
             log.error(ExceptionUtil.getErrorMessage(se));
@@ -222,6 +268,9 @@ public class JdbcInputFormat extends BaseRichInputFormat {
         } finally {
             try {
                 hasNext = resultSet.next();
+                if (!hasNext && readByKeyset) {
+                    hasNext = nextKeysetPage();
+                }
             } catch (SQLNonTransientException e) {
                 log.error(ExceptionUtil.getErrorMessage(e));
                 throw new ChunJunRuntimeException(e);
@@ -235,7 +284,13 @@ public class JdbcInputFormat extends BaseRichInputFormat {
     @Override
     public FormatState getFormatState() {
         super.getFormatState();
-        formatState.setState(state);
+        if (formatState != null && useKeysetPaging()) {
+            // 没有读取过分片的并行度同样需要保存恢复得到的状态，避免再次恢复时丢失
+            initKeysetState();
+            formatState.setState(keysetState.copy());
+        } else if (formatState != null) {
+            formatState.setState(state);
+        }
         return formatState;
     }
 
@@ -244,6 +299,192 @@ public class JdbcInputFormat extends BaseRichInputFormat {
         JdbcUtil.closeDbResources(resultSet, statement, dbConn, true);
     }
 
+    /**
+     * 是否按切分键keyset分页读取，只支持非增量、range切分且切分键在读取字段中的任务
+     *
+     * <p>切分键需要唯一（如主键），否则同一切分键的数据跨页时会丢失
+     */
+    protected boolean useKeysetPaging() {
+        return jdbcConfig.isKeysetPaging()
+                && !jdbcConfig.isIncrement()
+                && StringUtils.equalsIgnoreCase("range", jdbcConfig.getSplitStrategy())
+                && StringUtils.isNotBlank(jdbcConfig.getSplitPk())
+                && !SqlUtil.isRowNumSplitKey(jdbcConfig.getSplitPk())
+                && getSplitPkIndex() > -1;
+    }
+
+    private int getSplitPkIndex() {
+        for (int i = 0; i < columnNameList.size(); i++) {
+            if (jdbcConfig.getSplitPk().equalsIgnoreCase(columnNameList.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 准备keyset分页读取当前分片
+     *
+     * @return 分片已在恢复前读完时返回false
+     */
+    private boolean prepareKeysetPaging() {
+        initKeysetState();
+        int splitNumber = currentJdbcInputSplit.getSplitNumber();
+        if (keysetState.isFinished(splitNumber)) {
+            log.info("split [{}] has been read before restoring, skip it", splitNumber);
+            return false;
+        }
+        if (keysetState.getOffset(splitNumber) != null) {
+            log.info(
+                    "restore split [{}] from split key {}",
+                    splitNumber,
+                    keysetState.getOffset(splitNumber));
+        }
+        splitPkIndex = getSplitPkIndex();
+        readingNullKeys = false;
+        ps = null;
+        return true;
+    }
+
+    /**
+     * 合并所有并行度的状态，分片可能在恢复后被分配给任意并行度
+     *
+     * <p>打开分片不持有checkpoint锁，可能与getFormatState同时调用，合并完成后再赋值给keysetState
+     */
+    private synchronized void initKeysetState() {
+        if (keysetState != null) {
+            return;
+        }
+        JdbcKeysetState state = new JdbcKeysetState();
+        if (restoredFormatStates != null) {
+            for (FormatState restoredState : restoredFormatStates) {
+                if (restoredState != null && restoredState.getState() instanceof JdbcKeysetState) {
+                    state.merge((JdbcKeysetState) restoredState.getState());
+                }
+            }
+            log.info("restore keyset state from checkpoint, state = {}", state);
+        }
+        keysetState = state;
+    }
+
+    /**
+     * 构造keyset分页查询sql，按切分键升序排列
+     *
+     * @param afterKey 是否只查询切分键大于占位符的数据
+     */
+    protected String buildKeysetQuerySql(JdbcInputSplit jdbcInputSplit, boolean afterKey) {
+        String splitPk = jdbcDialect.quoteIdentifier(jdbcConfig.getSplitPk());
+        List<String> whereList = buildKeysetWhereList();
+        String rangeFilter =
+                jdbcDialect.getSplitRangeFilter(jdbcInputSplit, jdbcConfig.getSplitPk());
+        if (StringUtils.isNotBlank(rangeFilter)) {
+            whereList.add(rangeFilter);
+        } else {
+            whereList.add(splitPk + " IS NOT NULL");
+        }
+        if (afterKey) {
+            whereList.add(buildFilterSql(jdbcConfig.getCustomSql(), ">", splitPk, true, null));
+        }
+        return buildKeysetSelectSql(whereList) + " ORDER BY " + splitPk + " ASC";
+    }
+
+    private List<String> buildKeysetWhereList() {
+        List<String> whereList = new ArrayList<>();
+        if (StringUtils.isNotBlank(jdbcConfig.getWhere())) {
+            whereList.add("(" + jdbcConfig.getWhere() + ")");
+        }
+        return whereList;
+    }
+
+    private String buildKeysetSelectSql(List<String> whereList) {
+        return jdbcDialect.getSelectFromStatement(
+                jdbcConfig.getSchema(),
+                jdbcConfig.getTable(),
+                jdbcConfig.getCustomSql(),
+                columnNameList.toArray(new String[0]),
+                String.join(" AND ", whereList));
+    }
+
+    /**
+     * 查询一页数据
+     *
+     * @param afterKey 上一页最后一条数据的切分键，为null时查询第一页
+     * @return 是否查询到数据
+     */
+    protected boolean queryKeysetPage(String afterKey) throws SQLException {
+        JdbcUtil.closeDbResources(resultSet, null, null, false);
+        PreparedStatement pageStatement;
+        if (afterKey == null) {
+            pageStatement =
+                    prepareKeysetStatement(buildKeysetQuerySql(currentJdbcInputSplit, false));
+            statement = pageStatement;
+        } else {
+            if (ps == null) {
+                ps = prepareKeysetStatement(buildKeysetQuerySql(currentJdbcInputSplit, true));
+            }
+            splitKeyUtil.setPsWithLocationStr(ps, 1, afterKey);
+            pageStatement = ps;
+        }
+        rowsInPage = 0;
+        resultSet = pageStatement.executeQuery();
+        return resultSet.next();
+    }
+
+    private PreparedStatement prepareKeysetStatement(String sql) throws SQLException {
+        int pageSize = getKeysetPageSize();
+        PreparedStatement preparedStatement =
+                dbConn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        preparedStatement.setMaxRows(pageSize);
+        preparedStatement.setFetchSize(
+                jdbcConfig.getFetchSize() == 0 ? pageSize : jdbcConfig.getFetchSize());
+        preparedStatement.setQueryTimeout(jdbcConfig.getQueryTimeOut());
+        return preparedStatement;
+    }
+
+    /**
+     * 当前页读完后查询下一页，最后一页读完后0号分片再读取切分键为null的数据
+     *
+     * @return 是否还有数据
+     */
+    protected boolean nextKeysetPage() {
+        int splitNumber = currentJdbcInputSplit.getSplitNumber();
+        try {
+            if (!readingNullKeys
+                    && rowsInPage >= getKeysetPageSize()
+                    && queryKeysetPage(keysetState.getOffset(splitNumber))) {
+                return true;
+            }
+            if (!readingNullKeys && splitNumber == 0) {
+                readingNullKeys = true;
+                JdbcUtil.closeDbResources(resultSet, statement, null, false);
+                List<String> whereList = buildKeysetWhereList();
+                whereList.add(jdbcDialect.quoteIdentifier(jdbcConfig.getSplitPk()) + " IS NULL");
+                statement = dbConn.createStatement(resultSetType, resultSetConcurrency);
+                statement.setFetchSize(jdbcConfig.getFetchSize());
+                statement.setQueryTimeout(jdbcConfig.getQueryTimeOut());
+                resultSet = statement.executeQuery(buildKeysetSelectSql(whereList));
+                if (resultSet.next()) {
+                    return true;
+                }
+            }
+        } catch (SQLException e) {
+            throw new ChunJunRuntimeException(
+                    String.format(
+                            "failed to query next page of split [%s], split key = %s",
+                            splitNumber, keysetState.getOffset(splitNumber)),
+                    e);
+        }
+        keysetState.finish(splitNumber);
+        return false;
+    }
+
+    private int getKeysetPageSize() {
+        if (jdbcConfig.getKeysetPageSize() > 0) {
+            return jdbcConfig.getKeysetPageSize();
+        }
+        return jdbcConfig.getFetchSize() > 0 ? jdbcConfig.getFetchSize() : DEFAULT_KEYSET_PAGE_SIZE;
+    }
+
     /**
      * 初始化增量或或间隔轮询任务累加器
      *
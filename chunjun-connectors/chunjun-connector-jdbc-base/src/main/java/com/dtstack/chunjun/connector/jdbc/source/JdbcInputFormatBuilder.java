@@ -96,6 +96,10 @@ public class JdbcInputFormatBuilder extends BaseRichInputFormatBuilder<JdbcInput
             }
         }
 
+        if (conf.isKeysetPaging() && conf.getChunksPerTask() < 1) {
+            sb.append("chunksPerTask must be greater than 0;\n");
+        }
+
         if (conf.isPolling() && conf.isUseMaxFunc()) {
             sb.append("polling and useMaxFunc can't be true at the same time;\n");
         }
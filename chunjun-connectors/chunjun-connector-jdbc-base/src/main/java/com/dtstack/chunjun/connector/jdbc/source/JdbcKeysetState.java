@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.source;
+
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * keyset分页读取时的checkpoint状态，记录已读完的分片以及未读完分片已读取到的最后一个切分键.
+ *
+ * <p>分片由InputSplitAssigner动态分配，恢复时同一分片可能被分配给任意并行度，因此各并行度都会合并所有并行度的状态：已读完的分片取并集，读取位置取最大值，合并与顺序无关且可重复执行。
+ */
+@ToString
+public class JdbcKeysetState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 已读完的分片编号 */
+    private final Set<Integer> finishedSplits = new HashSet<>();
+
+    /** 分片编号 -> 已读取的最后一个切分键(location) */
+    private final Map<Integer, String> splitOffsets = new HashMap<>();
+
+    public boolean isFinished(int splitNumber) {
+        return finishedSplits.contains(splitNumber);
+    }
+
+    public void finish(int splitNumber) {
+        finishedSplits.add(splitNumber);
+        splitOffsets.remove(splitNumber);
+    }
+
+    public String getOffset(int splitNumber) {
+        return splitOffsets.get(splitNumber);
+    }
+
+    /** 读取时按切分键升序逐条更新，直接覆盖 */
+    public void updateOffset(int splitNumber, String offset) {
+        if (!finishedSplits.contains(splitNumber)) {
+            splitOffsets.put(splitNumber, offset);
+        }
+    }
+
+    /** 恢复时合并其他并行度的状态，读取位置取最大值 */
+    public void merge(JdbcKeysetState other) {
+        other.finishedSplits.forEach(this::finish);
+        other.splitOffsets.forEach(
+                (splitNumber, offset) -> {
+                    if (!finishedSplits.contains(splitNumber)) {
+                        splitOffsets.merge(splitNumber, offset, JdbcKeysetState::maxOffset);
+                    }
+                });
+    }
+
+    public JdbcKeysetState copy() {
+        JdbcKeysetState copy = new JdbcKeysetState();
+        copy.finishedSplits.addAll(finishedSplits);
+        copy.splitOffsets.putAll(splitOffsets);
+        return copy;
+    }
+
+    private static String maxOffset(String left, String right) {
+        return new BigInteger(left).compareTo(new BigInteger(right)) >= 0 ? left : right;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.jdbc.statement;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/** 多行VALUES的INSERT语句. 参数按行依次排列，{@link #setRow(int)}选定当前行后，行转换器按列下标设置参数即可写入该行. */
+public class MultiValuesPreparedStatement implements FieldNamedPreparedStatement {
+
+    private final FieldNamedPreparedStatement statement;
+    private final int columnCount;
+    private final int rowCount;
+
+    private int offset;
+
+    private MultiValuesPreparedStatement(
+            FieldNamedPreparedStatement statement, int columnCount, int rowCount) {
+        this.statement = statement;
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @param sql 由{@link #parameterName(int, int)}命名参数的多行INSERT语句
+     * @param columnCount 每行的列数
+     * @param rowCount 语句中的行数
+     */
+    public static MultiValuesPreparedStatement prepareStatement(
+            Connection connection, String sql, int columnCount, int rowCount) throws SQLException {
+        String[] parameterNames = new String[columnCount * rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                parameterNames[row * columnCount + column] = parameterName(row, column);
+            }
+        }
+        return new MultiValuesPreparedStatement(
+                FieldNamedPreparedStatement.prepareStatement(connection, sql, parameterNames),
+                columnCount,
+                rowCount);
+    }
+
+    /** 第row行第column列的参数名，与列名无关，避免不同行的参数重名 */
+    public static String parameterName(int row, int column) {
+        return "v" + row + "_" + column;
+    }
+
+    /** 选定接下来设置参数的行 */
+    public void setRow(int row) {
+        this.offset = row * columnCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        statement.clearParameters();
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        return statement.executeQuery();
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        statement.addBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return statement.executeBatch();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        statement.clearBatch();
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        return statement.execute();
+    }
+
+    @Override
+    public void setNull(int fieldIndex, int sqlType) throws SQLException {
+        statement.setNull(offset + fieldIndex, sqlType);
+    }
+
+    @Override
+    public void setBoolean(int fieldIndex, boolean x) throws SQLException {
+        statement.setBoolean(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setByte(int fieldIndex, byte x) throws SQLException {
+        statement.setByte(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setShort(int fieldIndex, short x) throws SQLException {
+        statement.setShort(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setInt(int fieldIndex, int x) throws SQLException {
+        statement.setInt(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setLong(int fieldIndex, long x) throws SQLException {
+        statement.setLong(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setFloat(int fieldIndex, float x) throws SQLException {
+        statement.setFloat(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setDouble(int fieldIndex, double x) throws SQLException {
+        statement.setDouble(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setBigDecimal(int fieldIndex, BigDecimal x) throws SQLException {
+        statement.setBigDecimal(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setString(int fieldIndex, String x) throws SQLException {
+        statement.setString(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setBytes(int fieldIndex, byte[] x) throws SQLException {
+        statement.setBytes(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setDate(int fieldIndex, Date x) throws SQLException {
+        statement.setDate(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setTime(int fieldIndex, Time x) throws SQLException {
+        statement.setTime(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int fieldIndex, Timestamp x) throws SQLException {
+        statement.setTimestamp(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setObject(int fieldIndex, Object x) throws SQLException {
+        statement.setObject(offset + fieldIndex, x);
+    }
+
+    @Override
+    public void setBlob(int fieldIndex, InputStream is) throws SQLException {
+        statement.setBlob(offset + fieldIndex, is);
+    }
+
+    @Override
+    public void setClob(int fieldIndex, Reader reader) throws SQLException {
+        statement.setClob(offset + fieldIndex, reader);
+    }
+
+    @Override
+    public void setArray(int fieldIndex, Array array) throws SQLException {
+        statement.setArray(offset + fieldIndex, array);
+    }
+
+    @Override
+    public boolean isDelete() {
+        return false;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statement.close();
+    }
+
+    @Override
+    public void reOpen(Connection connection) throws SQLException {
+        statement.reOpen(connection);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return statement.getConnection();
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.jdbc.statement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * 收集行转换器设置的参数，得到一行数据按列排列的值. 用于不经过PreparedStatement写入的批量方式，例如sqlserver的bulk copy.
+ *
+ * <p>{@link #nextRow()}开始收集新的一行，流参数读取为byte[]或String
+ */
+public class RowValuesCollector implements FieldNamedPreparedStatement {
+
+    private final int columnCount;
+
+    private Object[] values;
+
+    public RowValuesCollector(int columnCount) {
+        this.columnCount = columnCount;
+        this.values = new Object[columnCount];
+    }
+
+    /** 开始收集新的一行 */
+    public void nextRow() {
+        values = new Object[columnCount];
+    }
+
+    /** 当前行的值，按列下标排列 */
+    public Object[] getValues() {
+        return values;
+    }
+
+    @Override
+    public void clearParameters() {
+        nextRow();
+    }
+
+    @Override
+    public ResultSet executeQuery() {
+        throw new UnsupportedOperationException("executeQuery is not supported");
+    }
+
+    @Override
+    public void addBatch() {
+        throw new UnsupportedOperationException("addBatch is not supported");
+    }
+
+    @Override
+    public int[] executeBatch() {
+        throw new UnsupportedOperationException("executeBatch is not supported");
+    }
+
+    @Override
+    public void clearBatch() {}
+
+    @Override
+    public boolean execute() {
+        throw new UnsupportedOperationException("execute is not supported");
+    }
+
+    @Override
+    public void setNull(int fieldIndex, int sqlType) {
+        values[fieldIndex] = null;
+    }
+
+    @Override
+    public void setBoolean(int fieldIndex, boolean x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setByte(int fieldIndex, byte x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setShort(int fieldIndex, short x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setInt(int fieldIndex, int x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setLong(int fieldIndex, long x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setFloat(int fieldIndex, float x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setDouble(int fieldIndex, double x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setBigDecimal(int fieldIndex, BigDecimal x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setString(int fieldIndex, String x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setBytes(int fieldIndex, byte[] x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setDate(int fieldIndex, Date x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setTime(int fieldIndex, Time x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setTimestamp(int fieldIndex, Timestamp x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setObject(int fieldIndex, Object x) {
+        values[fieldIndex] = x;
+    }
+
+    @Override
+    public void setBlob(int fieldIndex, InputStream is) throws SQLException {
+        if (is == null) {
+            values[fieldIndex] = null;
+            return;
+        }
+        try (InputStream in = is) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            values[fieldIndex] = out.toByteArray();
+        } catch (IOException e) {
+            throw new SQLException("read blob of field " + fieldIndex + " failed", e);
+        }
+    }
+
+    @Override
+    public void setClob(int fieldIndex, Reader reader) throws SQLException {
+        if (reader == null) {
+            values[fieldIndex] = null;
+            return;
+        }
+        try (Reader in = reader) {
+            StringWriter out = new StringWriter();
+            char[] buffer = new char[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            values[fieldIndex] = out.toString();
+        } catch (IOException e) {
+            throw new SQLException("read clob of field " + fieldIndex + " failed", e);
+        }
+    }
+
+    @Override
+    public void setArray(int fieldIndex, Array array) throws SQLException {
+        values[fieldIndex] = array == null ? null : array.getArray();
+    }
+
+    @Override
+    public boolean isDelete() {
+        return false;
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public void reOpen(Connection connection) {}
+
+    @Override
+    public Connection getConnection() {
+        throw new UnsupportedOperationException("getConnection is not supported");
+    }
+}
@@ -65,11 +65,16 @@ import static com.dtstack.chunjun.connector.jdbc.options.JdbcLookupOptions.VERTX
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcLookupOptions.VERTX_WORKER_POOL_SIZE;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcLookupOptions.getLibConfMap;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_ALL_REPLACE;
+import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_INSERT_SQL_MODE;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_PARALLELISM;
+import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_PARTIAL_UPDATE;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_POST_SQL;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_PRE_SQL;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSinkOptions.SINK_SEMANTIC;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSourceOptions.SCAN_CUSTOM_SQL;
+import static com.dtstack.chunjun.connector.jdbc.options.JdbcSourceOptions.SCAN_KEYSET_PAGE_SIZE;
+import static com.dtstack.chunjun.connector.jdbc.options.JdbcSourceOptions.SCAN_KEYSET_PAGING;
+import static com.dtstack.chunjun.connector.jdbc.options.JdbcSourceOptions.SCAN_PARTITION_CHUNKS_PER_TASK;
 import static com.dtstack.chunjun.connector.jdbc.options.JdbcSourceOptions.SCAN_WHERE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ASYNC_TIMEOUT;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_CACHE_MAX_ROWS;
@@ -93,6 +98,13 @@ import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_QUERY_TIMEOU
 import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_RESTORE_COLUMNNAME;
 import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_RESTORE_COLUMNTYPE;
 import static com.dtstack.chunjun.source.options.SourceOptions.SCAN_START_LOCATION;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_ASYNC_FLUSH;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_ASYNC_FLUSH_MAX_IN_FLIGHT;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BATCH_FAILURE_STRATEGY;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_ADAPTIVE;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_ADAPTIVE_MAX_ROWS;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_ADAPTIVE_MIN_ROWS;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_ADAPTIVE_TARGET_LATENCY;
 import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_INTERVAL;
 import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_MAX_ROWS;
 import static com.dtstack.chunjun.table.options.SinkOptions.SINK_MAX_RETRIES;
@@ -167,8 +179,18 @@ public abstract class JdbcDynamicTableFactory
         jdbcConfig.setPassword(readableConfig.get(PASSWORD));
 
         jdbcConfig.setAllReplace(conf.isAllReplace());
+        jdbcConfig.setPartialUpdate(readableConfig.get(SINK_PARTIAL_UPDATE));
+        jdbcConfig.setInsertSqlMode(readableConfig.get(SINK_INSERT_SQL_MODE));
         jdbcConfig.setBatchSize(readableConfig.get(SINK_BUFFER_FLUSH_MAX_ROWS));
         jdbcConfig.setFlushIntervalMills(readableConfig.get(SINK_BUFFER_FLUSH_INTERVAL));
+        jdbcConfig.setAdaptiveBatchSize(readableConfig.get(SINK_BUFFER_FLUSH_ADAPTIVE));
+        jdbcConfig.setMinBatchSize(readableConfig.get(SINK_BUFFER_FLUSH_ADAPTIVE_MIN_ROWS));
+        jdbcConfig.setMaxBatchSize(readableConfig.get(SINK_BUFFER_FLUSH_ADAPTIVE_MAX_ROWS));
+        jdbcConfig.setTargetFlushLatencyMills(
+                readableConfig.get(SINK_BUFFER_FLUSH_ADAPTIVE_TARGET_LATENCY));
+        jdbcConfig.setAsyncFlush(readableConfig.get(SINK_ASYNC_FLUSH));
+        jdbcConfig.setMaxInFlightBatches(readableConfig.get(SINK_ASYNC_FLUSH_MAX_IN_FLIGHT));
+        jdbcConfig.setBatchFailureStrategy(readableConfig.get(SINK_BATCH_FAILURE_STRATEGY));
         jdbcConfig.setParallelism(readableConfig.get(SINK_PARALLELISM));
         jdbcConfig.setSemantic(readableConfig.get(SINK_SEMANTIC));
 
@@ -228,6 +250,9 @@ public abstract class JdbcDynamicTableFactory
 
         jdbcConfig.setSplitPk(readableConfig.get(SCAN_PARTITION_COLUMN));
         jdbcConfig.setSplitStrategy(readableConfig.get(SCAN_PARTITION_STRATEGY));
+        jdbcConfig.setKeysetPaging(readableConfig.get(SCAN_KEYSET_PAGING));
+        jdbcConfig.setKeysetPageSize(readableConfig.get(SCAN_KEYSET_PAGE_SIZE));
+        jdbcConfig.setChunksPerTask(readableConfig.get(SCAN_PARTITION_CHUNKS_PER_TASK));
 
         String increColumn = readableConfig.get(SCAN_INCREMENT_COLUMN);
         if (StringUtils.isNotBlank(increColumn)) {
@@ -290,6 +315,9 @@ public abstract class JdbcDynamicTableFactory
         optionalOptions.add(SCAN_ORDER_BY_COLUMN);
         optionalOptions.add(SCAN_WHERE);
         optionalOptions.add(SCAN_CUSTOM_SQL);
+        optionalOptions.add(SCAN_KEYSET_PAGING);
+        optionalOptions.add(SCAN_KEYSET_PAGE_SIZE);
+        optionalOptions.add(SCAN_PARTITION_CHUNKS_PER_TASK);
 
         optionalOptions.add(LOOKUP_CACHE_PERIOD);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
@@ -303,8 +331,17 @@ public abstract class JdbcDynamicTableFactory
 
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
+        optionalOptions.add(SINK_BUFFER_FLUSH_ADAPTIVE);
+        optionalOptions.add(SINK_BUFFER_FLUSH_ADAPTIVE_MIN_ROWS);
+        optionalOptions.add(SINK_BUFFER_FLUSH_ADAPTIVE_MAX_ROWS);
+        optionalOptions.add(SINK_BUFFER_FLUSH_ADAPTIVE_TARGET_LATENCY);
+        optionalOptions.add(SINK_ASYNC_FLUSH);
+        optionalOptions.add(SINK_ASYNC_FLUSH_MAX_IN_FLIGHT);
+        optionalOptions.add(SINK_BATCH_FAILURE_STRATEGY);
         optionalOptions.add(SINK_MAX_RETRIES);
         optionalOptions.add(SINK_ALL_REPLACE);
+        optionalOptions.add(SINK_PARTIAL_UPDATE);
+        optionalOptions.add(SINK_INSERT_SQL_MODE);
         optionalOptions.add(SINK_PARALLELISM);
         optionalOptions.add(SINK_SEMANTIC);
         optionalOptions.add(SINK_PRE_SQL);
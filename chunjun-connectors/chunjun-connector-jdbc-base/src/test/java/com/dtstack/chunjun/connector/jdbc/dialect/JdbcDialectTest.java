@@ -85,6 +85,16 @@ public class JdbcDialectTest {
                 expect, jdbcDialect.getUpdateStatement(schema, table, fields, conditionFields));
     }
 
+    @Test
+    public void getMultiValuesInsertStatementTest() {
+        when(jdbcDialect.getMultiValuesInsertStatement(schema, table, fields, 2))
+                .thenCallRealMethod();
+        String expect =
+                "INSERT INTO \"schema\".\"table\"(\"id\", \"name\") VALUES (:v0_0, :v0_1), (:v1_0, :v1_1)";
+        Assert.assertEquals(
+                expect, jdbcDialect.getMultiValuesInsertStatement(schema, table, fields, 2));
+    }
+
     @Test
     public void getDeleteStatementTest() {
         when(jdbcDialect.getDeleteStatement(schema, table, fields, nullFields))
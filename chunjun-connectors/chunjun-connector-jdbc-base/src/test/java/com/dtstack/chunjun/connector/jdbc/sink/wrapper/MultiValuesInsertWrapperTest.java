@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.sink.wrapper;
+
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+
+import org.apache.flink.table.data.GenericRowData;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+public class MultiValuesInsertWrapperTest {
+
+    private static final String[] FIELDS = new String[] {"id", "name"};
+
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private JdbcDialect jdbcDialect;
+    private AbstractRowConverter rowConverter;
+
+    @Before
+    public void setup() throws Exception {
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+        jdbcDialect = mock(JdbcDialect.class);
+        when(jdbcDialect.quoteIdentifier(anyString())).thenCallRealMethod();
+        when(jdbcDialect.buildTableInfoWithSchema(anyString(), anyString())).thenCallRealMethod();
+        when(jdbcDialect.getMultiValuesInsertStatement(anyString(), anyString(), any(), anyInt()))
+                .thenCallRealMethod();
+        when(jdbcDialect.getMaxMultiValuesRows()).thenReturn(Integer.MAX_VALUE);
+        when(jdbcDialect.getMaxMultiValuesParameters()).thenReturn(6);
+
+        rowConverter = mock(AbstractRowConverter.class);
+    }
+
+    private MultiValuesInsertWrapper createWrapper(int maxRows) {
+        return new MultiValuesInsertWrapper(
+                connection,
+                jdbcDialect,
+                "schema",
+                "table",
+                FIELDS,
+                rowConverter,
+                maxRows,
+                Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testPackByParameters() throws Exception {
+        MultiValuesInsertWrapper wrapper = createWrapper(100);
+        for (int i = 0; i < 7; i++) {
+            wrapper.addToBatch(GenericRowData.of(i, null));
+        }
+        wrapper.executeBatch();
+
+        // 6个参数上限下每条语句3行，7行数据拆成3+3+1
+        verify(connection)
+                .prepareStatement(
+                        "INSERT INTO \"schema\".\"table\"(\"id\", \"name\") VALUES (?, ?), (?, ?), (?, ?)");
+        verify(connection)
+                .prepareStatement(
+                        "INSERT INTO \"schema\".\"table\"(\"id\", \"name\") VALUES (?, ?)");
+        verify(preparedStatement, times(3)).execute();
+        verify(rowConverter, times(7)).toExternal(any(), any());
+    }
+
+    @Test
+    public void testPackByRows() throws Exception {
+        MultiValuesInsertWrapper wrapper = createWrapper(2);
+        for (int i = 0; i < 4; i++) {
+            wrapper.addToBatch(GenericRowData.of(i, null));
+        }
+        wrapper.executeBatch();
+        wrapper.addToBatch(GenericRowData.of(5, null));
+        wrapper.addToBatch(GenericRowData.of(6, null));
+        wrapper.executeBatch();
+
+        // 满行语句在批次之间复用
+        verify(connection, times(1)).prepareStatement(anyString());
+        verify(preparedStatement, times(3)).execute();
+    }
+}
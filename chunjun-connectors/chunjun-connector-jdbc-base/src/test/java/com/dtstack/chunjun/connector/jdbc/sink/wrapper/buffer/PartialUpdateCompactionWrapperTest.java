@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.sink.wrapper.buffer;
+
+import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.util.JdbcUtil;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+public class PartialUpdateCompactionWrapperTest {
+
+    private static final String UPDATE_NAME_SQL =
+            "UPDATE \"schema\".\"table\" SET \"name\" = ? WHERE \"id\" = ?";
+
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private JdbcBatchStatementWrapper<RowData> upsertExecutor;
+    private JdbcBatchStatementWrapper<RowData> deleteExecutor;
+    private PartialUpdateCompactionWrapper wrapper;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeBatch()).thenReturn(new int[] {1, 1});
+
+        JdbcDialect jdbcDialect = mock(JdbcDialect.class);
+        when(jdbcDialect.quoteIdentifier(anyString())).thenCallRealMethod();
+        when(jdbcDialect.buildTableInfoWithSchema(anyString(), anyString())).thenCallRealMethod();
+        when(jdbcDialect.getUpdateStatement(anyString(), anyString(), any(), any()))
+                .thenCallRealMethod();
+        when(jdbcDialect.getRowConverter(any())).thenReturn(mock(AbstractRowConverter.class));
+
+        upsertExecutor = mock(JdbcBatchStatementWrapper.class);
+        deleteExecutor = mock(JdbcBatchStatementWrapper.class);
+
+        RowType rowType =
+                RowType.of(
+                        new LogicalType[] {new IntType(), new VarCharType(), new BigIntType()},
+                        new String[] {"id", "name", "age"});
+        List<String> keyList = Collections.singletonList("id");
+        RowType keyRowType = RowType.of(new LogicalType[] {new IntType()}, new String[] {"id"});
+        wrapper =
+                new PartialUpdateCompactionWrapper(
+                        connection,
+                        jdbcDialect,
+                        "schema",
+                        "table",
+                        rowType,
+                        keyList,
+                        upsertExecutor,
+                        deleteExecutor,
+                        JdbcUtil.getKeyExtractor(
+                                rowType.getFieldNames(), keyList, keyRowType, false));
+    }
+
+    private static RowData row(RowKind kind, int id, String name, long age) {
+        GenericRowData rowData = GenericRowData.of(id, StringData.fromString(name), age);
+        rowData.setRowKind(kind);
+        return rowData;
+    }
+
+    @Test
+    public void testUpdateOnlyChangedColumns() throws Exception {
+        RowData after1 = row(RowKind.UPDATE_AFTER, 1, "b", 10L);
+        RowData after2 = row(RowKind.UPDATE_AFTER, 2, "d", 20L);
+        wrapper.addToBatch(row(RowKind.UPDATE_BEFORE, 1, "a", 10L));
+        wrapper.addToBatch(after1);
+        wrapper.addToBatch(row(RowKind.UPDATE_BEFORE, 2, "c", 20L));
+        wrapper.addToBatch(after2);
+        wrapper.executeBatch();
+
+        // 变化列相同的两条数据共用一条语句
+        verify(connection, times(1)).prepareStatement(UPDATE_NAME_SQL);
+        verify(preparedStatement, times(2)).addBatch();
+        verify(upsertExecutor, never()).addToBatch(any());
+        verify(deleteExecutor, never()).addToBatch(any());
+
+        wrapper.addToBatch(row(RowKind.UPDATE_BEFORE, 1, "b", 10L));
+        wrapper.addToBatch(row(RowKind.UPDATE_AFTER, 1, "e", 10L));
+        wrapper.executeBatch();
+        verify(connection, times(1)).prepareStatement(anyString());
+    }
+
+    @Test
+    public void testFallbackToUpsert() throws Exception {
+        when(preparedStatement.executeBatch()).thenReturn(new int[] {0});
+        RowData insert = row(RowKind.INSERT, 3, "x", 30L);
+        RowData after = row(RowKind.UPDATE_AFTER, 1, "b", 11L);
+        RowData afterWithoutBefore = row(RowKind.UPDATE_AFTER, 2, "y", 20L);
+        wrapper.addToBatch(insert);
+        wrapper.addToBatch(row(RowKind.UPDATE_BEFORE, 1, "a", 10L));
+        wrapper.addToBatch(after);
+        wrapper.addToBatch(afterWithoutBefore);
+        wrapper.executeBatch();
+
+        verify(connection)
+                .prepareStatement(
+                        "UPDATE \"schema\".\"table\" SET \"name\" = ?, \"age\" = ? WHERE \"id\" = ?");
+        verify(upsertExecutor).addToBatch(insert);
+        verify(upsertExecutor).addToBatch(afterWithoutBefore);
+        // 目标表中没有该行，部分更新未命中后按整行写入
+        verify(upsertExecutor).addToBatch(after);
+        verify(upsertExecutor).executeBatch();
+    }
+
+    @Test
+    public void testDeleteAndUnchanged() throws Exception {
+        wrapper.addToBatch(row(RowKind.UPDATE_BEFORE, 1, "a", 10L));
+        wrapper.addToBatch(row(RowKind.UPDATE_AFTER, 1, "a", 10L));
+        wrapper.addToBatch(row(RowKind.INSERT, 2, "b", 20L));
+        wrapper.addToBatch(row(RowKind.DELETE, 2, "b", 20L));
+        wrapper.executeBatch();
+
+        verify(connection, never()).prepareStatement(anyString());
+        verify(upsertExecutor, never()).addToBatch(any());
+        verify(deleteExecutor).addToBatch(GenericRowData.of(2));
+    }
+
+    @Test
+    public void testUnmatchedUpdateBeforeIsDroppedOnFlush() throws Exception {
+        wrapper.addToBatch(row(RowKind.UPDATE_BEFORE, 1, "a", 10L));
+        wrapper.executeBatch();
+
+        // the before-image is neither a delete nor kept across flushes
+        verify(deleteExecutor, never()).addToBatch(any());
+        verify(upsertExecutor, never()).addToBatch(any());
+
+        // a late after-image has no before-image left, so the full row is upserted
+        RowData after = row(RowKind.UPDATE_AFTER, 1, "b", 10L);
+        wrapper.addToBatch(after);
+        wrapper.executeBatch();
+
+        verify(connection, never()).prepareStatement(anyString());
+        verify(deleteExecutor, never()).addToBatch(any());
+        verify(upsertExecutor).addToBatch(after);
+
+        // nothing is left behind for the next flush
+        wrapper.executeBatch();
+        verify(upsertExecutor, times(1)).addToBatch(any());
+    }
+}
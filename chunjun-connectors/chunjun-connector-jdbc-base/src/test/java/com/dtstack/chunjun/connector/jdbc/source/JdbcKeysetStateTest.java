@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.jdbc.source;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JdbcKeysetStateTest {
+
+    @Test
+    public void testMergeKeepsMaxOffsetAndFinishedSplits() {
+        JdbcKeysetState first = new JdbcKeysetState();
+        first.updateOffset(0, "100");
+        first.updateOffset(1, "20");
+        first.finish(2);
+
+        JdbcKeysetState second = new JdbcKeysetState();
+        second.updateOffset(0, "99");
+        second.updateOffset(1, "300");
+        second.updateOffset(2, "5");
+        second.finish(3);
+
+        JdbcKeysetState merged = new JdbcKeysetState();
+        merged.merge(second);
+        merged.merge(first);
+        merged.merge(first);
+
+        Assert.assertEquals("100", merged.getOffset(0));
+        Assert.assertEquals("300", merged.getOffset(1));
+        Assert.assertTrue(merged.isFinished(2));
+        Assert.assertNull(merged.getOffset(2));
+        Assert.assertTrue(merged.isFinished(3));
+        Assert.assertFalse(merged.isFinished(0));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        JdbcKeysetState state = new JdbcKeysetState();
+        state.updateOffset(0, "10");
+        JdbcKeysetState copy = state.copy();
+
+        state.updateOffset(0, "20");
+        state.finish(1);
+
+        Assert.assertEquals("10", copy.getOffset(0));
+        Assert.assertFalse(copy.isFinished(1));
+    }
+
+    @Test
+    public void testUpdateOffsetOverwritesAndFinishedSplitIsIgnored() {
+        JdbcKeysetState state = new JdbcKeysetState();
+        state.updateOffset(0, "100");
+        state.updateOffset(0, "101");
+        state.finish(1);
+        state.updateOffset(1, "5");
+
+        Assert.assertEquals("101", state.getOffset(0));
+        Assert.assertNull(state.getOffset(1));
+    }
+}
@@ -26,6 +26,7 @@ import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.converter.IDeserializationConverter;
 import com.dtstack.chunjun.decoder.IDecode;
 import com.dtstack.chunjun.decoder.JsonDecoder;
+import com.dtstack.chunjun.decoder.JsonProjectionDecoder;
 import com.dtstack.chunjun.decoder.TextDecoder;
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
@@ -80,6 +81,8 @@ public class KafkaSyncConverter
     private final KafkaConfig kafkaConfig;
     /** kafka sink out fields */
     private List<String> outList;
+    /** 配置了column的json消息直接在字节上解析出所需字段 */
+    private JsonProjectionDecoder projectionDecoder;
 
     public KafkaSyncConverter(RowType rowType, KafkaConfig kafkaConfig, List<String> keyTypeList) {
         super(rowType, kafkaConfig);
@@ -113,15 +116,21 @@ public class KafkaSyncConverter
                 toInternalConverters.add(
                         wrapIntoNullableInternalConverter(createInternalConverter(s.getType())));
             }
+            this.projectionDecoder =
+                    new JsonProjectionDecoder(
+                            kafkaConfig.getColumn().stream()
+                                    .map(FieldConfig::getName)
+                                    .collect(Collectors.toList()),
+                            kafkaConfig.isAddMessage());
         }
     }
 
     @Override
     public RowData toInternal(ConsumerRecord<byte[], byte[]> input) throws Exception {
-        String data = new String(input.value(), StandardCharsets.UTF_8);
-        Map<String, Object> map = decode.decode(data);
         ColumnRowData result;
         if (toInternalConverters == null || toInternalConverters.size() == 0) {
+            String data = new String(input.value(), StandardCharsets.UTF_8);
+            Map<String, Object> map = decode.decode(data);
             if (CollectionUtils.isNotEmpty(kafkaConfig.getTopics())
                     && kafkaConfig.getTopics().size() > 1) {
                 result = new ColumnRowData(4);
@@ -144,6 +153,7 @@ public class KafkaSyncConverter
             }
         } else {
             List<FieldConfig> fieldConfList = kafkaConfig.getColumn();
+            Object[] values = projectionDecoder.decode(input.value());
             if (CollectionUtils.isNotEmpty(kafkaConfig.getTopics())
                     && kafkaConfig.getTopics().size() > 1) {
                 result = new ColumnRowData(fieldConfList.size() + 3);
@@ -163,9 +173,8 @@ public class KafkaSyncConverter
             }
             for (int i = 0; i < fieldConfList.size(); i++) {
                 FieldConfig fieldConfig = fieldConfList.get(i);
-                Object value = map.get(fieldConfig.getName());
                 AbstractBaseColumn baseColumn =
-                        (AbstractBaseColumn) toInternalConverters.get(i).deserialize(value);
+                        (AbstractBaseColumn) toInternalConverters.get(i).deserialize(values[i]);
                 result.addField(assembleFieldProps(fieldConfig, baseColumn));
             }
         }
@@ -100,6 +100,11 @@ public class KingbaseDialect implements JdbcDialect {
         return updateClause;
     }
 
+    @Override
+    public boolean supportMultiValuesInsert() {
+        return true;
+    }
+
     /**
      * override: add alias for table which is used in upsert statement
      *
@@ -20,12 +20,22 @@ package com.dtstack.chunjun.connector.mongodb.config;
 
 import lombok.Data;
 
+import java.io.Serializable;
+
 @Data
-public class MongoWriteConfig {
+public class MongoWriteConfig implements Serializable {
+
+    private static final long serialVersionUID = -2364474851452453386L;
 
     private int parallelism = 1;
 
     private long flushInterval = 1000L;
 
     private int flushMaxRows = 1;
+
+    /** 批量写入是否有序，有序时遇到失败的文档会停止执行后续文档，由输出格式重新提交剩余文档 */
+    private boolean ordered = true;
+
+    /** 写关注，如ACKNOWLEDGED、UNACKNOWLEDGED、W1、MAJORITY，为空时使用集合默认值 */
+    private String writeConcern;
 }
@@ -56,6 +56,12 @@ public class MongodbDataSyncConfig extends CommonConfig implements Serializable
 
     private String replaceKey;
 
+    /** 批量写入是否有序 */
+    private boolean ordered = true;
+
+    /** 写关注，为空时使用集合默认值 */
+    private String writeConcern;
+
     private List<String> monitorDatabases;
 
     private List<String> monitorCollections;
@@ -20,21 +20,34 @@ package com.dtstack.chunjun.connector.mongodb.sink;
 
 import com.dtstack.chunjun.connector.mongodb.MongoClientFactory;
 import com.dtstack.chunjun.connector.mongodb.config.MongoClientConfig;
+import com.dtstack.chunjun.connector.mongodb.config.MongoWriteConfig;
+import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
-import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
 
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
-import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.bson.Document;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 public class MongodbOutputFormat extends BaseRichOutputFormat {
@@ -44,49 +57,133 @@ public class MongodbOutputFormat extends BaseRichOutputFormat {
     private final MongoClientConfig mongoClientConfig;
     private final String key;
     private final WriteMode writeMode;
+    private final MongoWriteConfig mongoWriteConfig;
 
     private transient MongoClient mongoClient;
-    private transient MongoCollection mongoCollection;
-    private transient FindOneAndReplaceOptions options;
+    private transient MongoCollection<Document> mongoCollection;
+    private transient ReplaceOptions replaceOptions;
+    private transient BulkWriteOptions bulkWriteOptions;
 
     public MongodbOutputFormat(
-            MongoClientConfig mongoClientConfig, String key, WriteMode writeMode) {
+            MongoClientConfig mongoClientConfig,
+            String key,
+            WriteMode writeMode,
+            MongoWriteConfig mongoWriteConfig) {
         this.mongoClientConfig = mongoClientConfig;
         this.key = key;
         this.writeMode = writeMode;
+        this.mongoWriteConfig = mongoWriteConfig;
     }
 
     @Override
     protected void writeSingleRecordInternal(RowData rowData) throws WriteRecordException {
         try {
-            Document document = new Document();
-            rowConverter.toExternal(rowData, document);
-            if (writeMode == WriteMode.UPSERT) {
-                Document filter = new Document(key, document.get(key));
-                mongoCollection.findOneAndReplace(filter, document, options);
-            } else {
-                mongoCollection.insertOne(document);
+            WriteModel<Document> model = createWriteModel(rowData);
+            if (model != null) {
+                mongoCollection.bulkWrite(Collections.singletonList(model), bulkWriteOptions);
             }
         } catch (Exception e) {
             throw new WriteRecordException("Writer data to mongodb error", e, 0, rowData);
         }
     }
 
+    /**
+     * 通过bulkWrite批量写出，文档级别的错误（如主键冲突）只把失败的数据记为脏数据，其余数据正常写出；
+     * 有序写入时失败文档之后的文档不会被执行，这里重新提交剩余部分。批量写整体失败（如网络异常、写关注未满足）时抛出异常，转为单条写出
+     */
     @Override
     protected void writeMultipleRecordsInternal() throws Exception {
-        List<Document> documents = new ArrayList<>(rows.size());
+        List<WriteModel<Document>> models = new ArrayList<>(rows.size());
+        List<RowData> modelRows = new ArrayList<>(rows.size());
         for (RowData row : rows) {
-            Document document = new Document();
-            rowConverter.toExternal(row, document);
-            documents.add(document);
+            WriteModel<Document> model = createWriteModel(row);
+            if (model != null) {
+                models.add(model);
+                modelRows.add(row);
+            }
+        }
+
+        Set<RowData> failedRows = Collections.newSetFromMap(new IdentityHashMap<>());
+        int offset = 0;
+        try {
+            while (offset < models.size()) {
+                List<WriteModel<Document>> pending = models.subList(offset, models.size());
+                try {
+                    mongoCollection.bulkWrite(pending, bulkWriteOptions);
+                    break;
+                } catch (MongoBulkWriteException e) {
+                    if (e.getWriteErrors().isEmpty()) {
+                        throw e;
+                    }
+                    int lastErrorIndex = -1;
+                    for (BulkWriteError error : e.getWriteErrors()) {
+                        RowData row = modelRows.get(offset + error.getIndex());
+                        collectDirtyData(row, error, e);
+                        failedRows.add(row);
+                        lastErrorIndex = Math.max(lastErrorIndex, error.getIndex());
+                    }
+                    if (!mongoWriteConfig.isOrdered()) {
+                        break;
+                    }
+                    offset += lastErrorIndex + 1;
+                }
+            }
+        } catch (Exception e) {
+            // 有序写入重新提交时整体失败，已写出或已记为脏数据的部分不再交给父类重写
+            if (offset > 0) {
+                Set<RowData> handledRows = Collections.newSetFromMap(new IdentityHashMap<>());
+                handledRows.addAll(modelRows.subList(0, offset));
+                numWriteCounter.add(offset - failedRows.size());
+                rows.removeIf(handledRows::contains);
+            }
+            throw e;
         }
-        if (writeMode == WriteMode.INSERT) {
-            mongoCollection.insertMany(documents);
-        } else {
-            throw new ChunJunRuntimeException("Does not support batch upsert documents");
+
+        // 父类按rows.size()统计写出条数，失败的数据已经记为脏数据
+        if (!failedRows.isEmpty()) {
+            rows.removeIf(failedRows::contains);
         }
     }
 
+    /**
+     * 根据RowKind和写入模式生成写操作：配置了key时INSERT、UPDATE_AFTER按key覆盖写入，否则直接插入；DELETE按key删除，
+     * 未配置key时按整条文档匹配删除；UPDATE_BEFORE由对应的UPDATE_AFTER覆盖，不生成写操作
+     */
+    private WriteModel<Document> createWriteModel(RowData rowData) throws Exception {
+        Document document = new Document();
+        rowConverter.toExternal(rowData, document);
+        switch (rowData.getRowKind()) {
+            case UPDATE_BEFORE:
+                return null;
+            case DELETE:
+                return new DeleteOneModel<>(
+                        writeMode == WriteMode.UPSERT
+                                ? new Document(key, document.get(key))
+                                : document);
+            case INSERT:
+            case UPDATE_AFTER:
+            default:
+                if (writeMode == WriteMode.UPSERT) {
+                    Document filter = new Document(key, document.get(key));
+                    return new ReplaceOneModel<>(filter, document, replaceOptions);
+                }
+                return new InsertOneModel<>(document);
+        }
+    }
+
+    private void collectDirtyData(RowData row, BulkWriteError error, Exception cause) {
+        WriteRecordException exception =
+                new WriteRecordException(
+                        String.format(
+                                "Writer data to mongodb error, code = %s, message = %s",
+                                error.getCode(), error.getMessage()),
+                        cause,
+                        0,
+                        row);
+        long globalErrors = accumulatorCollector.getAccumulatorValue(Metrics.NUM_ERRORS, false);
+        dirtyManager.collect(row, exception, null, globalErrors);
+    }
+
     @Override
     protected void openInternal(int taskNumber, int numTasks) throws IOException {
         mongoClient = MongoClientFactory.createClient(mongoClientConfig);
@@ -95,7 +192,16 @@ public class MongodbOutputFormat extends BaseRichOutputFormat {
                         mongoClient,
                         mongoClientConfig.getDatabase(),
                         mongoClientConfig.getCollection());
-        options = new FindOneAndReplaceOptions().upsert(true);
+        if (StringUtils.isNotBlank(mongoWriteConfig.getWriteConcern())) {
+            WriteConcern writeConcern = WriteConcern.valueOf(mongoWriteConfig.getWriteConcern());
+            if (writeConcern == null) {
+                throw new IllegalArgumentException(
+                        "unsupported writeConcern: " + mongoWriteConfig.getWriteConcern());
+            }
+            mongoCollection = mongoCollection.withWriteConcern(writeConcern);
+        }
+        replaceOptions = new ReplaceOptions().upsert(true);
+        bulkWriteOptions = new BulkWriteOptions().ordered(mongoWriteConfig.isOrdered());
     }
 
     @Override
@@ -20,6 +20,7 @@ package com.dtstack.chunjun.connector.mongodb.sink;
 
 import com.dtstack.chunjun.config.FieldConfig;
 import com.dtstack.chunjun.connector.mongodb.config.MongoClientConfig;
+import com.dtstack.chunjun.connector.mongodb.config.MongoWriteConfig;
 import com.dtstack.chunjun.connector.mongodb.datasync.MongoClientConfFactory;
 import com.dtstack.chunjun.connector.mongodb.datasync.MongodbDataSyncConfig;
 import com.dtstack.chunjun.sink.WriteMode;
@@ -40,16 +41,20 @@ public class MongodbOutputFormatBuilder extends BaseRichOutputFormatBuilder<Mong
                 MongoClientConfFactory.createMongoClientConf(mongodbDataSyncConfig);
         MongodbOutputFormat.WriteMode writeMode =
                 parseWriteMode(mongodbDataSyncConfig.getWriteMode());
+        MongoWriteConfig mongoWriteConfig = new MongoWriteConfig();
+        mongoWriteConfig.setOrdered(mongodbDataSyncConfig.isOrdered());
+        mongoWriteConfig.setWriteConcern(mongodbDataSyncConfig.getWriteConcern());
         return new MongodbOutputFormatBuilder(
-                mongodbDataSyncConfig, mongoClientConfig, upsertKey, writeMode);
+                mongodbDataSyncConfig, mongoClientConfig, upsertKey, writeMode, mongoWriteConfig);
     }
 
     public MongodbOutputFormatBuilder(
             MongodbDataSyncConfig mongodbDataSyncConfig,
             MongoClientConfig mongoClientConfig,
             String key,
-            MongodbOutputFormat.WriteMode writeMode) {
-        super(new MongodbOutputFormat(mongoClientConfig, key, writeMode));
+            MongodbOutputFormat.WriteMode writeMode,
+            MongoWriteConfig mongoWriteConfig) {
+        super(new MongodbOutputFormat(mongoClientConfig, key, writeMode, mongoWriteConfig));
         this.upsertKey = key;
         this.mongodbDataSyncConfig = mongodbDataSyncConfig;
     }
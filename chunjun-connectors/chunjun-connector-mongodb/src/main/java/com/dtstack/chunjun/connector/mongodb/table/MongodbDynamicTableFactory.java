@@ -122,6 +122,8 @@ public class MongodbDynamicTableFactory
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
         optionalOptions.add(SINK_PARALLELISM);
+        optionalOptions.add(MongoClientOptions.SINK_ORDERED);
+        optionalOptions.add(MongoClientOptions.SINK_WRITE_CONCERN);
 
         return optionalOptions;
     }
@@ -158,6 +160,9 @@ public class MongodbDynamicTableFactory
         config.getOptional(SINK_BUFFER_FLUSH_MAX_ROWS).ifPresent(mongoWriteConfig::setFlushMaxRows);
         config.getOptional(SINK_BUFFER_FLUSH_INTERVAL)
                 .ifPresent(mongoWriteConfig::setFlushInterval);
+        mongoWriteConfig.setOrdered(config.get(MongoClientOptions.SINK_ORDERED));
+        config.getOptional(MongoClientOptions.SINK_WRITE_CONCERN)
+                .ifPresent(mongoWriteConfig::setWriteConcern);
         return new MongodbDynamicTableSink(
                 mongoClientConfig, context.getCatalogTable().getResolvedSchema(), mongoWriteConfig);
     }
@@ -27,6 +27,7 @@ import com.dtstack.chunjun.connector.mongodb.sink.MongodbOutputFormatBuilder;
 import com.dtstack.chunjun.sink.DtOutputFormatSinkFunction;
 
 import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.catalog.UniqueConstraint;
 import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.sink.SinkFunctionProvider;
@@ -61,9 +62,21 @@ public class MongodbDynamicTableSink implements DynamicTableSink {
     public SinkRuntimeProvider getSinkRuntimeProvider(Context context) {
         final RowType rowType = (RowType) resolvedSchema.toPhysicalRowDataType().getLogicalType();
         String[] fieldNames = resolvedSchema.getColumnNames().toArray(new String[0]);
+        // 单列主键作为覆盖写入和删除的key，未定义主键或为联合主键时直接插入
+        String key =
+                resolvedSchema
+                        .getPrimaryKey()
+                        .map(UniqueConstraint::getColumns)
+                        .filter(columns -> columns.size() == 1)
+                        .map(columns -> columns.get(0))
+                        .orElse(null);
+        MongodbOutputFormat.WriteMode writeMode =
+                key == null
+                        ? MongodbOutputFormat.WriteMode.INSERT
+                        : MongodbOutputFormat.WriteMode.UPSERT;
         MongodbOutputFormatBuilder builder =
                 new MongodbOutputFormatBuilder(
-                        null, mongoClientConfig, null, MongodbOutputFormat.WriteMode.INSERT);
+                        null, mongoClientConfig, key, writeMode, mongoWriteConfig);
         CommonConfig commonConfig = new CommonConfig();
         commonConfig.setBatchSize(mongoWriteConfig.getFlushMaxRows());
         commonConfig.setFlushIntervalMills(mongoWriteConfig.getFlushInterval());
@@ -58,4 +58,19 @@ public class MongoClientOptions {
 
     public static final ConfigOption<String> FETCH_SIZE =
             ConfigOptions.key("fetch-size").stringType().noDefaultValue().withDescription("");
+
+    // Write Only
+    public static final ConfigOption<Boolean> SINK_ORDERED =
+            ConfigOptions.key("sink.ordered")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "whether bulk writes are ordered, an ordered bulk write stops at the first failed document.");
+
+    public static final ConfigOption<String> SINK_WRITE_CONCERN =
+            ConfigOptions.key("sink.write-concern")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "the write concern of the sink, such as ACKNOWLEDGED, UNACKNOWLEDGED, W1, MAJORITY.");
 }
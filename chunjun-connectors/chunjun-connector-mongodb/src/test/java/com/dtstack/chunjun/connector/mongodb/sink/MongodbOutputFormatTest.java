@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.mongodb.sink;
+
+import com.dtstack.chunjun.connector.mongodb.config.MongoClientConfig;
+import com.dtstack.chunjun.connector.mongodb.config.MongoWriteConfig;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+import com.dtstack.chunjun.dirty.manager.DirtyManager;
+import com.dtstack.chunjun.metrics.AccumulatorCollector;
+
+import org.apache.flink.api.common.accumulators.LongCounter;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoSocketWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.reflect.Whitebox.getInternalState;
+import static org.powermock.reflect.Whitebox.setInternalState;
+
+public class MongodbOutputFormatTest {
+
+    private MongoWriteConfig writeConfig;
+    private MongoCollection<Document> collection;
+    private DirtyManager dirtyManager;
+    private List<RowData> rows;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        writeConfig = new MongoWriteConfig();
+        collection = mock(MongoCollection.class);
+        dirtyManager = mock(DirtyManager.class);
+        rows = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rows.add(GenericRowData.of(i));
+        }
+    }
+
+    @Test
+    public void testUnorderedBulkCountsOnlySucceededDocuments() throws Exception {
+        writeConfig.setOrdered(false);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(bulkWriteException(2));
+        MongodbOutputFormat format = createFormat();
+
+        format.writeMultipleRecordsInternal();
+
+        verify(collection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(dirtyManager, times(1)).collect(same(rows.get(2)), any(), isNull(), eq(0L));
+        List<RowData> written = getRows(format);
+        Assert.assertEquals(3, written.size());
+        Assert.assertFalse(written.contains(rows.get(2)));
+    }
+
+    @Test
+    public void testOrderedRetryFailureKeepsOnlyUnhandledRows() throws Exception {
+        writeConfig.setOrdered(true);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(bulkWriteException(1))
+                .thenThrow(new MongoSocketWriteException("socket closed", null, null));
+        MongodbOutputFormat format = createFormat();
+
+        Assert.assertThrows(MongoSocketWriteException.class, format::writeMultipleRecordsInternal);
+
+        // rows 0 and 1 were written or recorded dirty before the retry failed
+        verify(dirtyManager, times(1)).collect(same(rows.get(1)), any(), isNull(), eq(0L));
+        List<RowData> remaining = getRows(format);
+        Assert.assertEquals(2, remaining.size());
+        Assert.assertSame(rows.get(2), remaining.get(0));
+        LongCounter numWriteCounter = getInternalState(format, "numWriteCounter");
+        Assert.assertEquals(1L, numWriteCounter.getLocalValue().longValue());
+    }
+
+    @Test
+    public void testSucceededBulkKeepsAllRows() throws Exception {
+        MongodbOutputFormat format = createFormat();
+
+        format.writeMultipleRecordsInternal();
+
+        verify(dirtyManager, never()).collect(any(), any(), any(), eq(0L));
+        Assert.assertEquals(4, getRows(format).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongodbOutputFormat createFormat() throws IOException {
+        MongodbOutputFormat format =
+                new MongodbOutputFormat(
+                        new MongoClientConfig(),
+                        "id",
+                        MongodbOutputFormat.WriteMode.INSERT,
+                        writeConfig);
+        AbstractRowConverter<?, ?, Document, ?> converter = mock(AbstractRowConverter.class);
+        try {
+            doAnswer(
+                            invocation -> {
+                                RowData rowData = invocation.getArgument(0);
+                                Document document = invocation.getArgument(1);
+                                document.put("id", rowData.getInt(0));
+                                return document;
+                            })
+                    .when(converter)
+                    .toExternal(any(), any());
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        AccumulatorCollector accumulatorCollector = mock(AccumulatorCollector.class);
+        setInternalState(format, "mongoCollection", collection);
+        setInternalState(format, "bulkWriteOptions", new BulkWriteOptions());
+        setInternalState(format, "rowConverter", converter);
+        setInternalState(format, "dirtyManager", dirtyManager);
+        setInternalState(format, "accumulatorCollector", accumulatorCollector);
+        setInternalState(format, "numWriteCounter", new LongCounter());
+        setInternalState(format, "rows", new ArrayList<>(rows));
+        return format;
+    }
+
+    private static List<RowData> getRows(MongodbOutputFormat format) {
+        return getInternalState(format, "rows");
+    }
+
+    private static MongoBulkWriteException bulkWriteException(int index) {
+        return new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(),
+                Collections.singletonList(
+                        new BulkWriteError(11000, "duplicate key", new BsonDocument(), index)),
+                null,
+                new ServerAddress());
+    }
+}
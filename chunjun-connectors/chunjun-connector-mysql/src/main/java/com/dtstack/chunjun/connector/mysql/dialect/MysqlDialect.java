@@ -61,6 +61,11 @@ public class MysqlDialect implements JdbcDialect {
         return "`" + identifier + "`";
     }
 
+    @Override
+    public boolean supportMultiValuesInsert() {
+        return true;
+    }
+
     @Override
     public boolean supportUpsert() {
         return true;
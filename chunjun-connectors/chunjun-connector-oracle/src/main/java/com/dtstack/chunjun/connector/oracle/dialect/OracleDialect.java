@@ -21,7 +21,10 @@ package com.dtstack.chunjun.connector.oracle.dialect;
 import com.dtstack.chunjun.config.CommonConfig;
 import com.dtstack.chunjun.config.TypeConfig;
 import com.dtstack.chunjun.connector.jdbc.conf.TableIdentify;
+import com.dtstack.chunjun.connector.jdbc.config.JdbcConfig;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.SimpleStatementWrapper;
 import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
 import com.dtstack.chunjun.connector.jdbc.util.key.KeyUtil;
 import com.dtstack.chunjun.connector.jdbc.util.key.NumericTypeUtil;
@@ -32,8 +35,10 @@ import com.dtstack.chunjun.connector.oracle.util.increment.OracleTimestampTypeUt
 import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.converter.RawTypeMapper;
 import com.dtstack.chunjun.enums.ColumnType;
+import com.dtstack.chunjun.enums.Semantic;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 
+import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 
@@ -41,7 +46,9 @@ import io.vertx.core.json.JsonArray;
 import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigInteger;
+import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -82,6 +89,32 @@ public class OracleDialect implements JdbcDialect {
         return true;
     }
 
+    /**
+     * 带APPEND_VALUES提示的INSERT语句，executeBatch时驱动按数组绑定一次发送整批数据，数据库以direct-path方式写入.
+     *
+     * <p>direct-path写入后，事务提交前不能再读写该表，exactly-once下多个批次在同一个事务中，因此不使用
+     */
+    @Override
+    public JdbcBatchStatementWrapper<RowData> getBulkInsertWrapper(
+            Connection connection,
+            JdbcConfig jdbcConfig,
+            String[] fieldNames,
+            AbstractRowConverter rowConverter)
+            throws SQLException {
+        if (Semantic.EXACTLY_ONCE == Semantic.getByName(jdbcConfig.getSemantic())) {
+            return null;
+        }
+        String sql =
+                "INSERT /*+ APPEND_VALUES */ INTO"
+                        + StringUtils.removeStart(
+                                getInsertIntoStatement(
+                                        jdbcConfig.getSchema(), jdbcConfig.getTable(), fieldNames),
+                                "INSERT INTO");
+        return new SimpleStatementWrapper(
+                FieldNamedPreparedStatement.prepareStatement(connection, sql, fieldNames),
+                rowConverter);
+    }
+
     @Override
     public Optional<String> getUpsertStatement(
             String schema,
@@ -81,13 +81,16 @@ public class LogMinerConfig extends CommonConfig {
     /** logminer一次最大加载数据量 默认5g * */
     private long maxLogFileSize = 5 * ConstantValue.STORE_SIZE_G;
 
-    /** 加载日志文件线程个数 * */
+    /** 同时加载日志文件的connection个数上限 * */
     private int ioThreads = 1;
 
+    /** 每次加载期望读取的数据条数，按已读取窗口每字节redo日志的条数换算加载的日志大小，小于等于0时每次都按maxLogFileSize加载 */
+    private long windowTargetRows = 100000;
+
     /** 加载日志文件/查询数据重试次数 * */
     private int retryTimes = 3;
 
-    /** 缓存的日志数 * */
+    /** 缓存的事务数，只限制数据仍在内存中的事务，已写到本地文件的事务不会因超过个数被淘汰 * */
     private long transactionCacheNumSize = 1000;
 
     /** 每个事务缓存的事件总数 * */
@@ -95,9 +98,15 @@ public class LogMinerConfig extends CommonConfig {
 
     private Properties properties;
 
-    /** 缓存的日志时间 * */
+    /** 事务缓存的过期时间，单位分钟，从最后一次追加数据或回滚查询开始计算 * */
     private long transactionExpireTime = 20;
 
+    /** 缓存在内存中的事务数据大小上限，超过时写入本地文件，单位byte，小于等于0时不写本地文件 * */
+    private long transactionSpillMemorySize = 0;
+
+    /** 事务数据写入的本地目录，默认为java.io.tmpdir * */
+    private String transactionSpillDir;
+
     /** 是否开启全量同步 * */
     private boolean enableFetchAll = false;
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.oraclelogminer.entity;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** redo sql解析出的列名和值，均为sql中的原始文本 */
+@Data
+public class RedoStatement {
+
+    private final Type type;
+    /** insert的列或update set的列 */
+    private final List<String> columns = new ArrayList<>();
+
+    private final List<String> values = new ArrayList<>();
+    /** update、delete where条件中的列 */
+    private final List<String> whereColumns = new ArrayList<>();
+
+    private final List<String> whereValues = new ArrayList<>();
+
+    public enum Type {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+}
@@ -20,13 +20,17 @@ package com.dtstack.chunjun.connector.oraclelogminer.inputformat;
 
 import com.dtstack.chunjun.connector.oraclelogminer.config.LogMinerConfig;
 import com.dtstack.chunjun.connector.oraclelogminer.listener.LogMinerListener;
+import com.dtstack.chunjun.connector.oraclelogminer.listener.LogMinerWindowSizer;
 import com.dtstack.chunjun.connector.oraclelogminer.listener.PositionManager;
+import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.converter.AbstractCDCRawTypeMapper;
 import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
 
 import org.apache.flink.core.io.GenericInputSplit;
 import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.data.RowData;
 
 import java.io.IOException;
@@ -69,10 +73,31 @@ public class OracleLogMinerInputFormat extends BaseRichInputFormat {
 
     @Override
     protected void openInternal(InputSplit inputSplit) {
+        registerWindowMetrics(logMinerListener.getWindowSizer());
         logMinerListener.init();
         logMinerListener.start();
     }
 
+    private void registerWindowMetrics(LogMinerWindowSizer windowSizer) {
+        MetricGroup metricGroup =
+                getRuntimeContext().getMetricGroup().addGroup(Metrics.METRIC_GROUP_KEY_CHUNJUN);
+        metricGroup.gauge(Metrics.LOGMINER_WINDOW_COUNT, (Gauge<Long>) windowSizer::getWindowCount);
+        metricGroup.gauge(
+                Metrics.LOGMINER_WINDOW_TOTAL_ROWS, (Gauge<Long>) windowSizer::getTotalRows);
+        metricGroup.gauge(
+                Metrics.LOGMINER_WINDOW_TOTAL_MINING_TIME,
+                (Gauge<Long>) windowSizer::getTotalMiningMillis);
+        metricGroup.gauge(
+                Metrics.LOGMINER_LAST_WINDOW_ROWS, (Gauge<Long>) windowSizer::getLastWindowRows);
+        metricGroup.gauge(
+                Metrics.LOGMINER_LAST_WINDOW_BYTES, (Gauge<Long>) windowSizer::getLastWindowBytes);
+        metricGroup.gauge(
+                Metrics.LOGMINER_LAST_WINDOW_MINING_TIME,
+                (Gauge<Long>) windowSizer::getLastWindowMiningMillis);
+        metricGroup.gauge(
+                Metrics.LOGMINER_NEXT_WINDOW_BYTES, (Gauge<Long>) windowSizer::nextWindowBytes);
+    }
+
     @Override
     public FormatState getFormatState() {
         super.getFormatState();
@@ -271,8 +271,8 @@ public class OracleLogMinerInputFormatBuilder
 
             rs.close();
 
-            if (format.logMinerConfig.getIoThreads() > 3) {
-                sb.append("logMinerConfig param ioThreads must less than " + 3);
+            if (format.logMinerConfig.getIoThreads() < 1) {
+                sb.append("logMinerConfig param ioThreads must be greater than 0;\n");
             }
 
             if (sb.length() > 0) {
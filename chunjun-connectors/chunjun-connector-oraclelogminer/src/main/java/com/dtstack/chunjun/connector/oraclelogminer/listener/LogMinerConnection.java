@@ -124,6 +124,10 @@ public class LogMinerConnection {
     private QueueData result;
     private List<LogFile> addedLogFiles = new ArrayList<>();
     private long lastQueryTime;
+    /** 当前窗口读取出的数据条数 */
+    private long readRows;
+    /** 当前窗口启动LogMiner和查询v$logmnr_contents的耗时 */
+    private long miningMillis;
     /** 为delete类型的rollback语句查找对应的insert语句的connection */
     private LogMinerConnection queryDataForRollbackConnection;
 
@@ -259,6 +263,8 @@ public class LogMinerConnection {
                 }
             }
             lastQueryTime = System.currentTimeMillis();
+            readRows = 0;
+            miningMillis = 0;
 
             if (logMinerConfig.isSupportAutoAddLog()) {
                 startSql =
@@ -277,7 +283,9 @@ public class LogMinerConnection {
                 logMinerStartStmt.setString(2, endScn.toString());
             }
 
+            long before = System.currentTimeMillis();
             logMinerStartStmt.execute();
+            miningMillis += System.currentTimeMillis() - before;
             this.CURRENT_STATE.set(STATE.FILEADDED);
             // 查找出加载到logMiner里的日志文件
             this.addedLogFiles = queryAddedLogFiles();
@@ -317,6 +325,7 @@ public class LogMinerConnection {
             logMinerData = logMinerSelectStmt.executeQuery();
 
             this.CURRENT_STATE.set(STATE.READABLE);
+            miningMillis += System.currentTimeMillis() - before;
             long timeConsuming = (System.currentTimeMillis() - before) / 1000;
             log.info(
                     "query LogMiner data, startScn:{},endScn:{},timeConsuming {}",
@@ -530,6 +539,17 @@ public class LogMinerConnection {
 
     protected Pair<BigInteger, Boolean> getEndScn(
             BigInteger startScn, List<LogFile> logFiles, boolean addRedoLog) throws SQLException {
+        return getEndScn(startScn, logFiles, addRedoLog, logMinerConfig.getMaxLogFileSize());
+    }
+
+    /**
+     * 根据leftScn 以及加载的日志大小限制 获取可加载的scn范围 以及此范围对应的日志文件
+     *
+     * @param maxLogFileSize 本次加载的日志大小限制，总是至少加载一轮日志文件
+     */
+    protected Pair<BigInteger, Boolean> getEndScn(
+            BigInteger startScn, List<LogFile> logFiles, boolean addRedoLog, long maxLogFileSize)
+            throws SQLException {
 
         List<LogFile> logFileLists = new ArrayList<>();
         PreparedStatement statement = null;
@@ -584,7 +604,7 @@ public class LogMinerConnection {
         long fileSize = 0L;
         Collection<List<LogFile>> values = map.values();
 
-        while (fileSize < logMinerConfig.getMaxLogFileSize()) {
+        while (fileSize < maxLogFileSize) {
             List<LogFile> tempList = new ArrayList<>(8);
             for (List<LogFile> logFileList : values) {
                 for (LogFile logFile1 : logFileList) {
@@ -751,6 +771,7 @@ public class LogMinerConnection {
                                         .setLsn(String.valueOf(scn))
                                         .setLsnSequence("0")
                                         .build());
+                readRows++;
                 return true;
             }
 
@@ -906,6 +927,7 @@ public class LogMinerConnection {
                                 hasMultiSql,
                                 operationCode));
             }
+            readRows++;
             return true;
         }
 
@@ -1202,4 +1224,24 @@ public class LogMinerConnection {
     public Exception getE() {
         return exception;
     }
+
+    public long getReadRows() {
+        return readRows;
+    }
+
+    public long getMiningMillis() {
+        return miningMillis;
+    }
+
+    /** 当前窗口加载到LogMiner里的日志文件大小 */
+    public long getAddedLogFileBytes() {
+        return addedLogFiles.stream()
+                .mapToLong(logFile -> logFile.getBytes() == null ? 0L : logFile.getBytes())
+                .sum();
+    }
+
+    /** 当前窗口是否加载了online日志 */
+    public boolean isAddedRedoLog() {
+        return addedLogFiles.stream().anyMatch(LogFile::isOnline);
+    }
 }
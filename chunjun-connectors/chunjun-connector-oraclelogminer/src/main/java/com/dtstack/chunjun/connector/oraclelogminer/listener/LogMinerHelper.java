@@ -54,7 +54,9 @@ public class LogMinerHelper {
     private final LogMinerConfig config;
     private final String logMinerSelectSql;
     private final LogMinerListener listener;
-    private final BigInteger step = new BigInteger("3000");
+    /** 根据已读取窗口的数据量决定下一个窗口加载的日志大小 */
+    private final LogMinerWindowSizer windowSizer;
+
     private BigInteger startScn;
     private BigInteger endScn;
     // 是否加载了online实时日志
@@ -76,12 +78,17 @@ public class LogMinerHelper {
                 new TransactionManager(
                         logMinerConfig.getTransactionCacheNumSize(),
                         logMinerConfig.getTransactionEventSize(),
-                        logMinerConfig.getTransactionExpireTime());
+                        logMinerConfig.getTransactionExpireTime(),
+                        logMinerConfig.getTransactionSpillMemorySize(),
+                        logMinerConfig.getTransactionSpillDir());
         this.startScn = startScn;
         this.endScn = startScn;
         this.activeConnectionList = new LinkedList<>();
         this.config = logMinerConfig;
         this.currentIndex = 0;
+        this.windowSizer =
+                new LogMinerWindowSizer(
+                        logMinerConfig.getWindowTargetRows(), logMinerConfig.getMaxLogFileSize());
 
         ThreadFactory namedThreadFactory =
                 new ThreadFactoryBuilder()
@@ -92,15 +99,15 @@ public class LogMinerHelper {
 
         connectionExecutor =
                 new ThreadPoolExecutor(
-                        logMinerConfig.getParallelism(),
-                        logMinerConfig.getParallelism() + 2,
+                        logMinerConfig.getIoThreads(),
+                        logMinerConfig.getIoThreads() + 2,
                         0L,
                         TimeUnit.MILLISECONDS,
                         new LinkedBlockingQueue<>(1024),
                         namedThreadFactory,
                         new ThreadPoolExecutor.AbortPolicy());
 
-        for (int i = 0; i < logMinerConfig.getParallelism(); i++) {
+        for (int i = 0; i < logMinerConfig.getIoThreads(); i++) {
             LogMinerConnection logMinerConnection =
                     new LogMinerConnection(logMinerConfig, transactionManager);
             activeConnectionList.add(logMinerConnection);
@@ -130,10 +137,14 @@ public class LogMinerHelper {
         return activeConnectionList.get(0).getStartScn(scn);
     }
 
-    /** 预先加载日志文件 初始化 或者 currentConnection 读取完，下一个connection不存在时 */
+    /**
+     * 预先加载日志文件 初始化 或者 currentConnection 读取完，下一个connection不存在时
+     *
+     * <p>已有connection在读取时，只有存在完整的归档日志才用空闲的connection提前加载，保证每个connection加载的都是完整的日志文件，
+     * 同时加载的connection个数不超过ioThreads
+     */
     private void preLoad() throws SQLException {
 
-        BigInteger currentMaxScn = null;
         // 遍历获取可以加载数据的connection
         List<LogMinerConnection> needLoadList =
                 activeConnectionList.stream()
@@ -147,38 +158,42 @@ public class LogMinerHelper {
                         .collect(Collectors.toList());
         for (LogMinerConnection logMinerConnection : needLoadList) {
             logMinerConnection.checkAndResetConnection();
-            if (Objects.isNull(currentMaxScn)) {
-                currentMaxScn = logMinerConnection.getCurrentScn();
+            // currentConnection为空时（第一次加载 保证初始化时至少有一个线程加载日志文件）可以加载online日志
+            boolean preLoadAhead = Objects.nonNull(currentConnection);
+            // 正在读取online日志时后面没有完整的日志文件，不需要提前加载
+            if (preLoadAhead && loadRedo) {
+                break;
             }
-            // currentReadEndScn为空（第一次加载 保证初始化时至少有一个线程加载日志文件）或者
-            // 当前加载的日志范围比数据库最大SCN差距超过3000则再起一个connection进行加载
-            if (Objects.isNull(currentConnection)
-                    || currentMaxScn.subtract(this.endScn).compareTo(step) > 0) {
-
-                // 按照加载日志文件大小限制，根据endScn作为起点找到对应的一组加载范围
-                BigInteger currentStartScn = Objects.nonNull(this.endScn) ? this.endScn : startScn;
-
-                // 如果加载了redo日志，则起点不能是上一次记载的日志的结束位点，而是上次消费的最后一条数据的位点
-                if (loadRedo) {
-                    // 需要加1  因为logminer查找数据是左闭右开，如果不加1  会导致最后一条数据重新消费
-                    currentStartScn = currentSinkPosition.add(BigInteger.ONE);
-                }
 
-                Pair<BigInteger, Boolean> endScn =
-                        logMinerConnection.getEndScn(currentStartScn, new ArrayList<>(32));
-                logMinerConnection.startOrUpdateLogMiner(currentStartScn, endScn.getLeft());
-                // 读取v$logmnr_contents 数据由线程池加载
-                loadData(logMinerConnection, logMinerSelectSql);
-                this.endScn = endScn.getLeft();
-                this.loadRedo = endScn.getRight();
-                if (Objects.isNull(currentConnection)) {
-                    updateCurrentConnection(logMinerConnection);
-                }
-                // 如果已经加载了redoLog就不需要多线程加载了
-                if (endScn.getRight()) {
-                    break;
-                }
-            } else {
+            // 按照加载日志文件大小限制，根据endScn作为起点找到对应的一组加载范围
+            BigInteger currentStartScn = Objects.nonNull(this.endScn) ? this.endScn : startScn;
+
+            // 如果加载了redo日志，则起点不能是上一次记载的日志的结束位点，而是上次消费的最后一条数据的位点
+            if (loadRedo) {
+                // 需要加1  因为logminer查找数据是左闭右开，如果不加1  会导致最后一条数据重新消费
+                currentStartScn = currentSinkPosition.add(BigInteger.ONE);
+            }
+
+            Pair<BigInteger, Boolean> endScn =
+                    logMinerConnection.getEndScn(
+                            currentStartScn,
+                            new ArrayList<>(32),
+                            !preLoadAhead,
+                            windowSizer.nextWindowBytes());
+            // 没有新的完整归档日志
+            if (preLoadAhead && Objects.isNull(endScn.getLeft())) {
+                break;
+            }
+            logMinerConnection.startOrUpdateLogMiner(currentStartScn, endScn.getLeft());
+            // 读取v$logmnr_contents 数据由线程池加载
+            loadData(logMinerConnection, logMinerSelectSql);
+            this.endScn = endScn.getLeft();
+            this.loadRedo = endScn.getRight();
+            if (Objects.isNull(currentConnection)) {
+                updateCurrentConnection(logMinerConnection);
+            }
+            // 如果已经加载了redoLog就不需要多线程加载了
+            if (endScn.getRight()) {
                 break;
             }
         }
@@ -310,6 +325,13 @@ public class LogMinerHelper {
 
         // 当前connection读取完毕 设置为null
         if (!hasNext) {
+            windowSizer.record(
+                    currentConnection.startScn,
+                    currentConnection.endScn,
+                    currentConnection.getAddedLogFileBytes(),
+                    currentConnection.getReadRows(),
+                    currentConnection.getMiningMillis(),
+                    currentConnection.isAddedRedoLog());
             currentConnection = null;
         }
         return hasNext;
@@ -360,6 +382,7 @@ public class LogMinerHelper {
         if (CollectionUtils.isNotEmpty(activeConnectionList)) {
             activeConnectionList.forEach(LogMinerConnection::disConnect);
         }
+        transactionManager.close();
     }
 
     /** 找出connection的startScn和当前currentReadEndScn相等的connection */
@@ -394,6 +417,10 @@ public class LogMinerHelper {
         return next;
     }
 
+    public LogMinerWindowSizer getWindowSizer() {
+        return windowSizer;
+    }
+
     public void setStartScn(BigInteger startScn) {
         this.startScn = startScn;
         this.currentSinkPosition = this.startScn;
@@ -464,6 +464,10 @@ public class LogMinerListener implements Runnable {
         return positionManager.getScn();
     }
 
+    public LogMinerWindowSizer getWindowSizer() {
+        return logMinerHelper.getWindowSizer();
+    }
+
     private List<String> readPrimaryKeyNames(DatabaseMetaData metadata, String schema, String table)
             throws SQLException {
         final List<String> pkColumnNames = new ArrayList<>();
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.oraclelogminer.listener;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+
+/**
+ * 根据已读取窗口的数据量自适应调整LogMiner每次加载的日志大小.
+ *
+ * <p>按指数加权平均统计每字节redo日志产出的数据条数，下一个窗口加载的日志大小为 目标条数 / 每字节条数，且不超过maxLogFileSize。
+ * 数据稀疏时窗口扩大，减少START_LOGMNR的次数；数据密集时窗口缩小，避免单个窗口数据过多。窗口总是由完整的日志文件组成，所以至少加载一轮日志文件。
+ *
+ * <p>统计的是每字节redo的条数而不是每个SCN的条数：窗口由日志文件组成，大小以字节计，而SCN的增长与日志量、数据量都不成比例
+ * （空闲的库SCN也在增长，一个SCN也可能对应一个大事务），按SCN跨度换算出的窗口无法对应到要加载的日志文件。
+ */
+@Slf4j
+public class LogMinerWindowSizer {
+
+    /** 新窗口统计值的权重 */
+    private static final double ALPHA = 0.5;
+
+    private final long targetRows;
+    private final long maxBytes;
+
+    /** 每字节redo日志产出的数据条数，小于0代表还没有统计值 */
+    private double rowsPerByte = -1;
+
+    private long windowCount;
+    private long totalRows;
+    private long totalMiningMillis;
+    private long lastWindowRows;
+    private long lastWindowBytes;
+    private long lastWindowMiningMillis;
+
+    /**
+     * @param targetRows 每个窗口期望的数据条数，小于等于0时不做自适应，每次都按maxBytes加载
+     * @param maxBytes 一个窗口最多加载的日志大小
+     */
+    public LogMinerWindowSizer(long targetRows, long maxBytes) {
+        this.targetRows = targetRows;
+        this.maxBytes = maxBytes;
+    }
+
+    /** 下一个窗口加载的日志大小 */
+    public synchronized long nextWindowBytes() {
+        if (targetRows <= 0 || rowsPerByte <= 0) {
+            return maxBytes;
+        }
+        double bytes = targetRows / rowsPerByte;
+        return bytes >= maxBytes ? maxBytes : Math.max(1L, (long) bytes);
+    }
+
+    /**
+     * 记录一个读取完成的窗口
+     *
+     * @param bytes 窗口加载的日志文件大小
+     * @param rows 窗口读取出的数据条数
+     * @param miningMillis 启动LogMiner和查询v$logmnr_contents的耗时
+     * @param loadRedoLog 窗口是否包含online日志，online日志只有部分内容属于窗口，不参与每字节条数的统计
+     */
+    public synchronized void record(
+            BigInteger startScn,
+            BigInteger endScn,
+            long bytes,
+            long rows,
+            long miningMillis,
+            boolean loadRedoLog) {
+        windowCount++;
+        totalRows += rows;
+        totalMiningMillis += miningMillis;
+        lastWindowRows = rows;
+        lastWindowBytes = bytes;
+        lastWindowMiningMillis = miningMillis;
+
+        if (!loadRedoLog && bytes > 0) {
+            double current = (double) rows / bytes;
+            rowsPerByte = rowsPerByte < 0 ? current : ALPHA * current + (1 - ALPHA) * rowsPerByte;
+        }
+        log.info(
+                "LogMiner window finished, startScn:{}, endScn:{}, logFileBytes:{}, rows:{}, miningTime:{}ms, loadRedoLog:{}, nextWindowBytes:{}",
+                startScn,
+                endScn,
+                bytes,
+                rows,
+                miningMillis,
+                loadRedoLog,
+                nextWindowBytes());
+    }
+
+    public synchronized long getWindowCount() {
+        return windowCount;
+    }
+
+    public synchronized long getTotalRows() {
+        return totalRows;
+    }
+
+    public synchronized long getTotalMiningMillis() {
+        return totalMiningMillis;
+    }
+
+    public synchronized long getLastWindowRows() {
+        return lastWindowRows;
+    }
+
+    public synchronized long getLastWindowBytes() {
+        return lastWindowBytes;
+    }
+
+    public synchronized long getLastWindowMiningMillis() {
+        return lastWindowMiningMillis;
+    }
+}
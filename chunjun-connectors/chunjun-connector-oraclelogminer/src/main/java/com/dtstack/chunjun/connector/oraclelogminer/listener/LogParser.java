@@ -21,6 +21,7 @@ package com.dtstack.chunjun.connector.oraclelogminer.listener;
 import com.dtstack.chunjun.connector.oraclelogminer.entity.EventRow;
 import com.dtstack.chunjun.connector.oraclelogminer.entity.EventRowData;
 import com.dtstack.chunjun.connector.oraclelogminer.entity.QueueData;
+import com.dtstack.chunjun.connector.oraclelogminer.entity.RedoStatement;
 import com.dtstack.chunjun.converter.AbstractCDCRawTypeMapper;
 import com.dtstack.chunjun.element.ColumnRowData;
 import com.dtstack.chunjun.util.SnowflakeIdWorker;
@@ -39,6 +40,7 @@ import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
 import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.statement.update.UpdateSet;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -79,17 +81,14 @@ public class LogParser {
     }
 
     private static void parseInsertStmt(
-            Insert insert, ArrayList<EventRowData> beforeData, ArrayList<EventRowData> afterData) {
-        ArrayList<String> columnLists = new ArrayList<>();
-        for (Column column : insert.getColumns()) {
-            columnLists.add(cleanString(column.getColumnName()));
-        }
-
-        ExpressionList eList = (ExpressionList) insert.getItemsList();
-        List<Expression> valueList = eList.getExpressions();
+            RedoStatement statement,
+            ArrayList<EventRowData> beforeData,
+            ArrayList<EventRowData> afterData) {
+        List<String> valueList = statement.getValues();
         int i = 0;
-        for (String key : columnLists) {
-            String value = cleanString(valueList.get(i).toString());
+        for (String column : statement.getColumns()) {
+            String key = cleanString(column);
+            String value = cleanString(valueList.get(i));
             afterData.add(new EventRowData(key, value, Objects.isNull(value)));
             beforeData.add(new EventRowData(key, null, true));
             i++;
@@ -97,67 +96,100 @@ public class LogParser {
     }
 
     private static void parseUpdateStmt(
-            Update update,
+            RedoStatement statement,
             ArrayList<EventRowData> beforeData,
-            ArrayList<EventRowData> afterData,
-            String sqlRedo) {
-        Iterator<Expression> iterator = update.getExpressions().iterator();
+            ArrayList<EventRowData> afterData) {
+        Iterator<String> iterator = statement.getValues().iterator();
         HashSet<String> columns = new HashSet<>(32);
-        for (Column c : update.getColumns()) {
-            String value = cleanString(iterator.next().toString());
-            String columnName = cleanString(c.getColumnName());
+        for (String c : statement.getColumns()) {
+            String value = cleanString(iterator.next());
+            String columnName = cleanString(c);
             boolean isNull = Objects.isNull(value) || value.equalsIgnoreCase("= NULL");
 
             afterData.add(new EventRowData(columnName, isNull ? null : value, isNull));
             columns.add(columnName);
         }
 
-        if (update.getWhere() != null) {
-            update.getWhere()
-                    .accept(
-                            new ExpressionVisitorAdapter() {
-                                @Override
-                                public void visit(final EqualsTo expr) {
-                                    String col = cleanString(expr.getLeftExpression().toString());
-                                    String value =
-                                            cleanString(expr.getRightExpression().toString());
-
-                                    boolean isNull =
-                                            Objects.isNull(value)
-                                                    || value.equalsIgnoreCase("= NULL");
-                                    beforeData.add(
-                                            new EventRowData(col, isNull ? null : value, isNull));
-                                    if (!columns.contains(col)) {
-                                        afterData.add(
-                                                new EventRowData(
-                                                        col, isNull ? null : value, isNull));
-                                    }
-                                }
-                            });
-        } else {
-            log.error(
-                    "where is null when LogParser parse sqlRedo, sqlRedo = {}, update = {}",
-                    sqlRedo,
-                    update);
+        Iterator<String> whereIterator = statement.getWhereValues().iterator();
+        for (String c : statement.getWhereColumns()) {
+            String col = cleanString(c);
+            String value = cleanString(whereIterator.next());
+
+            boolean isNull = Objects.isNull(value) || value.equalsIgnoreCase("= NULL");
+            beforeData.add(new EventRowData(col, isNull ? null : value, isNull));
+            if (!columns.contains(col)) {
+                afterData.add(new EventRowData(col, isNull ? null : value, isNull));
+            }
         }
     }
 
     private static void parseDeleteStmt(
-            Delete delete, ArrayList<EventRowData> beforeData, ArrayList<EventRowData> afterData) {
-        delete.getWhere()
-                .accept(
-                        new ExpressionVisitorAdapter() {
-                            @Override
-                            public void visit(final EqualsTo expr) {
-                                String col = cleanString(expr.getLeftExpression().toString());
-                                String value = cleanString(expr.getRightExpression().toString());
-                                boolean isNull =
-                                        Objects.isNull(value) || value.equalsIgnoreCase("= NULL");
-                                beforeData.add(
-                                        new EventRowData(col, isNull ? null : value, isNull));
-                                afterData.add(new EventRowData(col, null, true));
-                            }
-                        });
+            RedoStatement statement,
+            ArrayList<EventRowData> beforeData,
+            ArrayList<EventRowData> afterData) {
+        Iterator<String> whereIterator = statement.getWhereValues().iterator();
+        for (String c : statement.getWhereColumns()) {
+            String col = cleanString(c);
+            String value = cleanString(whereIterator.next());
+            boolean isNull = Objects.isNull(value) || value.equalsIgnoreCase("= NULL");
+            beforeData.add(new EventRowData(col, isNull ? null : value, isNull));
+            afterData.add(new EventRowData(col, null, true));
+        }
+    }
+
+    /**
+     * 使用JSqlParser解析redo sql，用于{@link RedoSqlParser}无法识别的语句
+     *
+     * @param sqlRedo redo sql
+     * @return 解析结果，不是insert、update、delete语句时返回null
+     */
+    static RedoStatement parseByJsqlParser(String sqlRedo) throws JSQLParserException {
+        Statement stmt;
+        try {
+            stmt = CCJSqlParserUtil.parse(sqlRedo);
+        } catch (JSQLParserException e) {
+            log.info("sqlRedo = {}", sqlRedo);
+            stmt = CCJSqlParserUtil.parse(sqlRedo.replace("\\'", "\\ '"));
+        }
+
+        RedoStatement statement;
+        if (stmt instanceof Insert) {
+            Insert insert = (Insert) stmt;
+            statement = new RedoStatement(RedoStatement.Type.INSERT);
+            for (Column column : insert.getColumns()) {
+                statement.getColumns().add(column.getColumnName());
+            }
+            ExpressionList eList = (ExpressionList) insert.getItemsList();
+            for (Expression expression : eList.getExpressions()) {
+                statement.getValues().add(expression.toString());
+            }
+        } else if (stmt instanceof Update) {
+            Update update = (Update) stmt;
+            statement = new RedoStatement(RedoStatement.Type.UPDATE);
+            // 多个set子句分别对应一个UpdateSet，getColumns只返回第一个UpdateSet的列
+            for (UpdateSet updateSet : update.getUpdateSets()) {
+                for (Column column : updateSet.getColumns()) {
+                    statement.getColumns().add(column.getColumnName());
+                }
+                for (Expression expression : updateSet.getExpressions()) {
+                    statement.getValues().add(expression.toString());
+                }
+            }
+            if (update.getWhere() != null) {
+                update.getWhere().accept(new WhereVisitor(statement));
+            } else {
+                log.error(
+                        "where is null when LogParser parse sqlRedo, sqlRedo = {}, update = {}",
+                        sqlRedo,
+                        update);
+            }
+        } else if (stmt instanceof Delete) {
+            statement = new RedoStatement(RedoStatement.Type.DELETE);
+            ((Delete) stmt).getWhere().accept(new WhereVisitor(statement));
+        } else {
+            return null;
+        }
+        return statement;
     }
 
     public static String parseTime(String value) {
@@ -265,23 +297,28 @@ public class LogParser {
         String sqlRedo = sqlLog.replace("IS NULL", "= NULL");
         Timestamp timestamp = Objects.requireNonNull(logData.getField("opTime")).asTimestamp();
 
-        Statement stmt;
-        try {
-            stmt = CCJSqlParserUtil.parse(sqlRedo);
-        } catch (JSQLParserException e) {
-            log.info("sqlRedo = {}", sqlRedo);
-            stmt = CCJSqlParserUtil.parse(sqlRedo.replace("\\'", "\\ '"));
+        RedoStatement statement = RedoSqlParser.parse(sqlRedo);
+        if (statement == null) {
+            statement = parseByJsqlParser(sqlRedo);
         }
 
         ArrayList<EventRowData> afterEventRowDataList = new ArrayList<>();
         ArrayList<EventRowData> EventRowDataList = new ArrayList<>();
 
-        if (stmt instanceof Insert) {
-            parseInsertStmt((Insert) stmt, EventRowDataList, afterEventRowDataList);
-        } else if (stmt instanceof Update) {
-            parseUpdateStmt((Update) stmt, EventRowDataList, afterEventRowDataList, sqlRedo);
-        } else if (stmt instanceof Delete) {
-            parseDeleteStmt((Delete) stmt, EventRowDataList, afterEventRowDataList);
+        if (statement != null) {
+            switch (statement.getType()) {
+                case INSERT:
+                    parseInsertStmt(statement, EventRowDataList, afterEventRowDataList);
+                    break;
+                case UPDATE:
+                    parseUpdateStmt(statement, EventRowDataList, afterEventRowDataList);
+                    break;
+                case DELETE:
+                    parseDeleteStmt(statement, EventRowDataList, afterEventRowDataList);
+                    break;
+                default:
+                    break;
+            }
         }
 
         long ts = idWorker.nextId();
@@ -312,4 +349,19 @@ public class LogParser {
 
         log.debug("scn {} ,delay {} ms", scn, res - opTime);
     }
+
+    /** 收集where条件中的等值条件 */
+    private static class WhereVisitor extends ExpressionVisitorAdapter {
+        private final RedoStatement statement;
+
+        private WhereVisitor(RedoStatement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void visit(final EqualsTo expr) {
+            statement.getWhereColumns().add(expr.getLeftExpression().toString());
+            statement.getWhereValues().add(expr.getRightExpression().toString());
+        }
+    }
 }
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.oraclelogminer.listener;
+
+import com.dtstack.chunjun.connector.oraclelogminer.entity.RedoStatement;
+
+import java.util.List;
+
+/**
+ * LogMiner redo sql的单遍扫描解析器.
+ *
+ * <p>LogMiner生成的sql_redo只有固定的几种形式：{@code insert into ... (...) values (...)}、{@code update ... set
+ * ... where ...}和{@code delete from ... where ...}，where条件只由and连接的等值条件组成。这里直接扫描出列名和值的原始文本，不构造语法树；
+ * 无法识别的语句返回null，由调用方回退到JSqlParser解析。
+ *
+ * <p>值中引号外的空白按JSqlParser输出表达式的格式规整，例如{@code TO_DATE('...','...')}输出为{@code TO_DATE('...',
+ * '...')}，{@link LogParser#parseTime(String)}依赖这一格式。Oracle字符串中的反斜杠不是转义符，{@code 'a\'}按原样解析。
+ */
+public class RedoSqlParser {
+
+    private final String sql;
+    private int pos;
+
+    private RedoSqlParser(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * 解析redo sql
+     *
+     * @param sql redo sql
+     * @return 解析结果，不是LogMiner固定格式的语句返回null
+     */
+    public static RedoStatement parse(String sql) {
+        return new RedoSqlParser(sql).parseStatement();
+    }
+
+    private RedoStatement parseStatement() {
+        RedoStatement statement;
+        if (matchKeyword("insert")) {
+            if (!matchKeyword("into") || !skipTableName()) {
+                return null;
+            }
+            statement = new RedoStatement(RedoStatement.Type.INSERT);
+            if (!parseInsert(statement)) {
+                return null;
+            }
+        } else if (matchKeyword("update")) {
+            if (!skipTableName() || !matchKeyword("set")) {
+                return null;
+            }
+            statement = new RedoStatement(RedoStatement.Type.UPDATE);
+            if (!parseAssignments(statement) || !parseWhere(statement)) {
+                return null;
+            }
+        } else if (matchKeyword("delete")) {
+            if (!matchKeyword("from") || !skipTableName()) {
+                return null;
+            }
+            statement = new RedoStatement(RedoStatement.Type.DELETE);
+            if (!parseWhere(statement)) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+
+        skipWhitespace();
+        if (pos < sql.length() && sql.charAt(pos) == ';') {
+            pos++;
+            skipWhitespace();
+        }
+        return pos == sql.length() ? statement : null;
+    }
+
+    /** (col, ...) values (value, ...) */
+    private boolean parseInsert(RedoStatement statement) {
+        List<String> columns = statement.getColumns();
+        List<String> values = statement.getValues();
+        if (!match('(')) {
+            return false;
+        }
+        do {
+            String column = readIdentifier();
+            if (column == null) {
+                return false;
+            }
+            columns.add(column);
+        } while (match(','));
+        if (!match(')') || !matchKeyword("values") || !match('(')) {
+            return false;
+        }
+        do {
+            String value = readExpression(null);
+            if (value == null) {
+                return false;
+            }
+            values.add(value);
+        } while (match(','));
+        return match(')') && columns.size() == values.size();
+    }
+
+    /** col = value, ... */
+    private boolean parseAssignments(RedoStatement statement) {
+        do {
+            String column = readIdentifier();
+            if (column == null || !match('=')) {
+                return false;
+            }
+            String value = readExpression("where");
+            if (value == null) {
+                return false;
+            }
+            statement.getColumns().add(column);
+            statement.getValues().add(value);
+        } while (match(','));
+        return true;
+    }
+
+    /** where col = value and ... */
+    private boolean parseWhere(RedoStatement statement) {
+        if (!matchKeyword("where")) {
+            return false;
+        }
+        do {
+            String column = readIdentifier();
+            if (column == null || !match('=')) {
+                return false;
+            }
+            String value = readExpression("and");
+            if (value == null) {
+                return false;
+            }
+            statement.getWhereColumns().add(column);
+            statement.getWhereValues().add(value);
+        } while (matchKeyword("and"));
+        return true;
+    }
+
+    private boolean skipTableName() {
+        do {
+            if (readIdentifier() == null) {
+                return false;
+            }
+        } while (match('.'));
+        return true;
+    }
+
+    /** 读取带双引号或不带引号的标识符，保留双引号 */
+    private String readIdentifier() {
+        skipWhitespace();
+        int start = pos;
+        if (pos < sql.length() && sql.charAt(pos) == '"') {
+            int end = skipQuoted(sql, pos, '"');
+            if (end < 0) {
+                return null;
+            }
+            pos = end;
+        } else {
+            while (pos < sql.length() && isIdentifierChar(sql.charAt(pos))) {
+                pos++;
+            }
+        }
+        return pos > start ? sql.substring(start, pos) : null;
+    }
+
+    /**
+     * 读取一个值表达式的原始文本，到顶层的逗号、右括号、分号或者停止关键字为止
+     *
+     * @param stopKeyword 表达式之后可能出现的关键字，为null时只以标点结束
+     */
+    private String readExpression(String stopKeyword) {
+        skipWhitespace();
+        int start = pos;
+        int depth = 0;
+        // 只有函数调用或者引号外有空白时才需要规整格式
+        boolean normalize = false;
+        while (pos < sql.length()) {
+            char c = sql.charAt(pos);
+            if (c == '\'' || c == '"') {
+                pos = skipQuoted(sql, pos, c);
+                if (pos < 0) {
+                    return null;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                normalize = true;
+            }
+            if (c == '(') {
+                normalize = true;
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+            } else if (depth == 0) {
+                if (c == ',' || c == ';') {
+                    break;
+                }
+                if (Character.isWhitespace(c)) {
+                    if (stopKeyword != null && isKeywordAt(pos + 1, stopKeyword)) {
+                        break;
+                    }
+                    // 顶层出现or说明不是LogMiner的固定格式，交给JSqlParser处理
+                    if (stopKeyword != null && isKeywordAt(pos + 1, "or")) {
+                        return null;
+                    }
+                }
+            }
+            pos++;
+        }
+        if (depth != 0) {
+            return null;
+        }
+        String expression = sql.substring(start, pos).trim();
+        if (expression.isEmpty()) {
+            return null;
+        }
+        return normalize ? normalize(expression) : expression;
+    }
+
+    /** 按JSqlParser的格式输出表达式：逗号后保留一个空格，括号内侧、左括号和逗号前不留空白，其余连续空白合并为一个空格 */
+    static String normalize(String expression) {
+        StringBuilder sb = new StringBuilder(expression.length() + 8);
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (pendingSpace
+                    && c != '('
+                    && c != ')'
+                    && c != ','
+                    && sb.length() > 0
+                    && sb.charAt(sb.length() - 1) != '(') {
+                sb.append(' ');
+            }
+            pendingSpace = c == ',';
+            if (c == '\'' || c == '"') {
+                int end = skipQuoted(expression, i, c);
+                sb.append(expression, i, end);
+                i = end;
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 跳过以quote开始的字符串或标识符，两个连续的quote表示quote本身
+     *
+     * @return 结束quote之后的位置，未闭合时返回-1
+     */
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private boolean match(char c) {
+        skipWhitespace();
+        if (pos < sql.length() && sql.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean matchKeyword(String keyword) {
+        skipWhitespace();
+        if (isKeywordAt(pos, keyword)) {
+            pos += keyword.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isKeywordAt(int index, String keyword) {
+        int end = index + keyword.length();
+        return end <= sql.length()
+                && sql.regionMatches(true, index, keyword, 0, keyword.length())
+                && (end == sql.length() || !isIdentifierChar(sql.charAt(end)));
+    }
+
+    private void skipWhitespace() {
+        while (pos < sql.length() && Character.isWhitespace(sql.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+}
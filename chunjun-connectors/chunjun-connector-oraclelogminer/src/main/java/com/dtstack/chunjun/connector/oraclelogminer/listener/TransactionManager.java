@@ -22,23 +22,32 @@ import com.dtstack.chunjun.connector.oraclelogminer.entity.RecordLog;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.math.BigInteger;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
-/** 事务管理器 监听的DML语句缓存，在commit/rollback时删除 */
+/**
+ * 事务管理器 监听的DML语句缓存，在commit/rollback时删除
+ *
+ * <p>设置了spillMemorySize时，所有事务缓存在内存中的数据不超过spillMemorySize，超过时把内存占用最大的事务的数据写到spillDir下的本地文件，
+ * 单个事务的数据条数不再受eventSize限制；否则每个事务只保留最新的eventSize条数据
+ *
+ * <p>事务在transactionExpireTime分钟内没有新的数据、也没有回滚查询时过期。transactionSize只限制数据仍在内存中的事务个数，
+ * 已写到本地文件的事务不会因为个数超限被淘汰，否则回滚时找不到对应的DML语句
+ */
 @Slf4j
 public class TransactionManager {
 
     /** 缓存的结构为 xidUsn+xidSLt+xidSqn(事务id),当前事务内数据 */
-    private final Cache<String, LinkedList<RecordLog>> recordCache;
+    private final Cache<String, TransactionRecordBuffer> recordCache;
 
     /**
      * 缓存的结构为 xidUsn+xidSLt+xidSqn(事务id),最后一次处理回滚数据对应的业务操作scn以及rowid
@@ -48,39 +57,105 @@ public class TransactionManager {
 
     private final Long eventSize;
 
+    /** 内存中缓存数据的大小上限，小于等于0时不写本地文件 */
+    private final long spillMemorySize;
+
+    private final String spillDir;
+    /** 所有事务缓存在内存中的数据大小 */
+    private long memoryBytes;
+
     public TransactionManager(Long transactionSize, Long eventSize, long transactionExpireTime) {
+        this(transactionSize, eventSize, transactionExpireTime, 0, null);
+    }
+
+    public TransactionManager(
+            Long transactionSize,
+            Long eventSize,
+            long transactionExpireTime,
+            long spillMemorySize,
+            String spillDir) {
         this.recordCache =
                 CacheBuilder.newBuilder()
-                        .maximumSize(transactionSize)
-                        .expireAfterWrite(transactionExpireTime, TimeUnit.MINUTES)
+                        .maximumWeight(transactionSize)
+                        // 已写到本地文件的事务权重为0，不参与个数淘汰
+                        .weigher(
+                                (Weigher<String, TransactionRecordBuffer>)
+                                        (key, buffer) -> buffer.isSpilled() ? 0 : 1)
+                        // 每次追加数据都会读取缓存，按访问时间过期，长事务不会在写入过程中过期
+                        .expireAfterAccess(transactionExpireTime, TimeUnit.MINUTES)
+                        .removalListener(
+                                (RemovalListener<String, TransactionRecordBuffer>)
+                                        notification -> {
+                                            TransactionRecordBuffer buffer =
+                                                    notification.getValue();
+                                            // spill后重新put同一个buffer更新权重，不能关闭
+                                            if (buffer != null
+                                                    && notification.getCause()
+                                                            != RemovalCause.REPLACED) {
+                                                memoryBytes -= buffer.getMemoryBytes();
+                                                buffer.close();
+                                            }
+                                        })
                         .build();
         this.eventSize = eventSize;
+        this.spillMemorySize = spillMemorySize;
+        this.spillDir = spillDir == null ? System.getProperty("java.io.tmpdir") : spillDir;
         this.earliestResolveOperateForRollback = new HashMap<>();
     }
 
-    public void putCache(RecordLog recordLog) {
+    public synchronized void putCache(RecordLog recordLog) {
         // 缓存里不放入delete的DML语句
         if (recordLog.getOperationCode() == 2) {
             return;
         }
         String key = recordLog.getXidUsn() + recordLog.getXidSlt() + recordLog.getXidSqn();
-        LinkedList<RecordLog> recordList = recordCache.getIfPresent(key);
+        TransactionRecordBuffer recordList = recordCache.getIfPresent(key);
         if (Objects.isNull(recordList)) {
-            LinkedList<RecordLog> data = new LinkedList<>();
+            TransactionRecordBuffer data = new TransactionRecordBuffer(spillDir, key);
             recordCache.put(key, data);
             recordList = data;
         }
 
         recordLog.setSqlUndo(recordLog.getSqlUndo().replace("IS NULL", "= NULL"));
         recordLog.setSqlRedo(recordLog.getSqlRedo().replace("IS NULL", "= NULL"));
+        long before = recordList.getMemoryBytes();
         recordList.add(recordLog);
-        if (recordList.size() > eventSize) {
+        if (spillMemorySize <= 0 && recordList.size() > eventSize) {
             recordList.removeFirst();
         }
+        memoryBytes += recordList.getMemoryBytes() - before;
+        if (spillMemorySize > 0 && memoryBytes > spillMemorySize) {
+            spill();
+        }
+    }
+
+    /** 按内存占用从大到小把事务的数据写到本地文件，直到内存占用不超过spillMemorySize */
+    private void spill() {
+        while (memoryBytes > spillMemorySize) {
+            Map.Entry<String, TransactionRecordBuffer> largest = null;
+            for (Map.Entry<String, TransactionRecordBuffer> entry :
+                    recordCache.asMap().entrySet()) {
+                if (largest == null
+                        || entry.getValue().getMemoryBytes()
+                                > largest.getValue().getMemoryBytes()) {
+                    largest = entry;
+                }
+            }
+            if (largest == null || largest.getValue().getMemoryBytes() == 0) {
+                return;
+            }
+            TransactionRecordBuffer buffer = largest.getValue();
+            boolean spilled = buffer.isSpilled();
+            memoryBytes -= buffer.getMemoryBytes();
+            buffer.spill();
+            if (!spilled) {
+                recordCache.put(largest.getKey(), buffer);
+            }
+        }
     }
 
     /** 清理已提交事务的缓存 */
-    public void cleanCache(String xidUsn, String xidSLt, String xidSqn) {
+    public synchronized void cleanCache(String xidUsn, String xidSLt, String xidSqn) {
         String txId = xidUsn + xidSLt + xidSqn;
         log.debug(
                 "clean secondKeyCache，xidSqn = {}, xidUsn = {} ,xidSLt = {} ",
@@ -93,19 +168,35 @@ public class TransactionManager {
     }
 
     /** 从缓存的dml语句里找到rollback语句对应的DML语句 如果查找到 需要删除对应的缓存信息 */
-    public RecordLog queryUndoLogFromCache(String xidUsn, String xidSlt, String xidSqn) {
+    public synchronized RecordLog queryUndoLogFromCache(
+            String xidUsn, String xidSlt, String xidSqn) {
         String key = xidUsn + xidSlt + xidSqn;
-        LinkedList<RecordLog> recordLogs = recordCache.getIfPresent(key);
-        if (CollectionUtils.isEmpty(recordLogs)) {
+        TransactionRecordBuffer recordLogs = recordCache.getIfPresent(key);
+        if (Objects.isNull(recordLogs)) {
             return null;
         }
+        long before = recordLogs.getMemoryBytes();
         RecordLog recordLog = recordLogs.removeLast();
+        memoryBytes += recordLogs.getMemoryBytes() - before;
+        if (Objects.isNull(recordLog)) {
+            return null;
+        }
         earliestResolveOperateForRollback.put(
                 key, Pair.of(recordLog.getScn(), recordLog.getRowId()));
         return recordLog;
     }
 
-    public Pair<BigInteger, String> getEarliestRollbackOperation(
+    /** 清理所有缓存，删除本地文件 */
+    public synchronized void close() {
+        recordCache.invalidateAll();
+        earliestResolveOperateForRollback.clear();
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public synchronized Pair<BigInteger, String> getEarliestRollbackOperation(
             String xidUsn, String xidSlt, String xidSqn) {
         return earliestResolveOperateForRollback.get(xidUsn + xidSlt + xidSqn);
     }
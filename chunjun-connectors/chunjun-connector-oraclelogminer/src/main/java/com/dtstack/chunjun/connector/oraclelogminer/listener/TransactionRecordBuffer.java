@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.oraclelogminer.listener;
+
+import com.dtstack.chunjun.connector.oraclelogminer.entity.RecordLog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedList;
+
+/**
+ * 一个事务内缓存的DML语句，按写入顺序以栈的方式读取.
+ *
+ * <p>较新的数据在内存中，spill时把内存中的数据追加到本地文件末尾，文件中的数据总是比内存中的旧。每条数据后面写入数据长度，
+ * 从文件末尾即可倒序读取，读取后直接截断文件的逻辑长度，不需要额外的索引。
+ */
+@Slf4j
+public class TransactionRecordBuffer {
+
+    /** RecordLog除字符串外的大致内存占用 */
+    private static final long RECORD_OVERHEAD_BYTES = 128;
+
+    private final String spillDir;
+    private final String txId;
+
+    private final LinkedList<RecordLog> memoryRecords = new LinkedList<>();
+    private long memoryBytes;
+
+    private Path spillFile;
+    private FileChannel spillChannel;
+    /** 文件中有效数据的长度 */
+    private long spillPosition;
+
+    private int spilledSize;
+
+    public TransactionRecordBuffer(String spillDir, String txId) {
+        this.spillDir = spillDir;
+        this.txId = txId;
+    }
+
+    public void add(RecordLog recordLog) {
+        memoryRecords.add(recordLog);
+        memoryBytes += sizeOf(recordLog);
+    }
+
+    /** 丢弃最早的一条内存中的数据，只在没有spill时使用 */
+    public void removeFirst() {
+        RecordLog recordLog = memoryRecords.removeFirst();
+        memoryBytes -= sizeOf(recordLog);
+    }
+
+    /** 取出最后写入的一条数据，没有数据时返回null */
+    public RecordLog removeLast() {
+        if (!memoryRecords.isEmpty()) {
+            RecordLog recordLog = memoryRecords.removeLast();
+            memoryBytes -= sizeOf(recordLog);
+            return recordLog;
+        }
+        if (spilledSize == 0) {
+            return null;
+        }
+        try {
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+            readFully(lengthBuffer, spillPosition - Integer.BYTES);
+            int length = lengthBuffer.getInt(0);
+            long start = spillPosition - Integer.BYTES - length;
+            ByteBuffer recordBuffer = ByteBuffer.allocate(length);
+            readFully(recordBuffer, start);
+            spillPosition = start;
+            spilledSize--;
+            return deserialize(recordBuffer.array());
+        } catch (IOException e) {
+            throw new RuntimeException("read transaction spill file [" + spillFile + "] failed", e);
+        }
+    }
+
+    /** 把内存中的数据全部追加到本地文件 */
+    public void spill() {
+        if (memoryRecords.isEmpty()) {
+            return;
+        }
+        try {
+            if (spillChannel == null) {
+                Files.createDirectories(Paths.get(spillDir));
+                spillFile =
+                        Files.createTempFile(Paths.get(spillDir), "logminer-tx-" + txId, ".spill");
+                spillChannel =
+                        FileChannel.open(
+                                spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (RecordLog recordLog : memoryRecords) {
+                int before = out.size();
+                serialize(recordLog, out);
+                out.writeInt(out.size() - before);
+            }
+            out.flush();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                spillPosition += spillChannel.write(buffer, spillPosition);
+            }
+            log.debug(
+                    "spill {} records of transaction {} to {}, spill file size {}",
+                    memoryRecords.size(),
+                    txId,
+                    spillFile,
+                    spillPosition);
+            spilledSize += memoryRecords.size();
+            memoryRecords.clear();
+            memoryBytes = 0;
+        } catch (IOException e) {
+            throw new RuntimeException(
+                    "write transaction spill file [" + spillFile + "] failed", e);
+        }
+    }
+
+    /** 释放内存并删除本地文件 */
+    public void close() {
+        memoryRecords.clear();
+        memoryBytes = 0;
+        spilledSize = 0;
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                log.warn("delete transaction spill file [{}] failed", spillFile, e);
+            }
+            spillChannel = null;
+        }
+    }
+
+    /** 是否已有数据写到本地文件 */
+    public boolean isSpilled() {
+        return spillChannel != null;
+    }
+
+    public int size() {
+        return memoryRecords.size() + spilledSize;
+    }
+
+    public int memorySize() {
+        return memoryRecords.size();
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = spillChannel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("unexpected end of spill file");
+            }
+        }
+    }
+
+    static long sizeOf(RecordLog recordLog) {
+        return RECORD_OVERHEAD_BYTES
+                + 2L
+                        * (length(recordLog.getSqlUndo())
+                                + length(recordLog.getSqlRedo())
+                                + length(recordLog.getXidUsn())
+                                + length(recordLog.getXidSlt())
+                                + length(recordLog.getXidSqn())
+                                + length(recordLog.getRowId())
+                                + length(recordLog.getTableName()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static void serialize(RecordLog recordLog, DataOutputStream out) throws IOException {
+        writeString(out, recordLog.getScn() == null ? null : recordLog.getScn().toString());
+        writeString(out, recordLog.getSqlUndo());
+        writeString(out, recordLog.getSqlRedo());
+        writeString(out, recordLog.getXidUsn());
+        writeString(out, recordLog.getXidSlt());
+        writeString(out, recordLog.getXidSqn());
+        writeString(out, recordLog.getRowId());
+        writeString(out, recordLog.getTableName());
+        out.writeBoolean(recordLog.isHasMultiSql());
+        out.writeInt(recordLog.getOperationCode());
+    }
+
+    private static RecordLog deserialize(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        String scn = readString(in);
+        return new RecordLog(
+                scn == null ? null : new BigInteger(scn),
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                in.readBoolean(),
+                in.readInt());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
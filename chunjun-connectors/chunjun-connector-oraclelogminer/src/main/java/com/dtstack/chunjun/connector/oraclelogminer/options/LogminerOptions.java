@@ -108,6 +108,13 @@ public class LogminerOptions {
                     .defaultValue(5 * ConstantValue.STORE_SIZE_G)
                     .withDescription("Oracle LogMiner load redoLog size.");
 
+    public static final ConfigOption<Long> WINDOW_TARGET_ROWS =
+            ConfigOptions.key("window-target-rows")
+                    .longType()
+                    .defaultValue(100000L)
+                    .withDescription(
+                            "Oracle LogMiner expected rows of each load, the size of redoLog loaded each time is adjusted by the rows read before, not greater than max-log-file-size.");
+
     public static final ConfigOption<Integer> TRANSACTION_CACHE_NUM_SIZE =
             ConfigOptions.key("transaction-cache-num-size")
                     .intType()
@@ -121,6 +128,20 @@ public class LogminerOptions {
                     .withDescription(
                             "Oracle LogMiner cache expire time  and  default value is 20 minutes");
 
+    public static final ConfigOption<Long> TRANSACTION_SPILL_MEMORY_SIZE =
+            ConfigOptions.key("transaction-spill-memory-size")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "Oracle LogMiner max bytes of cached transaction data in memory, the data exceeded is spilled to local files, 0 means no spill.");
+
+    public static final ConfigOption<String> TRANSACTION_SPILL_DIR =
+            ConfigOptions.key("transaction-spill-dir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Oracle LogMiner local directory of spilled transaction data, java.io.tmpdir by default.");
+
     public static final ConfigOption<String> TIMESTAMP_FORMAT =
             ConfigOptions.key("timestamp-format.standard")
                     .stringType()
@@ -61,8 +61,11 @@ public class OraclelogminerDynamicTableFactory implements DynamicTableSourceFact
         options.add(LogminerOptions.SUPPORT_AUTO_LOG);
         options.add(LogminerOptions.IO_THREADS);
         options.add(LogminerOptions.MAX_LOAD_FILE_SIZE);
+        options.add(LogminerOptions.WINDOW_TARGET_ROWS);
         options.add(LogminerOptions.TRANSACTION_CACHE_NUM_SIZE);
         options.add(LogminerOptions.TRANSACTION_EXPIRE_TIME);
+        options.add(LogminerOptions.TRANSACTION_SPILL_MEMORY_SIZE);
+        options.add(LogminerOptions.TRANSACTION_SPILL_DIR);
         options.add(LogminerOptions.TIMESTAMP_FORMAT);
         return options;
     }
@@ -107,6 +110,7 @@ public class OraclelogminerDynamicTableFactory implements DynamicTableSourceFact
         logMinerConfig.setQueryTimeout(config.get(LogminerOptions.QUERY_TIMEOUT));
         logMinerConfig.setSupportAutoAddLog(config.get(LogminerOptions.SUPPORT_AUTO_LOG));
         logMinerConfig.setMaxLogFileSize(config.get(LogminerOptions.MAX_LOAD_FILE_SIZE));
+        logMinerConfig.setWindowTargetRows(config.get(LogminerOptions.WINDOW_TARGET_ROWS));
 
         logMinerConfig.setIoThreads(config.get(LogminerOptions.IO_THREADS));
 
@@ -114,6 +118,9 @@ public class OraclelogminerDynamicTableFactory implements DynamicTableSourceFact
                 config.get(LogminerOptions.TRANSACTION_CACHE_NUM_SIZE));
         logMinerConfig.setTransactionExpireTime(
                 config.get(LogminerOptions.TRANSACTION_EXPIRE_TIME));
+        logMinerConfig.setTransactionSpillMemorySize(
+                config.get(LogminerOptions.TRANSACTION_SPILL_MEMORY_SIZE));
+        logMinerConfig.setTransactionSpillDir(config.get(LogminerOptions.TRANSACTION_SPILL_DIR));
 
         logMinerConfig.setPavingData(true);
         logMinerConfig.setSplit(true);
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.oraclelogminer.listener;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+public class LogMinerWindowSizerTest {
+
+    @Test
+    public void testAdjustWindowBytes() {
+        LogMinerWindowSizer sizer = new LogMinerWindowSizer(1000, 1 << 20);
+        Assert.assertEquals(1 << 20, sizer.nextWindowBytes());
+
+        // 1000字节产出1000条，下一个窗口1000字节
+        sizer.record(BigInteger.ONE, BigInteger.TEN, 1000, 1000, 10, false);
+        Assert.assertEquals(1000, sizer.nextWindowBytes());
+
+        // 数据稀疏时窗口扩大，不超过最大值
+        sizer.record(BigInteger.TEN, BigInteger.valueOf(20), 1000, 0, 10, false);
+        Assert.assertEquals(2000, sizer.nextWindowBytes());
+        sizer.record(BigInteger.TEN, BigInteger.valueOf(20), 1000, 0, 10, false);
+        Assert.assertEquals(4000, sizer.nextWindowBytes());
+        LogMinerWindowSizer limited = new LogMinerWindowSizer(1000, 1500);
+        limited.record(BigInteger.ONE, BigInteger.TEN, 1000, 500, 10, false);
+        Assert.assertEquals(1500, limited.nextWindowBytes());
+
+        Assert.assertEquals(3, sizer.getWindowCount());
+        Assert.assertEquals(1000, sizer.getTotalRows());
+        Assert.assertEquals(30, sizer.getTotalMiningMillis());
+    }
+
+    @Test
+    public void testRedoLogWindowNotCounted() {
+        LogMinerWindowSizer sizer = new LogMinerWindowSizer(1000, 1 << 20);
+        sizer.record(BigInteger.ONE, BigInteger.TEN, 1000, 1000, 10, true);
+        Assert.assertEquals(1 << 20, sizer.nextWindowBytes());
+        Assert.assertEquals(1000, sizer.getLastWindowRows());
+    }
+
+    @Test
+    public void testDisabled() {
+        LogMinerWindowSizer sizer = new LogMinerWindowSizer(0, 1 << 20);
+        sizer.record(BigInteger.ONE, BigInteger.TEN, 1000, 1000, 10, false);
+        Assert.assertEquals(1 << 20, sizer.nextWindowBytes());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.oraclelogminer.listener;
+
+import com.dtstack.chunjun.connector.oraclelogminer.entity.RedoStatement;
+
+import net.sf.jsqlparser.JSQLParserException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RedoSqlParserTest {
+
+    /** LogMiner生成的sql_redo，IS NULL已按LogParser的方式替换为= NULL */
+    private static final String[] CORPUS = {
+        "insert into \"TEST\".\"USER\"(\"ID\",\"NAME\",\"AGE\") values ('1','tom','18');",
+        "insert into \"TEST\".\"USER\"(\"ID\",\"NAME\",\"AGE\") values ('1',NULL,NULL);",
+        "insert into \"TEST\".\"USER\"(\"ID\",\"NAME\") values ('2','it''s, (a) test and more')",
+        "insert into \"TEST\".\"T_TIME\"(\"ID\",\"C_DATE\",\"C_TS\",\"C_TZ\") values ('1',"
+                + "TO_DATE('2022-01-01 12:00:00', 'YYYY-MM-DD HH24:MI:SS'),"
+                + "TO_TIMESTAMP('2022-01-01 12:00:00.123'),"
+                + "TO_TIMESTAMP_TZ('2022-01-01 12:00:00.123 +08:00'));",
+        "insert into \"TEST\".\"T_LOB\"(\"ID\",\"C_BLOB\",\"C_CLOB\",\"C_NCHAR\") values ('1',"
+                + "HEXTORAW('68656c6c6f'),EMPTY_CLOB(),UNISTR('\\4E2D\\6587'));",
+        "update \"TEST\".\"USER\" set \"NAME\" = 'jerry' where \"ID\" = '1' and \"NAME\" = 'tom'"
+                + " and \"AGE\" = '18' and ROWID = 'AAAR3sAAEAAAACXAAA';",
+        "update \"TEST\".\"USER\" set \"NAME\" = NULL, \"AGE\" = '19' where \"ID\" = '1'"
+                + " and \"NAME\" = 'a and b' and \"AGE\" = NULL and ROWID = 'AAAR3sAAEAAAACXAAA';",
+        "update \"TEST\".\"T_TIME\" set \"C_DATE\" = TO_DATE('2022-01-02 00:00:00',"
+                + " 'YYYY-MM-DD HH24:MI:SS') where \"ID\" = '1' and \"C_DATE\" = TO_DATE("
+                + "'2022-01-01 12:00:00', 'YYYY-MM-DD HH24:MI:SS');",
+        "delete from \"TEST\".\"USER\" where \"ID\" = '1' and \"NAME\" = 'where, or' and \"AGE\""
+                + " = NULL and ROWID = 'AAAR3sAAEAAAACXAAA';",
+        "delete from \"TEST\".\"USER\" where \"ID\" = '-1.5'",
+    };
+
+    /** 与JSqlParser的输出只差在空白上的语句，扫描结果按JSqlParser的格式输出 */
+    private static final String[] WHITESPACE_CORPUS = {
+        "insert into \"TEST\".\"T_TIME\"(\"ID\",\"C_DATE\") values ('1',"
+                + "TO_DATE('2022-01-01 12:00:00','YYYY-MM-DD HH24:MI:SS'));",
+        "insert into \"TEST\".\"USER\" ( \"ID\" ,\n \"NAME\" )  values\t( '1' ,  'a  b' ) ;",
+        "update \"TEST\".\"T_TIME\" set \"C_TS\" = TO_TIMESTAMP( '2022-01-01 12:00:00.123' )"
+                + " where \"ID\" = '1'\n and ROWID = 'AAAR3sAAEAAAACXAAA';",
+        "delete from \"TEST\".\"T_TIME\"\nwhere \"ID\" = '1'\n  and \"C_DATE\" = TO_DATE ("
+                + " '2022-01-01 12:00:00' ,'YYYY-MM-DD HH24:MI:SS' )",
+    };
+
+    /** Oracle字符串中的反斜杠不是转义符，JSqlParser解析失败后回退时会在\'之间插入空格 */
+    private static final String[] BACKSLASH_CORPUS = {
+        "update \"TEST\".\"USER\" set \"NAME\" = 'C:\\dir\\' where \"ID\" = '1'"
+                + " and ROWID = 'AAAR3sAAEAAAACXAAA';",
+        "delete from \"TEST\".\"USER\" where \"ID\" = '1' and \"NAME\" = 'a\\'"
+                + " and ROWID = 'AAAR3sAAEAAAACXAAA';",
+        "update \"TEST\".\"USER\" set \"NAME\" = 'it''s\\', \"AGE\" = '1' where \"ID\" = '1'"
+                + " and \"NAME\" = NULL;",
+    };
+
+    /** LogMiner写CLOB时生成的匿名块 */
+    private static final String CLOB_DECLARE =
+            "DECLARE \n"
+                    + " loc_c CLOB; \n"
+                    + " buf_c VARCHAR2(6156); \n"
+                    + "BEGIN \n"
+                    + " select \"C_CLOB\" into loc_c from \"TEST\".\"T_LOB\" where \"ID\" = '1'"
+                    + " and ROWID = 'AAAR3sAAEAAAACXAAA' for update; \n"
+                    + " buf_c := 'it''s a clob, where ID = ''1'''; \n"
+                    + " dbms_lob.write(loc_c, 28, 1, buf_c); \n"
+                    + "END; \n";
+
+    @Test
+    public void testParseEqualsJsqlParser() throws Exception {
+        for (String sql : CORPUS) {
+            assertParseEqualsJsqlParser(sql);
+        }
+        for (String sql : WHITESPACE_CORPUS) {
+            assertParseEqualsJsqlParser(sql);
+        }
+    }
+
+    private static void assertParseEqualsJsqlParser(String sql) throws Exception {
+        RedoStatement expected = LogParser.parseByJsqlParser(sql);
+        RedoStatement actual = RedoSqlParser.parse(sql);
+        Assert.assertNotNull(sql, actual);
+        Assert.assertEquals(sql, expected, actual);
+    }
+
+    @Test
+    public void testNormalizeWhitespace() {
+        RedoStatement statement = RedoSqlParser.parse(WHITESPACE_CORPUS[3]);
+        Assert.assertEquals(
+                "TO_DATE('2022-01-01 12:00:00', 'YYYY-MM-DD HH24:MI:SS')",
+                statement.getWhereValues().get(1));
+        Assert.assertEquals(
+                "2022-01-01 12:00:00", LogParser.parseTime(statement.getWhereValues().get(1)));
+        Assert.assertEquals("'a  b'", RedoSqlParser.parse(WHITESPACE_CORPUS[1]).getValues().get(1));
+    }
+
+    @Test
+    public void testBackslashBeforeQuote() throws Exception {
+        for (String sql : BACKSLASH_CORPUS) {
+            RedoStatement actual = RedoSqlParser.parse(sql);
+            Assert.assertNotNull(sql, actual);
+            RedoStatement expected = LogParser.parseByJsqlParser(sql);
+            // JSqlParser only accepts the statement after the fallback turns \' into \ '
+            expected.getValues().replaceAll(value -> value.replace("\\ '", "\\'"));
+            expected.getWhereValues().replaceAll(value -> value.replace("\\ '", "\\'"));
+            Assert.assertEquals(sql, expected, actual);
+        }
+        Assert.assertEquals(
+                "'C:\\dir\\'", RedoSqlParser.parse(BACKSLASH_CORPUS[0]).getValues().get(0));
+        Assert.assertEquals(
+                "'a\\'", RedoSqlParser.parse(BACKSLASH_CORPUS[1]).getWhereValues().get(1));
+    }
+
+    @Test
+    public void testClobDeclareBlock() {
+        // not a LogMiner DML statement: the scanner declines it and JSqlParser fails as before
+        Assert.assertNull(RedoSqlParser.parse(CLOB_DECLARE));
+        Assert.assertThrows(
+                JSQLParserException.class, () -> LogParser.parseByJsqlParser(CLOB_DECLARE));
+    }
+
+    @Test
+    public void testParseInsert() {
+        RedoStatement statement =
+                RedoSqlParser.parse(
+                        "insert into \"TEST\".\"USER\"(\"ID\",\"NAME\") values ('1','a''b');");
+        Assert.assertEquals(RedoStatement.Type.INSERT, statement.getType());
+        Assert.assertEquals(2, statement.getColumns().size());
+        Assert.assertEquals("\"NAME\"", statement.getColumns().get(1));
+        Assert.assertEquals("'a''b'", statement.getValues().get(1));
+        Assert.assertTrue(statement.getWhereColumns().isEmpty());
+    }
+
+    @Test
+    public void testUnsupportedSqlFallback() {
+        Assert.assertNull(
+                RedoSqlParser.parse("delete from \"TEST\".\"USER\" where \"ID\" = '1' or 1 = 1"));
+        Assert.assertNull(RedoSqlParser.parse("update \"TEST\".\"USER\" set \"ID\" = '1'"));
+        Assert.assertNull(
+                RedoSqlParser.parse("insert into \"TEST\".\"USER\"(\"ID\") values ('1','2')"));
+        Assert.assertNull(RedoSqlParser.parse("insert into \"TEST\".\"USER\"(\"ID\") values ('1)"));
+        Assert.assertNull(RedoSqlParser.parse("DECLARE loc_c CLOB; BEGIN NULL; END;"));
+    }
+}
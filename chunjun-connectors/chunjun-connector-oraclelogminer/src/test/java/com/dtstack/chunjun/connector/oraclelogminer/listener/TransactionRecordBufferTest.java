@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.oraclelogminer.listener;
+
+import com.dtstack.chunjun.connector.oraclelogminer.entity.RecordLog;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class TransactionRecordBufferTest {
+
+    private static RecordLog record(int i) {
+        return record(i, "3");
+    }
+
+    private static RecordLog record(int i, String xidSqn) {
+        return new RecordLog(
+                BigInteger.valueOf(i),
+                "delete from \"T\" where \"ID\" = '" + i + "'",
+                "insert into \"T\"(\"ID\") values ('" + i + "')",
+                "1",
+                "2",
+                xidSqn,
+                i % 2 == 0 ? "AAA" + i : null,
+                "T",
+                false,
+                1);
+    }
+
+    private static long fileCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testRemoveLastAcrossMemoryAndFile() throws IOException {
+        Path dir = Files.createTempDirectory("logminer-spill-test");
+        TransactionRecordBuffer buffer = new TransactionRecordBuffer(dir.toString(), "123");
+        for (int i = 0; i < 3; i++) {
+            buffer.add(record(i));
+        }
+        buffer.spill();
+        Assert.assertEquals(0, buffer.getMemoryBytes());
+        for (int i = 3; i < 5; i++) {
+            buffer.add(record(i));
+        }
+        buffer.spill();
+        buffer.add(record(5));
+        Assert.assertEquals(6, buffer.size());
+        Assert.assertEquals(1, buffer.memorySize());
+        Assert.assertEquals(1, fileCount(dir));
+
+        for (int i = 5; i >= 2; i--) {
+            RecordLog recordLog = buffer.removeLast();
+            Assert.assertEquals(BigInteger.valueOf(i), recordLog.getScn());
+            Assert.assertEquals(record(i).getSqlUndo(), recordLog.getSqlUndo());
+            Assert.assertEquals(record(i).getSqlRedo(), recordLog.getSqlRedo());
+            Assert.assertEquals(record(i).getRowId(), recordLog.getRowId());
+            Assert.assertEquals(1, recordLog.getOperationCode());
+        }
+
+        // 读取过的位置会被后续spill的数据覆盖
+        buffer.add(record(6));
+        buffer.spill();
+        Assert.assertEquals(BigInteger.valueOf(6), buffer.removeLast().getScn());
+        Assert.assertEquals(BigInteger.valueOf(1), buffer.removeLast().getScn());
+        Assert.assertEquals(BigInteger.valueOf(0), buffer.removeLast().getScn());
+        Assert.assertNull(buffer.removeLast());
+
+        buffer.close();
+        Assert.assertEquals(0, fileCount(dir));
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testManagerSpillsLargestTransaction() throws IOException {
+        Path dir = Files.createTempDirectory("logminer-spill-test");
+        long recordBytes = TransactionRecordBuffer.sizeOf(record(0));
+        TransactionManager manager =
+                new TransactionManager(1000L, 1L, 20, recordBytes * 3, dir.toString());
+        for (int i = 0; i < 3; i++) {
+            manager.putCache(record(i));
+        }
+        Assert.assertEquals(0, fileCount(dir));
+
+        // 超过内存上限后写入本地文件，且不再受eventSize限制
+        manager.putCache(record(3));
+        Assert.assertEquals(1, fileCount(dir));
+        Assert.assertEquals(0, manager.getMemoryBytes());
+        manager.putCache(record(4));
+        Assert.assertTrue(manager.getMemoryBytes() > 0);
+
+        for (int i = 4; i >= 0; i--) {
+            Assert.assertEquals(
+                    BigInteger.valueOf(i), manager.queryUndoLogFromCache("1", "2", "3").getScn());
+        }
+        Assert.assertNull(manager.queryUndoLogFromCache("1", "2", "3"));
+        Assert.assertEquals(0, manager.getMemoryBytes());
+
+        manager.cleanCache("1", "2", "3");
+        Assert.assertEquals(0, fileCount(dir));
+        manager.close();
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testSpilledTransactionIsNotEvictedBySize() throws IOException {
+        Path dir = Files.createTempDirectory("logminer-spill-test");
+        long recordBytes = TransactionRecordBuffer.sizeOf(record(0));
+        TransactionManager manager =
+                new TransactionManager(1L, 1L, 20, recordBytes * 2, dir.toString());
+        manager.putCache(record(0, "3"));
+        manager.putCache(record(1, "3"));
+        manager.putCache(record(2, "3"));
+        Assert.assertEquals(1, fileCount(dir));
+
+        // the in-memory transaction limit only applies to transactions still in memory
+        manager.putCache(record(3, "4"));
+        manager.putCache(record(4, "5"));
+        Assert.assertEquals(1, fileCount(dir));
+        Assert.assertNull(manager.queryUndoLogFromCache("1", "2", "4"));
+        for (int i = 2; i >= 0; i--) {
+            Assert.assertEquals(
+                    BigInteger.valueOf(i), manager.queryUndoLogFromCache("1", "2", "3").getScn());
+        }
+
+        manager.close();
+        Assert.assertEquals(0, fileCount(dir));
+        Files.delete(dir);
+    }
+}
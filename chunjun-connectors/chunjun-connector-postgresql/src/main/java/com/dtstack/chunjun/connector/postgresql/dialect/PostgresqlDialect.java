@@ -75,6 +75,11 @@ public class PostgresqlDialect implements JdbcDialect {
         return Optional.of(DRIVER);
     }
 
+    @Override
+    public boolean supportMultiValuesInsert() {
+        return true;
+    }
+
     @Override
     public boolean supportUpsert() {
         return true;
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.redis.connection;
+
+import redis.clients.jedis.commands.JedisCommands;
+
+/** 逐条写入，每个命令都是一次网络往返 */
+public class JedisCommandWriter implements RedisCommandWriter {
+
+    private final JedisCommands jedis;
+
+    public JedisCommandWriter(JedisCommands jedis) {
+        this.jedis = jedis;
+    }
+
+    @Override
+    public void set(String key, String value) {
+        jedis.set(key, value);
+    }
+
+    @Override
+    public void lpush(String key, String... values) {
+        jedis.lpush(key, values);
+    }
+
+    @Override
+    public void rpush(String key, String... values) {
+        jedis.rpush(key, values);
+    }
+
+    @Override
+    public void sadd(String key, String... members) {
+        jedis.sadd(key, members);
+    }
+
+    @Override
+    public void zadd(String key, double score, String member) {
+        jedis.zadd(key, score, member);
+    }
+
+    @Override
+    public void hset(String key, String field, String value) {
+        jedis.hset(key, field, value);
+    }
+
+    @Override
+    public void expire(String key, long seconds) {
+        jedis.expire(key, seconds);
+    }
+
+    @Override
+    public void expireAt(String key, long unixTime) {
+        jedis.expireAt(key, unixTime);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.redis.connection;
+
+import redis.clients.jedis.ClusterPipeline;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.commands.PipelineCommands;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 通过pipeline批量写入，命令在{@link #sync()}时一次性发送.
+ *
+ * <p>集群模式使用{@link ClusterPipeline}，命令按key所在slot对应的节点分组发送。一条数据产生的命令先暂存，{@link
+ * #commitRow()}时才进入pipeline，转换中途失败的数据通过{@link
+ * #discardRow()}丢弃已暂存的命令；commitRow返回的命令响应用于sync后把失败的命令对应回脏数据。
+ */
+public class PipelineCommandWriter implements RedisCommandWriter, Closeable {
+
+    private final PipelineCommands pipeline;
+    private final Runnable sync;
+    private final Closeable closeable;
+
+    /** 当前数据已暂存、尚未进入pipeline的命令 */
+    private final List<Function<PipelineCommands, Response<?>>> pending = new ArrayList<>();
+
+    private boolean pendingIdempotent = true;
+    private boolean idempotent = true;
+
+    private PipelineCommandWriter(PipelineCommands pipeline, Runnable sync, Closeable closeable) {
+        this.pipeline = pipeline;
+        this.sync = sync;
+        this.closeable = closeable;
+    }
+
+    public static PipelineCommandWriter of(Pipeline pipeline) {
+        return new PipelineCommandWriter(pipeline, pipeline::sync, pipeline);
+    }
+
+    public static PipelineCommandWriter of(ClusterPipeline pipeline) {
+        return new PipelineCommandWriter(pipeline, pipeline::sync, pipeline);
+    }
+
+    @Override
+    public void set(String key, String value) {
+        pending.add(p -> p.set(key, value));
+    }
+
+    @Override
+    public void lpush(String key, String... values) {
+        pendingIdempotent = false;
+        pending.add(p -> p.lpush(key, values));
+    }
+
+    @Override
+    public void rpush(String key, String... values) {
+        pendingIdempotent = false;
+        pending.add(p -> p.rpush(key, values));
+    }
+
+    @Override
+    public void sadd(String key, String... members) {
+        pending.add(p -> p.sadd(key, members));
+    }
+
+    @Override
+    public void zadd(String key, double score, String member) {
+        pendingIdempotent = false;
+        pending.add(p -> p.zadd(key, score, member));
+    }
+
+    @Override
+    public void hset(String key, String field, String value) {
+        pending.add(p -> p.hset(key, field, value));
+    }
+
+    @Override
+    public void expire(String key, long seconds) {
+        pending.add(p -> p.expire(key, seconds));
+    }
+
+    @Override
+    public void expireAt(String key, long unixTime) {
+        pending.add(p -> p.expireAt(key, unixTime));
+    }
+
+    /** 把当前数据暂存的命令加入pipeline，返回这些命令的响应 */
+    public List<Response<?>> commitRow() {
+        List<Response<?>> responses = new ArrayList<>(pending.size());
+        for (Function<PipelineCommands, Response<?>> command : pending) {
+            responses.add(command.apply(pipeline));
+        }
+        idempotent &= pendingIdempotent;
+        discardRow();
+        return responses;
+    }
+
+    /** 丢弃当前数据暂存的命令 */
+    public void discardRow() {
+        pending.clear();
+        pendingIdempotent = true;
+    }
+
+    /** pipeline中的命令是否都可以重复执行. lpush、rpush、zadd重复执行会重复追加数据或改变结果，sync失败后无法确定哪些命令已经执行，这类批次不能再逐条重写 */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /** 发送所有命令并读取响应，单个命令的错误保存在对应的{@link Response}中 */
+    public void sync() {
+        sync.run();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeable.close();
+    }
+}
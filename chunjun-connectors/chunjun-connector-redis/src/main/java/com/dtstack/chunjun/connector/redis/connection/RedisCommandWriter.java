@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.redis.connection;
+
+/** 写redis的命令，屏蔽逐条写入与pipeline批量写入之间的差异，converter只通过该接口写数据 */
+public interface RedisCommandWriter {
+
+    void set(String key, String value);
+
+    void lpush(String key, String... values);
+
+    void rpush(String key, String... values);
+
+    void sadd(String key, String... members);
+
+    void zadd(String key, double score, String member);
+
+    void hset(String key, String field, String value);
+
+    void expire(String key, long seconds);
+
+    void expireAt(String key, long unixTime);
+}
@@ -24,15 +24,19 @@ import com.dtstack.chunjun.util.ExceptionUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import redis.clients.jedis.ClusterPipeline;
 import redis.clients.jedis.Connection;
+import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
 import redis.clients.jedis.JedisSentinelPool;
 import redis.clients.jedis.commands.JedisCommands;
 import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.providers.ClusterConnectionProvider;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -52,6 +56,8 @@ public class RedisSyncClient {
 
     private JedisSentinelPool jedisSentinelPool;
 
+    private ClusterConnectionProvider clusterConnectionProvider;
+
     private final RedisConfig redisConfig;
 
     public RedisSyncClient(RedisConfig redisConfig) {
@@ -103,23 +109,9 @@ public class RedisSyncClient {
                 jedis = jedisSentinelPool.getResource();
                 break;
             case CLUSTER:
-                Set<HostAndPort> addresses = new HashSet<>();
-                // 对ipv6 支持
-                for (String node : nodes) {
-                    Matcher matcher = REDIS_HOST_PATTERN.defaultValue().matcher(node);
-                    if (matcher.find()) {
-                        String host = matcher.group("host").trim();
-                        String portStr = matcher.group("port").trim();
-                        if (StringUtils.isNotBlank(host) && StringUtils.isNotBlank(portStr)) {
-                            // 转化为int格式的端口
-                            int port = Integer.parseInt(portStr);
-                            addresses.add(new HostAndPort(host, port));
-                        }
-                    }
-                }
                 jedis =
                         new JedisCluster(
-                                addresses,
+                                getClusterNodes(nodes),
                                 redisConfig.getTimeout(),
                                 redisConfig.getTimeout(),
                                 10,
@@ -134,6 +126,50 @@ public class RedisSyncClient {
         return jedis;
     }
 
+    private Set<HostAndPort> getClusterNodes(String[] nodes) {
+        Set<HostAndPort> addresses = new HashSet<>();
+        // 对ipv6 支持
+        for (String node : nodes) {
+            Matcher matcher = REDIS_HOST_PATTERN.defaultValue().matcher(node);
+            if (matcher.find()) {
+                String host = matcher.group("host").trim();
+                String portStr = matcher.group("port").trim();
+                if (StringUtils.isNotBlank(host) && StringUtils.isNotBlank(portStr)) {
+                    // 转化为int格式的端口
+                    int port = Integer.parseInt(portStr);
+                    addresses.add(new HostAndPort(host, port));
+                }
+            }
+        }
+        return addresses;
+    }
+
+    /**
+     * 基于jedis打开pipeline，集群模式下所有pipeline共用同一个ClusterConnectionProvider
+     *
+     * @param jedis getJedis()返回的客户端
+     * @return pipeline writer
+     */
+    public PipelineCommandWriter openPipeline(JedisCommands jedis) {
+        if (jedis instanceof Jedis) {
+            return PipelineCommandWriter.of(((Jedis) jedis).pipelined());
+        }
+        if (clusterConnectionProvider == null) {
+            JedisClientConfig clientConfig =
+                    DefaultJedisClientConfig.builder()
+                            .connectionTimeoutMillis(redisConfig.getTimeout())
+                            .socketTimeoutMillis(redisConfig.getTimeout())
+                            .password(redisConfig.getPassword())
+                            .build();
+            clusterConnectionProvider =
+                    new ClusterConnectionProvider(
+                            getClusterNodes(StringUtils.split(redisConfig.getHostPort(), ",")),
+                            clientConfig,
+                            getObjectConfig());
+        }
+        return PipelineCommandWriter.of(new ClusterPipeline(clusterConnectionProvider));
+    }
+
     /**
      * test jedis client whether is in active or not,if not,close and get a new jedis client
      *
@@ -197,6 +233,9 @@ public class RedisSyncClient {
 
     public void close(JedisCommands jedis) {
         try {
+            if (clusterConnectionProvider != null) {
+                clusterConnectionProvider.close();
+            }
             if (jedis != null && ((Jedis) jedis).isConnected()) {
                 ((Closeable) jedis).close();
             }
@@ -20,6 +20,7 @@ package com.dtstack.chunjun.connector.redis.converter;
 
 import com.dtstack.chunjun.config.FieldConfig;
 import com.dtstack.chunjun.connector.redis.config.RedisConfig;
+import com.dtstack.chunjun.connector.redis.connection.RedisCommandWriter;
 import com.dtstack.chunjun.connector.redis.enums.RedisDataMode;
 import com.dtstack.chunjun.connector.redis.enums.RedisDataType;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
@@ -34,7 +35,6 @@ import org.apache.flink.table.types.logical.LogicalType;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import redis.clients.jedis.Jedis;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -46,7 +46,8 @@ import java.util.Objects;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.REDIS_CRITICAL_TIME;
 import static com.dtstack.chunjun.connector.redis.options.RedisOptions.REDIS_KEY_VALUE_SIZE;
 
-public class RedisSyncConverter extends AbstractRowConverter<Object, Object, Jedis, LogicalType> {
+public class RedisSyncConverter
+        extends AbstractRowConverter<Object, Object, RedisCommandWriter, LogicalType> {
 
     private static final long serialVersionUID = 3573774552923872927L;
 
@@ -91,7 +92,7 @@ public class RedisSyncConverter extends AbstractRowConverter<Object, Object, Jed
     }
 
     @Override
-    public Jedis toExternal(RowData rowData, Jedis jedis) {
+    public RedisCommandWriter toExternal(RowData rowData, RedisCommandWriter jedis) {
         ColumnRowData row = (ColumnRowData) rowData;
         processTimeFormat(row);
         String key = concatKey(row);
@@ -121,7 +122,7 @@ public class RedisSyncConverter extends AbstractRowConverter<Object, Object, Jed
             if (redisConfig.getExpireTime() > REDIS_CRITICAL_TIME.defaultValue()) {
                 jedis.expireAt(key, redisConfig.getExpireTime());
             } else {
-                jedis.expire(key, (int) redisConfig.getExpireTime());
+                jedis.expire(key, redisConfig.getExpireTime());
             }
         }
         return jedis;
@@ -211,7 +212,7 @@ public class RedisSyncConverter extends AbstractRowConverter<Object, Object, Jed
         return keyBuilder.append(concatKey(row)).toString();
     }
 
-    private void hashWrite(ColumnRowData row, String key, Jedis jedis) {
+    private void hashWrite(ColumnRowData row, String key, RedisCommandWriter jedis) {
         if (CollectionUtils.isNotEmpty(redisConfig.getColumn())) {
             for (int index : fieldIndex) {
                 FieldConfig fieldConfig = redisConfig.getColumn().get(index);
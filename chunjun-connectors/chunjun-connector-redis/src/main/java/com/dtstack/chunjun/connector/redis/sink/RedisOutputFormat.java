@@ -19,16 +19,25 @@
 package com.dtstack.chunjun.connector.redis.sink;
 
 import com.dtstack.chunjun.connector.redis.config.RedisConfig;
+import com.dtstack.chunjun.connector.redis.connection.JedisCommandWriter;
+import com.dtstack.chunjun.connector.redis.connection.PipelineCommandWriter;
 import com.dtstack.chunjun.connector.redis.connection.RedisSyncClient;
+import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.sink.format.BaseRichOutputFormat;
+import com.dtstack.chunjun.throwable.NoRestartException;
 import com.dtstack.chunjun.throwable.WriteRecordException;
 
 import org.apache.flink.table.data.RowData;
 
 import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.commands.JedisCommands;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 @Slf4j
 public class RedisOutputFormat extends BaseRichOutputFormat {
 
@@ -39,6 +48,8 @@ public class RedisOutputFormat extends BaseRichOutputFormat {
     private RedisConfig redisConfig;
     /** jedis */
     private JedisCommands jedis;
+    /** 逐条写入时使用的writer，随jedis重建 */
+    private transient JedisCommandWriter jedisWriter;
 
     private static final String TEST_KEY = "test";
 
@@ -46,6 +57,7 @@ public class RedisOutputFormat extends BaseRichOutputFormat {
     protected void openInternal(int taskNumber, int numTasks) {
         redisSyncClient = new RedisSyncClient(redisConfig);
         jedis = redisSyncClient.getJedis();
+        jedisWriter = new JedisCommandWriter(jedis);
     }
 
     @Override
@@ -59,19 +71,81 @@ public class RedisOutputFormat extends BaseRichOutputFormat {
 
     private void writeSingleRecordWithRetry(RowData rowData) throws Exception {
         try {
-            rowConverter.toExternal(rowData, jedis);
+            rowConverter.toExternal(rowData, jedisWriter);
         } catch (JedisConnectionException e) {
             // JedisConnectionException may be caused by jedis time out ,retry to get jedis from
             // pool
             log.error("retry get redis once");
             jedis = redisSyncClient.testTimeout(jedis, TEST_KEY);
-            rowConverter.toExternal(rowData, jedis);
+            jedisWriter = new JedisCommandWriter(jedis);
+            rowConverter.toExternal(rowData, jedisWriter);
         }
     }
 
+    /**
+     * 通过pipeline批量写入rows，所有命令在一次往返中发送.
+     *
+     * <p>每条数据转换成功后其命令才进入pipeline，转换失败的数据不会留下部分命令。单条命令的错误不影响同批次的其他数据，出错的数据作为脏数据收集并从rows中移除。
+     *
+     * <p>sync失败时无法确定哪些命令已经执行：命令都可以重复执行时整批抛出，由父类逐条重写；批次中有lpush、rpush、zadd时重写会重复写入，抛出{@link
+     * NoRestartException}使任务失败，不再重写
+     */
     @Override
-    protected void writeMultipleRecordsInternal() {
-        throw new UnsupportedOperationException();
+    protected void writeMultipleRecordsInternal() throws Exception {
+        List<List<Response<?>>> rowResponses = new ArrayList<>(rows.size());
+        try (PipelineCommandWriter pipeline = redisSyncClient.openPipeline(jedis)) {
+            Iterator<RowData> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                RowData rowData = iterator.next();
+                try {
+                    rowConverter.toExternal(rowData, pipeline);
+                    rowResponses.add(pipeline.commitRow());
+                } catch (Exception e) {
+                    // 从rows中移除，sync失败后父类逐条重写时不会重复记录
+                    pipeline.discardRow();
+                    collectDirtyRow(rowData, e);
+                    iterator.remove();
+                }
+            }
+            try {
+                pipeline.sync();
+            } catch (Exception e) {
+                if (!pipeline.isIdempotent()) {
+                    throw new NoRestartException(
+                            "redis pipeline sync failed, the batch may be partially written and is not rewritten row by row",
+                            e);
+                }
+                throw e;
+            }
+        }
+
+        boolean[] failed = new boolean[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            for (Response<?> response : rowResponses.get(i)) {
+                try {
+                    response.get();
+                } catch (Exception e) {
+                    collectDirtyRow(rows.get(i), e);
+                    failed[i] = true;
+                    break;
+                }
+            }
+        }
+        // 父类按rows.size()统计写出条数
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            if (failed[i]) {
+                rows.remove(i);
+            }
+        }
+    }
+
+    private void collectDirtyRow(RowData rowData, Exception e) {
+        long globalErrors = accumulatorCollector.getAccumulatorValue(Metrics.NUM_ERRORS, false);
+        dirtyManager.collect(
+                rowData,
+                new WriteRecordException("writer data error", e, 0, rowData),
+                null,
+                globalErrors);
     }
 
     @Override
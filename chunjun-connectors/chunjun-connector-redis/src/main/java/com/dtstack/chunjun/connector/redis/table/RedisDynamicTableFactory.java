@@ -67,6 +67,8 @@ import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_ERROR_LIMI
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_FETCH_SIZE;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_MAX_RETRIES;
 import static com.dtstack.chunjun.lookup.options.LookupOptions.LOOKUP_PARALLELISM;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_INTERVAL;
+import static com.dtstack.chunjun.table.options.SinkOptions.SINK_BUFFER_FLUSH_MAX_ROWS;
 import static org.apache.flink.table.factories.FactoryUtil.SINK_PARALLELISM;
 
 public class RedisDynamicTableFactory
@@ -134,6 +136,8 @@ public class RedisDynamicTableFactory
         optionalOptions.add(MAXIDLE);
         optionalOptions.add(MINIDLE);
         optionalOptions.add(KEYEXPIREDTIME);
+        optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
+        optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
 
         optionalOptions.add(LOOKUP_CACHE_PERIOD);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
@@ -161,6 +165,10 @@ public class RedisDynamicTableFactory
         redisConfig.setMaxIdle(config.get(MAXIDLE));
         redisConfig.setMinIdle(config.get(MINIDLE));
         redisConfig.setExpireTime(config.get(KEYEXPIREDTIME));
+        // 配置了批量大小时通过pipeline批量写入，未配置时保持逐条写入
+        config.getOptional(SINK_BUFFER_FLUSH_MAX_ROWS).ifPresent(redisConfig::setBatchSize);
+        config.getOptional(SINK_BUFFER_FLUSH_INTERVAL)
+                .ifPresent(redisConfig::setFlushIntervalMills);
         redisConfig.setType(RedisDataType.getDataType(config.get(REDIS_DATA_TYPE)));
         redisConfig.setMode(RedisDataMode.getDataMode(config.get(REDIS_DATA_MODE)));
         redisConfig.setKeyPrefix(config.get(TABLENAME));
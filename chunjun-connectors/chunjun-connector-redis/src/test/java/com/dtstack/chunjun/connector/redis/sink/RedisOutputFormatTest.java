@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.redis.sink;
+
+import com.dtstack.chunjun.connector.redis.connection.JedisCommandWriter;
+import com.dtstack.chunjun.connector.redis.connection.PipelineCommandWriter;
+import com.dtstack.chunjun.connector.redis.connection.RedisCommandWriter;
+import com.dtstack.chunjun.connector.redis.connection.RedisSyncClient;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+import com.dtstack.chunjun.dirty.manager.DirtyManager;
+import com.dtstack.chunjun.metrics.AccumulatorCollector;
+import com.dtstack.chunjun.metrics.BaseMetric;
+import com.dtstack.chunjun.restore.FormatState;
+import com.dtstack.chunjun.throwable.NoRestartException;
+
+import org.apache.flink.api.common.accumulators.LongCounter;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.reflect.Whitebox.getInternalState;
+import static org.powermock.reflect.Whitebox.setInternalState;
+
+public class RedisOutputFormatTest {
+
+    private RedisOutputFormat format;
+    private Pipeline pipeline;
+    private AbstractRowConverter<?, ?, RedisCommandWriter, ?> rowConverter;
+    private JedisCommandWriter jedisWriter;
+    private DirtyManager dirtyManager;
+    private List<RowData> rows;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        pipeline = mock(Pipeline.class, Answers.RETURNS_MOCKS);
+        JedisCommands jedis = mock(JedisCommands.class);
+        RedisSyncClient client = mock(RedisSyncClient.class);
+        when(client.openPipeline(jedis))
+                .thenAnswer(invocation -> PipelineCommandWriter.of(pipeline));
+        rowConverter = mock(AbstractRowConverter.class);
+        jedisWriter = mock(JedisCommandWriter.class);
+        dirtyManager = mock(DirtyManager.class);
+        rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(GenericRowData.of(i));
+        }
+
+        format = new RedisOutputFormat();
+        setInternalState(format, "redisSyncClient", client);
+        setInternalState(format, "jedis", jedis);
+        setInternalState(format, "jedisWriter", jedisWriter);
+        setInternalState(format, "rowConverter", rowConverter);
+        setInternalState(format, "dirtyManager", dirtyManager);
+        setInternalState(format, "accumulatorCollector", mock(AccumulatorCollector.class));
+        setInternalState(format, "numWriteCounter", new LongCounter());
+        setInternalState(format, "outputMetric", mock(BaseMetric.class));
+        setInternalState(format, "formatState", new FormatState(0, null));
+        setInternalState(format, "flushEnable", new AtomicBoolean(true));
+    }
+
+    @Test
+    public void testConversionFailureLeavesNoCommand() throws Exception {
+        RowData invalid = GenericRowData.of(-1);
+        rows.add(1, invalid);
+        // the invalid row writes its first command and then fails
+        convertWith((row, writer) -> writer.hset("key" + row.getInt(0), "f", "v"));
+        setInternalState(format, "rows", new ArrayList<>(rows));
+
+        FormatState state = format.getFormatState();
+
+        verify(pipeline, times(3)).hset(anyString(), anyString(), anyString());
+        verify(pipeline, never()).hset(eq("key-1"), anyString(), anyString());
+        verify(pipeline, times(1)).sync();
+        verify(dirtyManager, times(1)).collect(same(invalid), any(), isNull(), anyLong());
+        Assert.assertEquals(3L, state.getNumberWrite());
+    }
+
+    @Test
+    public void testSyncFailureOfIdempotentBatchIsRewritten() throws Exception {
+        convertWith((row, writer) -> writer.hset("key" + row.getInt(0), "f", "v"));
+        doThrow(new JedisConnectionException("Connection reset")).when(pipeline).sync();
+        setInternalState(format, "rows", new ArrayList<>(rows));
+
+        FormatState state = format.getFormatState();
+
+        for (RowData row : rows) {
+            verify(rowConverter, times(1)).toExternal(same(row), same(jedisWriter));
+        }
+        Assert.assertEquals(3L, state.getNumberWrite());
+    }
+
+    @Test
+    public void testSyncFailureOfListBatchIsNotRewritten() throws Exception {
+        convertWith((row, writer) -> writer.rpush("list", String.valueOf(row.getInt(0))));
+        doThrow(new JedisConnectionException("Connection reset")).when(pipeline).sync();
+        setInternalState(format, "rows", new ArrayList<>(rows));
+
+        try {
+            format.getFormatState();
+            Assert.fail("expected NoRestartException");
+        } catch (NoRestartException e) {
+            Assert.assertTrue(e.getCause() instanceof JedisConnectionException);
+        }
+
+        // rewriting row by row would push again what the failed sync may already have pushed
+        verify(rowConverter, never()).toExternal(any(), same(jedisWriter));
+        verify(dirtyManager, never()).collect(any(), any(), any(), anyLong());
+        LongCounter numWriteCounter = getInternalState(format, "numWriteCounter");
+        Assert.assertEquals(0L, numWriteCounter.getLocalValue().longValue());
+    }
+
+    private interface RowWriter {
+        void write(RowData row, RedisCommandWriter writer);
+    }
+
+    /** Rows with a negative id fail after their commands have been written. */
+    private void convertWith(RowWriter rowWriter) throws Exception {
+        doAnswer(
+                        invocation -> {
+                            RowData row = invocation.getArgument(0);
+                            RedisCommandWriter writer = invocation.getArgument(1);
+                            rowWriter.write(row, writer);
+                            if (row.getInt(0) < 0) {
+                                throw new IllegalArgumentException("invalid row " + row);
+                            }
+                            return writer;
+                        })
+                .when(rowConverter)
+                .toExternal(any(), any());
+    }
+}
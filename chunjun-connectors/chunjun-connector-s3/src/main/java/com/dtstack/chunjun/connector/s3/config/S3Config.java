@@ -61,6 +61,18 @@ public class S3Config extends CommonConfig implements Serializable {
 
     private String Protocol = "HTTP";
 
+    /** 读取时超过该大小的object按字节范围切分为多个分片，小于等于0时不切分 */
+    private long splitSize = 128 * 1024 * 1024L;
+
+    /** 写入时每个part的大小，除最后一个part外不能小于5MB */
+    private int partSize = 25 * 1024 * 1024;
+
+    /** 写入时同时上传的part数量上限 */
+    private int maxInFlightParts = 2;
+
+    /** 写入时的压缩方式，支持none、gzip */
+    private String compress = "none";
+
     /**
      * Limit the number of files obtained per request. If the number of files is greater than
      * fetchSize, then read in a loop
@@ -31,6 +31,7 @@ import com.dtstack.chunjun.element.column.SqlDateColumn;
 import com.dtstack.chunjun.element.column.StringColumn;
 import com.dtstack.chunjun.element.column.TimestampColumn;
 import com.dtstack.chunjun.throwable.UnsupportedTypeException;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.LogicalType;
@@ -72,6 +73,20 @@ public class S3SyncConverter
         return rowData;
     }
 
+    /** 从按字节切分的记录转换，只解码配置的列，效果与{@link #toInternal(String[])}一致 */
+    public RowData toInternal(DelimitedTextTokenizer tokenizer) {
+        List<FieldConfig> fieldConfList = commonConfig.getColumn();
+        ColumnRowData rowData = new ColumnRowData(fieldConfList.size());
+        for (FieldConfig fieldConfig : fieldConfList) {
+            StringColumn stringColumn = null;
+            if (StringUtils.isBlank(fieldConfig.getValue())) {
+                stringColumn = new StringColumn(tokenizer.getString(fieldConfig.getIndex()));
+            }
+            rowData.addField(assembleFieldProps(fieldConfig, stringColumn));
+        }
+        return rowData;
+    }
+
     @Override
     public String[] toExternal(RowData rowData, String[] output) {
         for (int i = 0; i < output.length; i++) {
@@ -32,66 +32,94 @@ import org.apache.flink.table.data.RowData;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.PartETag;
-import com.esotericsoftware.minlog.Log;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
-import java.util.ArrayList;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
-/** The OutputFormat Implementation which write data to Amazon S3. */
+/**
+ * The OutputFormat Implementation which write data to Amazon S3.
+ *
+ * <p>数据编码后直接写入{@link S3PartOutputStream}，写满一个part即在后台并发上传；checkpoint时等待已提交的part上传完成，
+ * 把uploadId、已完成的PartETag以及未凑满一个part的数据保存到状态中，任务恢复后继续同一个multipart上传。
+ */
 @Slf4j
 public class S3OutputFormat extends BaseRichOutputFormat {
 
     private static final long serialVersionUID = -7314796548887092597L;
 
+    /** S3要求除最后一个part外，每个part不能小于5MB */
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    public static final String COMPRESS_NONE = "none";
+    public static final String COMPRESS_GZIP = "gzip";
+
     private transient AmazonS3 amazonS3;
 
     private S3Config s3Config;
 
-    /** Must start at 1 and cannot be greater than 10,000 */
-    private static int currentPartNumber;
-
-    private static String currentUploadId;
-    private static boolean willClose = false;
-    private transient StringWriter sw;
-    private transient List<MyPartETag> myPartETags;
+    private transient String currentUploadId;
+    private transient S3PartOutputStream partOutputStream;
+    /** gzip压缩时位于writer与partOutputStream之间，checkpoint时结束当前gzip member */
+    private transient GZIPOutputStream gzipOutputStream;
 
     private static final String OVERWRITE_MODE = "overwrite";
     private transient WriterUtil writerUtil;
 
-    private static final long MIN_SIZE = 1024 * 1024 * 25L;
-
     @Override
     protected void openInternal(int taskNumber, int numTasks) {
-        openSource();
-        restore();
-        checkOutputDir();
-        createActionFinishedTag();
-        nextBlock();
         List<FieldConfig> column = s3Config.getColumn();
         columnNameList = column.stream().map(FieldConfig::getName).collect(Collectors.toList());
         columnTypeList = column.stream().map(FieldConfig::getType).collect(Collectors.toList());
-    }
-
-    private void openSource() {
         this.amazonS3 = S3Util.getS3Client(s3Config);
-        this.myPartETags = new ArrayList<>();
-        this.currentPartNumber = taskNumber - numTasks + 1;
-        beforeWriteRecords();
+        S3WriteState state = restore();
+        if (state == null) {
+            checkOutputDir();
+            state = new S3WriteState();
+        }
+        createActionFinishedTag(state);
+        this.partOutputStream =
+                new S3PartOutputStream(
+                        amazonS3,
+                        s3Config.getBucket(),
+                        s3Config.getObject(),
+                        currentUploadId,
+                        s3Config.getPartSize(),
+                        s3Config.getMaxInFlightParts(),
+                        state.getNextPartNumber(),
+                        state.getPartETags());
+        try {
+            // 恢复checkpoint时尚未上传的数据，压缩时这部分数据已经是完整的gzip member
+            partOutputStream.write(state.getPendingBytes());
+        } catch (IOException e) {
+            throw new ChunJunRuntimeException(e);
+        }
+        if (formatState == null || formatState.getState() == null) {
+            beforeWriteRecords();
+        }
     }
 
-    private void restore() {
-        if (formatState != null && formatState.getState() != null) {
-            Tuple2<String, List<MyPartETag>> state =
-                    (Tuple2<String, List<MyPartETag>>) formatState.getState();
-            this.currentUploadId = state.f0;
-            this.myPartETags = state.f1;
+    /** 兼容旧版本保存的Tuple2(uploadId, PartETags)状态 */
+    @SuppressWarnings("unchecked")
+    private S3WriteState restore() {
+        if (formatState == null || formatState.getState() == null) {
+            return null;
         }
+        Object state = formatState.getState();
+        if (state instanceof S3WriteState) {
+            return (S3WriteState) state;
+        }
+        Tuple2<String, List<MyPartETag>> tuple = (Tuple2<String, List<MyPartETag>>) state;
+        int nextPartNumber =
+                tuple.f1.stream().mapToInt(MyPartETag::getPartNumber).max().orElse(0) + 1;
+        return new S3WriteState(tuple.f0, tuple.f1, nextPartNumber, new byte[0]);
     }
 
     private void checkOutputDir() {
@@ -102,14 +130,34 @@ public class S3OutputFormat extends BaseRichOutputFormat {
         }
     }
 
-    private void nextBlock() {
-        sw = new StringWriter();
-        this.writerUtil = new WriterUtil(sw, s3Config.getFieldDelimiter());
-        this.currentPartNumber = this.currentPartNumber + numTasks;
+    private void nextBlock() throws IOException {
+        OutputStream out = new NonClosingOutputStream(partOutputStream);
+        if (COMPRESS_GZIP.equalsIgnoreCase(s3Config.getCompress())) {
+            gzipOutputStream = new GZIPOutputStream(out);
+            out = gzipOutputStream;
+        }
+        this.writerUtil =
+                new WriterUtil(
+                        new OutputStreamWriter(out, Charset.forName(s3Config.getEncoding())),
+                        s3Config.getFieldDelimiter());
+    }
+
+    /** 把writer中缓存的数据全部写入partOutputStream，压缩时结束当前的gzip member */
+    private void finishBlock() throws IOException {
+        if (writerUtil == null) {
+            return;
+        }
+        writerUtil.flush();
+        if (gzipOutputStream != null) {
+            gzipOutputStream.finish();
+            gzipOutputStream = null;
+        }
+        writerUtil = null;
     }
 
     /** Create file multipart upload ID */
-    private void createActionFinishedTag() {
+    private void createActionFinishedTag(S3WriteState state) {
+        this.currentUploadId = state.getUploadId();
         if (!StringUtils.isNotBlank(currentUploadId)) {
             this.currentUploadId =
                     S3Util.initiateMultipartUploadAndGetId(
@@ -131,43 +179,11 @@ public class S3OutputFormat extends BaseRichOutputFormat {
         }
     }
 
-    protected void flushDataInternal() {
-        StringBuffer sb = sw.getBuffer();
-        if (sb.length() > MIN_SIZE || willClose) {
-            byte[] byteArray;
-            try {
-                byteArray = sb.toString().getBytes(s3Config.getEncoding());
-            } catch (UnsupportedEncodingException e) {
-                throw new ChunJunRuntimeException(e);
-            }
-            log.info("Upload part size：" + byteArray.length);
-            PartETag partETag =
-                    S3Util.uploadPart(
-                            amazonS3,
-                            s3Config.getBucket(),
-                            s3Config.getObject(),
-                            this.currentUploadId,
-                            this.currentPartNumber,
-                            byteArray);
-
-            MyPartETag myPartETag = new MyPartETag(partETag);
-            myPartETags.add(myPartETag);
-
-            log.debug(
-                    "task-{} upload etag:[{}]",
-                    taskNumber,
-                    myPartETags.stream().map(Objects::toString).collect(Collectors.joining(",")));
-            writerUtil.close();
-            writerUtil = null;
-        }
-    }
-
     private void completeMultipartUploadFile() {
-        if (this.currentPartNumber > 10000) {
-            throw new IllegalArgumentException("part can not bigger than 10000");
-        }
         List<PartETag> partETags =
-                myPartETags.stream().map(MyPartETag::genPartETag).collect(Collectors.toList());
+                partOutputStream.getCompletedParts().stream()
+                        .map(MyPartETag::genPartETag)
+                        .collect(Collectors.toList());
         if (partETags.size() > 0) {
             log.info(
                     "Start merging files partETags:{}",
@@ -187,12 +203,21 @@ public class S3OutputFormat extends BaseRichOutputFormat {
 
     @Override
     public void closeInternal() {
-        // Before closing the client, upload the remaining data smaller than 5M
-        willClose = true;
-        flushDataInternal();
-        completeMultipartUploadFile();
-        S3Util.closeS3(amazonS3);
-        Log.info("S3Client close!");
+        if (partOutputStream == null) {
+            return;
+        }
+        try {
+            // Before closing the client, upload the remaining data smaller than partSize
+            finishBlock();
+            partOutputStream.close();
+            completeMultipartUploadFile();
+        } catch (IOException e) {
+            throw new ChunJunRuntimeException(e);
+        } finally {
+            partOutputStream = null;
+            S3Util.closeS3(amazonS3);
+            log.info("S3Client close!");
+        }
     }
 
     @Override
@@ -203,9 +228,18 @@ public class S3OutputFormat extends BaseRichOutputFormat {
     @Override
     public FormatState getFormatState() throws Exception {
         super.getFormatState();
-        if (formatState != null) {
+        if (formatState != null && partOutputStream != null) {
+            finishBlock();
+            partOutputStream.waitForInFlightParts();
+            S3WriteState state =
+                    new S3WriteState(
+                            currentUploadId,
+                            partOutputStream.getCompletedParts(),
+                            partOutputStream.getNextPartNumber(),
+                            partOutputStream.getPendingBytes());
+            log.debug("task-{} s3 write state: {}", taskNumber, state);
             formatState.setNumOfSubTask(taskNumber);
-            formatState.setState(new Tuple2<>(currentUploadId, myPartETags));
+            formatState.setState(state);
         }
         return formatState;
     }
@@ -230,7 +264,6 @@ public class S3OutputFormat extends BaseRichOutputFormat {
                     writerUtil.write(column);
                 }
                 writerUtil.endRecord();
-                flushDataInternal();
             } catch (Exception ex) {
                 String msg = "RowData2string error RowData(" + rowData + ")";
                 throw new WriteRecordException(msg, ex, 0, rowData);
@@ -243,4 +276,22 @@ public class S3OutputFormat extends BaseRichOutputFormat {
     public void setS3Conf(S3Config s3Config) {
         this.s3Config = s3Config;
     }
+
+    /** 关闭writer时不关闭partOutputStream，partOutputStream的生命周期由S3OutputFormat管理 */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
@@ -56,6 +56,22 @@ public class S3OutputFormatBuilder extends BaseRichOutputFormatBuilder<S3OutputF
             log.info("object was not supplied separately.");
             sb.append("object was not supplied separately;\n");
         }
+        if (s3Config.getPartSize() < S3OutputFormat.MIN_PART_SIZE) {
+            sb.append(
+                    String.format(
+                            "partSize can not be smaller than %s, current partSize is [%s];\n",
+                            S3OutputFormat.MIN_PART_SIZE, s3Config.getPartSize()));
+        }
+        if (s3Config.getMaxInFlightParts() <= 0) {
+            sb.append("maxInFlightParts must be greater than 0;\n");
+        }
+        if (!S3OutputFormat.COMPRESS_NONE.equalsIgnoreCase(s3Config.getCompress())
+                && !S3OutputFormat.COMPRESS_GZIP.equalsIgnoreCase(s3Config.getCompress())) {
+            sb.append(
+                    String.format(
+                            "compress only supports none, gzip, current compress is [%s];\n",
+                            s3Config.getCompress()));
+        }
         if (speedConfig.getChannel() > 1) {
             sb.append(
                     String.format(
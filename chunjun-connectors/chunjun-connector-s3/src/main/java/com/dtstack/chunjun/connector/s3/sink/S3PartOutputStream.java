@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.s3.sink;
+
+import com.dtstack.chunjun.connector.s3.util.S3Util;
+import com.dtstack.chunjun.factory.ChunJunThreadFactory;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.PartETag;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 把写入的字节按part切分并并发上传到S3的输出流.
+ *
+ * <p>写入的数据直接放入固定大小的buffer，buffer写满partSize后交给上传线程池，同时上传的part不超过maxInFlightParts个。buffer从池中复用，
+ * 池中最多maxInFlightParts + 1个buffer，全部在上传中时写入线程阻塞，内存占用不会随数据量增长。
+ *
+ * <p>非线程安全，只能由写入线程调用，上传线程只访问已提交的buffer和已完成的part列表。
+ */
+@Slf4j
+public class S3PartOutputStream extends OutputStream {
+
+    /** S3 multipart上传的part编号必须在1到10000之间 */
+    public static final int MAX_PART_NUMBER = 10000;
+
+    private final AmazonS3 amazonS3;
+    private final String bucket;
+    private final String object;
+    private final String uploadId;
+    private final int partSize;
+
+    private final ExecutorService executor;
+    private final BlockingQueue<byte[]> freeBuffers;
+    private final int maxBuffers;
+    private int allocatedBuffers;
+    private final List<Future<?>> inFlight = new ArrayList<>();
+
+    private final List<MyPartETag> completedParts;
+    private final AtomicReference<Throwable> uploadError = new AtomicReference<>();
+
+    private byte[] buffer;
+    private int position;
+    private int nextPartNumber;
+    private boolean closed;
+
+    public S3PartOutputStream(
+            AmazonS3 amazonS3,
+            String bucket,
+            String object,
+            String uploadId,
+            int partSize,
+            int maxInFlightParts,
+            int nextPartNumber,
+            List<MyPartETag> completedParts) {
+        this.amazonS3 = amazonS3;
+        this.bucket = bucket;
+        this.object = object;
+        this.uploadId = uploadId;
+        this.partSize = partSize;
+        this.nextPartNumber = nextPartNumber;
+        this.completedParts = new ArrayList<>(completedParts);
+        this.maxBuffers = maxInFlightParts + 1;
+        this.freeBuffers = new ArrayBlockingQueue<>(maxBuffers);
+        this.executor =
+                new ThreadPoolExecutor(
+                        maxInFlightParts,
+                        maxInFlightParts,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(),
+                        new ChunJunThreadFactory("s3-part-upload"));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureBuffer();
+        buffer[position++] = (byte) b;
+        if (position == partSize) {
+            uploadCurrentPart();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensureBuffer();
+            int count = Math.min(len, partSize - position);
+            System.arraycopy(b, off, buffer, position, count);
+            position += count;
+            off += count;
+            len -= count;
+            if (position == partSize) {
+                uploadCurrentPart();
+            }
+        }
+    }
+
+    /** 等待所有已提交的part上传完成，有part上传失败时抛出异常 */
+    public void waitForInFlightParts() throws IOException {
+        for (Future<?> future : inFlight) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for part upload");
+            } catch (ExecutionException e) {
+                uploadError.compareAndSet(null, e.getCause());
+            }
+        }
+        inFlight.clear();
+        checkUploadError();
+    }
+
+    /** 已上传完成的part，按part编号排序 */
+    public List<MyPartETag> getCompletedParts() {
+        List<MyPartETag> parts;
+        synchronized (completedParts) {
+            parts = new ArrayList<>(completedParts);
+        }
+        parts.sort(Comparator.comparingInt(MyPartETag::getPartNumber));
+        return parts;
+    }
+
+    /** 当前buffer中尚未上传的数据 */
+    public byte[] getPendingBytes() {
+        return buffer == null ? new byte[0] : Arrays.copyOf(buffer, position);
+    }
+
+    public int getNextPartNumber() {
+        return nextPartNumber;
+    }
+
+    /** 上传最后一个part并等待所有part上传完成，不会完成multipart上传 */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (position > 0) {
+                uploadCurrentPart();
+            }
+            waitForInFlightParts();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void ensureBuffer() throws IOException {
+        if (closed) {
+            throw new IOException("S3PartOutputStream has already been closed");
+        }
+        if (buffer == null) {
+            buffer = takeBuffer();
+            position = 0;
+        }
+    }
+
+    private byte[] takeBuffer() throws IOException {
+        byte[] free = freeBuffers.poll();
+        if (free != null) {
+            return free;
+        }
+        if (allocatedBuffers < maxBuffers) {
+            allocatedBuffers++;
+            return new byte[partSize];
+        }
+        try {
+            // 所有buffer都在上传中，阻塞直到有part上传完成
+            return freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for a free part buffer");
+        }
+    }
+
+    private void uploadCurrentPart() throws IOException {
+        checkUploadError();
+        if (nextPartNumber > MAX_PART_NUMBER) {
+            throw new IOException(
+                    "part can not bigger than "
+                            + MAX_PART_NUMBER
+                            + ", please increase the partSize, current partSize is "
+                            + partSize);
+        }
+        final byte[] data = buffer;
+        final int length = position;
+        final int partNumber = nextPartNumber++;
+        buffer = null;
+        position = 0;
+
+        for (Iterator<Future<?>> it = inFlight.iterator(); it.hasNext(); ) {
+            if (it.next().isDone()) {
+                it.remove();
+            }
+        }
+        inFlight.add(
+                executor.submit(
+                        () -> {
+                            try {
+                                PartETag partETag =
+                                        S3Util.uploadPart(
+                                                amazonS3,
+                                                bucket,
+                                                object,
+                                                uploadId,
+                                                partNumber,
+                                                data,
+                                                length);
+                                synchronized (completedParts) {
+                                    completedParts.add(new MyPartETag(partETag));
+                                }
+                                log.info("upload part {} finished, size: {}", partNumber, length);
+                            } catch (Throwable t) {
+                                uploadError.compareAndSet(null, t);
+                            } finally {
+                                freeBuffers.offer(data);
+                            }
+                        }));
+    }
+
+    private void checkUploadError() throws IOException {
+        Throwable t = uploadError.get();
+        if (t != null) {
+            throw new IOException("upload part to s3 failed, object: " + object, t);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.s3.sink;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/** S3 multipart上传在checkpoint时保存的状态 */
+@Getter
+@Setter
+@ToString
+public class S3WriteState implements Serializable {
+
+    private static final long serialVersionUID = 3546386235410235372L;
+
+    private String uploadId;
+
+    /** 已上传完成的part */
+    private List<MyPartETag> partETags = new ArrayList<>();
+
+    /** 下一个part的编号 */
+    private int nextPartNumber = 1;
+
+    /** 尚未凑满一个part、还未上传的数据 */
+    @ToString.Exclude private byte[] pendingBytes = new byte[0];
+
+    public S3WriteState() {}
+
+    public S3WriteState(
+            String uploadId, List<MyPartETag> partETags, int nextPartNumber, byte[] pendingBytes) {
+        this.uploadId = uploadId;
+        this.partETags = partETags;
+        this.nextPartNumber = nextPartNumber;
+        this.pendingBytes = pendingBytes;
+    }
+}
@@ -20,14 +20,19 @@ package com.dtstack.chunjun.connector.s3.source;
 
 import com.dtstack.chunjun.config.RestoreConfig;
 import com.dtstack.chunjun.connector.s3.config.S3Config;
+import com.dtstack.chunjun.connector.s3.converter.S3SyncConverter;
+import com.dtstack.chunjun.connector.s3.util.ByteRecordReader;
 import com.dtstack.chunjun.connector.s3.util.ReaderUtil;
+import com.dtstack.chunjun.connector.s3.util.RecordReader;
 import com.dtstack.chunjun.connector.s3.util.S3SimpleObject;
 import com.dtstack.chunjun.connector.s3.util.S3Util;
 import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.source.format.BaseRichInputFormat;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.ReadRecordException;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
 import com.dtstack.chunjun.util.GsonUtil;
+import com.dtstack.chunjun.util.TextSplitUtil;
 
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.table.data.RowData;
@@ -40,8 +45,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -57,14 +66,14 @@ public class S3InputFormat extends BaseRichInputFormat {
     private static final long serialVersionUID = -3217513386563100062L;
 
     private S3Config s3Config;
-    private Iterator<String> splits;
+    private Iterator<S3ObjectRange> splits;
 
     private transient AmazonS3 amazonS3;
 
     private transient String currentObject;
     private transient Map<String, Long> offsetMap;
 
-    private transient ReaderUtil readerUtil = null;
+    private transient RecordReader readerUtil = null;
 
     private RestoreConfig restoreConf;
 
@@ -77,29 +86,30 @@ public class S3InputFormat extends BaseRichInputFormat {
     protected void openInternal(InputSplit split) {
         amazonS3 = S3Util.getS3Client(s3Config);
         S3InputSplit inputSplit = (S3InputSplit) split;
-        List<String> splitsList = inputSplit.getSplits();
-        LinkedList<String> result = new LinkedList<>();
-        if (restoreConf.isRestore()
+        List<S3ObjectRange> splitsList = inputSplit.getSplits();
+        LinkedList<S3ObjectRange> result = new LinkedList<>();
+        if (isRestore()
                 && formatState != null
                 && formatState.getState() != null
                 && formatState.getState() instanceof Map) {
             offsetMap = (Map) formatState.getState();
             for (int i = 0; i < splitsList.size(); i++) {
-                String object = splitsList.get(i);
+                S3ObjectRange object = splitsList.get(i);
+                String key = object.getKey();
                 if (i % inputSplit.getTotalNumberOfSplits() == indexOfSubTask) {
-                    if (offsetMap.containsKey(object) && 0 < offsetMap.get(object)) {
+                    if (offsetMap.containsKey(key) && 0 < offsetMap.get(key)) {
                         result.addFirst(object);
-                    } else if (!offsetMap.containsKey(object) || 0 == offsetMap.get(object)) {
+                    } else if (!offsetMap.containsKey(key) || 0 == offsetMap.get(key)) {
                         result.add(object);
                     }
                 }
             }
         } else {
-            if (restoreConf.isRestore()) {
+            if (isRestore()) {
                 offsetMap = new ConcurrentHashMap<>(inputSplit.getSplits().size());
             }
             for (int i = 0; i < splitsList.size(); i++) {
-                String object = splitsList.get(i);
+                S3ObjectRange object = splitsList.get(i);
                 if (i % inputSplit.getTotalNumberOfSplits() == inputSplit.getSplitNumber()) {
                     result.add(object);
                 }
@@ -119,29 +129,88 @@ public class S3InputFormat extends BaseRichInputFormat {
                             + s3Config.getObjects());
         }
         log.info("read file {}", GsonUtil.GSON.toJson(objects));
-        List<String> keys = new ArrayList<>();
-        for (S3SimpleObject object : objects) {
-            keys.add(object.getKey());
+        List<S3ObjectRange> ranges = new ArrayList<>();
+        if (isRangeSplitEnabled(minNumSplits)) {
+            AmazonS3 client = S3Util.getS3Client(s3Config);
+            try {
+                for (S3SimpleObject object : objects) {
+                    ranges.addAll(splitObject(client, object.getKey()));
+                }
+            } catch (IOException e) {
+                throw new ChunJunRuntimeException("split objects error", e);
+            } finally {
+                S3Util.closeS3(client);
+            }
+        } else {
+            for (S3SimpleObject object : objects) {
+                ranges.add(S3ObjectRange.wholeObject(object.getKey()));
+            }
         }
         S3InputSplit[] splits = new S3InputSplit[minNumSplits];
         for (int i = 0; i < minNumSplits; i++) {
-            splits[i] = new S3InputSplit(i, minNumSplits, keys);
+            splits[i] = new S3InputSplit(i, minNumSplits, ranges);
         }
         return splits;
     }
 
+    /** 断点续传按object记录读取的偏移量，无法与字节范围切分同时使用；换行符编码为多个字节时（如UTF-16）无法按字节查找切分点 */
+    private boolean isRangeSplitEnabled(int minNumSplits) {
+        return minNumSplits > 1
+                && s3Config.getSplitSize() > 0
+                && !isRestore()
+                && "\n".getBytes(Charset.forName(s3Config.getEncoding())).length == 1;
+    }
+
+    /** 超过splitSize的object按字节范围切分，切分点对齐到行的起始位置 */
+    private List<S3ObjectRange> splitObject(AmazonS3 client, String key) throws IOException {
+        long size = S3Util.getFileSize(client, s3Config.getBucket(), key);
+        if (size <= s3Config.getSplitSize()) {
+            return Collections.singletonList(S3ObjectRange.wholeObject(key));
+        }
+        Charset charset = Charset.forName(s3Config.getEncoding());
+        int splitNum = (int) Math.min(Integer.MAX_VALUE, (size - 1) / s3Config.getSplitSize() + 1);
+        long[] points =
+                TextSplitUtil.computeSplitPoints(
+                        size,
+                        splitNum,
+                        position ->
+                                client.getObject(
+                                                new GetObjectRequest(s3Config.getBucket(), key)
+                                                        .withRange(
+                                                                position,
+                                                                position
+                                                                        + TextSplitUtil
+                                                                                .DEFAULT_SCAN_BYTES
+                                                                        - 1))
+                                        .getObjectContent(),
+                        "\n".getBytes(charset),
+                        String.valueOf(s3Config.getFieldDelimiter()).getBytes(charset),
+                        TextSplitUtil.NO_QUOTE,
+                        TextSplitUtil.DEFAULT_SCAN_BYTES);
+        List<S3ObjectRange> ranges = new ArrayList<>(points.length - 1);
+        for (int i = 0; i < points.length - 1; i++) {
+            ranges.add(new S3ObjectRange(key, points[i], points[i + 1]));
+        }
+        log.info("split object {} into {} ranges", key, ranges.size());
+        return ranges;
+    }
+
     @Override
     protected RowData nextRecordInternal(RowData rowData) throws ReadRecordException {
-        String[] fields;
         try {
-            fields = readerUtil.getValues();
-            rowData = rowConverter.toInternal(fields);
+            if (readerUtil instanceof ByteRecordReader && rowConverter instanceof S3SyncConverter) {
+                rowData =
+                        ((S3SyncConverter) rowConverter)
+                                .toInternal(((ByteRecordReader) readerUtil).getTokenizer());
+            } else {
+                rowData = rowConverter.toInternal(readerUtil.getValues());
+            }
         } catch (IOException e) {
             throw new ChunJunRuntimeException(e);
         } catch (Exception e) {
             throw new ReadRecordException("", e, 0, rowData);
         }
-        if (restoreConf.isRestore()) {
+        if (isRestore()) {
             offsetMap.replace(currentObject, readerUtil.getNextOffset());
         }
         return rowData;
@@ -169,11 +238,24 @@ public class S3InputFormat extends BaseRichInputFormat {
         if (readerUtil == null) {
             if (splits.hasNext()) {
                 // If there is a new file, read the new file
-                currentObject = splits.next();
+                S3ObjectRange range = splits.next();
+                currentObject = range.getKey();
                 GetObjectRequest rangeObjectRequest =
                         new GetObjectRequest(s3Config.getBucket(), currentObject);
-                log.info("Current read file {}", currentObject);
-                if (restoreConf.isRestore()
+                log.info("Current read file {}", range);
+                if (!range.isWholeObject()) {
+                    // 读取object的一个字节范围，范围的起止位置都是行的起始位置
+                    if (range.getEnd() < 0) {
+                        rangeObjectRequest.setRange(range.getStart());
+                    } else {
+                        rangeObjectRequest.setRange(range.getStart(), range.getEnd() - 1);
+                    }
+                    S3Object o = amazonS3.getObject(rangeObjectRequest);
+                    readerUtil = createRecordReader(o.getObjectContent(), range.getStart());
+                    if (range.getStart() == 0 && s3Config.isFirstLineHeader()) {
+                        readerUtil.readHeaders();
+                    }
+                } else if (isRestore()
                         && offsetMap.containsKey(currentObject)
                         && 0 <= offsetMap.get(currentObject)) {
                     // If the breakpoint resume is turned on, it means that the file has been read
@@ -183,28 +265,18 @@ public class S3InputFormat extends BaseRichInputFormat {
                     S3Object o = amazonS3.getObject(rangeObjectRequest);
 
                     S3ObjectInputStream s3is = o.getObjectContent();
-                    readerUtil =
-                            new ReaderUtil(
-                                    new InputStreamReader(s3is, s3Config.getEncoding()),
-                                    s3Config.getFieldDelimiter(),
-                                    offset,
-                                    s3Config.isSafetySwitch());
+                    readerUtil = createRecordReader(s3is, offset);
                     offsetMap.put(currentObject, offset);
                 } else {
                     // The resumable upload is not enabled or the resumable upload is enabled but
                     // the file has not been read
                     S3Object o = amazonS3.getObject(rangeObjectRequest);
                     S3ObjectInputStream s3is = o.getObjectContent();
-                    readerUtil =
-                            new ReaderUtil(
-                                    new InputStreamReader(s3is, s3Config.getEncoding()),
-                                    s3Config.getFieldDelimiter(),
-                                    0L,
-                                    s3Config.isSafetySwitch());
+                    readerUtil = createRecordReader(s3is, 0L);
                     if (s3Config.isFirstLineHeader()) {
                         readerUtil.readHeaders();
                     }
-                    if (restoreConf.isRestore()) {
+                    if (isRestore()) {
                         offsetMap.put(currentObject, readerUtil.getNextOffset());
                     }
                 }
@@ -220,7 +292,7 @@ public class S3InputFormat extends BaseRichInputFormat {
             // After reading the file read this time, close br and clear it
             readerUtil.close();
             readerUtil = null;
-            if (restoreConf.isRestore()) {
+            if (isRestore()) {
                 offsetMap.replace(currentObject, -1L);
             }
             // try to read the new file
@@ -228,6 +300,24 @@ public class S3InputFormat extends BaseRichInputFormat {
         }
     }
 
+    /**
+     * 未开启safetySwitch且编码支持按字节切分时按字节读取记录，字段按需解码；否则使用ReaderUtil按字符解析.
+     *
+     * @param offset 流的起始位置在object中的偏移量
+     */
+    private RecordReader createRecordReader(InputStream in, long offset)
+            throws UnsupportedEncodingException {
+        Charset charset = Charset.forName(s3Config.getEncoding());
+        if (!s3Config.isSafetySwitch() && DelimitedTextTokenizer.isSupported(charset)) {
+            return new ByteRecordReader(in, s3Config.getFieldDelimiter(), charset, offset);
+        }
+        return new ReaderUtil(
+                new InputStreamReader(in, s3Config.getEncoding()),
+                s3Config.getFieldDelimiter(),
+                offset,
+                s3Config.isSafetySwitch());
+    }
+
     @Override
     public FormatState getFormatState() {
         super.getFormatState();
@@ -237,6 +327,10 @@ public class S3InputFormat extends BaseRichInputFormat {
         return formatState;
     }
 
+    private boolean isRestore() {
+        return restoreConf != null && restoreConf.isRestore();
+    }
+
     public List<S3SimpleObject> resolveObjects() {
         String bucket = s3Config.getBucket();
         Set<S3SimpleObject> resolved = new HashSet<>();
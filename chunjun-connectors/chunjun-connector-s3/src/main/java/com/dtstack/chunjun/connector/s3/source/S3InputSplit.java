@@ -29,7 +29,7 @@ public class S3InputSplit extends GenericInputSplit {
 
     private static final long serialVersionUID = 8350870573057970895L;
 
-    private final List<String> splits;
+    private final List<S3ObjectRange> splits;
 
     /**
      * Creates a generic input split with the given split number.
@@ -37,7 +37,8 @@ public class S3InputSplit extends GenericInputSplit {
      * @param partitionNumber The number of the split's partition.
      * @param totalNumberOfPartitions The total number of the splits (partitions).
      */
-    public S3InputSplit(int partitionNumber, int totalNumberOfPartitions, List<String> splits) {
+    public S3InputSplit(
+            int partitionNumber, int totalNumberOfPartitions, List<S3ObjectRange> splits) {
         super(partitionNumber, totalNumberOfPartitions);
         this.splits = splits;
     }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.s3.source;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/** 读取的object及其字节范围[start, end)，end小于0表示读取到object末尾 */
+@Data
+@AllArgsConstructor
+public class S3ObjectRange implements Serializable {
+
+    private static final long serialVersionUID = 2871516419612331027L;
+
+    private String key;
+
+    private long start;
+
+    private long end;
+
+    public static S3ObjectRange wholeObject(String key) {
+        return new S3ObjectRange(key, 0L, -1L);
+    }
+
+    public boolean isWholeObject() {
+        return start == 0 && end < 0;
+    }
+}
@@ -58,6 +58,7 @@ public class S3DynamicTableFactory implements DynamicTableSourceFactory, Dynamic
         s3Config.setEncoding(options.get(S3Options.ENCODING));
         s3Config.setRegion(options.get(S3Options.REGION));
         s3Config.setFirstLineHeader(options.get(S3Options.IS_FIRST_LINE_HEADER));
+        s3Config.setSplitSize(options.get(S3Options.SPLIT_SIZE));
 
         return new S3DynamicTableSource(context.getCatalogTable().getResolvedSchema(), s3Config);
     }
@@ -85,6 +86,10 @@ public class S3DynamicTableFactory implements DynamicTableSourceFactory, Dynamic
         options.add(S3Options.IS_FIRST_LINE_HEADER);
         options.add(S3Options.OBJECTS);
         options.add(S3Options.OBJECT);
+        options.add(S3Options.SPLIT_SIZE);
+        options.add(S3Options.PART_SIZE);
+        options.add(S3Options.MAX_IN_FLIGHT_PARTS);
+        options.add(S3Options.COMPRESS);
         return options;
     }
 
@@ -105,6 +110,9 @@ public class S3DynamicTableFactory implements DynamicTableSourceFactory, Dynamic
         s3Config.setEncoding(options.get(S3Options.ENCODING));
         s3Config.setRegion(options.get(S3Options.REGION));
         s3Config.setFirstLineHeader(options.get(S3Options.IS_FIRST_LINE_HEADER));
+        s3Config.setPartSize(options.get(S3Options.PART_SIZE));
+        s3Config.setMaxInFlightParts(options.get(S3Options.MAX_IN_FLIGHT_PARTS));
+        s3Config.setCompress(options.get(S3Options.COMPRESS));
 
         return new S3DynamicTableSink(context.getCatalogTable().getResolvedSchema(), s3Config);
     }
@@ -68,4 +68,30 @@ public class S3Options {
                     .defaultValue(false)
                     .withDescription(
                             "whether the first line is a header line, if so, the first line is not read");
+
+    public static final ConfigOption<Long> SPLIT_SIZE =
+            key("splitSize")
+                    .longType()
+                    .defaultValue(128 * 1024 * 1024L)
+                    .withDescription(
+                            "objects larger than this size are read in parallel by byte ranges, not split if less than or equal to 0");
+
+    public static final ConfigOption<Integer> PART_SIZE =
+            key("partSize")
+                    .intType()
+                    .defaultValue(25 * 1024 * 1024)
+                    .withDescription(
+                            "the size of each part uploaded by the writer, can not be smaller than 5MB");
+
+    public static final ConfigOption<Integer> MAX_IN_FLIGHT_PARTS =
+            key("maxInFlightParts")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription("the max number of parts uploaded concurrently by the writer");
+
+    public static final ConfigOption<String> COMPRESS =
+            key("compress")
+                    .stringType()
+                    .defaultValue("none")
+                    .withDescription("the compression of the written object, supports none, gzip");
 }
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.s3.util;
+
+import com.dtstack.chunjun.util.ByteLineReader;
+import com.dtstack.chunjun.util.DelimitedTextTokenizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 按字节读取记录，字段不解码为String，由{@link #getTokenizer()}按需读取.
+ *
+ * <p>结果与不识别文本限定符的{@link ReaderUtil}一致：\r、\n和\r\n都是记录分隔符，跳过空行，去掉字段首尾的空格和制表符。 只适用于{@link
+ * DelimitedTextTokenizer#isSupported(Charset)}的字符集；偏移量按字节计算。
+ */
+@Slf4j
+public class ByteRecordReader implements RecordReader {
+
+    private final ByteLineReader lineReader;
+    private final DelimitedTextTokenizer tokenizer;
+    private final long startOffset;
+
+    public ByteRecordReader(InputStream in, char delimiter, Charset charset, long startOffset) {
+        this.lineReader = new ByteLineReader(in);
+        this.tokenizer = new DelimitedTextTokenizer(String.valueOf(delimiter), charset);
+        this.startOffset = startOffset;
+    }
+
+    @Override
+    public void readHeaders() throws IOException {
+        readRecord();
+    }
+
+    @Override
+    public boolean readRecord() throws IOException {
+        while (lineReader.readLine()) {
+            if (lineReader.getLength() > 0) {
+                tokenizer.tokenize(
+                        lineReader.getBytes(), lineReader.getOffset(), lineReader.getLength());
+                tokenizer.trimWhitespace();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 已切分当前记录的tokenizer，只在下一次readRecord之前有效 */
+    public DelimitedTextTokenizer getTokenizer() {
+        return tokenizer;
+    }
+
+    @Override
+    public String[] getValues() {
+        return tokenizer.toStringArray();
+    }
+
+    @Override
+    public long getNextOffset() {
+        return startOffset + lineReader.getBytesRead();
+    }
+
+    @Override
+    public void close() {
+        try {
+            lineReader.close();
+        } catch (IOException e) {
+            log.warn("close object stream failed", e);
+        }
+    }
+}
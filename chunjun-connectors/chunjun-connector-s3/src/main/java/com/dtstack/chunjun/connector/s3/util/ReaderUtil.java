@@ -36,7 +36,7 @@ import java.text.NumberFormat;
 import java.util.HashMap;
 
 /** A stream based parser for parsing delimited text data from a file or a stream. */
-public class ReaderUtil {
+public class ReaderUtil implements RecordReader {
 
     private long nextOffset;
 
@@ -425,6 +425,7 @@ public class ReaderUtil {
         }
     }
 
+    @Override
     public String[] getValues() throws IOException {
         checkClosed();
 
@@ -479,6 +480,7 @@ public class ReaderUtil {
      * @return Whether another record was successfully read or not.
      * @throws IOException Thrown if an error occurs while reading data from the source stream.
      */
+    @Override
     public boolean readRecord() throws IOException {
         checkClosed();
 
@@ -1145,6 +1147,7 @@ public class ReaderUtil {
      *
      * @throws IOException Thrown if an error occurs while reading data from the source stream.
      */
+    @Override
     public void readHeaders() throws IOException {
         boolean result = readRecord();
 
@@ -1444,6 +1447,7 @@ public class ReaderUtil {
     }
 
     /** Closes and releases all related resources. */
+    @Override
     public void close() {
         if (!closed) {
             close(true);
@@ -1668,6 +1672,7 @@ public class ReaderUtil {
         public static final int INITIAL_COLUMN_BUFFER_SIZE = 50;
     }
 
+    @Override
     public long getNextOffset() {
         return nextOffset;
     }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.connector.s3.util;
+
+import java.io.IOException;
+
+/** 按记录读取object中的分隔文本 */
+public interface RecordReader {
+
+    /** 跳过首行表头 */
+    void readHeaders() throws IOException;
+
+    /**
+     * 读取下一条记录.
+     *
+     * @return 已读到流的末尾时返回false
+     */
+    boolean readRecord() throws IOException;
+
+    /** 当前记录的所有字段 */
+    String[] getValues() throws IOException;
+
+    /** 下一条记录在object中的起始位置，用于断点续传 */
+    long getNextOffset();
+
+    void close();
+}
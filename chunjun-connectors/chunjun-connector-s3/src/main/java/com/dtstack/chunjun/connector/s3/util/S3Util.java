@@ -32,7 +32,6 @@ import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
-import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
@@ -218,7 +217,19 @@ public class S3Util {
             String uploadId,
             int partNumber,
             byte[] data) {
-        InputStream inputStream = new ByteArrayInputStream(data);
+        return uploadPart(s3Client, bucketName, object, uploadId, partNumber, data, data.length);
+    }
+
+    /** 上传data的前length个字节，用于上传复用的buffer */
+    public static PartETag uploadPart(
+            AmazonS3 s3Client,
+            String bucketName,
+            String object,
+            String uploadId,
+            int partNumber,
+            byte[] data,
+            int length) {
+        InputStream inputStream = new ByteArrayInputStream(data, 0, length);
 
         UploadPartRequest uploadRequest =
                 new UploadPartRequest()
@@ -227,7 +238,7 @@ public class S3Util {
                         .withUploadId(uploadId)
                         .withPartNumber(partNumber)
                         .withInputStream(inputStream)
-                        .withPartSize(data.length);
+                        .withPartSize(length);
         UploadPartResult uploadResult = s3Client.uploadPart(uploadRequest);
         return uploadResult.getPartETag();
     }
@@ -250,7 +261,6 @@ public class S3Util {
     }
 
     public static long getFileSize(AmazonS3 s3Client, String bucketName, String keyName) {
-        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, keyName);
-        return s3Client.getObject(getObjectRequest).getObjectMetadata().getInstanceLength();
+        return s3Client.getObjectMetadata(bucketName, keyName).getInstanceLength();
     }
 }
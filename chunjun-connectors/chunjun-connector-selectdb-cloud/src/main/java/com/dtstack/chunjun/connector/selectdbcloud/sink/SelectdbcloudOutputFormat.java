@@ -57,6 +57,11 @@ public class SelectdbcloudOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    @Override
+    protected boolean supportsAsyncFlush() {
+        return false;
+    }
+
     @Override
     public synchronized void writeRecord(RowData rowData) {
         checkTimerWriteException();
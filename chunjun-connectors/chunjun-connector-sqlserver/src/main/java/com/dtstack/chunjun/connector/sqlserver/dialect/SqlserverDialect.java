@@ -20,7 +20,10 @@ package com.dtstack.chunjun.connector.sqlserver.dialect;
 
 import com.dtstack.chunjun.config.CommonConfig;
 import com.dtstack.chunjun.config.TypeConfig;
+import com.dtstack.chunjun.connector.jdbc.config.JdbcConfig;
 import com.dtstack.chunjun.connector.jdbc.dialect.JdbcDialect;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.SimpleStatementWrapper;
 import com.dtstack.chunjun.connector.jdbc.source.JdbcInputSplit;
 import com.dtstack.chunjun.connector.jdbc.statement.FieldNamedPreparedStatement;
 import com.dtstack.chunjun.connector.jdbc.util.JdbcUtil;
@@ -33,6 +36,7 @@ import com.dtstack.chunjun.connector.sqlserver.converter.SqlserverJtdsSyncConver
 import com.dtstack.chunjun.connector.sqlserver.converter.SqlserverMicroSoftRawTypeMapper;
 import com.dtstack.chunjun.connector.sqlserver.converter.SqlserverMicroSoftSqlConverter;
 import com.dtstack.chunjun.connector.sqlserver.converter.SqlserverMicroSoftSyncConverter;
+import com.dtstack.chunjun.connector.sqlserver.sink.SqlserverBulkCopyWrapper;
 import com.dtstack.chunjun.connector.sqlserver.util.increment.SqlserverTimestampTypeUtil;
 import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.converter.RawTypeMapper;
@@ -40,6 +44,7 @@ import com.dtstack.chunjun.enums.ColumnType;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 
 import org.apache.flink.api.java.tuple.Tuple3;
+import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 
@@ -49,7 +54,9 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigInteger;
+import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -172,6 +179,51 @@ public class SqlserverDialect implements JdbcDialect {
                 quoteIdentifier(splitPkName), split.getTotalNumberOfSplits(), split.getMod());
     }
 
+    @Override
+    public boolean supportMultiValuesInsert() {
+        return true;
+    }
+
+    /** sqlserver一条语句最多2100个参数，VALUES最多1000行 */
+    @Override
+    public int getMaxMultiValuesParameters() {
+        return 2000;
+    }
+
+    @Override
+    public int getMaxMultiValuesRows() {
+        return 1000;
+    }
+
+    /** microsoft驱动使用bulk copy写入，jtds驱动不支持 */
+    @Override
+    public JdbcBatchStatementWrapper<RowData> getBulkInsertWrapper(
+            Connection connection,
+            JdbcConfig jdbcConfig,
+            String[] fieldNames,
+            AbstractRowConverter rowConverter)
+            throws SQLException {
+        if (useJtdsDriver) {
+            return null;
+        }
+        String schema = jdbcConfig.getSchema();
+        String table = jdbcConfig.getTable();
+        SimpleStatementWrapper insertWrapper =
+                new SimpleStatementWrapper(
+                        FieldNamedPreparedStatement.prepareStatement(
+                                connection,
+                                getInsertIntoStatement(schema, table, fieldNames),
+                                fieldNames),
+                        rowConverter);
+        return new SqlserverBulkCopyWrapper(
+                connection,
+                buildTableInfoWithSchema(schema, table),
+                fieldNames,
+                getSelectFromStatement(schema, table, null, fieldNames, "1 = 0"),
+                rowConverter,
+                insertWrapper);
+    }
+
     @Override
     public boolean supportUpsert() {
         return true;
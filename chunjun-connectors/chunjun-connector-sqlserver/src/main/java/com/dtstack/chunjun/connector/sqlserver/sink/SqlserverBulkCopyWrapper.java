@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.connector.sqlserver.sink;
+
+import com.dtstack.chunjun.connector.jdbc.sink.wrapper.JdbcBatchStatementWrapper;
+import com.dtstack.chunjun.connector.jdbc.statement.RowValuesCollector;
+import com.dtstack.chunjun.converter.AbstractRowConverter;
+
+import org.apache.flink.table.data.RowData;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 通过{@link SQLServerBulkCopy}写入一批数据，整批数据作为一次bulk insert发送，不再逐行执行INSERT语句. 只支持microsoft驱动.
+ *
+ * <p>写入行为与INSERT语句保持一致：检查约束、执行触发器、写入identity列的值、null值不使用列的默认值。单条写入时仍使用INSERT语句，批量写入失败后逐条写入能定位到脏数据
+ */
+public class SqlserverBulkCopyWrapper implements JdbcBatchStatementWrapper<RowData> {
+
+    private final String tableName;
+    private final String[] fieldNames;
+    private final String metadataQuery;
+    private final AbstractRowConverter rowConverter;
+    private final JdbcBatchStatementWrapper<RowData> insertWrapper;
+    private final RowValuesCollector collector;
+
+    private Connection connection;
+    private final List<Object[]> buffer = new ArrayList<>();
+
+    /** 目标表中写入列的类型、精度和小数位数，首次写入时读取 */
+    private int[] columnTypes;
+
+    private int[] precisions;
+    private int[] scales;
+
+    /**
+     * @param tableName 带schema并已引用的表名
+     * @param metadataQuery 按fieldNames的顺序查询写入列且不返回数据的语句，用于读取列类型
+     * @param insertWrapper 单条写入时使用的INSERT语句
+     */
+    public SqlserverBulkCopyWrapper(
+            Connection connection,
+            String tableName,
+            String[] fieldNames,
+            String metadataQuery,
+            AbstractRowConverter rowConverter,
+            JdbcBatchStatementWrapper<RowData> insertWrapper) {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.fieldNames = fieldNames;
+        this.metadataQuery = metadataQuery;
+        this.rowConverter = rowConverter;
+        this.insertWrapper = insertWrapper;
+        this.collector = new RowValuesCollector(fieldNames.length);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addToBatch(RowData record) throws Exception {
+        collector.nextRow();
+        rowConverter.toExternal(record, collector);
+        buffer.add(collector.getValues());
+    }
+
+    @Override
+    public void executeBatch() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        if (columnTypes == null) {
+            readColumnMetadata();
+        }
+        // 连接上未提交的事务中执行，由JdbcOutputFormat提交或回滚
+        try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection)) {
+            SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+            options.setCheckConstraints(true);
+            options.setFireTriggers(true);
+            options.setKeepIdentity(true);
+            options.setKeepNulls(true);
+            bulkCopy.setBulkCopyOptions(options);
+            bulkCopy.setDestinationTableName(tableName);
+            for (int i = 0; i < fieldNames.length; i++) {
+                bulkCopy.addColumnMapping(i + 1, fieldNames[i]);
+            }
+            bulkCopy.writeToServer(new BufferedBulkData());
+        }
+        buffer.clear();
+    }
+
+    private void readColumnMetadata() throws SQLException {
+        int[] types = new int[fieldNames.length];
+        int[] precision = new int[fieldNames.length];
+        int[] scale = new int[fieldNames.length];
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(metadataQuery)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = 0; i < fieldNames.length; i++) {
+                types[i] = metaData.getColumnType(i + 1);
+                precision[i] = metaData.getPrecision(i + 1);
+                scale[i] = metaData.getScale(i + 1);
+            }
+        }
+        columnTypes = types;
+        precisions = precision;
+        scales = scale;
+    }
+
+    /** 缓存中的数据，列序号从1开始，列类型与目标表一致 */
+    private class BufferedBulkData implements ISQLServerBulkData {
+
+        private static final long serialVersionUID = 1L;
+
+        private int cursor = -1;
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            Set<Integer> ordinals = new LinkedHashSet<>();
+            for (int i = 1; i <= fieldNames.length; i++) {
+                ordinals.add(i);
+            }
+            return ordinals;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return fieldNames[column - 1];
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return columnTypes[column - 1];
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return precisions[column - 1];
+        }
+
+        @Override
+        public int getScale(int column) {
+            return scales[column - 1];
+        }
+
+        @Override
+        public Object[] getRowData() {
+            return buffer.get(cursor);
+        }
+
+        @Override
+        public boolean next() {
+            return ++cursor < buffer.size();
+        }
+    }
+
+    @Override
+    public void writeSingleRecord(RowData record) throws Exception {
+        insertWrapper.writeSingleRecord(record);
+    }
+
+    @Override
+    public ResultSet executeQuery(RowData record) {
+        throw new UnsupportedOperationException("executeQuery is not supported");
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        insertWrapper.clearParameters();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        insertWrapper.close();
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        buffer.clear();
+        insertWrapper.clearBatch();
+    }
+
+    @Override
+    public void reOpen(Connection connection) throws SQLException {
+        this.connection = connection;
+        insertWrapper.reOpen(connection);
+    }
+
+    @Override
+    public void clearStatementCache() {}
+}
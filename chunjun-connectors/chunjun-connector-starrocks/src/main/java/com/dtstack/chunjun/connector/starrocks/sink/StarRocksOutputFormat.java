@@ -137,6 +137,11 @@ public class StarRocksOutputFormat extends BaseRichOutputFormat {
         }
     }
 
+    @Override
+    protected boolean supportsAsyncFlush() {
+        return false;
+    }
+
     @Override
     public synchronized void writeRecord(RowData rowData) {
         checkTimerWriteException();
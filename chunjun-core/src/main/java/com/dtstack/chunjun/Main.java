@@ -55,7 +55,6 @@ import com.dtstack.chunjun.util.TableUtil;
 
 import org.apache.flink.api.common.JobExecutionResult;
 import org.apache.flink.api.common.RuntimeExecutionMode;
-import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.core.execution.JobClient;
 import org.apache.flink.runtime.clusterframework.ApplicationStatus;
 import org.apache.flink.runtime.entrypoint.ClusterEntrypoint;
@@ -64,15 +63,11 @@ import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSink;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
-import org.apache.flink.table.api.Schema;
 import org.apache.flink.table.api.StatementSet;
 import org.apache.flink.table.api.Table;
 import org.apache.flink.table.api.TableResult;
 import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
 import org.apache.flink.table.data.RowData;
-import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
-import org.apache.flink.table.types.DataType;
-import org.apache.flink.table.types.logical.RowType;
 
 import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
@@ -248,13 +243,7 @@ public class Main {
             StreamTableEnvironment tableEnv,
             SyncConfig config,
             DataStream<RowData> sourceDataStream) {
-        Schema.Builder builder = Schema.newBuilder();
-        for (RowType.RowField rowField :
-                ((InternalTypeInfo<?>) sourceDataStream.getType()).toRowType().getFields()) {
-            builder.column(rowField.getName(), rowField.getType().asSerializableString());
-        }
-
-        Table sourceTable = tableEnv.fromDataStream(sourceDataStream, builder.build());
+        Table sourceTable = TableUtil.fromChangelogStream(tableEnv, sourceDataStream);
 
         checkTableConfig(config.getReader());
         tableEnv.createTemporaryView(config.getReader().getTable().getTableName(), sourceTable);
@@ -262,12 +251,7 @@ public class Main {
         String transformSql = config.getJob().getTransformer().getTransformSql();
         Table adaptTable = tableEnv.sqlQuery(transformSql);
 
-        DataType[] tableDataTypes = adaptTable.getSchema().getFieldDataTypes();
-        String[] tableFieldNames = adaptTable.getSchema().getFieldNames();
-        TypeInformation<? extends RowData> typeInformation =
-                TableUtil.getTypeInformation(tableDataTypes, tableFieldNames);
-        DataStream<RowData> dataStream =
-                tableEnv.toRetractStream(adaptTable, typeInformation).map(f -> f.f1);
+        DataStream<RowData> dataStream = TableUtil.toChangelogStream(tableEnv, adaptTable);
 
         checkTableConfig(config.getWriter());
         tableEnv.createTemporaryView(config.getWriter().getTable().getTableName(), dataStream);
@@ -42,6 +42,9 @@ public class CdcConfig implements Serializable {
     /** worker线程池的最大容量 */
     private int workerMax = 3;
 
+    /** worker与dispatcher线程之间交接队列的容量，队列已满时worker等待 */
+    private int dispatchQueueSize = 1024;
+
     private int bathSize = 1000;
 
     private long maxBytes = 1024 * 1024 * 1024;
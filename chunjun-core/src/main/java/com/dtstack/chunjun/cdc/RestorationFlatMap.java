@@ -21,12 +21,16 @@ package com.dtstack.chunjun.cdc;
 import com.dtstack.chunjun.cdc.ddl.definition.TableIdentifier;
 import com.dtstack.chunjun.cdc.handler.CacheHandler;
 import com.dtstack.chunjun.cdc.handler.DDLHandler;
+import com.dtstack.chunjun.cdc.worker.RowDispatcher;
 import com.dtstack.chunjun.cdc.worker.WorkerManager;
+import com.dtstack.chunjun.constants.Metrics;
 import com.dtstack.chunjun.element.ColumnRowData;
 import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 
 import org.apache.flink.api.common.functions.RichFlatMapFunction;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.StringData;
 import org.apache.flink.util.Collector;
@@ -54,6 +58,19 @@ public class RestorationFlatMap extends RichFlatMapFunction<RowData, RowData> {
     public void open(Configuration parameters) throws Exception {
         workerManager.open();
         chamberlain.open();
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        RowDispatcher dispatcher = workerManager.getDispatcher();
+        MetricGroup metricGroup =
+                getRuntimeContext().getMetricGroup().addGroup(Metrics.METRIC_GROUP_KEY_CHUNJUN);
+        metricGroup.gauge(
+                Metrics.CDC_DISPATCH_QUEUE_DEPTH, (Gauge<Integer>) dispatcher::getQueueDepth);
+        metricGroup.gauge(
+                Metrics.CDC_DISPATCH_BLOCKED_COUNT, (Gauge<Long>) dispatcher::getBlockedCount);
+        metricGroup.gauge(
+                Metrics.CDC_DISPATCH_BLOCKED_TIME, (Gauge<Long>) dispatcher::getBlockedTimeMillis);
     }
 
     @Override
@@ -65,8 +82,8 @@ public class RestorationFlatMap extends RichFlatMapFunction<RowData, RowData> {
     @Override
     public void flatMap(RowData value, Collector<RowData> out) {
         if (workerManager.getCollector() == null) {
-            WrapCollector<RowData> wrapCollector = new WrapCollector<>(out);
-            chamberlain.setCollector(wrapCollector);
+            // ddl数据与dml数据经由同一个dispatcher下发
+            chamberlain.setCollector(new WrapCollector<>(workerManager.getDispatcher()));
             workerManager.setCollector(out);
         }
 
@@ -26,16 +26,14 @@ public class WrapCollector<T> implements Serializable {
 
     private static final long serialVersionUID = 2900390927879265764L;
 
-    private static final Object LOCK = new Object();
     private final Collector<T> collector;
 
+    /** @param collector 需支持多线程调用，如{@link com.dtstack.chunjun.cdc.worker.RowDispatcher} */
     public WrapCollector(Collector<T> collector) {
         this.collector = collector;
     }
 
     public void collect(T var) {
-        synchronized (LOCK) {
-            this.collector.collect(var);
-        }
+        this.collector.collect(var);
     }
 }
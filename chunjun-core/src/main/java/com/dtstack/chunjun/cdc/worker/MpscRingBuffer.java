@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.cdc.worker;
+
+import org.apache.flink.util.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界的多生产者单消费者环形队列，生产者之间只通过CAS竞争写入位置，不加锁.
+ *
+ * <p>同一个生产者先后写入的元素，会按写入顺序被消费者取出.
+ */
+class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    MpscRingBuffer(int capacity) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * 写入元素，可由多个线程并发调用.
+     *
+     * @return 队列已满时返回false
+     */
+    boolean offer(E element) {
+        Preconditions.checkNotNull(element);
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() > mask) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        buffer.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * 取出元素，只能由消费者线程调用.
+     *
+     * @return 队列为空时返回null
+     */
+    E poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        E element = buffer.get(offset);
+        if (element == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            // 生产者已占位但还未写入元素
+            do {
+                element = buffer.get(offset);
+            } while (element == null);
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
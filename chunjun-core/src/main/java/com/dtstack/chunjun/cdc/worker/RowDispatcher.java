@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.cdc.worker;
+
+import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.Collector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * worker与下游collector之间的数据交接.
+ *
+ * <p>worker线程将数据无锁地写入有界的{@link MpscRingBuffer}，由唯一的dispatcher线程取出并下发给collector，collector始终只被一个线程调用。
+ * 同一张表的数据在一轮调度中只由一个worker写入，因此表内顺序与写入顺序一致。队列已满时worker会等待，由此对上游形成反压。
+ */
+@Slf4j
+public class RowDispatcher implements Collector<RowData>, Runnable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final MpscRingBuffer<RowData> ringBuffer;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /** worker写入时遇到队列已满的次数 */
+    private final LongAdder blockedCount = new LongAdder();
+
+    /** worker因队列已满而等待的总时长 */
+    private final LongAdder blockedNanos = new LongAdder();
+
+    private volatile Collector<RowData> collector;
+
+    private volatile Thread consumerThread;
+
+    private volatile Exception exception;
+
+    public RowDispatcher(int capacity) {
+        this.ringBuffer = new MpscRingBuffer<>(capacity);
+    }
+
+    public void setCollector(Collector<RowData> collector) {
+        this.collector = collector;
+    }
+
+    /** 交接一条数据，可由多个线程并发调用；队列已满时等待直到有空位或dispatcher关闭 */
+    @Override
+    public void collect(RowData data) {
+        if (ringBuffer.offer(data)) {
+            // 队列由空变为非空时唤醒dispatcher，否则dispatcher仍在下发，无需唤醒
+            if (ringBuffer.size() == 1) {
+                wakeUpConsumer();
+            }
+            return;
+        }
+
+        blockedCount.increment();
+        long start = System.nanoTime();
+        try {
+            while (!ringBuffer.offer(data)) {
+                if (closed.get()) {
+                    throw new ChunJunRuntimeException("row dispatcher is closed", exception);
+                }
+                wakeUpConsumer();
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            }
+        } finally {
+            blockedNanos.add(System.nanoTime() - start);
+        }
+        wakeUpConsumer();
+    }
+
+    @Override
+    public void run() {
+        consumerThread = Thread.currentThread();
+        try {
+            while (!closed.get()) {
+                RowData data = ringBuffer.poll();
+                if (data == null) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                } else {
+                    collector.collect(data);
+                }
+            }
+        } catch (Exception e) {
+            log.error("row dispatcher failed", e);
+            exception = e;
+            closed.set(true);
+        } finally {
+            consumerThread = null;
+        }
+    }
+
+    private void wakeUpConsumer() {
+        Thread thread = consumerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed.compareAndSet(false, true);
+        wakeUpConsumer();
+    }
+
+    public boolean isAlive() {
+        return null == exception;
+    }
+
+    public Exception getException() {
+        return exception;
+    }
+
+    /** 队列中等待下发的数据条数 */
+    public int getQueueDepth() {
+        return ringBuffer.size();
+    }
+
+    public int getCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    public long getBlockedTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum());
+    }
+}
@@ -24,7 +24,6 @@ import com.dtstack.chunjun.cdc.ddl.definition.TableIdentifier;
 import com.dtstack.chunjun.element.ColumnRowData;
 
 import org.apache.flink.table.data.RowData;
-import org.apache.flink.util.Collector;
 
 import java.util.Arrays;
 import java.util.Iterator;
@@ -33,21 +32,18 @@ import java.util.concurrent.Callable;
 /** 下发数据队列中的dml数据，在遇到ddl数据之后，将数据队列的状态置为"block" */
 public class Worker implements Callable<Integer> {
 
-    private static final Object LOCK = new Object();
     private final QueuesChamberlain queuesChamberlain;
-    private final Collector<RowData> collector;
+    /** 数据交接给dispatcher线程下发，worker之间不再竞争同一把锁 */
+    private final RowDispatcher dispatcher;
     /** 任务分片 */
     private final Chunk chunk;
     /** 队列遍历深度，避免某队列长时间占用线程 */
     private final int size;
 
     public Worker(
-            QueuesChamberlain queuesChamberlain,
-            Collector<RowData> collector,
-            Chunk chunk,
-            int size) {
+            QueuesChamberlain queuesChamberlain, RowDispatcher dispatcher, Chunk chunk, int size) {
         this.queuesChamberlain = queuesChamberlain;
-        this.collector = collector;
+        this.dispatcher = dispatcher;
         this.chunk = chunk;
         this.size = size;
     }
@@ -64,7 +60,7 @@ public class Worker implements Callable<Integer> {
                 }
 
                 if (data instanceof ColumnRowData) {
-                    dealDmL(data);
+                    dispatcher.collect(data);
                     queuesChamberlain.remove(tableIdentity, data);
                 } else {
                     queuesChamberlain.block(tableIdentity);
@@ -74,12 +70,6 @@ public class Worker implements Callable<Integer> {
         }
     }
 
-    private void dealDmL(RowData data) {
-        synchronized (LOCK) {
-            collector.collect(data);
-        }
-    }
-
     @Override
     public Integer call() throws Exception {
         send();
@@ -31,9 +31,9 @@ import java.io.Serializable;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
- * 线程池的创建,管理overseerExecutor和workerExecutor两个线程池,
+ * 线程池的创建,管理overseerExecutor、workerExecutor和dispatcherExecutor三个线程池,
  *
- * <p>worker线程一次只处理一张表的队列
+ * <p>worker线程一次只处理一张表的队列，数据经由{@link RowDispatcher}交给dispatcher线程下发
  */
 public class WorkerManager implements Serializable {
 
@@ -43,6 +43,10 @@ public class WorkerManager implements Serializable {
 
     private transient ThreadPoolExecutor overseerExecutor;
 
+    private transient ThreadPoolExecutor dispatcherExecutor;
+
+    private transient RowDispatcher dispatcher;
+
     private final QueuesChamberlain chamberlain;
 
     private WorkerOverseer overseer;
@@ -58,11 +62,15 @@ public class WorkerManager implements Serializable {
     /** worker线程池的最大容量 */
     private final int workerMax;
 
+    /** worker与dispatcher之间交接队列的容量 */
+    private final int dispatchQueueSize;
+
     public WorkerManager(QueuesChamberlain chamberlain, CdcConfig config) {
         this.chamberlain = chamberlain;
         this.workerNum = config.getWorkerNum();
         this.workerSize = config.getWorkerSize();
         this.workerMax = config.getWorkerMax();
+        this.dispatchQueueSize = config.getDispatchQueueSize();
     }
 
     /** 创建线程池 */
@@ -80,6 +88,12 @@ public class WorkerManager implements Serializable {
         overseerExecutor =
                 ExecutorUtils.singleThreadExecutor(
                         "overseer-pool-%d", true, new LogExceptionHandler());
+
+        dispatcherExecutor =
+                ExecutorUtils.singleThreadExecutor(
+                        "dispatcher-pool-%d", true, new LogExceptionHandler());
+
+        dispatcher = new RowDispatcher(dispatchQueueSize);
     }
 
     /** 资源关闭 */
@@ -94,6 +108,13 @@ public class WorkerManager implements Serializable {
             }
             overseerExecutor.shutdown();
         }
+
+        if (dispatcherExecutor != null) {
+            if (dispatcher != null) {
+                dispatcher.close();
+            }
+            dispatcherExecutor.shutdown();
+        }
     }
 
     public Collector<RowData> getCollector() {
@@ -102,21 +123,28 @@ public class WorkerManager implements Serializable {
 
     public void setCollector(Collector<RowData> collector) {
         this.collector = collector;
+        dispatcher.setCollector(collector);
+        dispatcherExecutor.execute(dispatcher);
         // collector赋值后才能通知Overseer启动worker线程
         openOverseer();
     }
 
     /** 开启Overseer线程,持续监听unblockQueues */
     private void openOverseer() {
-        overseer = new WorkerOverseer(workerExecutor, chamberlain, collector, workerSize);
+        overseer = new WorkerOverseer(workerExecutor, chamberlain, dispatcher, workerSize);
         overseerExecutor.execute(overseer);
     }
 
+    /** 所有数据（包括ddl数据）都需经由dispatcher下发，以保证collector只被一个线程调用 */
+    public RowDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     public boolean isAlive() {
-        return overseer.isAlive();
+        return overseer.isAlive() && dispatcher.isAlive();
     }
 
     public Exception getException() {
-        return overseer.getException();
+        return overseer.isAlive() ? dispatcher.getException() : overseer.getException();
     }
 }
@@ -22,9 +22,6 @@ package com.dtstack.chunjun.cdc.worker;
 import com.dtstack.chunjun.cdc.QueuesChamberlain;
 import com.dtstack.chunjun.cdc.ddl.definition.TableIdentifier;
 
-import org.apache.flink.table.data.RowData;
-import org.apache.flink.util.Collector;
-
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
@@ -42,7 +39,7 @@ public class WorkerOverseer implements Runnable, Serializable {
 
     private final QueuesChamberlain chamberlain;
 
-    private final Collector<RowData> collector;
+    private final transient RowDispatcher dispatcher;
 
     /** 记录已经被worker线程获得的chunk */
     private final Set<Integer> chunkSet = new HashSet<>();
@@ -58,11 +55,11 @@ public class WorkerOverseer implements Runnable, Serializable {
     public WorkerOverseer(
             ThreadPoolExecutor workerExecutor,
             QueuesChamberlain chamberlain,
-            Collector<RowData> collector,
+            RowDispatcher dispatcher,
             int workerSize) {
         this.workerExecutor = workerExecutor;
         this.chamberlain = chamberlain;
-        this.collector = collector;
+        this.dispatcher = dispatcher;
         this.workerSize = workerSize;
     }
 
@@ -90,7 +87,7 @@ public class WorkerOverseer implements Runnable, Serializable {
             // 创建任务分片
             Chunk[] chunks = ChunkSplitter.createChunk(tableIdentities, workerNum);
             for (Chunk chunk : chunks) {
-                Worker worker = new Worker(chamberlain, collector, chunk, workerSize);
+                Worker worker = new Worker(chamberlain, dispatcher, chunk, workerSize);
                 Future<Integer> future = workerExecutor.submit(worker);
                 chunkSet.add(chunk.getChunkNum());
                 futureSet.add(future);
@@ -62,6 +62,27 @@ public class CommonConfig implements Serializable {
     /** Time when the timer is regularly written to the database */
     private long flushIntervalMills = 10000L;
 
+    /** 是否根据写出耗时和失败情况自动调整批次大小，batchSize作为初始值 */
+    private boolean adaptiveBatchSize = false;
+
+    /** 自动调整时的最小批次大小 */
+    private int minBatchSize = 2;
+
+    /** 自动调整时的最大批次大小，小于等于0时为batchSize的4倍 */
+    private int maxBatchSize = 0;
+
+    /** 自动调整时批次写出的目标耗时，超过后批次大小减半 */
+    private long targetFlushLatencyMills = 1000L;
+
+    /** 是否由独立线程异步写出批次，开启后写出与数据攒批并行进行，仅在batchSize大于1且非exactly-once语义时生效 */
+    private boolean asyncFlush = false;
+
+    /** 异步写出时最多同时在途(排队或正在写出)的批次数 */
+    private int maxInFlightBatches = 1;
+
+    /** 批量写出失败后的处理方式，row-by-row：逐条写出；bisect：对半拆分重试直到定位到脏数据 */
+    private String batchFailureStrategy = "row-by-row";
+
     /** whether to execute ddlRowdata */
     private boolean executeDdlAble;
 
@@ -77,6 +98,9 @@ public class CommonConfig implements Serializable {
     /** calculate rowData size */
     private String rowSizeCalculatorType = "objectSizeCalculator";
 
+    /** measure one of every rowSizeSampleInterval rows, estimate the others by the average */
+    private int rowSizeSampleInterval = 1;
+
     /** two phase mode */
     private String semantic = "at-least-once";
 
@@ -32,5 +32,7 @@ public class MetricPluginConfig implements Serializable {
 
     private String rowSizeCalculatorType = "objectSizeCalculator";
 
+    private int rowSizeSampleInterval = 1;
+
     private Map<String, Object> pluginProp;
 }
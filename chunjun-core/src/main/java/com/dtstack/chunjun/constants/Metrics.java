@@ -81,6 +81,47 @@ public class Metrics {
 
     public static final String DIRTY_DATA_COLLECT_FAILED_COUNT = "collectFailedCount";
 
+    public static final String CDC_DISPATCH_QUEUE_DEPTH = "cdcDispatchQueueDepth";
+
+    public static final String CDC_DISPATCH_BLOCKED_COUNT = "cdcDispatchBlockedCount";
+
+    public static final String CDC_DISPATCH_BLOCKED_TIME = "cdcDispatchBlockedTimeMs";
+
+    public static final String ASYNC_FLUSH_IN_FLIGHT_BATCHES = "asyncFlushInFlightBatches";
+
+    public static final String ASYNC_FLUSH_BLOCKED_TIME = "asyncFlushBlockedTimeMs";
+
+    public static final String CURRENT_BATCH_SIZE = "currentBatchSize";
+
+    public static final String BATCH_BISECT_RETRIES = "batchBisectRetries";
+
+    public static final String BATCH_BISECT_MAX_DEPTH = "batchBisectMaxDepth";
+
+    public static final String BINLOG_QUEUE_SIZE = "binlogQueueSize";
+
+    public static final String BINLOG_QUEUE_BYTES = "binlogQueueBytes";
+
+    public static final String BINLOG_QUEUE_FILL_PERCENT = "binlogQueueFillPercent";
+
+    public static final String BINLOG_QUEUE_BLOCKED_COUNT = "binlogQueueBlockedCount";
+
+    public static final String BINLOG_QUEUE_BLOCKED_TIME = "binlogQueueBlockedTimeMs";
+
+    public static final String LOGMINER_WINDOW_COUNT = "logminerWindowCount";
+
+    public static final String LOGMINER_WINDOW_TOTAL_ROWS = "logminerWindowTotalRows";
+
+    public static final String LOGMINER_WINDOW_TOTAL_MINING_TIME =
+            "logminerWindowTotalMiningTimeMs";
+
+    public static final String LOGMINER_LAST_WINDOW_ROWS = "logminerLastWindowRows";
+
+    public static final String LOGMINER_LAST_WINDOW_BYTES = "logminerLastWindowBytes";
+
+    public static final String LOGMINER_LAST_WINDOW_MINING_TIME = "logminerLastWindowMiningTimeMs";
+
+    public static final String LOGMINER_NEXT_WINDOW_BYTES = "logminerNextWindowBytes";
+
     public static final List<String> METRIC_SINK_LIST =
             Arrays.asList(
                     NUM_ERRORS,
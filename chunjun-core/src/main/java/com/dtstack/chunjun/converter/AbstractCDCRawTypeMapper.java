@@ -25,6 +25,7 @@ import com.dtstack.chunjun.enums.ColumnType;
 import com.dtstack.chunjun.util.DateUtil;
 import com.dtstack.chunjun.util.SnowflakeIdWorker;
 
+import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.types.RowKind;
@@ -115,6 +116,15 @@ public abstract class AbstractCDCRawTypeMapper<SourceT, T> implements Serializab
         };
     }
 
+    /**
+     * 转换后数据的字段与header固定时，返回注册了其header布局的类型信息，使数据在算子间传输时header只写出布局id；header随表结构变化时返回null
+     *
+     * @return 类型信息
+     */
+    public TypeInformation<RowData> getHeaderLayoutTypeInformation() {
+        return null;
+    }
+
     /**
      * 根据eventType获取RowKind
      *
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.converter;
+
+import org.apache.flink.api.common.functions.MapFunction;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.data.writer.BinaryWriter;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.io.Serializable;
+
+import static org.apache.flink.table.types.logical.utils.LogicalTypeChecks.getPrecision;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * 按schema把RowData转换为BinaryRowData，用于sync任务的transformer把数据交给Flink SQL.
+ *
+ * <p>每个字段的读取、写入方法在构造时按字段类型生成，转换时不再判断类型；数据的RowKind保持不变。
+ */
+public class BinaryRowDataConverter implements MapFunction<RowData, RowData> {
+
+    private static final long serialVersionUID = 6412598207371265831L;
+
+    private final int arity;
+    private final RowData.FieldGetter[] fieldGetters;
+    private final FieldWriter[] valueWriters;
+    private final FieldWriter[] nullWriters;
+
+    public BinaryRowDataConverter(RowType rowType) {
+        checkNotNull(rowType);
+        this.arity = rowType.getFieldCount();
+        this.fieldGetters = new RowData.FieldGetter[arity];
+        this.valueWriters = new FieldWriter[arity];
+        this.nullWriters = new FieldWriter[arity];
+        for (int i = 0; i < arity; i++) {
+            LogicalType fieldType = rowType.getTypeAt(i);
+            fieldGetters[i] = createFieldGetter(fieldType, i);
+            valueWriters[i] = createValueWriter(fieldType);
+            nullWriters[i] = createNullWriter(fieldType);
+        }
+    }
+
+    @Override
+    public RowData map(RowData rowData) {
+        return convert(rowData);
+    }
+
+    public BinaryRowData convert(RowData rowData) {
+        if (rowData instanceof BinaryRowData) {
+            return (BinaryRowData) rowData;
+        }
+        BinaryRowData binaryRowData = new BinaryRowData(arity);
+        BinaryRowWriter writer = new BinaryRowWriter(binaryRowData);
+        for (int i = 0; i < arity; i++) {
+            Object field = fieldGetters[i].getFieldOrNull(rowData);
+            if (field == null) {
+                nullWriters[i].write(writer, i, null);
+            } else {
+                valueWriters[i].write(writer, i, field);
+            }
+        }
+        writer.writeRowKind(rowData.getRowKind());
+        writer.complete();
+        return binaryRowData;
+    }
+
+    /** ColumnRowData返回的DecimalData使用数据本身的精度，写入前需要按字段类型的精度调整 */
+    private static RowData.FieldGetter createFieldGetter(LogicalType fieldType, int pos) {
+        RowData.FieldGetter fieldGetter = RowData.createFieldGetter(fieldType, pos);
+        if (!(fieldType instanceof DecimalType)) {
+            return fieldGetter;
+        }
+        int precision = ((DecimalType) fieldType).getPrecision();
+        int scale = ((DecimalType) fieldType).getScale();
+        return row -> {
+            DecimalData decimal = (DecimalData) fieldGetter.getFieldOrNull(row);
+            if (decimal == null || (decimal.precision() == precision && decimal.scale() == scale)) {
+                return decimal;
+            }
+            return DecimalData.fromBigDecimal(decimal.toBigDecimal(), precision, scale);
+        };
+    }
+
+    private static FieldWriter createValueWriter(LogicalType fieldType) {
+        switch (fieldType.getTypeRoot()) {
+            case BOOLEAN:
+                return (writer, pos, value) -> writer.writeBoolean(pos, (boolean) value);
+            case TINYINT:
+                return (writer, pos, value) -> writer.writeByte(pos, (byte) value);
+            case SMALLINT:
+                return (writer, pos, value) -> writer.writeShort(pos, (short) value);
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+                return (writer, pos, value) -> writer.writeInt(pos, (int) value);
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+                return (writer, pos, value) -> writer.writeLong(pos, (long) value);
+            case FLOAT:
+                return (writer, pos, value) -> writer.writeFloat(pos, (float) value);
+            case DOUBLE:
+                return (writer, pos, value) -> writer.writeDouble(pos, (double) value);
+            case CHAR:
+            case VARCHAR:
+                return (writer, pos, value) -> writer.writeString(pos, (StringData) value);
+            case BINARY:
+            case VARBINARY:
+                return (writer, pos, value) -> writer.writeBinary(pos, (byte[]) value);
+            case DECIMAL:
+                final int decimalPrecision = getPrecision(fieldType);
+                return (writer, pos, value) ->
+                        writer.writeDecimal(pos, (DecimalData) value, decimalPrecision);
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                final int timestampPrecision = getPrecision(fieldType);
+                return (writer, pos, value) ->
+                        writer.writeTimestamp(pos, (TimestampData) value, timestampPrecision);
+            default:
+                // 复杂类型较少出现，使用Flink的通用写入方法
+                final TypeSerializer<?> serializer = InternalSerializers.create(fieldType);
+                return (writer, pos, value) ->
+                        BinaryWriter.write(writer, pos, value, fieldType, serializer);
+        }
+    }
+
+    /** 非compact的decimal、timestamp需要预留变长部分的空间，与Flink生成的代码保持一致 */
+    private static FieldWriter createNullWriter(LogicalType fieldType) {
+        switch (fieldType.getTypeRoot()) {
+            case DECIMAL:
+                final int decimalPrecision = getPrecision(fieldType);
+                if (!DecimalData.isCompact(decimalPrecision)) {
+                    return (writer, pos, value) -> writer.writeDecimal(pos, null, decimalPrecision);
+                }
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                final int timestampPrecision = getPrecision(fieldType);
+                if (!TimestampData.isCompact(timestampPrecision)) {
+                    return (writer, pos, value) ->
+                            writer.writeTimestamp(pos, null, timestampPrecision);
+                }
+                break;
+            default:
+        }
+        return (writer, pos, value) -> writer.setNullAt(pos);
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter extends Serializable {
+        void write(BinaryRowWriter writer, int pos, Object value);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.decoder;
+
+import com.dtstack.chunjun.util.JsonUtil;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按字段投影的json解码器，直接在字节数组上做流式解析，只取出配置的顶层字段.
+ *
+ * <p>与{@link JsonDecoder}相比不再构造完整的String和Map：未配置的字段通过{@link JsonParser#skipChildren()}跳过，
+ * 所有配置的字段都取到后不再解析剩余内容。取出的值类型与{@link JsonDecoder}一致，嵌套对象和数组仍转换为Map和List。
+ */
+@Slf4j
+public class JsonProjectionDecoder implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String KEY_MESSAGE = "message";
+
+    private final int fieldCount;
+    /** 字段名 -> 该字段在结果中的下标，同名字段可以配置多次 */
+    private final Map<String, int[]> fieldIndexes;
+
+    private final boolean addMessage;
+
+    public JsonProjectionDecoder(List<String> fieldNames, boolean addMessage) {
+        this.fieldCount = fieldNames.size();
+        this.fieldIndexes = new HashMap<>(fieldNames.size() * 2);
+        for (int i = 0; i < fieldNames.size(); i++) {
+            int[] old = fieldIndexes.get(fieldNames.get(i));
+            int[] indexes;
+            if (old == null) {
+                indexes = new int[] {i};
+            } else {
+                indexes = new int[old.length + 1];
+                System.arraycopy(old, 0, indexes, 0, old.length);
+                indexes[old.length] = i;
+            }
+            fieldIndexes.put(fieldNames.get(i), indexes);
+        }
+        this.addMessage = addMessage;
+    }
+
+    /**
+     * 解码给定的数据
+     *
+     * @param message utf-8编码的json
+     * @return 与构造时字段顺序一致的字段值，不存在的字段为null
+     */
+    public Object[] decode(byte[] message) {
+        Object[] values = new Object[fieldCount];
+        try (JsonParser parser = JsonUtil.objectMapper.getFactory().createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("json message is not an object");
+            }
+            int remaining = fieldIndexes.size();
+            boolean[] found = new boolean[fieldCount];
+            boolean messageFound = false;
+            while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                int[] indexes = fieldIndexes.get(name);
+                JsonToken token = parser.nextToken();
+                if (indexes == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                Object value = readValue(parser, token);
+                for (int index : indexes) {
+                    values[index] = value;
+                }
+                messageFound |= KEY_MESSAGE.equals(name);
+                if (!found[indexes[0]]) {
+                    found[indexes[0]] = true;
+                    remaining--;
+                }
+            }
+            if (addMessage && !messageFound) {
+                fill(values, KEY_MESSAGE, new String(message, StandardCharsets.UTF_8));
+            }
+            return values;
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            // 与JsonDecoder保持一致，解析失败时只保留原始消息
+            Object[] fallback = new Object[fieldCount];
+            fill(fallback, KEY_MESSAGE, new String(message, StandardCharsets.UTF_8));
+            return fallback;
+        }
+    }
+
+    private Object readValue(JsonParser parser, JsonToken token) throws Exception {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return JsonUtil.objectMapper.readValue(parser, Object.class);
+        }
+    }
+
+    private void fill(Object[] values, String fieldName, Object value) {
+        int[] indexes = fieldIndexes.get(fieldName);
+        if (indexes != null) {
+            for (int index : indexes) {
+                values[index] = value;
+            }
+        }
+    }
+}
@@ -51,7 +51,7 @@ import static com.dtstack.chunjun.element.ClassSizeUtil.getStringSize;
  *
  * @author tudou
  */
-public final class ColumnRowData implements RowData, Serializable {
+public class ColumnRowData implements RowData, Serializable {
 
     private static final long serialVersionUID = 1L;
     private final List<AbstractBaseColumn> columnList;
@@ -203,7 +203,12 @@ public final class ColumnRowData implements RowData, Serializable {
             return null;
         }
         Integer pos = header.getOrDefault(name, -1);
-        return pos == -1 ? null : this.columnList.get(pos);
+        return pos == -1 ? null : getField(pos);
+    }
+
+    /** 清空所有字段，供子类重新填充 */
+    void clearFields() {
+        this.columnList.clear();
     }
 
     public ColumnRowData copy() {
@@ -232,58 +237,59 @@ public final class ColumnRowData implements RowData, Serializable {
 
     @Override
     public boolean isNullAt(int pos) {
-        return this.columnList.get(pos) == null || this.columnList.get(pos).getData() == null;
+        AbstractBaseColumn column = getField(pos);
+        return column == null || column.getData() == null;
     }
 
     @Override
     public boolean getBoolean(int pos) {
-        return this.columnList.get(pos).asBoolean();
+        return getField(pos).asBoolean();
     }
 
     @Override
     public byte getByte(int pos) {
-        return this.columnList.get(pos).asBigDecimal().byteValue();
+        return getField(pos).asBigDecimal().byteValue();
     }
 
     @Override
     public short getShort(int pos) {
-        return this.columnList.get(pos).asShort();
+        return getField(pos).asShort();
     }
 
     @Override
     public int getInt(int pos) {
-        return this.columnList.get(pos).asInt();
+        return getField(pos).asInt();
     }
 
     @Override
     public long getLong(int pos) {
-        return this.columnList.get(pos).asLong();
+        return getField(pos).asLong();
     }
 
     @Override
     public float getFloat(int pos) {
-        return this.columnList.get(pos).asFloat();
+        return getField(pos).asFloat();
     }
 
     @Override
     public double getDouble(int pos) {
-        return this.columnList.get(pos).asDouble();
+        return getField(pos).asDouble();
     }
 
     @Override
     public StringData getString(int pos) {
-        return StringData.fromString(this.columnList.get(pos).asString());
+        return StringData.fromString(getField(pos).asString());
     }
 
     @Override
     public DecimalData getDecimal(int pos, int precision, int scale) {
-        BigDecimal bigDecimal = this.columnList.get(pos).asBigDecimal();
+        BigDecimal bigDecimal = getField(pos).asBigDecimal();
         return DecimalData.fromBigDecimal(bigDecimal, bigDecimal.precision(), bigDecimal.scale());
     }
 
     @Override
     public TimestampData getTimestamp(int pos, int precision) {
-        return TimestampData.fromTimestamp(this.columnList.get(pos).asTimestamp());
+        return TimestampData.fromTimestamp(getField(pos).asTimestamp());
     }
 
     @Override
@@ -293,7 +299,7 @@ public final class ColumnRowData implements RowData, Serializable {
 
     @Override
     public byte[] getBinary(int pos) {
-        return this.columnList.get(pos).asBinary();
+        return getField(pos).asBinary();
     }
 
     @Override
@@ -333,14 +339,14 @@ public final class ColumnRowData implements RowData, Serializable {
 
     private String buildString(StringBuilder sb) {
         sb.append("(");
-        for (int i = 0; i < columnList.size(); i++) {
+        for (int i = 0; i < getArity(); i++) {
             if (i != 0) {
                 sb.append(",");
             }
+            AbstractBaseColumn column = getField(i);
             sb.append(
                     StringUtils.arrayAwareToString(
-                            (columnList.get(i) == null ? new NullColumn() : columnList.get(i))
-                                    .asString()));
+                            (column == null ? new NullColumn() : column).asString()));
         }
         sb.append(")");
         return sb.toString();
@@ -372,14 +378,17 @@ public final class ColumnRowData implements RowData, Serializable {
         return newRowData;
     }
 
+    private Object dataAt(int pos) {
+        AbstractBaseColumn column = getField(pos);
+        return column == null ? null : column.data;
+    }
+
     @Override
     public int hashCode() {
-        if (columnList == null) {
-            return 0;
-        }
         int result = 1;
-        for (AbstractBaseColumn column : columnList) {
-            result = 31 * result + (column.data == null ? 0 : column.data.hashCode());
+        for (int i = 0; i < getArity(); i++) {
+            Object data = dataAt(i);
+            result = 31 * result + (data == null ? 0 : data.hashCode());
         }
         return result;
     }
@@ -391,14 +400,14 @@ public final class ColumnRowData implements RowData, Serializable {
         }
         if (o instanceof ColumnRowData) {
             ColumnRowData that = (ColumnRowData) o;
-            if (this.columnList.size() != that.columnList.size()) {
+            if (this.getArity() != that.getArity()) {
                 return false;
             }
             Object thisData;
             Object thatData;
-            for (int i = 0; i < this.columnList.size(); i++) {
-                thisData = this.columnList.get(i).data;
-                thatData = that.columnList.get(i).data;
+            for (int i = 0; i < this.getArity(); i++) {
+                thisData = this.dataAt(i);
+                thatData = that.dataAt(i);
                 if (thisData == null) {
                     if (thatData != null) {
                         return false;
@@ -0,0 +1,750 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dtstack.chunjun.element;
+
+import com.dtstack.chunjun.element.column.BooleanColumn;
+import com.dtstack.chunjun.element.column.ByteColumn;
+import com.dtstack.chunjun.element.column.BytesColumn;
+import com.dtstack.chunjun.element.column.DoubleColumn;
+import com.dtstack.chunjun.element.column.FloatColumn;
+import com.dtstack.chunjun.element.column.IntColumn;
+import com.dtstack.chunjun.element.column.LongColumn;
+import com.dtstack.chunjun.element.column.NullColumn;
+import com.dtstack.chunjun.element.column.ShortColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * 以基本类型数组存储字段的{@link ColumnRowData}.
+ *
+ * <p>布尔和整数字段存放在long数组中，浮点字段存放在double数组中，char、varchar、binary和varbinary字段以偏移量和长度存放在共享的字节缓冲区中，
+ * 字符串按UTF-8编码，值为null的字段记录在位图中。其余类型的字段，以及与字段类型不一致的列（例如配置了常量或格式的列）仍以{@link AbstractBaseColumn}存放。
+ * 读写基本类型字段不创建对象，{@link #reset()}之后可以重新填充。
+ *
+ * <p>行创建时即包含{@link Layout}中的全部字段，初始为null，{@link #addField(AbstractBaseColumn)}依次填充这些字段。{@link
+ * #getField(int)}按字段类型创建与{@link
+ * com.dtstack.chunjun.typeutil.serializer.ColumnRowDataSerializer}反序列化结果相同的列，
+ * 因此按ColumnRowData读取的代码无需修改。追加超出Layout的字段或删除扩展字段时，行退化为按列存储。字符串字段的byteSize按UTF-8字节数计算。
+ */
+public final class PrimitiveColumnRowData extends ColumnRowData {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    private final Layout layout;
+    private final long[] longs;
+    private final double[] doubles;
+    private final int[] offsets;
+    private final int[] lengths;
+    /** 非基本类型的字段，以及与字段类型不一致的列 */
+    private final AbstractBaseColumn[] columns;
+
+    private final long[] nullBits;
+    private byte[] buffer;
+    private int bufferSize;
+
+    /** addField下一次填充的字段 */
+    private int next;
+    /** 字段已转存到ColumnRowData的列中 */
+    private boolean materialized;
+
+    public PrimitiveColumnRowData(Layout layout) {
+        this(layout, RowKind.INSERT);
+    }
+
+    public PrimitiveColumnRowData(Layout layout, RowKind kind) {
+        super(kind, 0);
+        this.layout = layout;
+        this.longs = new long[layout.longCount];
+        this.doubles = new double[layout.doubleCount];
+        this.offsets = new int[layout.bytesCount];
+        this.lengths = new int[layout.bytesCount];
+        this.columns = new AbstractBaseColumn[layout.getArity()];
+        this.nullBits = new long[(layout.getArity() + 63) >>> 6];
+        this.buffer = new byte[layout.bytesCount == 0 ? 0 : INITIAL_BUFFER_SIZE];
+        Arrays.fill(nullBits, -1L);
+    }
+
+    private PrimitiveColumnRowData(PrimitiveColumnRowData from) {
+        super(from.getRowKind(), 0, from.getByteSize());
+        this.layout = from.layout;
+        this.longs = from.longs.clone();
+        this.doubles = from.doubles.clone();
+        this.offsets = from.offsets.clone();
+        this.lengths = from.lengths.clone();
+        this.columns = from.columns.clone();
+        this.nullBits = from.nullBits.clone();
+        this.buffer = Arrays.copyOf(from.buffer, from.bufferSize);
+        this.bufferSize = from.bufferSize;
+        this.next = from.next;
+        if (from.getHeaderInfo() != null) {
+            setHeader(new LinkedHashMap<>(from.getHeaderInfo()));
+        }
+        setExtHeader(new HashSet<>(from.getExtHeader()));
+    }
+
+    /** 清空字段、header和扩展header，以便重新填充 */
+    public void reset() {
+        if (materialized) {
+            clearFields();
+            materialized = false;
+        }
+        Arrays.fill(nullBits, -1L);
+        Arrays.fill(columns, null);
+        bufferSize = 0;
+        next = 0;
+        setHeader(null);
+        if (!getExtHeader().isEmpty()) {
+            setExtHeader(new HashSet<>());
+        }
+        // kind size
+        setByteSize(1);
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /** 字段是否以基本类型存放且不为null，为true时可以通过RowData的get方法直接读取 */
+    public boolean isPrimitiveAt(int pos) {
+        return !materialized
+                && columns[pos] == null
+                && layout.slots[pos] != Slot.COLUMN
+                && !isNullBit(pos);
+    }
+
+    /** 设置为{@link NullColumn}，与ColumnRowDataSerializer反序列化null字段的结果一致 */
+    public void setNullAt(int pos) {
+        setField(pos, new NullColumn());
+    }
+
+    public void setBoolean(int pos, boolean value) {
+        if (materialized) {
+            super.setField(pos, new BooleanColumn(value));
+            return;
+        }
+        putLong(pos, value ? 1L : 0L, 1);
+    }
+
+    public void setByte(int pos, byte value) {
+        if (materialized) {
+            super.setField(pos, new ByteColumn(value));
+            return;
+        }
+        putLong(pos, value, 1);
+    }
+
+    public void setShort(int pos, short value) {
+        if (materialized) {
+            super.setField(pos, new ShortColumn(value));
+            return;
+        }
+        putLong(pos, value, 2);
+    }
+
+    public void setInt(int pos, int value) {
+        if (materialized) {
+            super.setField(pos, new IntColumn(value));
+            return;
+        }
+        putLong(pos, value, 4);
+    }
+
+    public void setLong(int pos, long value) {
+        if (materialized) {
+            super.setField(pos, new LongColumn(value));
+            return;
+        }
+        putLong(pos, value, 8);
+    }
+
+    public void setFloat(int pos, float value) {
+        if (materialized) {
+            super.setField(pos, new FloatColumn(value));
+            return;
+        }
+        putDouble(pos, value, 4);
+    }
+
+    public void setDouble(int pos, double value) {
+        if (materialized) {
+            super.setField(pos, new DoubleColumn(value));
+            return;
+        }
+        putDouble(pos, value, 8);
+    }
+
+    /** 设置char或varchar字段，null时设置为null */
+    public void setString(int pos, String value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        setUtf8(pos, bytes, 0, bytes.length);
+    }
+
+    /** 以UTF-8编码的字节设置char或varchar字段，字节会被复制 */
+    public void setUtf8(int pos, byte[] bytes, int offset, int length) {
+        if (materialized) {
+            super.setField(
+                    pos,
+                    StringColumn.from(
+                            new String(bytes, offset, length, StandardCharsets.UTF_8),
+                            layout.formats[pos],
+                            layout.customFormats[pos]));
+            return;
+        }
+        checkSlot(pos, Slot.BYTES);
+        int oldSize = fieldSize(pos);
+        putBytes(pos, bytes, offset, length);
+        setByteSize(getByteSize() - oldSize + length);
+    }
+
+    /** 设置binary或varbinary字段，字节会被复制，null时设置为null */
+    public void setBinary(int pos, byte[] value) {
+        if (value == null) {
+            setNullAt(pos);
+            return;
+        }
+        setBinary(pos, value, 0, value.length);
+    }
+
+    /** 设置binary或varbinary字段，字节会被复制 */
+    public void setBinary(int pos, byte[] bytes, int offset, int length) {
+        if (materialized) {
+            super.setField(
+                    pos, new BytesColumn(Arrays.copyOfRange(bytes, offset, offset + length)));
+            return;
+        }
+        checkSlot(pos, Slot.BYTES);
+        int oldSize = fieldSize(pos);
+        putBytes(pos, bytes, offset, length);
+        setByteSize(getByteSize() - oldSize + length);
+    }
+
+    /**
+     * 返回字节缓冲区，char、varchar、binary和varbinary字段位于{@link #getBytesOffset(int)}开始的{@link
+     * #getBytesLength(int)}个字节，只在下一次修改行之前有效.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int getBytesOffset(int pos) {
+        return offsets[layout.slotIndex[pos]];
+    }
+
+    public int getBytesLength(int pos) {
+        return lengths[layout.slotIndex[pos]];
+    }
+
+    @Override
+    public void addField(AbstractBaseColumn value) {
+        if (!materialized && next < layout.getArity()) {
+            store(next++, value);
+            if (value != null) {
+                setByteSize(getByteSize() + value.byteSize);
+            }
+            return;
+        }
+        materialize();
+        super.addField(value);
+    }
+
+    @Override
+    public void addFieldWithOutByteSize(AbstractBaseColumn value) {
+        if (!materialized && next < layout.getArity()) {
+            store(next++, value);
+            return;
+        }
+        materialize();
+        super.addFieldWithOutByteSize(value);
+    }
+
+    @Override
+    public void setField(int pos, AbstractBaseColumn value) {
+        if (materialized) {
+            super.setField(pos, value);
+            return;
+        }
+        int oldSize = fieldSize(pos);
+        store(pos, value);
+        setByteSize(getByteSize() - oldSize + (value == null ? 0 : value.byteSize));
+    }
+
+    @Override
+    public AbstractBaseColumn getField(int pos) {
+        if (materialized) {
+            return super.getField(pos);
+        }
+        AbstractBaseColumn column = columns[pos];
+        if (column != null || layout.slots[pos] == Slot.COLUMN) {
+            return column;
+        }
+        if (isNullBit(pos)) {
+            return null;
+        }
+        int index = layout.slotIndex[pos];
+        switch (layout.roots[pos]) {
+            case BOOLEAN:
+                return BooleanColumn.from(longs[index] != 0);
+            case TINYINT:
+                return ByteColumn.from((byte) longs[index]);
+            case SMALLINT:
+                return ShortColumn.from((short) longs[index]);
+            case INTEGER:
+                return IntColumn.from((int) longs[index]);
+            case BIGINT:
+                return LongColumn.from(longs[index]);
+            case FLOAT:
+                return FloatColumn.from((float) doubles[index]);
+            case DOUBLE:
+                return DoubleColumn.from(doubles[index]);
+            case CHAR:
+            case VARCHAR:
+                return StringColumn.from(
+                        new String(buffer, offsets[index], lengths[index], StandardCharsets.UTF_8),
+                        layout.formats[pos],
+                        layout.customFormats[pos]);
+            default:
+                return BytesColumn.from(copyBytes(index));
+        }
+    }
+
+    @Override
+    public void removeExtHeaderInfo() {
+        if (!getExtHeader().isEmpty()) {
+            materialize();
+        }
+        super.removeExtHeaderInfo();
+    }
+
+    @Override
+    public PrimitiveColumnRowData copy() {
+        if (materialized) {
+            return (PrimitiveColumnRowData) super.copy();
+        }
+        return new PrimitiveColumnRowData(this);
+    }
+
+    @Override
+    public int getArity() {
+        return materialized ? super.getArity() : layout.getArity();
+    }
+
+    @Override
+    public boolean isNullAt(int pos) {
+        if (materialized) {
+            return super.isNullAt(pos);
+        }
+        AbstractBaseColumn column = columns[pos];
+        if (column != null) {
+            return column.getData() == null;
+        }
+        return layout.slots[pos] == Slot.COLUMN || isNullBit(pos);
+    }
+
+    @Override
+    public boolean getBoolean(int pos) {
+        if (isStored(pos, Slot.LONG)) {
+            return longs[layout.slotIndex[pos]] != 0;
+        }
+        return super.getBoolean(pos);
+    }
+
+    @Override
+    public byte getByte(int pos) {
+        if (isStored(pos, Slot.LONG)) {
+            return (byte) longs[layout.slotIndex[pos]];
+        }
+        return super.getByte(pos);
+    }
+
+    @Override
+    public short getShort(int pos) {
+        if (isStored(pos, Slot.LONG)) {
+            return (short) longs[layout.slotIndex[pos]];
+        }
+        return super.getShort(pos);
+    }
+
+    @Override
+    public int getInt(int pos) {
+        if (isStored(pos, Slot.LONG)) {
+            return (int) longs[layout.slotIndex[pos]];
+        }
+        return super.getInt(pos);
+    }
+
+    @Override
+    public long getLong(int pos) {
+        if (isStored(pos, Slot.LONG)) {
+            return longs[layout.slotIndex[pos]];
+        }
+        return super.getLong(pos);
+    }
+
+    @Override
+    public float getFloat(int pos) {
+        if (isStored(pos, Slot.DOUBLE)) {
+            return (float) doubles[layout.slotIndex[pos]];
+        }
+        return super.getFloat(pos);
+    }
+
+    @Override
+    public double getDouble(int pos) {
+        if (isStored(pos, Slot.DOUBLE)) {
+            return doubles[layout.slotIndex[pos]];
+        }
+        return super.getDouble(pos);
+    }
+
+    @Override
+    public StringData getString(int pos) {
+        if (isStored(pos, Slot.BYTES) && isStringType(layout.roots[pos])) {
+            return StringData.fromBytes(copyBytes(layout.slotIndex[pos]));
+        }
+        return super.getString(pos);
+    }
+
+    @Override
+    public byte[] getBinary(int pos) {
+        if (isStored(pos, Slot.BYTES) && !isStringType(layout.roots[pos])) {
+            return copyBytes(layout.slotIndex[pos]);
+        }
+        return super.getBinary(pos);
+    }
+
+    private boolean isStored(int pos, Slot slot) {
+        return layout.slots[pos] == slot && isPrimitiveAt(pos);
+    }
+
+    /** 按字段类型存放列，列的类型与字段类型一致时存为基本类型 */
+    private void store(int pos, AbstractBaseColumn value) {
+        Slot slot = layout.slots[pos];
+        if (slot == Slot.COLUMN) {
+            columns[pos] = value;
+            return;
+        }
+        if (value == null) {
+            columns[pos] = null;
+            setNullBit(pos);
+            return;
+        }
+        if (!fitsSlot(pos, value)) {
+            columns[pos] = value;
+            return;
+        }
+        columns[pos] = null;
+        Object data = value.getData();
+        switch (layout.roots[pos]) {
+            case BOOLEAN:
+                storeLong(pos, (Boolean) data ? 1L : 0L);
+                break;
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                storeLong(pos, ((Number) data).longValue());
+                break;
+            case FLOAT:
+            case DOUBLE:
+                storeDouble(pos, ((Number) data).doubleValue());
+                break;
+            case CHAR:
+            case VARCHAR:
+                byte[] utf8 = ((String) data).getBytes(StandardCharsets.UTF_8);
+                putBytes(pos, utf8, 0, utf8.length);
+                break;
+            default:
+                byte[] bytes = (byte[]) data;
+                putBytes(pos, bytes, 0, bytes.length);
+        }
+    }
+
+    /** 列是否与反序列化时按字段类型创建的列相同 */
+    private boolean fitsSlot(int pos, AbstractBaseColumn value) {
+        Object data = value.getData();
+        switch (layout.roots[pos]) {
+            case BOOLEAN:
+                return value.getClass() == BooleanColumn.class && data instanceof Boolean;
+            case TINYINT:
+                return value.getClass() == ByteColumn.class && data instanceof Byte;
+            case SMALLINT:
+                return value.getClass() == ShortColumn.class && data instanceof Short;
+            case INTEGER:
+                return value.getClass() == IntColumn.class && data instanceof Integer;
+            case BIGINT:
+                return value.getClass() == LongColumn.class && data instanceof Long;
+            case FLOAT:
+                return value.getClass() == FloatColumn.class && data instanceof Float;
+            case DOUBLE:
+                return value.getClass() == DoubleColumn.class && data instanceof Double;
+            case CHAR:
+            case VARCHAR:
+                if (value.getClass() != StringColumn.class || !(data instanceof String)) {
+                    return false;
+                }
+                StringColumn stringColumn = (StringColumn) value;
+                return stringColumn.isCustomFormat() == layout.customFormats[pos]
+                        && layout.formats[pos].equals(stringColumn.getFormat());
+            default:
+                return value.getClass() == BytesColumn.class
+                        && data instanceof byte[]
+                        && StandardCharsets.UTF_8
+                                .name()
+                                .equals(((BytesColumn) value).getEncoding());
+        }
+    }
+
+    /** 字段当前计入byteSize的大小 */
+    private int fieldSize(int pos) {
+        AbstractBaseColumn column = columns[pos];
+        if (column != null) {
+            return column.byteSize;
+        }
+        if (layout.slots[pos] == Slot.COLUMN || isNullBit(pos)) {
+            return 0;
+        }
+        switch (layout.roots[pos]) {
+            case BOOLEAN:
+            case TINYINT:
+                return 1;
+            case SMALLINT:
+                return 2;
+            case INTEGER:
+            case FLOAT:
+                return 4;
+            case BIGINT:
+            case DOUBLE:
+                return 8;
+            default:
+                return lengths[layout.slotIndex[pos]];
+        }
+    }
+
+    private void putLong(int pos, long value, int size) {
+        checkSlot(pos, Slot.LONG);
+        int oldSize = fieldSize(pos);
+        columns[pos] = null;
+        storeLong(pos, value);
+        setByteSize(getByteSize() - oldSize + size);
+    }
+
+    private void putDouble(int pos, double value, int size) {
+        checkSlot(pos, Slot.DOUBLE);
+        int oldSize = fieldSize(pos);
+        columns[pos] = null;
+        storeDouble(pos, value);
+        setByteSize(getByteSize() - oldSize + size);
+    }
+
+    private void storeLong(int pos, long value) {
+        longs[layout.slotIndex[pos]] = value;
+        clearNullBit(pos);
+    }
+
+    private void storeDouble(int pos, double value) {
+        doubles[layout.slotIndex[pos]] = value;
+        clearNullBit(pos);
+    }
+
+    /** 字节追加到缓冲区末尾，覆盖的字段原有的字节在reset之前不会回收 */
+    private void putBytes(int pos, byte[] bytes, int offset, int length) {
+        if (bufferSize + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(bufferSize + length, buffer.length << 1));
+        }
+        System.arraycopy(bytes, offset, buffer, bufferSize, length);
+        int index = layout.slotIndex[pos];
+        offsets[index] = bufferSize;
+        lengths[index] = length;
+        bufferSize += length;
+        columns[pos] = null;
+        clearNullBit(pos);
+    }
+
+    private byte[] copyBytes(int index) {
+        return Arrays.copyOfRange(buffer, offsets[index], offsets[index] + lengths[index]);
+    }
+
+    /** 把所有字段转存为ColumnRowData的列，此后按ColumnRowData处理 */
+    private void materialize() {
+        if (materialized) {
+            return;
+        }
+        for (int i = 0; i < layout.getArity(); i++) {
+            super.addFieldWithOutByteSize(getField(i));
+        }
+        materialized = true;
+        Arrays.fill(columns, null);
+        bufferSize = 0;
+    }
+
+    private boolean isNullBit(int pos) {
+        return (nullBits[pos >>> 6] & (1L << pos)) != 0;
+    }
+
+    private void setNullBit(int pos) {
+        nullBits[pos >>> 6] |= 1L << pos;
+    }
+
+    private void clearNullBit(int pos) {
+        nullBits[pos >>> 6] &= ~(1L << pos);
+    }
+
+    private void checkSlot(int pos, Slot slot) {
+        if (layout.slots[pos] != slot) {
+            throw new IllegalArgumentException(
+                    "field "
+                            + pos
+                            + " of type "
+                            + layout.roots[pos]
+                            + " is not a "
+                            + slot
+                            + " field");
+        }
+    }
+
+    private static boolean isStringType(LogicalTypeRoot root) {
+        return root == LogicalTypeRoot.CHAR || root == LogicalTypeRoot.VARCHAR;
+    }
+
+    /** 字段的存放位置 */
+    enum Slot {
+        LONG,
+        DOUBLE,
+        BYTES,
+        COLUMN
+    }
+
+    /** 字段类型和存放位置，按行类型创建一次，由所有行共享 */
+    public static final class Layout implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 与StringColumnSerializer的默认格式一致 */
+        private static final String DEFAULT_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+        private final LogicalTypeRoot[] roots;
+        private final Slot[] slots;
+        private final int[] slotIndex;
+        private final String[] formats;
+        private final boolean[] customFormats;
+        private final int longCount;
+        private final int doubleCount;
+        private final int bytesCount;
+
+        private Layout(LogicalType[] types, String[] formats, boolean[] customFormats) {
+            int arity = types.length;
+            this.roots = new LogicalTypeRoot[arity];
+            this.slots = new Slot[arity];
+            this.slotIndex = new int[arity];
+            this.formats = formats;
+            this.customFormats = customFormats;
+            int[] counts = new int[Slot.values().length];
+            for (int i = 0; i < arity; i++) {
+                roots[i] = types[i].getTypeRoot();
+                slots[i] = slotOf(roots[i]);
+                slotIndex[i] = counts[slots[i].ordinal()]++;
+            }
+            this.longCount = counts[Slot.LONG.ordinal()];
+            this.doubleCount = counts[Slot.DOUBLE.ordinal()];
+            this.bytesCount = counts[Slot.BYTES.ordinal()];
+        }
+
+        /** 字符串字段使用默认格式，与{@code new StringColumn(String)}一致 */
+        public static Layout of(LogicalType[] types) {
+            String[] formats = new String[types.length];
+            Arrays.fill(formats, DEFAULT_FORMAT);
+            return new Layout(types, formats, new boolean[types.length]);
+        }
+
+        /** 字段描述作为字符串字段的格式，与{@code ColumnRowDataSerializer(RowType)}一致 */
+        public static Layout of(RowType rowType) {
+            List<RowType.RowField> fields = rowType.getFields();
+            String[] formats = new String[fields.size()];
+            boolean[] customFormats = new boolean[fields.size()];
+            for (int i = 0; i < fields.size(); i++) {
+                String format = fields.get(i).getDescription().orElse(null);
+                customFormats[i] = StringUtils.isNotBlank(format);
+                formats[i] = customFormats[i] ? format : DEFAULT_FORMAT;
+            }
+            return new Layout(
+                    rowType.getChildren().toArray(new LogicalType[0]), formats, customFormats);
+        }
+
+        /**
+         * @param formats 字符串字段的格式，其余字段忽略
+         * @param customFormats 字符串字段是否为自定义格式，其余字段忽略
+         */
+        public static Layout of(LogicalType[] types, String[] formats, boolean[] customFormats) {
+            return new Layout(types, formats.clone(), customFormats.clone());
+        }
+
+        public int getArity() {
+            return roots.length;
+        }
+
+        public LogicalTypeRoot getTypeRoot(int pos) {
+            return roots[pos];
+        }
+
+        /** 字段是否以基本类型或字节存放 */
+        public boolean isPrimitive(int pos) {
+            return slots[pos] != Slot.COLUMN;
+        }
+
+        private static Slot slotOf(LogicalTypeRoot root) {
+            switch (root) {
+                case BOOLEAN:
+                case TINYINT:
+                case SMALLINT:
+                case INTEGER:
+                case BIGINT:
+                    return Slot.LONG;
+                case FLOAT:
+                case DOUBLE:
+                    return Slot.DOUBLE;
+                case CHAR:
+                case VARCHAR:
+                case BINARY:
+                case VARBINARY:
+                    return Slot.BYTES;
+                default:
+                    return Slot.COLUMN;
+            }
+        }
+    }
+}
@@ -62,6 +62,10 @@ public class BytesColumn extends AbstractBaseColumn {
         return new BytesColumn(data, 0);
     }
 
+    public String getEncoding() {
+        return encoding;
+    }
+
     @Override
     public String type() {
         return "BYTES";
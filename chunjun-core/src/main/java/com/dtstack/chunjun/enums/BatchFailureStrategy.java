@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.enums;
+
+import org.apache.commons.lang3.StringUtils;
+
+/** 批量写出失败后的处理方式 */
+public enum BatchFailureStrategy {
+
+    /** 失败批次中的数据逐条写出，每条数据一次请求 */
+    ROW_BY_ROW("row-by-row"),
+
+    /**
+     * 失败批次对半拆分后分别批量写出，仍失败的一半继续拆分，直到拆分为单条数据时逐条写出。少量脏数据时只需O(k log n)次请求即可定位到k条脏数据.
+     * 要求批量写出失败时不会留下部分写入的数据，例如在同一个事务中写出并在失败时回滚
+     */
+    BISECT("bisect");
+
+    private final String alisName;
+
+    BatchFailureStrategy(String alisName) {
+        this.alisName = alisName;
+    }
+
+    public String getAlisName() {
+        return alisName;
+    }
+
+    public static BatchFailureStrategy getByName(String name) {
+        if (StringUtils.isBlank(name)) {
+            return ROW_BY_ROW;
+        }
+        for (BatchFailureStrategy strategy : BatchFailureStrategy.values()) {
+            if (strategy.getAlisName().equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("unsupported batch failure strategy: " + name);
+    }
+}
@@ -24,6 +24,7 @@ import com.dtstack.chunjun.throwable.ChunJunRuntimeException;
 import com.dtstack.chunjun.throwable.UnsupportedTypeException;
 
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
 
 import jdk.nashorn.internal.ir.debug.ObjectSizeCalculator;
 
@@ -36,6 +37,17 @@ public abstract class RowSizeCalculator<T> {
 
     public static RowSizeCalculator getRowSizeCalculator(
             String calculatorType, boolean useAbstractColumn) {
+        return getRowSizeCalculator(calculatorType, useAbstractColumn, null);
+    }
+
+    /**
+     * @param calculatorType 计算器类型
+     * @param useAbstractColumn 是否为ColumnRowData
+     * @param rowType 数据的RowType，schemaCalculator按其预先确定每个字段的宽度，为null时按字段值的类型计算
+     * @return RowSizeCalculator
+     */
+    public static RowSizeCalculator getRowSizeCalculator(
+            String calculatorType, boolean useAbstractColumn, RowType rowType) {
         if (useAbstractColumn) {
             return new SyncCalculator();
         }
@@ -46,11 +58,38 @@ public abstract class RowSizeCalculator<T> {
                 return getRowSizeCalculator();
             case UNDO_CALCULATOR:
                 return new UndoCalculator();
+            case SCHEMA_CALCULATOR:
+                return rowType == null
+                        ? new SchemaRowSizeCalculator()
+                        : new SchemaRowSizeCalculator(rowType);
             default:
                 throw new UnsupportedTypeException(calculatorType);
         }
     }
 
+    /**
+     * sampleInterval大于1时每sampleInterval条数据只实际计算一条，其余数据按已计算数据的平均大小估算
+     *
+     * @param calculatorType 计算器类型
+     * @param useAbstractColumn 是否为ColumnRowData
+     * @param sampleInterval 采样间隔
+     * @param rowType 数据的RowType，可为null
+     * @return RowSizeCalculator
+     */
+    @SuppressWarnings("unchecked")
+    public static RowSizeCalculator getRowSizeCalculator(
+            String calculatorType, boolean useAbstractColumn, int sampleInterval, RowType rowType) {
+        RowSizeCalculator calculator =
+                getRowSizeCalculator(calculatorType, useAbstractColumn, rowType);
+        // SyncCalculator读取已计算好的大小，UndoCalculator不计算，无需采样
+        if (sampleInterval <= 1
+                || calculator instanceof SyncCalculator
+                || calculator instanceof UndoCalculator) {
+            return calculator;
+        }
+        return new SamplingCalculator<>(calculator, sampleInterval);
+    }
+
     /**
      * if jdk support,use {@link jdk.nashorn.internal.ir.debug.ObjectSizeCalculator} else use
      * toString().getBytes().length
@@ -103,11 +142,38 @@ public abstract class RowSizeCalculator<T> {
         }
     }
 
+    static class SamplingCalculator<T> extends RowSizeCalculator<T> {
+
+        private final RowSizeCalculator<T> delegate;
+        private final int sampleInterval;
+
+        private long count;
+        private long sampledBytes;
+        private long samples;
+
+        SamplingCalculator(RowSizeCalculator<T> delegate, int sampleInterval) {
+            this.delegate = delegate;
+            this.sampleInterval = sampleInterval;
+        }
+
+        @Override
+        public long getObjectSize(T object) {
+            if (count++ % sampleInterval == 0) {
+                long size = delegate.getObjectSize(object);
+                sampledBytes += size;
+                samples++;
+                return size;
+            }
+            return sampledBytes / samples;
+        }
+    }
+
     public enum CalculatorType {
         TO_STRING_CALCULATOR("toStringCalculator"),
         OBJECT_SIZE_CALCULATOR("objectSizeCalculator"),
         UNDO_CALCULATOR("undoCalculator"),
-        SYNC_CALCULATOR("syncCalculator");
+        SYNC_CALCULATOR("syncCalculator"),
+        SCHEMA_CALCULATOR("schemaCalculator");
 
         private String typeName;
 
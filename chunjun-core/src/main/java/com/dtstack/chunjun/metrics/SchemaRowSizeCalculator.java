@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.metrics;
+
+import com.dtstack.chunjun.cdc.DdlRowData;
+import com.dtstack.chunjun.element.ColumnRowData;
+
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinarySection;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.List;
+
+/**
+ * 按字段类型估算RowData大小，不遍历对象图.
+ *
+ * <p>定长类型按其内部数据结构的宽度计算，字符串和二进制按实际字节数计算。指定RowType时按schema预先确定每个字段的宽度，定长字段不读取字段值；
+ * 未指定时按GenericRowData中字段值的类型计算。结果是数据本身的字节数，不包含对象头等jvm开销.
+ */
+public class SchemaRowSizeCalculator extends RowSizeCalculator<RowData> {
+
+    /** 时间戳按毫秒数加纳秒数计算 */
+    static final int TIMESTAMP_BYTES = 12;
+
+    private final FieldSizer[] fieldSizers;
+
+    public SchemaRowSizeCalculator() {
+        this.fieldSizers = null;
+    }
+
+    public SchemaRowSizeCalculator(RowType rowType) {
+        List<LogicalType> fieldTypes = rowType.getChildren();
+        this.fieldSizers = new FieldSizer[fieldTypes.size()];
+        for (int i = 0; i < fieldSizers.length; i++) {
+            fieldSizers[i] = createFieldSizer(fieldTypes.get(i), i);
+        }
+    }
+
+    @Override
+    public long getObjectSize(RowData rowData) {
+        if (rowData instanceof ColumnRowData) {
+            return ((ColumnRowData) rowData).getByteSize();
+        } else if (rowData instanceof DdlRowData) {
+            return ((DdlRowData) rowData).getByteSize();
+        } else if (rowData instanceof BinarySection) {
+            return ((BinarySection) rowData).getSizeInBytes();
+        }
+        if (fieldSizers != null && fieldSizers.length == rowData.getArity()) {
+            long size = 0;
+            for (FieldSizer fieldSizer : fieldSizers) {
+                size += fieldSizer.sizeOf(rowData);
+            }
+            return size;
+        }
+        if (rowData instanceof GenericRowData) {
+            GenericRowData genericRowData = (GenericRowData) rowData;
+            long size = 0;
+            for (int i = 0; i < genericRowData.getArity(); i++) {
+                size += sizeOfValue(genericRowData.getField(i));
+            }
+            return size;
+        }
+        return rowData.toString().getBytes().length;
+    }
+
+    private static FieldSizer createFieldSizer(LogicalType type, int pos) {
+        int width = fixedWidth(type);
+        if (width > 0) {
+            return rowData -> rowData.isNullAt(pos) ? 0 : width;
+        }
+        RowData.FieldGetter getter = RowData.createFieldGetter(type, pos);
+        return rowData -> sizeOfValue(getter.getFieldOrNull(rowData));
+    }
+
+    /** 定长类型的字节数，变长类型返回-1 */
+    private static int fixedWidth(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+                return 1;
+            case SMALLINT:
+                return 2;
+            case INTEGER:
+            case FLOAT:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+                return 4;
+            case BIGINT:
+            case DOUBLE:
+            case INTERVAL_DAY_TIME:
+                return 8;
+            case DECIMAL:
+                return DecimalData.isCompact(((DecimalType) type).getPrecision()) ? 8 : 16;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return TIMESTAMP_BYTES;
+            default:
+                return -1;
+        }
+    }
+
+    /** 按内部数据结构的类型计算字段值的字节数 */
+    static long sizeOfValue(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof BinaryStringData) {
+            return ((BinaryStringData) value).getSizeInBytes();
+        } else if (value instanceof StringData) {
+            return value.toString().getBytes().length;
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else if (value instanceof Integer || value instanceof Float) {
+            return 4;
+        } else if (value instanceof Long || value instanceof Double) {
+            return 8;
+        } else if (value instanceof Boolean || value instanceof Byte) {
+            return 1;
+        } else if (value instanceof Short) {
+            return 2;
+        } else if (value instanceof DecimalData) {
+            return DecimalData.isCompact(((DecimalData) value).precision()) ? 8 : 16;
+        } else if (value instanceof TimestampData) {
+            return TIMESTAMP_BYTES;
+        } else if (value instanceof BinarySection) {
+            return ((BinarySection) value).getSizeInBytes();
+        } else if (value instanceof GenericRowData) {
+            GenericRowData rowData = (GenericRowData) value;
+            long size = 0;
+            for (int i = 0; i < rowData.getArity(); i++) {
+                size += sizeOfValue(rowData.getField(i));
+            }
+            return size;
+        }
+        return value.toString().getBytes().length;
+    }
+
+    @FunctionalInterface
+    private interface FieldSizer {
+        long sizeOf(RowData rowData);
+    }
+}
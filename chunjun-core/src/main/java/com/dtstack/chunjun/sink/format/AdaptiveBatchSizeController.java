@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.sink.format;
+
+import org.apache.flink.util.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 根据批量写出的耗时和失败率调整批次大小(AIMD).
+ *
+ * <p>写满的批次在目标耗时内写出成功时批次大小加性增加；耗时超过目标时批次大小减半。最近failureWindow个批次中失败的比例达到failureRateThreshold时批次大小减半，
+ * 偶发的单次失败不会缩小批次。批次大小始终在[minBatchSize, maxBatchSize]之间. 同一时刻只会有一个线程调用onSuccess、onFailure.
+ */
+public class AdaptiveBatchSizeController {
+
+    /** 默认统计失败率的批次数 */
+    public static final int DEFAULT_FAILURE_WINDOW = 10;
+
+    /** 默认触发减小批次的失败率 */
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.2;
+
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final int step;
+    private final long targetLatencyNanos;
+
+    /** 最近批次的写出结果，true为失败，循环覆盖 */
+    private final boolean[] outcomes;
+
+    private final int failureLimit;
+    private int nextOutcome;
+    private int failures;
+
+    private volatile int batchSize;
+
+    public AdaptiveBatchSizeController(
+            int initialBatchSize, int minBatchSize, int maxBatchSize, long targetLatencyMills) {
+        this(
+                initialBatchSize,
+                minBatchSize,
+                maxBatchSize,
+                targetLatencyMills,
+                DEFAULT_FAILURE_WINDOW,
+                DEFAULT_FAILURE_RATE_THRESHOLD);
+    }
+
+    public AdaptiveBatchSizeController(
+            int initialBatchSize,
+            int minBatchSize,
+            int maxBatchSize,
+            long targetLatencyMills,
+            int failureWindow,
+            double failureRateThreshold) {
+        Preconditions.checkArgument(failureWindow > 0, "failureWindow must be positive");
+        Preconditions.checkArgument(
+                failureRateThreshold > 0 && failureRateThreshold <= 1,
+                "failureRateThreshold must be in (0, 1]");
+        Preconditions.checkArgument(
+                minBatchSize <= maxBatchSize, "minBatchSize must not be larger than maxBatchSize");
+        Preconditions.checkArgument(targetLatencyMills > 0, "targetLatencyMills must be positive");
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = Math.max(minBatchSize, Math.min(maxBatchSize, initialBatchSize));
+        this.step = Math.max(1, batchSize / 10);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMills);
+        this.outcomes = new boolean[failureWindow];
+        this.failureLimit = Math.max(1, (int) Math.ceil(failureWindow * failureRateThreshold));
+    }
+
+    /**
+     * 批次写出成功
+     *
+     * @param rows 批次条数，未写满的批次(如定时写出)不会增大批次
+     * @param latencyNanos 写出耗时
+     */
+    public void onSuccess(int rows, long latencyNanos) {
+        record(false);
+        if (latencyNanos > targetLatencyNanos) {
+            decrease();
+        } else if (rows >= batchSize) {
+            batchSize = Math.min(maxBatchSize, batchSize + step);
+        }
+    }
+
+    /** 批次写出失败，失败率达到阈值时批次大小减半并重新统计 */
+    public void onFailure() {
+        record(true);
+        if (failures >= failureLimit) {
+            decrease();
+            Arrays.fill(outcomes, false);
+            failures = 0;
+        }
+    }
+
+    private void record(boolean failed) {
+        if (outcomes[nextOutcome]) {
+            failures--;
+        }
+        outcomes[nextOutcome] = failed;
+        if (failed) {
+            failures++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+    }
+
+    private void decrease() {
+        batchSize = Math.max(minBatchSize, batchSize / 2);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -30,6 +30,7 @@ import com.dtstack.chunjun.converter.AbstractRowConverter;
 import com.dtstack.chunjun.dirty.DirtyConfig;
 import com.dtstack.chunjun.dirty.manager.DirtyManager;
 import com.dtstack.chunjun.dirty.utils.DirtyConfUtil;
+import com.dtstack.chunjun.enums.BatchFailureStrategy;
 import com.dtstack.chunjun.enums.Semantic;
 import com.dtstack.chunjun.factory.ChunJunThreadFactory;
 import com.dtstack.chunjun.metrics.AccumulatorCollector;
@@ -50,6 +51,8 @@ import org.apache.flink.api.common.io.FinalizeOnMaster;
 import org.apache.flink.api.common.io.InitializeOnMaster;
 import org.apache.flink.api.common.io.RichOutputFormat;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.CheckpointingMode;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.table.data.RowData;
@@ -61,12 +64,18 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.dtstack.chunjun.metrics.BaseMetric.DELAY_PERIOD_MILL;
 import static com.dtstack.chunjun.metrics.BaseMetric.DELAY_PERIOD_MILL_KEY;
@@ -167,6 +176,9 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
 
     protected Semantic semantic;
 
+    /** 批量写出失败后的处理方式 */
+    protected BatchFailureStrategy batchFailureStrategy;
+
     /** the manager of dirty data. */
     protected DirtyManager dirtyManager;
 
@@ -183,6 +195,31 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
 
     private transient volatile Exception timerWriteException;
 
+    /** 是否异步写出批次，开启后rows只由flushExecutor线程访问，task线程向fillingRows中攒批 */
+    private transient boolean asyncFlush;
+    /** 异步写出线程 */
+    private transient ExecutorService flushExecutor;
+    /** 在途批次许可，限制同时排队或正在写出的批次数 */
+    private transient Semaphore inFlightPermits;
+
+    private transient int maxInFlightBatches;
+    /** 已写出、可复用的批次缓冲 */
+    private transient BlockingQueue<List<RowData>> freeBuffers;
+    /** 异步写出时task线程正在攒批的缓冲 */
+    private transient List<RowData> fillingRows;
+    /** 异步写出线程空闲时rows指向的空缓冲 */
+    private transient List<RowData> idleRows;
+    /** task线程等待在途批次许可的总时长 */
+    private transient LongAdder flushBlockedNanos;
+
+    /** 批次大小自动调整，未开启时为null */
+    private transient AdaptiveBatchSizeController batchSizeController;
+
+    /** 对半拆分后重新批量写出的次数 */
+    private transient LongAdder bisectRetries;
+    /** 定位脏数据时达到的最大拆分深度 */
+    private transient AtomicInteger bisectMaxDepth;
+
     @Override
     public void initializeGlobal(int parallelism) {
         // 任务开始前操作，在configure后调用。
@@ -234,6 +271,8 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
         this.flushIntervalMills = config.getFlushIntervalMills();
         this.flushEnable = new AtomicBoolean(true);
         this.semantic = Semantic.getByName(config.getSemantic());
+        this.batchFailureStrategy =
+                BatchFailureStrategy.getByName(config.getBatchFailureStrategy());
 
         ExecutionConfig.GlobalJobParameters params =
                 context.getExecutionConfig().getGlobalJobParameters();
@@ -271,6 +310,9 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
 
         initStatisticsAccumulator();
         initRestoreInfo();
+        initAdaptiveBatchSize();
+        initAsyncFlush();
+        initBatchFailureStrategy();
         initTimingSubmitTask();
         initRowSizeCalculator();
 
@@ -302,11 +344,19 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
             if (batchSize <= 1) {
                 writeSingleRecord(rowData, numWriteCounter);
                 size = 1;
+            } else if (asyncFlush) {
+                // 异步写出时由写出线程在批次写出完成后更新snapshotWriteCounter
+                fillingRows.add(rowData);
+                if (fillingRows.size() >= batchSize) {
+                    submitFillingRows();
+                    updateBatchSize();
+                }
             } else {
                 rows.add(rowData);
                 if (rows.size() >= batchSize) {
+                    size = rows.size();
                     writeRecordInternal();
-                    size = batchSize;
+                    updateBatchSize();
                 }
             }
         }
@@ -335,12 +385,24 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
             closeException = timerWriteException;
         }
 
-        // when exist data
-        int size = rows.size();
-        if (size != 0) {
+        if (asyncFlush) {
+            try {
+                submitFillingRows();
+                waitForInFlightBatches();
+            } catch (Exception e) {
+                closeException = e;
+            } finally {
+                flushExecutor.shutdownNow();
+            }
+            if (null != timerWriteException) {
+                closeException = timerWriteException;
+            }
+        }
+
+        // when exist data, flushRows has counted the written rows
+        if (!asyncFlush && !rows.isEmpty()) {
             try {
                 writeRecordInternal();
-                numWriteCounter.add(size);
             } catch (Exception e) {
                 closeException = e;
             }
@@ -421,7 +483,10 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     protected void initRowSizeCalculator() {
         rowSizeCalculator =
                 RowSizeCalculator.getRowSizeCalculator(
-                        config.getRowSizeCalculatorType(), useAbstractColumn);
+                        config.getRowSizeCalculatorType(),
+                        useAbstractColumn,
+                        config.getRowSizeSampleInterval(),
+                        rowConverter == null ? null : rowConverter.getRowType());
     }
 
     /** 从checkpoint状态缓存map中恢复上次任务的指标信息 */
@@ -461,7 +526,9 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
                                         return;
                                     }
                                     try {
-                                        if (!rows.isEmpty()) {
+                                        if (asyncFlush) {
+                                            submitFillingRows();
+                                        } else if (!rows.isEmpty()) {
                                             writeRecordInternal();
                                         }
                                     } catch (Exception e) {
@@ -478,6 +545,166 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
         }
     }
 
+    /**
+     * 开启异步写出：task线程写满一个批次后交给flushExecutor线程写出，自身继续向另一个缓冲攒批，写出与攒批并行进行.
+     *
+     * <p>exactly-once语义下preCommit、commit需与写出在同一个事务上串行执行，{@link
+     * #supportsAsyncFlush()}返回false的子类有自己的写出流程，这两种情况仍同步写出。
+     */
+    private void initAsyncFlush() {
+        if (!config.isAsyncFlush() || batchSize <= 1) {
+            return;
+        }
+        if (Semantic.EXACTLY_ONCE == semantic) {
+            log.warn("asyncFlush is not supported in exactly-once semantic, flush synchronously");
+            return;
+        }
+        if (!supportsAsyncFlush()) {
+            log.warn(
+                    "{} does not support asyncFlush, flush synchronously",
+                    getClass().getSimpleName());
+            return;
+        }
+        this.asyncFlush = true;
+        this.maxInFlightBatches = Math.max(1, config.getMaxInFlightBatches());
+        this.inFlightPermits = new Semaphore(maxInFlightBatches);
+        // 在途批次各占一个缓冲，另有一个用于攒批
+        this.freeBuffers = new ArrayBlockingQueue<>(maxInFlightBatches + 1);
+        this.fillingRows = new ArrayList<>(batchSize);
+        this.idleRows = rows;
+        this.flushBlockedNanos = new LongAdder();
+        this.flushExecutor =
+                Executors.newSingleThreadExecutor(
+                        new ChunJunThreadFactory("async-flush-thread", true));
+
+        MetricGroup metricGroup =
+                context.getMetricGroup().addGroup(Metrics.METRIC_GROUP_KEY_CHUNJUN);
+        metricGroup.gauge(
+                Metrics.ASYNC_FLUSH_IN_FLIGHT_BATCHES,
+                (Gauge<Integer>) () -> maxInFlightBatches - inFlightPermits.availablePermits());
+        metricGroup.gauge(
+                Metrics.ASYNC_FLUSH_BLOCKED_TIME,
+                (Gauge<Long>) () -> TimeUnit.NANOSECONDS.toMillis(flushBlockedNanos.sum()));
+        log.info("asyncFlush enabled, maxInFlightBatches = {}", maxInFlightBatches);
+    }
+
+    /**
+     * 是否支持异步写出，覆盖了writeRecord或writeRecordInternal、有自己写出流程的子类需返回false
+     *
+     * @return 默认支持
+     */
+    protected boolean supportsAsyncFlush() {
+        return true;
+    }
+
+    private void initAdaptiveBatchSize() {
+        if (!config.isAdaptiveBatchSize() || batchSize <= 1) {
+            return;
+        }
+        // 批次大小为1时会转为单条写出，因此最小为2
+        int minBatchSize = Math.max(2, config.getMinBatchSize());
+        int maxBatchSize = config.getMaxBatchSize() > 0 ? config.getMaxBatchSize() : batchSize * 4;
+        this.batchSizeController =
+                new AdaptiveBatchSizeController(
+                        batchSize,
+                        minBatchSize,
+                        Math.max(minBatchSize, maxBatchSize),
+                        config.getTargetFlushLatencyMills());
+        this.batchSize = batchSizeController.getBatchSize();
+        context.getMetricGroup()
+                .addGroup(Metrics.METRIC_GROUP_KEY_CHUNJUN)
+                .gauge(
+                        Metrics.CURRENT_BATCH_SIZE,
+                        (Gauge<Integer>) batchSizeController::getBatchSize);
+        log.info(
+                "adaptiveBatchSize enabled, initial = {}, min = {}, max = {}, targetLatencyMills = {}",
+                batchSize,
+                minBatchSize,
+                maxBatchSize,
+                config.getTargetFlushLatencyMills());
+    }
+
+    /** 写出一个批次后采用自动调整后的批次大小 */
+    private void updateBatchSize() {
+        if (batchSizeController != null) {
+            batchSize = batchSizeController.getBatchSize();
+        }
+    }
+
+    private void initBatchFailureStrategy() {
+        if (BatchFailureStrategy.BISECT != batchFailureStrategy) {
+            return;
+        }
+        this.bisectRetries = new LongAdder();
+        this.bisectMaxDepth = new AtomicInteger();
+        MetricGroup metricGroup =
+                context.getMetricGroup().addGroup(Metrics.METRIC_GROUP_KEY_CHUNJUN);
+        metricGroup.gauge(Metrics.BATCH_BISECT_RETRIES, (Gauge<Long>) bisectRetries::sum);
+        metricGroup.gauge(Metrics.BATCH_BISECT_MAX_DEPTH, (Gauge<Integer>) bisectMaxDepth::get);
+    }
+
+    /** 将正在攒批的缓冲交给异步写出线程，在途批次已达上限时阻塞等待 */
+    private void submitFillingRows() {
+        if (fillingRows.isEmpty()) {
+            return;
+        }
+        acquireInFlightPermits(1);
+        List<RowData> batch = fillingRows;
+        List<RowData> next = freeBuffers.poll();
+        fillingRows = next == null ? new ArrayList<>(batchSize) : next;
+        try {
+            flushExecutor.execute(() -> flushBatch(batch));
+        } catch (Exception e) {
+            inFlightPermits.release();
+            throw new ChunJunRuntimeException("submit batch to async flush thread failed", e);
+        }
+    }
+
+    /** 在异步写出线程中执行，异常通过timerWriteException交给task线程抛出 */
+    private void flushBatch(List<RowData> batch) {
+        try {
+            // 已有批次写出失败时任务即将失败，不再写出后续批次
+            if (null == timerWriteException) {
+                int size = batch.size();
+                rows = batch;
+                flushRows();
+                // 批次写出完成后才计入本次checkpoint的写出条数
+                if (checkpointEnabled) {
+                    snapshotWriteCounter.add(size);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Writing records failed. {}", ExceptionUtil.getErrorMessage(e));
+            timerWriteException = e;
+        } finally {
+            rows = idleRows;
+            batch.clear();
+            freeBuffers.offer(batch);
+            inFlightPermits.release();
+        }
+    }
+
+    /** 等待所有在途批次写出完成 */
+    private void waitForInFlightBatches() {
+        acquireInFlightPermits(maxInFlightBatches);
+        inFlightPermits.release(maxInFlightBatches);
+    }
+
+    private void acquireInFlightPermits(int permits) {
+        if (inFlightPermits.tryAcquire(permits)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            inFlightPermits.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChunJunRuntimeException("interrupted while waiting for async flush", e);
+        } finally {
+            flushBlockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
     /**
      * 数据单条写出
      *
@@ -503,16 +730,74 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     /** 数据批量写出 */
     protected synchronized void writeRecordInternal() {
         if (flushEnable.get()) {
-            try {
-                writeMultipleRecordsInternal();
-                numWriteCounter.add(rows.size());
-            } catch (Exception e) {
+            flushRows();
+        }
+    }
+
+    private void flushRows() {
+        List<RowData> batch = rows;
+        int size = batch.size();
+        long start = System.nanoTime();
+        try {
+            writeMultipleRecordsInternal();
+            numWriteCounter.add(rows.size());
+            if (batchSizeController != null) {
+                batchSizeController.onSuccess(size, System.nanoTime() - start);
+            }
+        } catch (Exception e) {
+            if (batchSizeController != null) {
+                batchSizeController.onFailure();
+            }
+            if (e instanceof NoRestartException) {
+                // 子类声明该批次不能重写
+                throw (NoRestartException) e;
+            }
+            if (BatchFailureStrategy.BISECT == batchFailureStrategy && batch.size() > 1) {
+                writeBisected(batch, 1);
+            } else {
                 // 批量写异常转为单条写
-                rows.forEach(item -> writeSingleRecord(item, numWriteCounter));
-            } finally {
-                // Data is either recorded dirty data or written normally
-                rows.clear();
+                batch.forEach(item -> writeSingleRecord(item, numWriteCounter));
             }
+        } finally {
+            // Data is either recorded dirty data or written normally
+            rows = batch;
+            rows.clear();
+        }
+    }
+
+    /**
+     * 将写出失败的批次对半拆分，按原有顺序分别批量写出，仍失败的一半继续拆分，拆分为单条数据时逐条写出并由脏数据管理器记录
+     *
+     * @param batch 写出失败的批次
+     * @param depth 拆分深度
+     */
+    private void writeBisected(List<RowData> batch, int depth) {
+        bisectMaxDepth.accumulateAndGet(depth, Math::max);
+        int middle = batch.size() / 2;
+        writeHalf(batch.subList(0, middle), depth);
+        writeHalf(batch.subList(middle, batch.size()), depth);
+    }
+
+    private void writeHalf(List<RowData> half, int depth) {
+        if (half.isEmpty()) {
+            return;
+        }
+        if (half.size() == 1) {
+            writeSingleRecord(half.get(0), numWriteCounter);
+            return;
+        }
+        bisectRetries.increment();
+        // 子类可能修改rows，这里写出拷贝而不是subList视图
+        List<RowData> copy = new ArrayList<>(half);
+        rows = copy;
+        try {
+            writeMultipleRecordsInternal();
+            numWriteCounter.add(rows.size());
+        } catch (NoRestartException e) {
+            throw e;
+        } catch (Exception e) {
+            // 子类已从rows中移除并记为脏数据的行不再重试
+            writeBisected(copy, depth + 1);
         }
     }
 
@@ -571,6 +856,11 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
             } finally {
                 flushEnable.compareAndSet(true, false);
             }
+        } else if (asyncFlush) {
+            // checkpoint前写出所有已缓存的数据，写出失败时checkpoint失败
+            submitFillingRows();
+            waitForInFlightBatches();
+            checkTimerWriteException();
         } else {
             writeRecordInternal();
         }
@@ -582,6 +872,12 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     }
 
     private void executeDdlRowDataTemplate(DdlRowData ddlRowData) {
+        if (asyncFlush) {
+            // ddl之前的数据需先写出，保证与ddl的先后顺序
+            submitFillingRows();
+            waitForInFlightBatches();
+            checkTimerWriteException();
+        }
         try {
             preExecuteDdlRowData(ddlRowData);
             if (executeDdlAble) {
@@ -615,7 +911,9 @@ public abstract class BaseRichOutputFormat extends RichOutputFormat<RowData>
     protected abstract void writeSingleRecordInternal(RowData rowData) throws WriteRecordException;
 
     /**
-     * 写出多条数据
+     * 写出多条数据，返回后rows中剩余的数据计为写出成功，已自行计入脏数据的行需从rows中移除.
+     *
+     * <p>抛出异常时父类按{@link BatchFailureStrategy}重写该批次，抛出{@link NoRestartException}时不再重写，直接抛出
      *
      * @throws Exception
      */
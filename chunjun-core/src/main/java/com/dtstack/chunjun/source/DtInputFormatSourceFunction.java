@@ -45,6 +45,7 @@ import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -91,6 +92,8 @@ public class DtInputFormatSourceFunction<OUT> extends InputFormatSourceFunction<
             if (formatStateMap != null) {
                 ((BaseRichInputFormat) format)
                         .setFormatState(formatStateMap.get(context.getIndexOfThisSubtask()));
+                ((BaseRichInputFormat) format)
+                        .setRestoredFormatStates(new ArrayList<>(formatStateMap.values()));
             }
         }
 
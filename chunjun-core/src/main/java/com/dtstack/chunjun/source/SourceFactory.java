@@ -137,6 +137,11 @@ public abstract class SourceFactory implements RawTypeConvertible {
     }
 
     protected TypeInformation<RowData> getTypeInformation() {
+        if (typeInformation == null
+                && useAbstractBaseColumn
+                && syncConfig.getReader().getBooleanVal("headerInterning", false)) {
+            typeInformation = getHeaderLayoutTypeInformation();
+        }
         if (typeInformation == null) {
             typeInformation =
                     TableUtil.getTypeInformation(
@@ -144,4 +149,13 @@ public abstract class SourceFactory implements RawTypeConvertible {
         }
         return typeInformation;
     }
+
+    /**
+     * 数据源产生的数据字段与header固定时，返回注册了header布局的类型信息，数据在算子间传输时header只写出布局id.
+     *
+     * <p>开启reader参数headerInterning后使用，返回null时使用默认的类型信息
+     */
+    protected TypeInformation<RowData> getHeaderLayoutTypeInformation() {
+        return null;
+    }
 }
@@ -54,6 +54,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -97,6 +98,8 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
     protected RowSizeCalculator rowSizeCalculator;
     /** checkpoint状态缓存map */
     protected FormatState formatState;
+    /** 从checkpoint恢复的所有并行度的状态，用于分片动态分配、状态需要在并行度间共享的场景 */
+    protected transient Collection<FormatState> restoredFormatStates;
 
     protected LongCounter numReadCounter;
     protected LongCounter bytesReadCounter;
@@ -289,7 +292,10 @@ public abstract class BaseRichInputFormat extends RichInputFormat<RowData, Input
     private void initRowSizeCalculator() {
         rowSizeCalculator =
                 RowSizeCalculator.getRowSizeCalculator(
-                        config.getRowSizeCalculatorType(), useAbstractColumn);
+                        config.getRowSizeCalculatorType(),
+                        useAbstractColumn,
+                        config.getRowSizeSampleInterval(),
+                        rowConverter == null ? null : rowConverter.getRowType());
     }
 
     /** 初始化速率限制器 */
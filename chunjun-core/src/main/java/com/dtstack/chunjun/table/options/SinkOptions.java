@@ -39,6 +39,60 @@ public class SinkOptions {
                             "the flush interval mills, over this time, asynchronous threads will flush data. The "
                                     + "default value is 1s.");
 
+    public static final ConfigOption<Boolean> SINK_BUFFER_FLUSH_ADAPTIVE =
+            ConfigOptions.key("sink.buffer-flush.adaptive")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "whether to adjust the flush max rows by the observed flush latency and "
+                                    + "failures, sink.buffer-flush.max-rows is the initial value.");
+
+    public static final ConfigOption<Integer> SINK_BUFFER_FLUSH_ADAPTIVE_MIN_ROWS =
+            ConfigOptions.key("sink.buffer-flush.adaptive.min-rows")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription("the lower bound of the adaptive flush max rows.");
+
+    public static final ConfigOption<Integer> SINK_BUFFER_FLUSH_ADAPTIVE_MAX_ROWS =
+            ConfigOptions.key("sink.buffer-flush.adaptive.max-rows")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "the upper bound of the adaptive flush max rows, 0 means four times "
+                                    + "sink.buffer-flush.max-rows.");
+
+    public static final ConfigOption<Long> SINK_BUFFER_FLUSH_ADAPTIVE_TARGET_LATENCY =
+            ConfigOptions.key("sink.buffer-flush.adaptive.target-latency")
+                    .longType()
+                    .defaultValue(1000L)
+                    .withDescription(
+                            "the target flush latency mills, the flush max rows is halved when a "
+                                    + "flush takes longer.");
+
+    public static final ConfigOption<Boolean> SINK_ASYNC_FLUSH =
+            ConfigOptions.key("sink.async-flush")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "whether to hand full batches to a dedicated flush thread, so that the "
+                                    + "task keeps buffering records while a batch is being written.");
+
+    public static final ConfigOption<Integer> SINK_ASYNC_FLUSH_MAX_IN_FLIGHT =
+            ConfigOptions.key("sink.async-flush.max-in-flight")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "the max number of batches queued or being written by the flush thread.");
+
+    public static final ConfigOption<String> SINK_BATCH_FAILURE_STRATEGY =
+            ConfigOptions.key("sink.batch-failure-strategy")
+                    .stringType()
+                    .defaultValue("row-by-row")
+                    .withDescription(
+                            "how to recover a failed batch. row-by-row: write every row of the batch "
+                                    + "one by one; bisect: split the batch in halves recursively "
+                                    + "until the dirty rows are isolated.");
+
     public static final ConfigOption<Integer> SINK_CONNECTION_QUERY_TIMEOUT =
             ConfigOptions.key("sink.connection-timeout")
                     .intType()
@@ -20,6 +20,16 @@ package com.dtstack.chunjun.typeutil.serializer;
 
 import com.dtstack.chunjun.element.AbstractBaseColumn;
 import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveColumnRowData;
+import com.dtstack.chunjun.typeutil.serializer.base.BooleanColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.ByteColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.BytesColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.DoubleColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.FloatColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.IntColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.LongColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.ShortColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.StringColumnSerializer;
 
 import org.apache.flink.api.common.typeutils.CompositeTypeSerializerUtil;
 import org.apache.flink.api.common.typeutils.NestedSerializersSnapshotDelegate;
@@ -33,28 +43,65 @@ import org.apache.flink.core.memory.DataInputView;
 import org.apache.flink.core.memory.DataOutputView;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.InstantiationUtil;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
+/**
+ * Serializer of {@link ColumnRowData}.
+ *
+ * <p>The header of a row is written as an int code: {@value #NULL_HEADER} for a row without header,
+ * a non-negative number for an inline header of that many entries followed by the ext header, or
+ * {@code -2 - layoutId} for a layout registered in the {@link HeaderDictionary}, in which case the
+ * ext header is part of the layout and not written. Without a dictionary only the first two forms
+ * are written, which is the format of previous versions.
+ *
+ * <p>When every boolean, integral, floating point, char, varchar, binary and varbinary field uses
+ * the default column serializer of its type, rows are deserialized into {@link
+ * PrimitiveColumnRowData}, and such rows are serialized without creating columns. The bytes are the
+ * same as for {@link ColumnRowData}.
+ */
 public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
 
     private static final long serialVersionUID = -3193875237503741622L;
 
+    private static final int NULL_HEADER = -1;
+    private static final int FIRST_LAYOUT_CODE = -2;
+
+    /** Continuation bit of the variable-length ints of {@link StringSerializer}. */
+    private static final int HIGH_BIT = 0x80;
+
     StringSerializer stringSerializer = StringSerializer.INSTANCE;
     int size;
 
     private final LogicalType[] types;
     private final TypeSerializer<AbstractBaseColumn>[] fieldSerializers;
+    @Nullable private final HeaderDictionary headerDictionary;
+    @Nullable private final PrimitiveColumnRowData.Layout primitiveLayout;
+
+    /** Scratch buffer for strings read as UTF-8. */
+    private transient byte[] utf8Buffer;
 
-    @SuppressWarnings("unchecked")
     public ColumnRowDataSerializer(RowType rowType) {
+        this(rowType, null);
+    }
+
+    /**
+     * @param headerDictionary header layouts to encode as ids, null to always write headers inline
+     */
+    @SuppressWarnings("unchecked")
+    public ColumnRowDataSerializer(RowType rowType, @Nullable HeaderDictionary headerDictionary) {
         this(
                 rowType.getChildren().toArray(new LogicalType[0]),
                 rowType.getFields().stream()
@@ -65,14 +112,87 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
                                                 field.getDescription().isPresent()
                                                         ? field.getDescription().get()
                                                         : ""))
-                        .toArray(TypeSerializer[]::new));
+                        .toArray(TypeSerializer[]::new),
+                headerDictionary);
     }
 
     public ColumnRowDataSerializer(
             LogicalType[] types, TypeSerializer<AbstractBaseColumn>[] fieldSerializers) {
+        this(types, fieldSerializers, null);
+    }
+
+    public ColumnRowDataSerializer(
+            LogicalType[] types,
+            TypeSerializer<AbstractBaseColumn>[] fieldSerializers,
+            @Nullable HeaderDictionary headerDictionary) {
         this.types = types;
         this.fieldSerializers = fieldSerializers;
         this.size = fieldSerializers.length;
+        this.headerDictionary =
+                headerDictionary == null || headerDictionary.size() == 0 ? null : headerDictionary;
+        this.primitiveLayout = createLayout(types, fieldSerializers);
+    }
+
+    /**
+     * The layout of deserialized rows, or null to deserialize into {@link ColumnRowData} if no
+     * field can be kept as primitive or a primitive field uses a serializer of its own.
+     */
+    @Nullable
+    private static PrimitiveColumnRowData.Layout createLayout(
+            LogicalType[] types, TypeSerializer<AbstractBaseColumn>[] fieldSerializers) {
+        if (types.length != fieldSerializers.length) {
+            return null;
+        }
+        String[] formats = new String[types.length];
+        boolean[] customFormats = new boolean[types.length];
+        boolean hasPrimitive = false;
+        for (int i = 0; i < types.length; i++) {
+            Class<?> defaultSerializer = getPrimitiveSerializerClass(types[i].getTypeRoot());
+            if (defaultSerializer == null) {
+                continue;
+            }
+            if (fieldSerializers[i].getClass() != defaultSerializer) {
+                return null;
+            }
+            if (fieldSerializers[i] instanceof StringColumnSerializer) {
+                StringColumnSerializer stringColumnSerializer =
+                        (StringColumnSerializer) fieldSerializers[i];
+                formats[i] = stringColumnSerializer.getFormat();
+                customFormats[i] = stringColumnSerializer.isCustomFormat();
+            }
+            hasPrimitive = true;
+        }
+        return hasPrimitive
+                ? PrimitiveColumnRowData.Layout.of(types, formats, customFormats)
+                : null;
+    }
+
+    @Nullable
+    private static Class<?> getPrimitiveSerializerClass(LogicalTypeRoot root) {
+        switch (root) {
+            case BOOLEAN:
+                return BooleanColumnSerializer.class;
+            case TINYINT:
+                return ByteColumnSerializer.class;
+            case SMALLINT:
+                return ShortColumnSerializer.class;
+            case INTEGER:
+                return IntColumnSerializer.class;
+            case BIGINT:
+                return LongColumnSerializer.class;
+            case FLOAT:
+                return FloatColumnSerializer.class;
+            case DOUBLE:
+                return DoubleColumnSerializer.class;
+            case CHAR:
+            case VARCHAR:
+                return StringColumnSerializer.class;
+            case BINARY:
+            case VARBINARY:
+                return BytesColumnSerializer.class;
+            default:
+                return null;
+        }
     }
 
     @Override
@@ -87,16 +207,22 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         for (int i = 0; i < fieldSerializers.length; i++) {
             duplicateFieldSerializers[i] = fieldSerializers[i].duplicate();
         }
-        return new ColumnRowDataSerializer(types, duplicateFieldSerializers);
+        return new ColumnRowDataSerializer(types, duplicateFieldSerializers, headerDictionary);
     }
 
     @Override
     public ColumnRowData createInstance() {
+        if (primitiveLayout != null) {
+            return new PrimitiveColumnRowData(primitiveLayout);
+        }
         return new ColumnRowData(fieldSerializers.length);
     }
 
     @Override
     public RowData copy(RowData from) {
+        if (from instanceof PrimitiveColumnRowData) {
+            return ((PrimitiveColumnRowData) from).copy();
+        }
         ColumnRowData that = (ColumnRowData) from;
         ColumnRowData columnRowData = new ColumnRowData(that.getRowKind(), size);
         columnRowData.setHeader(that.getHeaderInfo());
@@ -118,17 +244,30 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         return -1;
     }
 
-    /** rowKind + headerInfoSize + headerInfo + extHeaderSize + extHeader + fields */
+    /**
+     * rowKind + byteSize + (layoutCode | headerInfoSize + headerInfo + extHeaderSize + extHeader) +
+     * fields
+     */
     @Override
     public void serialize(RowData record, DataOutputView target) throws IOException {
         ColumnRowData columnRowData = (ColumnRowData) record;
         target.writeByte(record.getRowKind().toByteValue());
         target.writeInt(columnRowData.getByteSize());
 
-        if (columnRowData.getHeaderInfo() == null) {
-            target.writeInt(-1);
+        Map<String, Integer> headerInfo = columnRowData.getHeaderInfo();
+        int layoutId =
+                headerInfo == null || headerDictionary == null
+                        ? -1
+                        : headerDictionary.lookup(headerInfo, columnRowData.getExtHeader());
+        if (layoutId >= 0) {
+            target.writeInt(FIRST_LAYOUT_CODE - layoutId);
+            serializeFields(columnRowData, target);
+            return;
+        }
+
+        if (headerInfo == null) {
+            target.writeInt(NULL_HEADER);
         } else {
-            Map<String, Integer> headerInfo = columnRowData.getHeaderInfo();
             target.writeInt(headerInfo.size());
             for (Map.Entry<String, Integer> entry : headerInfo.entrySet()) {
                 stringSerializer.serialize(entry.getKey(), target);
@@ -143,23 +282,231 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
 
         Set<String> extHeader = columnRowData.getExtHeader();
         target.writeInt(extHeader.size());
-        for (String ext : columnRowData.getExtHeader()) {
+        for (String ext : extHeader) {
             stringSerializer.serialize(ext, target);
         }
 
+        serializeFields(columnRowData, target);
+    }
+
+    private void serializeFields(ColumnRowData columnRowData, DataOutputView target)
+            throws IOException {
+        PrimitiveColumnRowData primitiveRowData =
+                primitiveLayout != null && columnRowData instanceof PrimitiveColumnRowData
+                        ? (PrimitiveColumnRowData) columnRowData
+                        : null;
         for (int i = 0; i < size; i++) {
-            fieldSerializers[i].serialize(columnRowData.getField(i), target);
+            if (primitiveRowData != null
+                    && primitiveRowData.isPrimitiveAt(i)
+                    && primitiveRowData.getLayout().getTypeRoot(i) == types[i].getTypeRoot()) {
+                serializePrimitive(primitiveRowData, i, target);
+            } else {
+                fieldSerializers[i].serialize(columnRowData.getField(i), target);
+            }
+        }
+    }
+
+    /** Writes a non-null primitive field in the format of its column serializer. */
+    private void serializePrimitive(PrimitiveColumnRowData row, int pos, DataOutputView target)
+            throws IOException {
+        switch (types[pos].getTypeRoot()) {
+            case BOOLEAN:
+                target.writeByte(row.getBoolean(pos) ? 1 : 0);
+                break;
+            case TINYINT:
+                target.write(1);
+                target.write(row.getByte(pos));
+                break;
+            case SMALLINT:
+                target.write(1);
+                target.writeShort(row.getShort(pos));
+                break;
+            case INTEGER:
+                target.write(1);
+                target.writeInt(row.getInt(pos));
+                break;
+            case BIGINT:
+                target.write(1);
+                target.writeLong(row.getLong(pos));
+                break;
+            case FLOAT:
+                target.write(1);
+                target.writeFloat(row.getFloat(pos));
+                break;
+            case DOUBLE:
+                target.write(1);
+                target.writeDouble(row.getDouble(pos));
+                break;
+            case CHAR:
+            case VARCHAR:
+                serializeUtf8(
+                        row.getBuffer(), row.getBytesOffset(pos), row.getBytesLength(pos), target);
+                break;
+            default:
+                target.writeInt(row.getBytesLength(pos));
+                target.write(row.getBuffer(), row.getBytesOffset(pos), row.getBytesLength(pos));
+        }
+    }
+
+    /** Writes UTF-8 bytes in the format of {@link StringSerializer}, without decoding a String. */
+    private void serializeUtf8(byte[] bytes, int offset, int length, DataOutputView target)
+            throws IOException {
+        int chars = countUtf16Chars(bytes, offset, length);
+        if (chars < 0) {
+            stringSerializer.serialize(
+                    new String(bytes, offset, length, StandardCharsets.UTF_8), target);
+            return;
+        }
+        writeVarInt(chars + 1, target);
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                target.write(b);
+                i++;
+            } else if (b < 0xE0) {
+                writeVarInt(((b & 0x1F) << 6) | (bytes[i + 1] & 0x3F), target);
+                i += 2;
+            } else if (b < 0xF0) {
+                writeVarInt(
+                        ((b & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F),
+                        target);
+                i += 3;
+            } else {
+                int codePoint =
+                        ((b & 0x07) << 18)
+                                | ((bytes[i + 1] & 0x3F) << 12)
+                                | ((bytes[i + 2] & 0x3F) << 6)
+                                | (bytes[i + 3] & 0x3F);
+                writeVarInt(Character.highSurrogate(codePoint), target);
+                writeVarInt(Character.lowSurrogate(codePoint), target);
+                i += 4;
+            }
+        }
+    }
+
+    /** The number of UTF-16 chars of well-formed UTF-8, -1 if the bytes are not well-formed. */
+    private static int countUtf16Chars(byte[] bytes, int offset, int length) {
+        int chars = 0;
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                chars++;
+                i++;
+                continue;
+            }
+            int continuations;
+            int codePoint;
+            int min;
+            if (b >= 0xC2 && b < 0xE0) {
+                continuations = 1;
+                codePoint = b & 0x1F;
+                min = 0x80;
+            } else if (b >= 0xE0 && b < 0xF0) {
+                continuations = 2;
+                codePoint = b & 0x0F;
+                min = 0x800;
+            } else if (b >= 0xF0 && b < 0xF5) {
+                continuations = 3;
+                codePoint = b & 0x07;
+                min = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+            } else {
+                return -1;
+            }
+            if (i + continuations >= end) {
+                return -1;
+            }
+            for (int k = 1; k <= continuations; k++) {
+                int c = bytes[i + k] & 0xFF;
+                if ((c & 0xC0) != 0x80) {
+                    return -1;
+                }
+                codePoint = (codePoint << 6) | (c & 0x3F);
+            }
+            if (codePoint < min
+                    || codePoint > Character.MAX_CODE_POINT
+                    || (codePoint >= Character.MIN_SURROGATE
+                            && codePoint <= Character.MAX_SURROGATE)) {
+                return -1;
+            }
+            chars += Character.charCount(codePoint);
+            i += continuations + 1;
+        }
+        return chars;
+    }
+
+    private static void writeVarInt(int value, DataOutputView target) throws IOException {
+        while (value >= HIGH_BIT) {
+            target.write(value | HIGH_BIT);
+            value >>>= 7;
         }
+        target.write(value);
     }
 
-    /** rowKind + headerInfoSize + headerInfo + extHeaderSize + extHeader + fields */
+    private static int readVarInt(DataInputView source) throws IOException {
+        int value = source.readUnsignedByte();
+        if (value >= HIGH_BIT) {
+            value &= 0x7F;
+            int shift = 7;
+            int curr;
+            while ((curr = source.readUnsignedByte()) >= HIGH_BIT) {
+                value |= (curr & 0x7F) << shift;
+                shift += 7;
+            }
+            value |= curr << shift;
+        }
+        return value;
+    }
+
+    /**
+     * rowKind + byteSize + (layoutCode | headerInfoSize + headerInfo + extHeaderSize + extHeader) +
+     * fields
+     */
     @Override
     public ColumnRowData deserialize(DataInputView source) throws IOException {
+        if (primitiveLayout != null) {
+            return deserialize(new PrimitiveColumnRowData(primitiveLayout), source);
+        }
         RowKind rowKind = RowKind.fromByteValue(source.readByte());
         int byteSize = source.readInt();
         ColumnRowData columnRowData = new ColumnRowData(rowKind, fieldSerializers.length, byteSize);
+        deserializeHeader(columnRowData, source);
+        for (TypeSerializer<AbstractBaseColumn> typeSerializer : fieldSerializers) {
+            columnRowData.addFieldWithOutByteSize(typeSerializer.deserialize(source));
+        }
+        return columnRowData;
+    }
+
+    /** Fills the row, primitive fields are read without creating columns. */
+    private PrimitiveColumnRowData deserialize(PrimitiveColumnRowData row, DataInputView source)
+            throws IOException {
+        row.reset();
+        row.setRowKind(RowKind.fromByteValue(source.readByte()));
+        int byteSize = source.readInt();
+        deserializeHeader(row, source);
+        for (int i = 0; i < size; i++) {
+            if (primitiveLayout.isPrimitive(i)) {
+                deserializePrimitive(row, i, source);
+            } else {
+                row.setField(i, fieldSerializers[i].deserialize(source));
+            }
+        }
+        row.setByteSize(byteSize);
+        return row;
+    }
 
+    private void deserializeHeader(ColumnRowData columnRowData, DataInputView source)
+            throws IOException {
         int infoSize = source.readInt();
+        if (infoSize <= FIRST_LAYOUT_CODE) {
+            int layoutId = FIRST_LAYOUT_CODE - infoSize;
+            columnRowData.setHeader(getHeaderDictionary(layoutId).newHeader(layoutId));
+            columnRowData.setExtHeader(headerDictionary.newExtHeader(layoutId));
+            return;
+        }
         if (infoSize >= 0) {
             final LinkedHashMap<String, Integer> headerInfo = new LinkedHashMap<>(infoSize);
             for (int i = 0; i < infoSize; i++) {
@@ -176,16 +523,144 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         for (int i = 0; i < extHeaderSize; i++) {
             extHeader.add(stringSerializer.deserialize(source));
         }
+    }
 
-        for (TypeSerializer<AbstractBaseColumn> typeSerializer : fieldSerializers) {
-            columnRowData.addFieldWithOutByteSize(typeSerializer.deserialize(source));
+    /** Reads a primitive field written by its column serializer. */
+    private void deserializePrimitive(PrimitiveColumnRowData row, int pos, DataInputView source)
+            throws IOException {
+        LogicalTypeRoot root = types[pos].getTypeRoot();
+        switch (root) {
+            case CHAR:
+            case VARCHAR:
+                deserializeUtf8(row, pos, source);
+                return;
+            case BINARY:
+            case VARBINARY:
+                int length = source.readInt();
+                if (length < 0) {
+                    row.setNullAt(pos);
+                } else {
+                    byte[] bytes = getUtf8Buffer(length);
+                    source.readFully(bytes, 0, length);
+                    row.setBinary(pos, bytes, 0, length);
+                }
+                return;
+            case BOOLEAN:
+                byte value = source.readByte();
+                if (value == 2) {
+                    row.setNullAt(pos);
+                } else {
+                    row.setBoolean(pos, value == 1);
+                }
+                return;
+            default:
+                if (source.readByte() == 0) {
+                    row.setNullAt(pos);
+                    return;
+                }
+        }
+        switch (root) {
+            case TINYINT:
+                row.setByte(pos, source.readByte());
+                break;
+            case SMALLINT:
+                row.setShort(pos, source.readShort());
+                break;
+            case INTEGER:
+                row.setInt(pos, source.readInt());
+                break;
+            case BIGINT:
+                row.setLong(pos, source.readLong());
+                break;
+            case FLOAT:
+                row.setFloat(pos, source.readFloat());
+                break;
+            default:
+                row.setDouble(pos, source.readDouble());
         }
+    }
 
-        return columnRowData;
+    /**
+     * Reads a string written by {@link StringSerializer} and stores it as UTF-8, without creating a
+     * String. Unpaired surrogates become '?', as in {@link
+     * String#getBytes(java.nio.charset.Charset)}.
+     */
+    private void deserializeUtf8(PrimitiveColumnRowData row, int pos, DataInputView source)
+            throws IOException {
+        int length = readVarInt(source);
+        if (length == 0) {
+            row.setNullAt(pos);
+            return;
+        }
+        length--;
+        byte[] bytes = getUtf8Buffer(length * 3);
+        int n = 0;
+        int high = -1;
+        for (int i = 0; i < length; i++) {
+            int c = readVarInt(source);
+            if (high >= 0) {
+                if (Character.isLowSurrogate((char) c)) {
+                    int codePoint = Character.toCodePoint((char) high, (char) c);
+                    bytes[n++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[n++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[n++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[n++] = (byte) (0x80 | (codePoint & 0x3F));
+                    high = -1;
+                    continue;
+                }
+                bytes[n++] = '?';
+                high = -1;
+            }
+            if (c < 0x80) {
+                bytes[n++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[n++] = (byte) (0xC0 | (c >> 6));
+                bytes[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate((char) c)) {
+                high = c;
+            } else if (Character.isLowSurrogate((char) c)) {
+                bytes[n++] = '?';
+            } else {
+                bytes[n++] = (byte) (0xE0 | (c >> 12));
+                bytes[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (high >= 0) {
+            bytes[n++] = '?';
+        }
+        row.setUtf8(pos, bytes, 0, n);
+    }
+
+    private byte[] getUtf8Buffer(int capacity) {
+        if (utf8Buffer == null || utf8Buffer.length < capacity) {
+            utf8Buffer = new byte[Math.max(capacity, 64)];
+        }
+        return utf8Buffer;
+    }
+
+    private HeaderDictionary getHeaderDictionary(int layoutId) throws IOException {
+        if (headerDictionary == null) {
+            throw new IOException(
+                    "Read header layout id "
+                            + layoutId
+                            + " but no header dictionary is registered");
+        }
+        return headerDictionary;
+    }
+
+    @Nullable
+    public HeaderDictionary getHeaderDictionary() {
+        return headerDictionary;
     }
 
     @Override
     public ColumnRowData deserialize(RowData reuse, DataInputView source) throws IOException {
+        if (primitiveLayout != null
+                && reuse instanceof PrimitiveColumnRowData
+                && ((PrimitiveColumnRowData) reuse).getLayout() == primitiveLayout) {
+            return deserialize((PrimitiveColumnRowData) reuse, source);
+        }
         return deserialize(source);
     }
 
@@ -195,6 +670,10 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         target.writeInt(source.readInt());
         int infoSize = source.readInt();
         target.writeInt(infoSize);
+        if (infoSize <= FIRST_LAYOUT_CODE) {
+            copyFields(source, target);
+            return;
+        }
         for (int i = 0; i < infoSize; i++) {
             stringSerializer.serialize(stringSerializer.deserialize(source), target);
             boolean isNotNull = source.readBoolean();
@@ -208,6 +687,10 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
         for (int i = 0; i < extHeaderSize; i++) {
             stringSerializer.serialize(stringSerializer.deserialize(source), target);
         }
+        copyFields(source, target);
+    }
+
+    private void copyFields(DataInputView source, DataOutputView target) throws IOException {
         for (TypeSerializer<AbstractBaseColumn> typeSerializer : fieldSerializers) {
             typeSerializer.serialize(typeSerializer.deserialize(source), target);
         }
@@ -217,37 +700,46 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
     public boolean equals(Object obj) {
         if (obj instanceof ColumnRowDataSerializer) {
             ColumnRowDataSerializer other = (ColumnRowDataSerializer) obj;
-            return Arrays.equals(fieldSerializers, other.fieldSerializers);
+            return Arrays.equals(fieldSerializers, other.fieldSerializers)
+                    && Objects.equals(headerDictionary, other.headerDictionary);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(fieldSerializers);
+        return 31 * Arrays.hashCode(fieldSerializers) + Objects.hashCode(headerDictionary);
     }
 
     @Override
     public TypeSerializerSnapshot<RowData> snapshotConfiguration() {
-        return new ColumnRowDataSerializerSnapshot(types, fieldSerializers);
+        return new ColumnRowDataSerializerSnapshot(types, fieldSerializers, headerDictionary);
     }
 
     public static final class ColumnRowDataSerializerSnapshot
             implements TypeSerializerSnapshot<RowData> {
-        private static final int CURRENT_VERSION = 3;
+        /** Version 4 adds the header dictionary. */
+        private static final int CURRENT_VERSION = 4;
+
+        private static final int FIRST_VERSION_WITH_HEADER_DICTIONARY = 4;
 
         private LogicalType[] previousTypes;
         private NestedSerializersSnapshotDelegate nestedSerializersSnapshotDelegate;
+        @Nullable private HeaderDictionary previousHeaderDictionary;
 
         @SuppressWarnings("unused")
         public ColumnRowDataSerializerSnapshot() {
             // this constructor is used when restoring from a checkpoint/savepoint.
         }
 
-        ColumnRowDataSerializerSnapshot(LogicalType[] types, TypeSerializer[] serializers) {
+        ColumnRowDataSerializerSnapshot(
+                LogicalType[] types,
+                TypeSerializer[] serializers,
+                @Nullable HeaderDictionary headerDictionary) {
             this.previousTypes = types;
             this.nestedSerializersSnapshotDelegate =
                     new NestedSerializersSnapshotDelegate(serializers);
+            this.previousHeaderDictionary = headerDictionary;
         }
 
         @Override
@@ -263,6 +755,10 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
                 InstantiationUtil.serializeObject(stream, previousType);
             }
             nestedSerializersSnapshotDelegate.writeNestedSerializerSnapshots(out);
+            out.writeBoolean(previousHeaderDictionary != null);
+            if (previousHeaderDictionary != null) {
+                previousHeaderDictionary.write(out);
+            }
         }
 
         @Override
@@ -282,6 +778,9 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
             this.nestedSerializersSnapshotDelegate =
                     NestedSerializersSnapshotDelegate.readNestedSerializerSnapshots(
                             in, userCodeClassLoader);
+            if (readVersion >= FIRST_VERSION_WITH_HEADER_DICTIONARY && in.readBoolean()) {
+                this.previousHeaderDictionary = HeaderDictionary.read(in);
+            }
         }
 
         @Override
@@ -289,7 +788,8 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
             return new ColumnRowDataSerializer(
                     previousTypes,
                     (TypeSerializer<AbstractBaseColumn>[])
-                            nestedSerializersSnapshotDelegate.getRestoredNestedSerializers());
+                            nestedSerializersSnapshotDelegate.getRestoredNestedSerializers(),
+                    previousHeaderDictionary);
         }
 
         @Override
@@ -318,6 +818,16 @@ public class ColumnRowDataSerializer extends TypeSerializer<RowData> {
                         reconfiguredCompositeSerializer);
             }
 
+            // data written without a dictionary, or with a dictionary whose ids are kept by the
+            // new one, can be read by the new serializer directly
+            boolean headerCompatible =
+                    previousHeaderDictionary == null
+                            || previousHeaderDictionary.isPrefixOf(
+                                    newColumnRowSerializer.headerDictionary);
+            if (!headerCompatible && intermediateResult.isCompatibleAsIs()) {
+                return TypeSerializerSchemaCompatibility.compatibleAfterMigration();
+            }
+
             return intermediateResult.getFinalResult();
         }
     }
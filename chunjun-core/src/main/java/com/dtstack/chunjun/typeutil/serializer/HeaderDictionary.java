@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.typeutil.serializer;
+
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.Preconditions;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Header layouts of {@link com.dtstack.chunjun.element.ColumnRowData} known to a {@link
+ * ColumnRowDataSerializer} before the job starts.
+ *
+ * <p>A row whose header and ext header match a registered layout is serialized as the layout id
+ * instead of the full list of column names. The dictionary is part of the serializer configuration,
+ * so it is shipped with the job graph to every task and written to the serializer snapshot, which
+ * keeps the ids stable on both sides of a network channel and across savepoints. Rows with an
+ * unregistered layout fall back to the inline encoding.
+ */
+public final class HeaderDictionary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HeaderLayout[] layouts;
+
+    private HeaderDictionary(List<HeaderLayout> layouts) {
+        this.layouts = layouts.toArray(new HeaderLayout[0]);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return layouts.length;
+    }
+
+    /**
+     * Find the registered layout of a row.
+     *
+     * @return the layout id, or -1 if the row header is not registered
+     */
+    public int lookup(Map<String, Integer> header, Set<String> extHeader) {
+        for (int id = 0; id < layouts.length; id++) {
+            if (layouts[id].matches(header, extHeader)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /** Create a new, mutable header for the given layout. */
+    public LinkedHashMap<String, Integer> newHeader(int id) {
+        String[] names = layout(id).headerNames;
+        LinkedHashMap<String, Integer> header = new LinkedHashMap<>((names.length << 2) / 3 + 1);
+        for (int i = 0; i < names.length; i++) {
+            header.put(names[i], i);
+        }
+        return header;
+    }
+
+    /** Create a new, mutable ext header for the given layout. */
+    public Set<String> newExtHeader(int id) {
+        return new HashSet<>(Arrays.asList(layout(id).extHeaderNames));
+    }
+
+    /**
+     * Whether rows written with this dictionary can be read with {@code other}, i.e. every layout
+     * of this dictionary is registered with the same id in {@code other}.
+     */
+    public boolean isPrefixOf(HeaderDictionary other) {
+        if (other == null || other.layouts.length < layouts.length) {
+            return false;
+        }
+        for (int i = 0; i < layouts.length; i++) {
+            if (!layouts[i].equals(other.layouts[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private HeaderLayout layout(int id) {
+        if (id < 0 || id >= layouts.length) {
+            throw new IllegalStateException(
+                    "Unknown header layout id " + id + ", dictionary size is " + layouts.length);
+        }
+        return layouts[id];
+    }
+
+    void write(DataOutputView out) throws IOException {
+        out.writeInt(layouts.length);
+        for (HeaderLayout layout : layouts) {
+            writeNames(out, layout.headerNames);
+            writeNames(out, layout.extHeaderNames);
+        }
+    }
+
+    static HeaderDictionary read(DataInputView in) throws IOException {
+        int size = in.readInt();
+        List<HeaderLayout> layouts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            layouts.add(new HeaderLayout(readNames(in), readNames(in)));
+        }
+        return new HeaderDictionary(layouts);
+    }
+
+    private static void writeNames(DataOutputView out, String[] names) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+
+    private static String[] readNames(DataInputView in) throws IOException {
+        String[] names = new String[in.readInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = in.readUTF();
+        }
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HeaderDictionary)) {
+            return false;
+        }
+        return Arrays.equals(layouts, ((HeaderDictionary) o).layouts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(layouts);
+    }
+
+    @Override
+    public String toString() {
+        return "HeaderDictionary" + Arrays.toString(layouts);
+    }
+
+    public static final class Builder {
+        private final List<HeaderLayout> layouts = new ArrayList<>();
+
+        /**
+         * Register a layout. The header positions are the positions of {@code headerNames}, which
+         * is what {@link com.dtstack.chunjun.element.ColumnRowData#addHeader} produces.
+         */
+        public Builder addLayout(List<String> headerNames, Collection<String> extHeaderNames) {
+            HeaderLayout layout =
+                    new HeaderLayout(
+                            headerNames.toArray(new String[0]),
+                            extHeaderNames.toArray(new String[0]));
+            Preconditions.checkArgument(
+                    !layouts.contains(layout), "duplicate header layout %s", layout);
+            layouts.add(layout);
+            return this;
+        }
+
+        public HeaderDictionary build() {
+            return new HeaderDictionary(layouts);
+        }
+    }
+
+    private static final class HeaderLayout implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] headerNames;
+        private final String[] extHeaderNames;
+
+        private HeaderLayout(String[] headerNames, String[] extHeaderNames) {
+            this.headerNames = headerNames;
+            this.extHeaderNames = extHeaderNames;
+        }
+
+        private boolean matches(Map<String, Integer> header, Set<String> extHeader) {
+            if (header.size() != headerNames.length || extHeader.size() != extHeaderNames.length) {
+                return false;
+            }
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : header.entrySet()) {
+                Integer position = entry.getValue();
+                if (position == null || position != i || !headerNames[i].equals(entry.getKey())) {
+                    return false;
+                }
+                i++;
+            }
+            for (String name : extHeaderNames) {
+                if (!extHeader.contains(name)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HeaderLayout)) {
+                return false;
+            }
+            HeaderLayout that = (HeaderLayout) o;
+            return Arrays.equals(headerNames, that.headerNames)
+                    && Arrays.equals(sorted(extHeaderNames), sorted(that.extHeaderNames));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(headerNames) + Arrays.hashCode(sorted(extHeaderNames));
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(headerNames) + "/" + Arrays.toString(extHeaderNames);
+        }
+
+        private static String[] sorted(String[] names) {
+            String[] copy = names.clone();
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
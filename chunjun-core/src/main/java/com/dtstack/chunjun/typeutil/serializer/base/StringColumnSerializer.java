@@ -60,6 +60,14 @@ public class StringColumnSerializer extends TypeSerializer<AbstractBaseColumn> {
         this.isCustomFormat = isCustomFormat;
     }
 
+    public String getFormat() {
+        return format;
+    }
+
+    public boolean isCustomFormat() {
+        return isCustomFormat;
+    }
+
     @Override
     public boolean isImmutableType() {
         return false;
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * 按行读取字节流，不解码为String，配合{@link DelimitedTextTokenizer}切分字段.
+ *
+ * <p>换行规则与{@link java.io.BufferedReader#readLine()}一致：\n、\r和\r\n都是行结束符，返回的行不包含行结束符。
+ * 行完整位于读缓冲区时直接返回读缓冲区中的位置，不复制数据；跨越缓冲区的行复制到单独的行缓冲区。
+ * 行数据只在下一次调用readLine之前有效。只适用于\r和\n编码为单字节且不会出现在多字节字符内部的字符集，见{@link
+ * DelimitedTextTokenizer#isSupported(java.nio.charset.Charset)}。
+ */
+public class ByteLineReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+
+    /** 跨越读缓冲区的行 */
+    private byte[] lineBuffer = new byte[0];
+
+    private byte[] lineBytes;
+    private int lineOffset;
+    private int lineLength;
+
+    /** 上一行以\r结尾且\n还未读到，下一次读取时跳过开头的\n */
+    private boolean skipLineFeed;
+
+    private long lineNumber;
+    /** 已消费的字节数，包含行结束符 */
+    private long bytesRead;
+
+    public ByteLineReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ByteLineReader(InputStream in, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * 读取下一行.
+     *
+     * @return 已读到流的末尾时返回false
+     */
+    public boolean readLine() throws IOException {
+        int copied = 0;
+        boolean started = false;
+        while (true) {
+            if (position >= limit && !fill()) {
+                if (!started) {
+                    return false;
+                }
+                setLine(lineBuffer, 0, copied);
+                return true;
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    bytesRead++;
+                    continue;
+                }
+            }
+            started = true;
+            int start = position;
+            int end = start;
+            while (end < limit && buffer[end] != '\n' && buffer[end] != '\r') {
+                end++;
+            }
+            if (end == limit) {
+                copied = append(copied, start, limit);
+                bytesRead += limit - start;
+                position = limit;
+                continue;
+            }
+            position = end + 1;
+            if (buffer[end] == '\r') {
+                if (position < limit) {
+                    if (buffer[position] == '\n') {
+                        position++;
+                    }
+                } else {
+                    skipLineFeed = true;
+                }
+            }
+            bytesRead += position - start;
+            if (copied == 0) {
+                setLine(buffer, start, end - start);
+            } else {
+                copied = append(copied, start, end);
+                setLine(lineBuffer, 0, copied);
+            }
+            return true;
+        }
+    }
+
+    /** 当前行所在的数组，当前行从{@link #getOffset()}开始 */
+    public byte[] getBytes() {
+        return lineBytes;
+    }
+
+    public int getOffset() {
+        return lineOffset;
+    }
+
+    public int getLength() {
+        return lineLength;
+    }
+
+    /** 已读取的行数 */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /** 从流的起始位置到当前行的行结束符之后已消费的字节数 */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    private int append(int copied, int start, int end) {
+        int length = end - start;
+        if (copied + length > lineBuffer.length) {
+            lineBuffer =
+                    Arrays.copyOf(lineBuffer, Math.max(copied + length, lineBuffer.length * 2));
+        }
+        System.arraycopy(buffer, start, lineBuffer, copied, length);
+        return copied + length;
+    }
+
+    private void setLine(byte[] bytes, int offset, int length) {
+        this.lineBytes = bytes;
+        this.lineOffset = offset;
+        this.lineLength = length;
+        this.lineNumber++;
+    }
+}
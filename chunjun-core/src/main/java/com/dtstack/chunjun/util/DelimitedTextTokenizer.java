@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 在字节层面按分隔符切分一行文本，只记录每个字段在缓冲区中的起止位置，不为字段创建String.
+ *
+ * <p>切分结果与{@link StringUtils#splitByWholeSeparatorPreserveAllTokens(String,
+ * String)}一致：保留空字段，空行没有字段。字段按需转换，未被读取的字段不会产生任何对象；整数和布尔值直接从字节解析，
+ * 其余类型解码为String后交给原有的转换逻辑。对象可复用，每次调用tokenize都会覆盖上一行的结果，字段只在下次tokenize之前有效。
+ *
+ * <p>只适用于分隔符的字节不会出现在多字节字符内部的字符集，见{@link #isSupported(Charset)}。
+ */
+public class DelimitedTextTokenizer {
+
+    private static final int INITIAL_FIELDS = 16;
+    /** long最多19位数字，不超过18位时一定不会溢出 */
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
+    /** int最多10位数字，不超过9位时一定不会溢出 */
+    private static final int MAX_SAFE_INT_DIGITS = 9;
+
+    private static final byte[] TRUE_BYTES = "true".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] delimiter;
+    private final Charset charset;
+
+    private byte[] buffer;
+
+    private int[] starts = new int[INITIAL_FIELDS];
+    private int[] ends = new int[INITIAL_FIELDS];
+    private int size;
+
+    public DelimitedTextTokenizer(String delimiter, Charset charset) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter can not be empty");
+        }
+        this.delimiter = delimiter.getBytes(charset);
+        this.charset = charset;
+    }
+
+    /** 分隔符的字节不会出现在多字节字符内部，可以直接在字节层面切分的字符集 */
+    public static boolean isSupported(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    /**
+     * 切分bytes中从offset开始的length个字节，调用方在读取完字段之前不能修改bytes.
+     *
+     * @return 字段数量
+     */
+    public int tokenize(byte[] bytes, int offset, int length) {
+        this.buffer = bytes;
+        this.size = 0;
+        if (length == 0) {
+            return 0;
+        }
+        int end = offset + length;
+        int fieldStart = offset;
+        int last = end - delimiter.length;
+        byte first = delimiter[0];
+        int i = offset;
+        while (i <= last) {
+            if (bytes[i] == first && matches(bytes, i)) {
+                addField(fieldStart, i);
+                i += delimiter.length;
+                fieldStart = i;
+            } else {
+                i++;
+            }
+        }
+        addField(fieldStart, end);
+        return size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** 去掉每个字段首尾的空格和制表符，与CsvReader的trimWhitespace一致 */
+    public void trimWhitespace() {
+        for (int i = 0; i < size; i++) {
+            int start = starts[i];
+            int end = ends[i];
+            while (start < end && isSpaceOrTab(buffer[start])) {
+                start++;
+            }
+            while (end > start && isSpaceOrTab(buffer[end - 1])) {
+                end--;
+            }
+            starts[i] = start;
+            ends[i] = end;
+        }
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /** 最近一次切分的字节，字段位于{@link #getStart(int)}开始的{@link #getLength(int)}个字节 */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int getStart(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    public int getLength(int index) {
+        checkIndex(index);
+        return ends[index] - starts[index];
+    }
+
+    public boolean isEmpty(int index) {
+        return getLength(index) == 0;
+    }
+
+    /** 与{@link StringUtils#isBlank(CharSequence)}结果一致，字段包含非ASCII字节时解码后判断 */
+    public boolean isBlank(int index) {
+        checkIndex(index);
+        for (int i = starts[index]; i < ends[index]; i++) {
+            byte b = buffer[i];
+            if (b < 0) {
+                return StringUtils.isBlank(getString(index));
+            }
+            if (!Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 字段的字节是否与value相同，用于不解码地判断空值标记等常量 */
+    public boolean fieldEquals(int index, byte[] value) {
+        int start = starts[index];
+        int length = getLength(index);
+        if (length != value.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[start + i] != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getString(int index) {
+        checkIndex(index);
+        return new String(buffer, starts[index], ends[index] - starts[index], charset);
+    }
+
+    /** 把所有字段解码为String，用于仍按String[]处理数据的调用方 */
+    public String[] toStringArray() {
+        String[] fields = new String[size];
+        for (int i = 0; i < size; i++) {
+            fields[i] = new String(buffer, starts[i], ends[i] - starts[i], charset);
+        }
+        return fields;
+    }
+
+    /** 与{@link Long#parseLong(String)}结果一致，只包含可选负号和不超过18位数字时不创建String */
+    public long getLong(int index) {
+        int start = starts[index];
+        int length = getLength(index);
+        boolean negative = length > 1 && buffer[start] == '-';
+        int digitStart = negative ? start + 1 : start;
+        int digits = ends[index] - digitStart;
+        if (digits == 0 || digits > MAX_SAFE_LONG_DIGITS) {
+            return Long.parseLong(getString(index));
+        }
+        long value = 0;
+        for (int i = digitStart; i < ends[index]; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(getString(index));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /** 与{@link Integer#parseInt(String)}结果一致，只包含可选负号和不超过9位数字时不创建String */
+    public int getInt(int index) {
+        int start = starts[index];
+        int length = getLength(index);
+        boolean negative = length > 1 && buffer[start] == '-';
+        int digitStart = negative ? start + 1 : start;
+        int digits = ends[index] - digitStart;
+        if (digits == 0 || digits > MAX_SAFE_INT_DIGITS) {
+            return Integer.parseInt(getString(index));
+        }
+        int value = 0;
+        for (int i = digitStart; i < ends[index]; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(getString(index));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /** 与{@link Boolean#parseBoolean(String)}结果一致 */
+    public boolean getBoolean(int index) {
+        int start = starts[index];
+        if (getLength(index) != TRUE_BYTES.length) {
+            return false;
+        }
+        for (int i = 0; i < TRUE_BYTES.length; i++) {
+            int b = buffer[start + i];
+            if (b != TRUE_BYTES[i] && b != TRUE_BYTES[i] - ('a' - 'A')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(byte[] bytes, int position) {
+        for (int i = 1; i < delimiter.length; i++) {
+            if (bytes[position + i] != delimiter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSpaceOrTab(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private void addField(int start, int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+}
@@ -94,6 +94,8 @@ public class PropertiesUtil {
             commonConfig.setMetricProps(syncConfig.getMetricPluginConf().getPluginProp());
             commonConfig.setRowSizeCalculatorType(
                     syncConfig.getMetricPluginConf().getRowSizeCalculatorType());
+            commonConfig.setRowSizeSampleInterval(
+                    syncConfig.getMetricPluginConf().getRowSizeSampleInterval());
         }
     }
 }
@@ -20,16 +20,26 @@ package com.dtstack.chunjun.util;
 import com.dtstack.chunjun.config.FieldConfig;
 import com.dtstack.chunjun.config.TypeConfig;
 import com.dtstack.chunjun.constants.ConstantValue;
+import com.dtstack.chunjun.converter.BinaryRowDataConverter;
 import com.dtstack.chunjun.converter.RawTypeMapper;
 import com.dtstack.chunjun.typeutil.ColumnRowDataTypeInfo;
 
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.typeutils.GenericTypeInfo;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.table.api.Schema;
+import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
+import org.apache.flink.table.catalog.Column;
 import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.utils.DataTypeUtils;
+import org.apache.flink.types.Row;
 
 import com.google.common.collect.Lists;
 
@@ -140,4 +150,51 @@ public class TableUtil {
         }
         return ResolvedSchema.physical(fieldNames, dataTypes);
     }
+
+    /**
+     * 把sync任务的数据流注册为changelog表，数据先转换为BinaryRowData，保留数据的RowKind
+     *
+     * @param dataStream 类型为{@link InternalTypeInfo}的数据流
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Table fromChangelogStream(
+            StreamTableEnvironment tableEnv, DataStream<RowData> dataStream) {
+        InternalTypeInfo<RowData> typeInfo = (InternalTypeInfo<RowData>) dataStream.getType();
+        RowType rowType = typeInfo.toRowType();
+        Schema.Builder builder = Schema.newBuilder();
+        for (RowType.RowField rowField : rowType.getFields()) {
+            builder.column(rowField.getName(), rowField.getType().asSerializableString());
+        }
+        DataStream<RowData> binaryStream =
+                dataStream.map(new BinaryRowDataConverter(rowType), typeInfo).name("toBinaryRow");
+        // fromChangelogStream只声明了Row类型，InternalTypeInfo的数据流会直接以内部数据结构传给planner
+        return tableEnv.fromChangelogStream(
+                (DataStream) binaryStream, builder.build(), ChangelogMode.all());
+    }
+
+    /** 把表转换为带RowKind的数据流，字段声明为内部数据结构，转换时不需要再逐个字段转换 */
+    public static DataStream<RowData> toChangelogStream(
+            StreamTableEnvironment tableEnv, Table table) {
+        ResolvedSchema resolvedSchema = table.getResolvedSchema();
+        Schema.Builder builder = Schema.newBuilder();
+        for (Column column : resolvedSchema.getColumns()) {
+            builder.column(
+                    column.getName(), DataTypeUtils.toInternalDataType(column.getDataType()));
+        }
+        TypeInformation<RowData> typeInformation =
+                getTypeInformation(
+                        resolvedSchema.getColumnDataTypes().toArray(new DataType[0]),
+                        resolvedSchema.getColumnNames().toArray(new String[0]));
+        return tableEnv.toChangelogStream(table, builder.build(), ChangelogMode.all())
+                .map(TableUtil::toRowData, typeInformation)
+                .name("toRowData");
+    }
+
+    private static RowData toRowData(Row row) {
+        GenericRowData rowData = new GenericRowData(row.getKind(), row.getArity());
+        for (int i = 0; i < row.getArity(); i++) {
+            rowData.setField(i, row.getField(i));
+        }
+        return rowData;
+    }
 }
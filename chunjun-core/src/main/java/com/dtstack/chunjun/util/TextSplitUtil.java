@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按字节范围切分文本文件，切分点对齐到记录的起始位置.
+ *
+ * <p>切分点在生成分片时确定，相邻分片的范围首尾相接，读取时只需要读取[start, end)范围内的字节。查找切分点时从名义切分位置开始读取一小段数据：
+ * 不识别文本限定符时，切分点为第一个记录分隔符之后的位置；识别文本限定符时，分别假设起始位置在引号外和引号内解析这段数据，
+ * 选择不产生非法引号的假设，从而跳过引号内的换行符。只适用于记录分隔符、字段分隔符和文本限定符都编码为单字节的字符集，如UTF-8、GBK。
+ */
+public final class TextSplitUtil {
+
+    /** 查找切分点时最多读取的字节数 */
+    public static final int DEFAULT_SCAN_BYTES = 1024 * 1024;
+
+    /** 不识别文本限定符 */
+    public static final int NO_QUOTE = -1;
+
+    private TextSplitUtil() {}
+
+    /** 打开从指定位置开始读取的流，如s3的range请求、ftp的REST命令 */
+    @FunctionalInterface
+    public interface RangeOpener {
+        InputStream open(long position) throws IOException;
+    }
+
+    /**
+     * 计算文件的切分点.
+     *
+     * @param fileSize 文件大小
+     * @param splitNum 期望的分片数量
+     * @param opener 打开从指定位置开始读取的流，调用方负责在读取结束后释放资源
+     * @param recordDelimiter 记录分隔符
+     * @param fieldDelimiter 字段分隔符，识别文本限定符时用于判断引号是否位于字段开头
+     * @param quote 文本限定符，{@link #NO_QUOTE}表示不识别
+     * @param maxScanBytes 查找一个切分点时最多读取的字节数，范围内找不到记录起始位置时与下一个分片合并
+     * @return 递增的切分点，首个元素为0，最后一个元素为fileSize
+     */
+    public static long[] computeSplitPoints(
+            long fileSize,
+            int splitNum,
+            RangeOpener opener,
+            byte[] recordDelimiter,
+            byte[] fieldDelimiter,
+            int quote,
+            int maxScanBytes)
+            throws IOException {
+        List<Long> points = new ArrayList<>();
+        points.add(0L);
+        if (splitNum > 1 && fileSize > splitNum) {
+            long[] nominal = RangeSplitUtil.doLongSplit(0, fileSize, splitNum);
+            byte[] buffer = new byte[maxScanBytes];
+            for (int i = 1; i < nominal.length - 1; i++) {
+                long previous = points.get(points.size() - 1);
+                if (nominal[i] <= previous) {
+                    continue;
+                }
+                // 从前一个字节开始查找，名义切分位置恰好是记录起始位置时切分点不变
+                long scanStart = nominal[i] - 1;
+                int length;
+                try (InputStream in = opener.open(scanStart)) {
+                    length =
+                            readFully(
+                                    in, buffer, (int) Math.min(maxScanBytes, fileSize - scanStart));
+                }
+                int offset =
+                        findRecordStart(buffer, length, recordDelimiter, fieldDelimiter, quote);
+                if (offset < 0) {
+                    continue;
+                }
+                long point = scanStart + offset;
+                if (point > previous && point < fileSize) {
+                    points.add(point);
+                }
+            }
+        }
+        points.add(fileSize);
+        return points.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 在buffer中查找第一条完整记录的起始位置.
+     *
+     * @return 记录起始位置在buffer中的偏移量，找不到时返回-1
+     */
+    public static int findRecordStart(
+            byte[] buffer, int length, byte[] recordDelimiter, byte[] fieldDelimiter, int quote) {
+        if (quote == NO_QUOTE) {
+            for (int i = 0; i < length; i++) {
+                if (startsWith(buffer, length, i, recordDelimiter)) {
+                    return i + recordDelimiter.length;
+                }
+            }
+            return -1;
+        }
+        ScanResult outside = scan(buffer, length, recordDelimiter, fieldDelimiter, quote, false);
+        if (outside.valid && outside.recordStart >= 0) {
+            return outside.recordStart;
+        }
+        ScanResult inside = scan(buffer, length, recordDelimiter, fieldDelimiter, quote, true);
+        if (inside.valid && inside.recordStart >= 0) {
+            return inside.recordStart;
+        }
+        // 两种假设都不成立时数据中存在不规范的引号，按引号外处理
+        return outside.recordStart;
+    }
+
+    /**
+     * 假设buffer起始位置在引号内或引号外，解析整个buffer.
+     *
+     * <p>合法的数据中，开始引号只能出现在字段开头，结束引号之后只能是字段分隔符、记录分隔符或回车符，否则假设不成立。假设在引号外时， buffer起始位置的引号视为开始引号。
+     */
+    private static ScanResult scan(
+            byte[] buffer,
+            int length,
+            byte[] recordDelimiter,
+            byte[] fieldDelimiter,
+            int quote,
+            boolean inQuote) {
+        int recordStart = -1;
+        boolean fieldStart = !inQuote;
+        int i = 0;
+        while (i < length) {
+            if (buffer[i] == (byte) quote) {
+                if (inQuote) {
+                    if (i + 1 < length && buffer[i + 1] == (byte) quote) {
+                        // 转义的引号
+                        i += 2;
+                        continue;
+                    }
+                    inQuote = false;
+                    i++;
+                    if (i + Math.max(fieldDelimiter.length, recordDelimiter.length) <= length
+                            && buffer[i] != '\r'
+                            && !startsWith(buffer, length, i, fieldDelimiter)
+                            && !startsWith(buffer, length, i, recordDelimiter)) {
+                        return new ScanResult(recordStart, false);
+                    }
+                    fieldStart = false;
+                    continue;
+                } else if (fieldStart) {
+                    inQuote = true;
+                    fieldStart = false;
+                    i++;
+                    continue;
+                } else {
+                    return new ScanResult(recordStart, false);
+                }
+            }
+            if (!inQuote) {
+                if (startsWith(buffer, length, i, recordDelimiter)) {
+                    i += recordDelimiter.length;
+                    if (recordStart < 0) {
+                        recordStart = i;
+                    }
+                    fieldStart = true;
+                    continue;
+                }
+                if (startsWith(buffer, length, i, fieldDelimiter)) {
+                    i += fieldDelimiter.length;
+                    fieldStart = true;
+                    continue;
+                }
+            }
+            fieldStart = false;
+            i++;
+        }
+        return new ScanResult(recordStart, true);
+    }
+
+    private static boolean startsWith(byte[] buffer, int length, int offset, byte[] prefix) {
+        if (prefix == null || prefix.length == 0 || offset + prefix.length > length) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length; j++) {
+            if (buffer[offset + j] != prefix[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(buffer, read, length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        return read;
+    }
+
+    private static class ScanResult {
+        private final int recordStart;
+        private final boolean valid;
+
+        private ScanResult(int recordStart, boolean valid) {
+            this.recordStart = recordStart;
+            this.valid = valid;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.cdc.worker;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.Collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RowDispatcherTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int ROWS_PER_PRODUCER = 20000;
+
+    @Test
+    public void testRingBufferCapacity() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(3);
+        assertEquals(4, ringBuffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertFalse(ringBuffer.offer(4));
+        assertEquals(4, ringBuffer.size());
+        assertEquals(0, ringBuffer.poll());
+        assertTrue(ringBuffer.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ringBuffer.poll());
+        }
+        assertNull(ringBuffer.poll());
+    }
+
+    @Test
+    public void testKeepOrderOfEachProducer() throws Exception {
+        List<RowData> collected = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(PRODUCERS * ROWS_PER_PRODUCER);
+        RowDispatcher dispatcher = new RowDispatcher(16);
+        dispatcher.setCollector(
+                new Collector<RowData>() {
+                    @Override
+                    public void collect(RowData record) {
+                        collected.add(record);
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void close() {}
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + 1);
+        try {
+            executor.execute(dispatcher);
+            for (int p = 0; p < PRODUCERS; p++) {
+                final int producer = p;
+                executor.execute(
+                        () -> {
+                            for (int i = 0; i < ROWS_PER_PRODUCER; i++) {
+                                dispatcher.collect(GenericRowData.of(producer, i));
+                            }
+                        });
+            }
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        } finally {
+            dispatcher.close();
+            executor.shutdownNow();
+        }
+
+        int[] next = new int[PRODUCERS];
+        for (RowData row : collected) {
+            assertEquals(next[row.getInt(0)]++, row.getInt(1));
+        }
+        for (int count : next) {
+            assertEquals(ROWS_PER_PRODUCER, count);
+        }
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertTrue(dispatcher.isAlive());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.converter;
+
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.IntColumn;
+import com.dtstack.chunjun.element.column.NullColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+import com.dtstack.chunjun.element.column.TimestampColumn;
+
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryRowDataConverterTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    new LogicalType[] {
+                        new IntType(),
+                        new VarCharType(VarCharType.MAX_LENGTH),
+                        new DecimalType(10, 2),
+                        new DecimalType(30, 4),
+                        new TimestampType(3),
+                        new TimestampType(9),
+                        new BigIntType()
+                    },
+                    new String[] {"id", "name", "price", "amount", "ts", "ts_nano", "version"});
+
+    private final BinaryRowDataConverter converter = new BinaryRowDataConverter(ROW_TYPE);
+
+    @Test
+    void testConvertGenericRowData() {
+        Timestamp nano = Timestamp.valueOf("2023-01-01 12:00:00.123456789");
+        GenericRowData row =
+                GenericRowData.ofKind(
+                        RowKind.UPDATE_AFTER,
+                        1,
+                        StringData.fromString("a"),
+                        DecimalData.fromBigDecimal(new BigDecimal("12.34"), 10, 2),
+                        DecimalData.fromBigDecimal(new BigDecimal("123456789.1234"), 30, 4),
+                        TimestampData.fromEpochMillis(1000L),
+                        TimestampData.fromTimestamp(nano),
+                        null);
+
+        BinaryRowData binaryRow = converter.convert(row);
+
+        assertEquals(RowKind.UPDATE_AFTER, binaryRow.getRowKind());
+        assertEquals(1, binaryRow.getInt(0));
+        assertEquals("a", binaryRow.getString(1).toString());
+        assertEquals(new BigDecimal("12.34"), binaryRow.getDecimal(2, 10, 2).toBigDecimal());
+        assertEquals(
+                new BigDecimal("123456789.1234"), binaryRow.getDecimal(3, 30, 4).toBigDecimal());
+        assertEquals(1000L, binaryRow.getTimestamp(4, 3).getMillisecond());
+        assertEquals(nano, binaryRow.getTimestamp(5, 9).toTimestamp());
+        assertTrue(binaryRow.isNullAt(6));
+        assertSame(binaryRow, converter.map(binaryRow));
+    }
+
+    @Test
+    void testConvertColumnRowData() {
+        ColumnRowData row = new ColumnRowData(RowKind.DELETE, 7);
+        row.addField(new IntColumn(2));
+        row.addField(new StringColumn("b"));
+        // 数据本身的精度与字段类型不同
+        row.addField(new BigDecimalColumn(new BigDecimal("5.5")));
+        row.addField(new NullColumn());
+        row.addField(new TimestampColumn(2000L));
+        row.addField(new NullColumn());
+        row.addField(new NullColumn());
+
+        BinaryRowData binaryRow = converter.convert(row);
+
+        assertEquals(RowKind.DELETE, binaryRow.getRowKind());
+        assertEquals(2, binaryRow.getInt(0));
+        assertEquals("b", binaryRow.getString(1).toString());
+        assertEquals(new BigDecimal("5.50"), binaryRow.getDecimal(2, 10, 2).toBigDecimal());
+        assertTrue(binaryRow.isNullAt(3));
+        assertEquals(2000L, binaryRow.getTimestamp(4, 3).getMillisecond());
+        assertTrue(binaryRow.isNullAt(5));
+        assertTrue(binaryRow.isNullAt(6));
+    }
+}
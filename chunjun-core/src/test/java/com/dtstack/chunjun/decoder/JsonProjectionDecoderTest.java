@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.decoder;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JsonProjectionDecoderTest {
+
+    private static byte[] bytes(String message) {
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void decodeShouldProjectConfiguredFieldsInOrder() {
+        JsonProjectionDecoder decoder =
+                new JsonProjectionDecoder(Arrays.asList("id", "name", "price", "absent"), false);
+        Object[] values =
+                decoder.decode(
+                        bytes(
+                                "{\"skip\":{\"a\":[1,{\"b\":2}]},\"price\":1.5,"
+                                        + "\"name\":\"test\",\"id\":10}"));
+        assertArrayEquals(new Object[] {10, "test", 1.5, null}, values);
+    }
+
+    @Test
+    void decodeShouldKeepNestedValuesAsJsonDecoderDoes() {
+        String message = "{\"obj\":{\"a\":1},\"arr\":[1,2],\"flag\":true,\"big\":12345678901}";
+        Map<String, Object> expected = new JsonDecoder().decode(message);
+        JsonProjectionDecoder decoder =
+                new JsonProjectionDecoder(Arrays.asList("obj", "arr", "flag", "big"), false);
+        Object[] values = decoder.decode(bytes(message));
+        assertEquals(expected.get("obj"), values[0]);
+        assertEquals(expected.get("arr"), values[1]);
+        assertEquals(expected.get("flag"), values[2]);
+        assertEquals(expected.get("big"), values[3]);
+    }
+
+    @Test
+    void decodeShouldFillMessageWhenAddMessage() {
+        String message = "{\"id\":1}";
+        JsonProjectionDecoder decoder =
+                new JsonProjectionDecoder(Arrays.asList("id", "message"), true);
+        assertArrayEquals(new Object[] {1, message}, decoder.decode(bytes(message)));
+
+        decoder = new JsonProjectionDecoder(Arrays.asList("id", "message"), false);
+        assertArrayEquals(new Object[] {1, null}, decoder.decode(bytes(message)));
+    }
+
+    @Test
+    void decodeShouldFallbackToMessageWhenNotValidJson() {
+        JsonProjectionDecoder decoder =
+                new JsonProjectionDecoder(Arrays.asList("id", "message"), false);
+        assertArrayEquals(
+                new Object[] {null, "not valid json"}, decoder.decode(bytes("not valid json")));
+        assertArrayEquals(new Object[] {null, "[1]"}, decoder.decode(bytes("[1]")));
+
+        decoder = new JsonProjectionDecoder(Collections.singletonList("id"), false);
+        assertNull(decoder.decode(bytes("{\"id\":"))[0]);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.element;
+
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.BooleanColumn;
+import com.dtstack.chunjun.element.column.ByteColumn;
+import com.dtstack.chunjun.element.column.BytesColumn;
+import com.dtstack.chunjun.element.column.DoubleColumn;
+import com.dtstack.chunjun.element.column.FloatColumn;
+import com.dtstack.chunjun.element.column.IntColumn;
+import com.dtstack.chunjun.element.column.LongColumn;
+import com.dtstack.chunjun.element.column.NullColumn;
+import com.dtstack.chunjun.element.column.ShortColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.FloatType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.SmallIntType;
+import org.apache.flink.table.types.logical.TinyIntType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrimitiveColumnRowDataTest {
+
+    private static final PrimitiveColumnRowData.Layout LAYOUT =
+            PrimitiveColumnRowData.Layout.of(
+                    new LogicalType[] {
+                        new BooleanType(),
+                        new TinyIntType(),
+                        new SmallIntType(),
+                        new IntType(),
+                        new BigIntType(),
+                        new FloatType(),
+                        new DoubleType(),
+                        new VarCharType(),
+                        new VarBinaryType(),
+                        new DecimalType(10, 2)
+                    });
+
+    private static List<AbstractBaseColumn> columns() {
+        return Arrays.asList(
+                new BooleanColumn(true),
+                new ByteColumn((byte) -3),
+                new ShortColumn((short) 300),
+                new IntColumn(-70000),
+                new LongColumn(Long.MIN_VALUE),
+                new FloatColumn(0.1F),
+                new DoubleColumn(0.1D),
+                new StringColumn("chunjun"),
+                new BytesColumn(new byte[] {1, 2, 3}),
+                new BigDecimalColumn(new BigDecimal("12.50")));
+    }
+
+    private static void assertSameFields(ColumnRowData expected, ColumnRowData actual) {
+        assertEquals(expected.getArity(), actual.getArity());
+        for (int i = 0; i < expected.getArity(); i++) {
+            AbstractBaseColumn e = expected.getField(i);
+            AbstractBaseColumn a = actual.getField(i);
+            assertEquals(e.getClass(), a.getClass(), "field " + i);
+            if (e.getData() instanceof byte[]) {
+                assertArrayEquals((byte[]) e.getData(), (byte[]) a.getData());
+            } else {
+                assertEquals(e.getData(), a.getData(), "field " + i);
+            }
+            assertEquals(expected.isNullAt(i), actual.isNullAt(i));
+        }
+    }
+
+    @Test
+    public void testSameContractAsColumnRowData() {
+        ColumnRowData expected = new ColumnRowData(LAYOUT.getArity());
+        PrimitiveColumnRowData actual = new PrimitiveColumnRowData(LAYOUT);
+        for (AbstractBaseColumn column : columns()) {
+            expected.addField(column);
+            actual.addField(column);
+        }
+
+        assertSameFields(expected, actual);
+        assertEquals(expected.getByteSize(), actual.getByteSize());
+        assertEquals(expected.toString(), actual.toString());
+        for (int i = 0; i < LAYOUT.getArity() - 1; i++) {
+            assertTrue(actual.isPrimitiveAt(i));
+        }
+        // decimal is not a primitive type and keeps its column
+        assertFalse(actual.isPrimitiveAt(9));
+        assertSame(expected.getField(9), actual.getField(9));
+
+        assertTrue(actual.getBoolean(0));
+        assertEquals(-3, actual.getByte(1));
+        assertEquals(300, actual.getShort(2));
+        assertEquals(-70000, actual.getInt(3));
+        assertEquals(Long.MIN_VALUE, actual.getLong(4));
+        assertEquals(0.1F, actual.getFloat(5));
+        assertEquals(0.1D, actual.getDouble(6));
+        assertEquals(StringData.fromString("chunjun"), actual.getString(7));
+        assertArrayEquals(new byte[] {1, 2, 3}, actual.getBinary(8));
+        assertEquals(expected.getDecimal(9, 10, 2), actual.getDecimal(9, 10, 2));
+
+        // equals compares byte[] by reference, leave the binary field out
+        expected.setField(8, new NullColumn());
+        actual.setNullAt(8);
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @Test
+    public void testNullAndMismatchedColumns() {
+        PrimitiveColumnRowData row = new PrimitiveColumnRowData(LAYOUT);
+        // a new row has every field, all of them null
+        assertEquals(LAYOUT.getArity(), row.getArity());
+        assertTrue(row.isNullAt(3));
+        assertNull(row.getField(3));
+        assertNull(row.getField(9));
+
+        // columns of another class than the field type, e.g. constants, are kept as they are
+        StringColumn constant = new StringColumn("abc");
+        StringColumn formatted = new StringColumn("2022-01-01", "yyyy-MM-dd");
+        row.setField(3, constant);
+        row.setField(7, formatted);
+        assertSame(constant, row.getField(3));
+        assertSame(formatted, row.getField(7));
+        assertFalse(row.isPrimitiveAt(3));
+        assertEquals(StringData.fromString("2022-01-01"), row.getString(7));
+
+        row.setInt(3, 5);
+        assertTrue(row.isPrimitiveAt(3));
+        assertEquals(IntColumn.from(5).getData(), row.getField(3).getData());
+
+        row.setNullAt(3);
+        assertTrue(row.isNullAt(3));
+        assertInstanceOf(NullColumn.class, row.getField(3));
+        row.setField(3, null);
+        assertTrue(row.isNullAt(3));
+        assertNull(row.getField(3));
+        assertThrows(IllegalArgumentException.class, () -> row.setInt(7, 1));
+    }
+
+    @Test
+    public void testByteSize() {
+        ColumnRowData expected = new ColumnRowData(LAYOUT.getArity());
+        PrimitiveColumnRowData actual = new PrimitiveColumnRowData(LAYOUT);
+        for (AbstractBaseColumn column : columns()) {
+            expected.addField(column);
+            actual.addField(column);
+        }
+        expected.setField(3, new IntColumn(1));
+        actual.setInt(3, 1);
+        expected.setField(7, new StringColumn("flink"));
+        actual.setString(7, "flink");
+        expected.setField(9, new BigDecimalColumn(BigDecimal.ONE));
+        actual.setField(9, new BigDecimalColumn(BigDecimal.ONE));
+        assertEquals(expected.getByteSize(), actual.getByteSize());
+        assertSameFields(expected, actual);
+    }
+
+    @Test
+    public void testUtf8AndReset() {
+        PrimitiveColumnRowData row = new PrimitiveColumnRowData(LAYOUT);
+        byte[] line = "x,中文😀,y".getBytes(StandardCharsets.UTF_8);
+        row.setUtf8(7, line, 2, line.length - 4);
+        row.setLong(4, 42L);
+        row.addHeader("name");
+        row.addExtHeader("name");
+
+        assertEquals("中文😀", row.getField(7).asString());
+        assertEquals(StringData.fromString("中文😀"), row.getString(7));
+
+        row.reset();
+        assertEquals(LAYOUT.getArity(), row.getArity());
+        for (int i = 0; i < row.getArity(); i++) {
+            assertTrue(row.isNullAt(i));
+        }
+        assertNull(row.getHeaderInfo());
+        assertTrue(row.getExtHeader().isEmpty());
+        assertEquals(1, row.getByteSize());
+
+        // refill after reset
+        for (AbstractBaseColumn column : columns()) {
+            row.addField(column);
+        }
+        assertEquals(-70000, row.getInt(3));
+        assertEquals("chunjun", row.getField(7).asString());
+    }
+
+    @Test
+    public void testAppendAndRemoveExtHeader() {
+        PrimitiveColumnRowData row = new PrimitiveColumnRowData(LAYOUT);
+        ColumnRowData expected = new ColumnRowData(LAYOUT.getArity() + 1);
+        for (AbstractBaseColumn column : columns()) {
+            row.addField(column);
+            expected.addField(column);
+        }
+        StringColumn extra = new StringColumn("table");
+        row.addField(extra);
+        expected.addField(extra);
+
+        // the extra field does not fit the layout, the row falls back to columns
+        assertEquals(LAYOUT.getArity() + 1, row.getArity());
+        assertSame(extra, row.getField(LAYOUT.getArity()));
+        assertFalse(row.isPrimitiveAt(3));
+        assertSameFields(expected, row);
+        assertEquals(expected.getByteSize(), row.getByteSize());
+
+        PrimitiveColumnRowData withExtHeader = new PrimitiveColumnRowData(LAYOUT);
+        for (AbstractBaseColumn column : columns()) {
+            withExtHeader.addField(column);
+        }
+        String[] names = {"b", "t", "s", "i", "l", "f", "d", "v", "bin", "dec"};
+        for (String name : names) {
+            withExtHeader.addHeader(name);
+        }
+        withExtHeader.addExtHeader("i");
+        withExtHeader.removeExtHeaderInfo();
+        assertEquals(LAYOUT.getArity() - 1, withExtHeader.getArity());
+        assertEquals(Long.MIN_VALUE, withExtHeader.getField("l").asLong().longValue());
+        assertNull(withExtHeader.getField("i"));
+    }
+
+    @Test
+    public void testCopy() {
+        PrimitiveColumnRowData row = new PrimitiveColumnRowData(LAYOUT);
+        for (AbstractBaseColumn column : columns()) {
+            row.addField(column);
+        }
+        row.addHeader("b");
+
+        PrimitiveColumnRowData copy = row.copy();
+        row.setInt(3, 1);
+        row.setString(7, "changed");
+        row.addHeader("t");
+
+        assertEquals(-70000, copy.getInt(3));
+        assertEquals("chunjun", copy.getField(7).asString());
+        assertEquals(1, copy.getHeaderInfo().size());
+        assertNotEquals(row, copy);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.metrics;
+
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.column.StringColumn;
+
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.utils.JoinedRowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RowSizeCalculatorTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    new IntType(),
+                    new BigIntType(),
+                    new VarCharType(VarCharType.MAX_LENGTH),
+                    new DecimalType(10, 2),
+                    new TimestampType(3));
+
+    private static GenericRowData row(int id, String name) {
+        return GenericRowData.of(
+                id,
+                (long) id,
+                StringData.fromString(name),
+                DecimalData.fromBigDecimal(new BigDecimal("12.34"), 10, 2),
+                TimestampData.fromEpochMillis(id));
+    }
+
+    @Test
+    public void testSchemaCalculator() {
+        GenericRowData rowData = row(1, "chunjun");
+        long expected = 4 + 8 + 7 + 8 + SchemaRowSizeCalculator.TIMESTAMP_BYTES;
+        assertEquals(expected, new SchemaRowSizeCalculator(ROW_TYPE).getObjectSize(rowData));
+        assertEquals(expected, new SchemaRowSizeCalculator().getObjectSize(rowData));
+
+        rowData.setField(2, null);
+        assertEquals(expected - 7, new SchemaRowSizeCalculator(ROW_TYPE).getObjectSize(rowData));
+
+        ColumnRowData columnRowData = new ColumnRowData(1);
+        columnRowData.addField(new StringColumn("chunjun"));
+        assertEquals(
+                columnRowData.getByteSize(),
+                new SchemaRowSizeCalculator().getObjectSize(columnRowData));
+    }
+
+    @Test
+    public void testSchemaCalculatorAgainstToStringCalculator() {
+        // string dominated rows: the payload estimate should follow the text size
+        RowSizeCalculator<RowData> schema = new SchemaRowSizeCalculator(ROW_TYPE);
+        RowSizeCalculator<Object> toString = new RowSizeCalculator.RowToStringCalculator();
+        String name = new String(new char[1000]).replace('\0', 'x');
+        long schemaSize = schema.getObjectSize(row(1, name));
+        long toStringSize = toString.getObjectSize(row(1, name));
+        assertTrue(Math.abs(schemaSize - toStringSize) < toStringSize * 0.1);
+    }
+
+    @Test
+    public void testSamplingCalculator() {
+        RowSizeCalculator<Object> exact = new RowSizeCalculator.RowToStringCalculator();
+        RowSizeCalculator<Object> sampling =
+                new RowSizeCalculator.SamplingCalculator<>(
+                        new RowSizeCalculator.RowToStringCalculator(), 10);
+        Random random = new Random(0);
+        long exactTotal = 0;
+        long sampledTotal = 0;
+        for (int i = 0; i < 100000; i++) {
+            GenericRowData rowData = row(i, "name-" + random.nextInt(100000));
+            exactTotal += exact.getObjectSize(rowData);
+            sampledTotal += sampling.getObjectSize(rowData);
+        }
+        assertTrue(Math.abs(exactTotal - sampledTotal) < exactTotal * 0.05);
+    }
+
+    @Test
+    public void testGetSamplingCalculator() {
+        assertTrue(
+                RowSizeCalculator.getRowSizeCalculator("toStringCalculator", false, 10, null)
+                        instanceof RowSizeCalculator.SamplingCalculator);
+        assertTrue(
+                RowSizeCalculator.getRowSizeCalculator("schemaCalculator", false, 1, null)
+                        instanceof SchemaRowSizeCalculator);
+        assertTrue(
+                RowSizeCalculator.getRowSizeCalculator("objectSizeCalculator", true, 10, null)
+                        instanceof RowSizeCalculator.SyncCalculator);
+    }
+
+    @Test
+    public void testGetSchemaCalculatorWithRowType() {
+        RowType rowType = RowType.of(new IntType(), new VarCharType(VarCharType.MAX_LENGTH));
+        RowData rowData =
+                new JoinedRowData(
+                        GenericRowData.of(1), GenericRowData.of(StringData.fromString("abc")));
+        RowSizeCalculator calculator =
+                RowSizeCalculator.getRowSizeCalculator("schemaCalculator", false, 1, rowType);
+        assertEquals(7L, calculator.getObjectSize(rowData));
+    }
+}
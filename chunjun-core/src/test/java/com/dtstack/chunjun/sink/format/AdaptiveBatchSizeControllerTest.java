@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.sink.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptiveBatchSizeControllerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(2000);
+
+    @Test
+    public void testAdditiveIncrease() {
+        AdaptiveBatchSizeController controller = new AdaptiveBatchSizeController(100, 2, 130, 1000);
+        controller.onSuccess(100, FAST);
+        assertEquals(110, controller.getBatchSize());
+        // a partial batch flushed by the timer does not grow the batch
+        controller.onSuccess(50, FAST);
+        assertEquals(110, controller.getBatchSize());
+        controller.onSuccess(110, FAST);
+        controller.onSuccess(120, FAST);
+        controller.onSuccess(130, FAST);
+        assertEquals(130, controller.getBatchSize());
+    }
+
+    @Test
+    public void testMultiplicativeDecrease() {
+        AdaptiveBatchSizeController controller =
+                new AdaptiveBatchSizeController(100, 30, 400, 1000);
+        controller.onSuccess(100, SLOW);
+        assertEquals(50, controller.getBatchSize());
+        controller.onSuccess(50, SLOW);
+        assertEquals(30, controller.getBatchSize());
+        controller.onSuccess(30, SLOW);
+        assertEquals(30, controller.getBatchSize());
+    }
+
+    @Test
+    public void testDecreaseOnFailureRate() {
+        AdaptiveBatchSizeController controller =
+                new AdaptiveBatchSizeController(100, 2, 100, 1000, 10, 0.2);
+        // a single failure in the window keeps the batch size
+        controller.onFailure();
+        assertEquals(100, controller.getBatchSize());
+        for (int i = 0; i < 9; i++) {
+            controller.onSuccess(50, FAST);
+        }
+        // the first failure has left the window
+        controller.onSuccess(50, FAST);
+        controller.onFailure();
+        assertEquals(100, controller.getBatchSize());
+        controller.onFailure();
+        assertEquals(50, controller.getBatchSize());
+        // the window is reset after a decrease
+        controller.onFailure();
+        assertEquals(50, controller.getBatchSize());
+        controller.onFailure();
+        assertEquals(25, controller.getBatchSize());
+    }
+
+    @Test
+    public void testInitialBatchSizeIsBounded() {
+        assertEquals(64, new AdaptiveBatchSizeController(1024, 2, 64, 1000).getBatchSize());
+        assertEquals(8, new AdaptiveBatchSizeController(4, 8, 64, 1000).getBatchSize());
+    }
+}
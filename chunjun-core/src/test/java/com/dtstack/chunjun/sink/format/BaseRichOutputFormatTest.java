@@ -22,15 +22,23 @@ import com.dtstack.chunjun.enums.Semantic;
 import com.dtstack.chunjun.metrics.RowSizeCalculator;
 import com.dtstack.chunjun.restore.FormatState;
 import com.dtstack.chunjun.source.format.MockInputFormat;
+import com.dtstack.chunjun.throwable.WriteRecordException;
+
+import org.apache.flink.table.data.RowData;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BaseRichOutputFormatTest {
@@ -149,4 +157,182 @@ public class BaseRichOutputFormatTest {
         FormatState formatState = outputFormat.getFormatState();
         assertEquals(1, formatState.getNumberWrite());
     }
+
+    @Test
+    @DisplayName("if asyncFlush is enabled, a batch is written while the next one is buffered")
+    public void testAsyncFlush() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        outputFormat =
+                new MockBaseRichOutputFormat() {
+                    @Override
+                    protected void writeMultipleRecordsInternal() throws Exception {
+                        writing.countDown();
+                        release.await();
+                    }
+                };
+        outputFormat.getConfig().setBatchSize(2);
+        outputFormat.getConfig().setAsyncFlush(true);
+        outputFormat.open(1, 2);
+        outputFormat.checkpointEnabled = true;
+
+        outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        // the first batch is still being written, the task thread keeps buffering
+        outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        assertEquals(0L, outputFormat.numWriteCounter.getLocalValue());
+        assertEquals(0L, outputFormat.snapshotWriteCounter.getLocalValue());
+
+        release.countDown();
+        FormatState formatState = outputFormat.getFormatState();
+        assertEquals(3, formatState.getNumberWrite());
+        assertEquals(3L, outputFormat.snapshotWriteCounter.getLocalValue());
+        outputFormat.close();
+        assertTrue(outputFormat.closed);
+    }
+
+    @Test
+    @DisplayName("if the output format does not support asyncFlush, batches are written in place")
+    public void testAsyncFlushNotSupported() throws Exception {
+        List<String> threads = new ArrayList<>();
+        outputFormat =
+                new MockBaseRichOutputFormat() {
+                    @Override
+                    protected boolean supportsAsyncFlush() {
+                        return false;
+                    }
+
+                    @Override
+                    protected void writeMultipleRecordsInternal() {
+                        threads.add(Thread.currentThread().getName());
+                    }
+                };
+        outputFormat.getConfig().setBatchSize(2);
+        outputFormat.getConfig().setAsyncFlush(true);
+        outputFormat.open(1, 2);
+
+        outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        assertEquals(2L, outputFormat.numWriteCounter.getLocalValue());
+        assertEquals(Thread.currentThread().getName(), threads.get(0));
+    }
+
+    @Test
+    @DisplayName("if asyncFlush is enabled, a failed batch fails the next checkpoint")
+    public void testAsyncFlushFailure() throws Exception {
+        outputFormat =
+                new MockBaseRichOutputFormat() {
+                    @Override
+                    protected void writeSingleRecordInternal(RowData rowData)
+                            throws WriteRecordException {
+                        throw new RuntimeException("write failed");
+                    }
+
+                    @Override
+                    protected void writeMultipleRecordsInternal() throws Exception {
+                        throw new RuntimeException("write failed");
+                    }
+                };
+        outputFormat.getConfig().setBatchSize(2);
+        outputFormat.getConfig().setAsyncFlush(true);
+        outputFormat.open(1, 2);
+
+        outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        assertThrows(RuntimeException.class, () -> outputFormat.getFormatState());
+    }
+
+    @Test
+    @DisplayName(
+            "if batchFailureStrategy is bisect, only the halves containing dirty rows are split")
+    public void testBisectOnBatchFailure() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        List<RowData> singleRows = new ArrayList<>();
+        outputFormat =
+                new MockBaseRichOutputFormat() {
+                    @Override
+                    protected void writeSingleRecordInternal(RowData rowData)
+                            throws WriteRecordException {
+                        singleRows.add(rowData);
+                        if (rowData == MockInputFormat.ERROR_DATA) {
+                            throw new WriteRecordException("dirty row", null, 0, rowData);
+                        }
+                    }
+
+                    @Override
+                    protected void writeMultipleRecordsInternal() throws Exception {
+                        batchSizes.add(rows.size());
+                        if (rows.contains(MockInputFormat.ERROR_DATA)) {
+                            throw new RuntimeException("batch contains dirty row");
+                        }
+                    }
+                };
+        outputFormat.getConfig().setBatchSize(8);
+        outputFormat.getConfig().setBatchFailureStrategy("bisect");
+        outputFormat.open(1, 2);
+
+        for (int i = 0; i < 8; i++) {
+            outputFormat.writeRecord(
+                    i == 5 ? MockInputFormat.ERROR_DATA : MockInputFormat.SUCCESS_DATA);
+        }
+        // 8 -> [4 ok, 4 -> [2 -> single, single], 2 ok]
+        assertEquals(5, batchSizes.size());
+        assertEquals(2, singleRows.size());
+        assertEquals(MockInputFormat.ERROR_DATA, singleRows.get(1));
+        assertEquals(7L, outputFormat.numWriteCounter.getLocalValue());
+    }
+
+    @Test
+    @DisplayName("if a bisected half drops its dirty rows from rows, only the remaining rows count")
+    public void testBisectCountsRemainingRows() throws Exception {
+        outputFormat =
+                new MockBaseRichOutputFormat() {
+                    @Override
+                    protected void writeMultipleRecordsInternal() throws Exception {
+                        if (rows.size() == 4) {
+                            throw new RuntimeException("batch failed");
+                        }
+                        // the sink records the dirty row itself and removes it from rows
+                        rows.remove(MockInputFormat.ERROR_DATA);
+                    }
+                };
+        outputFormat.getConfig().setBatchSize(4);
+        outputFormat.getConfig().setBatchFailureStrategy("bisect");
+        outputFormat.open(1, 2);
+
+        outputFormat.writeRecord(MockInputFormat.ERROR_DATA);
+        for (int i = 0; i < 3; i++) {
+            outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        }
+        assertEquals(3L, outputFormat.numWriteCounter.getLocalValue());
+    }
+
+    @Test
+    @DisplayName("if a failed half drops its dirty rows from rows, they are not retried")
+    public void testBisectSkipsRemovedRows() throws Exception {
+        List<RowData> dirtyRows = new ArrayList<>();
+        outputFormat =
+                new MockBaseRichOutputFormat() {
+                    @Override
+                    protected void writeMultipleRecordsInternal() throws Exception {
+                        if (rows.size() <= 4 && rows.remove(MockInputFormat.ERROR_DATA)) {
+                            dirtyRows.add(MockInputFormat.ERROR_DATA);
+                        }
+                        if (rows.size() >= 3) {
+                            throw new RuntimeException("batch failed");
+                        }
+                    }
+                };
+        outputFormat.getConfig().setBatchSize(8);
+        outputFormat.getConfig().setBatchFailureStrategy("bisect");
+        outputFormat.open(1, 2);
+
+        outputFormat.writeRecord(MockInputFormat.ERROR_DATA);
+        for (int i = 0; i < 7; i++) {
+            outputFormat.writeRecord(MockInputFormat.SUCCESS_DATA);
+        }
+        assertEquals(1, dirtyRows.size());
+        assertEquals(7L, outputFormat.numWriteCounter.getLocalValue());
+    }
 }
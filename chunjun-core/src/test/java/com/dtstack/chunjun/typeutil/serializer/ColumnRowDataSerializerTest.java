@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.typeutil.serializer;
+
+import com.dtstack.chunjun.element.AbstractBaseColumn;
+import com.dtstack.chunjun.element.ColumnRowData;
+import com.dtstack.chunjun.element.PrimitiveColumnRowData;
+import com.dtstack.chunjun.element.column.BigDecimalColumn;
+import com.dtstack.chunjun.element.column.BooleanColumn;
+import com.dtstack.chunjun.element.column.ByteColumn;
+import com.dtstack.chunjun.element.column.BytesColumn;
+import com.dtstack.chunjun.element.column.DoubleColumn;
+import com.dtstack.chunjun.element.column.FloatColumn;
+import com.dtstack.chunjun.element.column.IntColumn;
+import com.dtstack.chunjun.element.column.LongColumn;
+import com.dtstack.chunjun.element.column.NullColumn;
+import com.dtstack.chunjun.element.column.ShortColumn;
+import com.dtstack.chunjun.element.column.StringColumn;
+import com.dtstack.chunjun.typeutil.serializer.base.IntColumnSerializer;
+import com.dtstack.chunjun.typeutil.serializer.base.StringColumnSerializer;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.FloatType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.SmallIntType;
+import org.apache.flink.table.types.logical.TinyIntType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ColumnRowDataSerializerTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    new LogicalType[] {new IntType(), new VarCharType()},
+                    new String[] {"id", "name"});
+
+    /** Rows whose header is the field list of ROW_TYPE, without ext header. */
+    private static final HeaderDictionary FIELD_LAYOUT =
+            HeaderDictionary.builder()
+                    .addLayout(ROW_TYPE.getFieldNames(), Collections.emptyList())
+                    .build();
+
+    private static final RowType WIDE_ROW_TYPE =
+            RowType.of(
+                    new LogicalType[] {
+                        new BooleanType(),
+                        new TinyIntType(),
+                        new SmallIntType(),
+                        new IntType(),
+                        new BigIntType(),
+                        new FloatType(),
+                        new DoubleType(),
+                        new VarCharType(),
+                        new VarBinaryType(),
+                        new DecimalType(10, 2)
+                    },
+                    new String[] {"b", "t", "s", "i", "l", "f", "d", "v", "bin", "dec"});
+
+    private static ColumnRowData newWideRow(String text) {
+        ColumnRowData row = new ColumnRowData(RowKind.INSERT, 10);
+        row.addField(new BooleanColumn(false));
+        row.addField(new ByteColumn((byte) -1));
+        row.addField(new ShortColumn((short) -300));
+        row.addField(new IntColumn(Integer.MIN_VALUE));
+        row.addField(new LongColumn(Long.MAX_VALUE));
+        row.addField(new FloatColumn(1.5F));
+        row.addField(new DoubleColumn(-2.5D));
+        row.addField(new StringColumn(text));
+        row.addField(new BytesColumn(new byte[] {0, -1, 127}));
+        row.addField(new BigDecimalColumn(new BigDecimal("-3.25")));
+        WIDE_ROW_TYPE.getFieldNames().forEach(row::addHeader);
+        return row;
+    }
+
+    private static ColumnRowData newRow(boolean withHeader) {
+        ColumnRowData row = new ColumnRowData(RowKind.UPDATE_AFTER, 2);
+        row.addField(new IntColumn(1));
+        row.addField(new StringColumn("chunjun"));
+        if (withHeader) {
+            row.addHeader("id");
+            row.addHeader("name");
+        }
+        return row;
+    }
+
+    private static byte[] serialize(ColumnRowDataSerializer serializer, RowData row)
+            throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(64);
+        serializer.serialize(row, out);
+        return out.getCopyOfBuffer();
+    }
+
+    private static ColumnRowData deserialize(ColumnRowDataSerializer serializer, byte[] bytes)
+            throws IOException {
+        return serializer.deserialize(new DataInputDeserializer(bytes));
+    }
+
+    /** Compares field by field, as {@link ColumnRowData#equals} compares byte[] by reference. */
+    private static void assertSameColumns(ColumnRowData expected, ColumnRowData actual) {
+        Assertions.assertEquals(expected.getArity(), actual.getArity());
+        Assertions.assertEquals(expected.getRowKind(), actual.getRowKind());
+        Assertions.assertEquals(expected.getByteSize(), actual.getByteSize());
+        Assertions.assertEquals(expected.getHeaderInfo(), actual.getHeaderInfo());
+        Assertions.assertEquals(expected.getExtHeader(), actual.getExtHeader());
+        for (int i = 0; i < expected.getArity(); i++) {
+            AbstractBaseColumn e = expected.getField(i);
+            AbstractBaseColumn a = actual.getField(i);
+            Assertions.assertEquals(e.getClass(), a.getClass(), "field " + i);
+            if (e.getData() instanceof byte[]) {
+                Assertions.assertArrayEquals((byte[]) e.getData(), (byte[]) a.getData());
+            } else {
+                Assertions.assertEquals(e.getData(), a.getData(), "field " + i);
+            }
+        }
+    }
+
+    private static void assertRowEquals(ColumnRowData expected, ColumnRowData actual) {
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected.getRowKind(), actual.getRowKind());
+        Assertions.assertEquals(expected.getByteSize(), actual.getByteSize());
+        Assertions.assertEquals(expected.getHeaderInfo(), actual.getHeaderInfo());
+        Assertions.assertEquals(expected.getExtHeader(), actual.getExtHeader());
+    }
+
+    @Test
+    public void testDictionaryRoundTrip() throws IOException {
+        ColumnRowDataSerializer legacy = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowDataSerializer interning = new ColumnRowDataSerializer(ROW_TYPE, FIELD_LAYOUT);
+        ColumnRowData row = newRow(true);
+
+        byte[] bytes = serialize(interning, row);
+        Assertions.assertTrue(bytes.length < serialize(legacy, row).length);
+        assertRowEquals(row, deserialize(interning, bytes));
+    }
+
+    @Test
+    public void testUnregisteredHeaderIsWrittenInline() throws IOException {
+        ColumnRowDataSerializer legacy = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowDataSerializer interning = new ColumnRowDataSerializer(ROW_TYPE, FIELD_LAYOUT);
+
+        ColumnRowData withExtHeader = newRow(true);
+        withExtHeader.addExtHeader("name");
+        ColumnRowData withoutHeader = newRow(false);
+
+        for (ColumnRowData row : new ColumnRowData[] {withExtHeader, withoutHeader}) {
+            byte[] bytes = serialize(interning, row);
+            Assertions.assertArrayEquals(serialize(legacy, row), bytes);
+            assertRowEquals(row, deserialize(interning, bytes));
+        }
+    }
+
+    @Test
+    public void testReadLegacyBytes() throws IOException {
+        ColumnRowDataSerializer legacy = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowDataSerializer interning = new ColumnRowDataSerializer(ROW_TYPE, FIELD_LAYOUT);
+        ColumnRowData row = newRow(true);
+
+        assertRowEquals(row, deserialize(interning, serialize(legacy, row)));
+        Assertions.assertThrows(
+                IOException.class, () -> deserialize(legacy, serialize(interning, row)));
+    }
+
+    @Test
+    public void testBinaryCopy() throws IOException {
+        ColumnRowDataSerializer interning = new ColumnRowDataSerializer(ROW_TYPE, FIELD_LAYOUT);
+        for (ColumnRowData row : new ColumnRowData[] {newRow(true), newRow(false)}) {
+            byte[] bytes = serialize(interning, row);
+            DataOutputSerializer out = new DataOutputSerializer(64);
+            interning.copy(new DataInputDeserializer(bytes), out);
+            Assertions.assertArrayEquals(bytes, out.getCopyOfBuffer());
+        }
+    }
+
+    @Test
+    public void testDuplicateAndEquals() {
+        ColumnRowDataSerializer legacy = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowDataSerializer interning = new ColumnRowDataSerializer(ROW_TYPE, FIELD_LAYOUT);
+
+        Assertions.assertNotEquals(legacy, interning);
+        Assertions.assertEquals(interning, interning.duplicate());
+        Assertions.assertEquals(interning.hashCode(), interning.duplicate().hashCode());
+    }
+
+    @Test
+    public void testSnapshotCompatibility() throws IOException {
+        HeaderDictionary dictionary = FIELD_LAYOUT;
+        HeaderDictionary extended =
+                HeaderDictionary.builder()
+                        .addLayout(ROW_TYPE.getFieldNames(), Collections.emptyList())
+                        .addLayout(ROW_TYPE.getFieldNames(), Collections.singleton("name"))
+                        .build();
+        ColumnRowDataSerializer legacy = new ColumnRowDataSerializer(ROW_TYPE);
+        ColumnRowDataSerializer interning = new ColumnRowDataSerializer(ROW_TYPE, dictionary);
+        ColumnRowDataSerializer extendedInterning = new ColumnRowDataSerializer(ROW_TYPE, extended);
+
+        TypeSerializerSnapshot<RowData> snapshot = restoreSnapshot(interning);
+        Assertions.assertEquals(interning, snapshot.restoreSerializer());
+
+        Assertions.assertTrue(snapshot.resolveSchemaCompatibility(interning).isCompatibleAsIs());
+        Assertions.assertTrue(
+                snapshot.resolveSchemaCompatibility(extendedInterning).isCompatibleAsIs());
+        Assertions.assertTrue(
+                snapshot.resolveSchemaCompatibility(legacy).isCompatibleAfterMigration());
+        Assertions.assertTrue(
+                restoreSnapshot(legacy).resolveSchemaCompatibility(interning).isCompatibleAsIs());
+
+        TypeSerializerSchemaCompatibility<RowData> shrunk =
+                restoreSnapshot(extendedInterning).resolveSchemaCompatibility(interning);
+        Assertions.assertTrue(shrunk.isCompatibleAfterMigration());
+    }
+
+    @Test
+    public void testDeserializeIntoPrimitiveRow() throws IOException {
+        ColumnRowDataSerializer legacy = new ColumnRowDataSerializer(WIDE_ROW_TYPE);
+        ColumnRowDataSerializer interning =
+                new ColumnRowDataSerializer(
+                        WIDE_ROW_TYPE,
+                        HeaderDictionary.builder()
+                                .addLayout(WIDE_ROW_TYPE.getFieldNames(), Collections.emptyList())
+                                .build());
+        ColumnRowData withExtHeader = newWideRow("中文");
+        withExtHeader.addExtHeader("t");
+
+        for (ColumnRowDataSerializer serializer : Arrays.asList(legacy, interning)) {
+            for (ColumnRowData row : Arrays.asList(newWideRow("chunjun"), withExtHeader)) {
+                byte[] bytes = serialize(serializer, row);
+                ColumnRowData deserialized = deserialize(serializer, bytes);
+
+                Assertions.assertInstanceOf(PrimitiveColumnRowData.class, deserialized);
+                assertSameColumns(row, deserialized);
+                assertSameColumns(row, (ColumnRowData) serializer.copy(deserialized));
+                // the primitive row writes the same bytes as the row it was read from
+                Assertions.assertArrayEquals(bytes, serialize(serializer, deserialized));
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveNulls() throws IOException {
+        ColumnRowDataSerializer serializer = new ColumnRowDataSerializer(WIDE_ROW_TYPE);
+        ColumnRowData row = new ColumnRowData(RowKind.DELETE, 10);
+        for (int i = 0; i < 10; i++) {
+            row.addField(new NullColumn());
+        }
+
+        byte[] bytes = serialize(serializer, row);
+        ColumnRowData deserialized = deserialize(serializer, bytes);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(deserialized.isNullAt(i));
+        }
+        assertRowEquals(row, deserialized);
+        Assertions.assertArrayEquals(bytes, serialize(serializer, deserialized));
+    }
+
+    @Test
+    public void testUtf8Strings() throws IOException {
+        ColumnRowDataSerializer serializer = new ColumnRowDataSerializer(WIDE_ROW_TYPE);
+        String[] texts = {"", "ascii", "中文", "emoji \uD83D\uDE00", "\u0000\u07FF\uFFFF"};
+        for (String text : texts) {
+            ColumnRowData row = newWideRow(text);
+            byte[] bytes = serialize(serializer, row);
+            ColumnRowData deserialized = deserialize(serializer, bytes);
+            Assertions.assertEquals(text, deserialized.getField(7).asString());
+            Assertions.assertEquals(StringData.fromString(text), deserialized.getString(7));
+            Assertions.assertArrayEquals(bytes, serialize(serializer, deserialized));
+        }
+
+        // an unpaired surrogate has no UTF-8 form and is read as '?', like String.getBytes does
+        ColumnRowData deserialized =
+                deserialize(serializer, serialize(serializer, newWideRow("a\uD800b")));
+        Assertions.assertEquals("a?b", deserialized.getField(7).asString());
+    }
+
+    @Test
+    public void testReusePrimitiveRow() throws IOException {
+        ColumnRowDataSerializer serializer = new ColumnRowDataSerializer(WIDE_ROW_TYPE);
+        ColumnRowData withHeader = newWideRow("first");
+        withHeader.addExtHeader("bin");
+        ColumnRowData withoutHeader = new ColumnRowData(RowKind.UPDATE_BEFORE, 10);
+        for (int i = 0; i < 10; i++) {
+            withoutHeader.addField(i == 3 ? new IntColumn(7) : new NullColumn());
+        }
+
+        ColumnRowData reuse = serializer.createInstance();
+        for (ColumnRowData row : Arrays.asList(withHeader, withoutHeader, withHeader)) {
+            ColumnRowData deserialized =
+                    serializer.deserialize(
+                            reuse, new DataInputDeserializer(serialize(serializer, row)));
+            Assertions.assertSame(reuse, deserialized);
+            assertSameColumns(row, deserialized);
+        }
+
+        // a row of another class is not reused
+        ColumnRowData other = new ColumnRowData(10);
+        Assertions.assertNotSame(
+                other,
+                serializer.deserialize(
+                        other, new DataInputDeserializer(serialize(serializer, withHeader))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOwnSerializerKeepsColumnRowData() throws IOException {
+        ColumnRowDataSerializer serializer =
+                new ColumnRowDataSerializer(
+                        new LogicalType[] {new IntType(), new VarCharType()},
+                        new TypeSerializer[] {
+                            new StringColumnSerializer(""), new StringColumnSerializer("")
+                        });
+        ColumnRowData row = new ColumnRowData(2);
+        row.addField(new StringColumn("1"));
+        row.addField(new StringColumn("chunjun"));
+
+        ColumnRowData deserialized = deserialize(serializer, serialize(serializer, row));
+        Assertions.assertFalse(deserialized instanceof PrimitiveColumnRowData);
+        assertRowEquals(row, deserialized);
+
+        ColumnRowDataSerializer defaults =
+                new ColumnRowDataSerializer(
+                        new LogicalType[] {new IntType()},
+                        new TypeSerializer[] {IntColumnSerializer.INSTANCE});
+        Assertions.assertInstanceOf(PrimitiveColumnRowData.class, defaults.createInstance());
+    }
+
+    private static TypeSerializerSnapshot<RowData> restoreSnapshot(
+            TypeSerializer<RowData> serializer) throws IOException {
+        TypeSerializerSnapshot<RowData> snapshot = serializer.snapshotConfiguration();
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        TypeSerializerSnapshot.writeVersionedSnapshot(out, snapshot);
+        return TypeSerializerSnapshot.readVersionedSnapshot(
+                new DataInputDeserializer(out.getCopyOfBuffer()),
+                ColumnRowDataSerializerTest.class.getClassLoader());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ByteLineReaderTest {
+
+    private static final String[] CASES = {
+        "",
+        "a",
+        "a\n",
+        "a\nb",
+        "a\r\nb\r\n",
+        "a\rb\r",
+        "\n\n\r\n\r\r",
+        "中文,1\r\n\r\nx\n",
+        "long line " + repeat("0123456789", 20) + "\r\nnext",
+    };
+
+    private static String repeat(String s, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    private static List<String> expected(String text) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new StringReader(text));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static List<String> read(ByteLineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        while (reader.readLine()) {
+            lines.add(
+                    new String(
+                            reader.getBytes(),
+                            reader.getOffset(),
+                            reader.getLength(),
+                            StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    @Test
+    public void testSameAsBufferedReader() throws IOException {
+        // small buffers put line terminators, \r\n pairs and multi-byte characters on boundaries
+        for (int bufferSize : new int[] {1, 2, 3, 7, 64 * 1024}) {
+            for (String text : CASES) {
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                ByteLineReader reader =
+                        new ByteLineReader(new ByteArrayInputStream(bytes), bufferSize);
+                List<String> lines = read(reader);
+                assertEquals(expected(text), lines, text + ", buffer " + bufferSize);
+                assertEquals(lines.size(), reader.getLineNumber());
+                assertEquals(bytes.length, reader.getBytesRead(), text);
+            }
+        }
+    }
+
+    @Test
+    public void testBytesRead() throws IOException {
+        ByteLineReader reader =
+                new ByteLineReader(
+                        new ByteArrayInputStream("ab\r\ncd\ne".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(reader.readLine());
+        assertEquals(4, reader.getBytesRead());
+        assertTrue(reader.readLine());
+        assertEquals(7, reader.getBytesRead());
+        assertTrue(reader.readLine());
+        assertEquals(8, reader.getBytesRead());
+        assertFalse(reader.readLine());
+    }
+
+    @Test
+    public void testLineInReadBufferIsNotCopied() throws IOException {
+        ByteLineReader reader =
+                new ByteLineReader(
+                        new ByteArrayInputStream("a,b\nc,d\n".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(reader.readLine());
+        byte[] buffer = reader.getBytes();
+        assertEquals(0, reader.getOffset());
+        assertTrue(reader.readLine());
+        assertSame(buffer, reader.getBytes());
+        assertEquals(4, reader.getOffset());
+        assertEquals(3, reader.getLength());
+    }
+
+    @Test
+    public void testShortReads() throws IOException {
+        // streams such as sockets may return fewer bytes than requested, or none at all
+        byte[] bytes = "x,1\r\ny,2".getBytes(StandardCharsets.UTF_8);
+        InputStream in =
+                new InputStream() {
+                    private int position;
+                    private boolean empty;
+
+                    @Override
+                    public int read() {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) {
+                        if (position == bytes.length) {
+                            return -1;
+                        }
+                        empty = !empty;
+                        if (empty) {
+                            return 0;
+                        }
+                        b[off] = bytes[position++];
+                        return 1;
+                    }
+                };
+        ByteLineReader reader = new ByteLineReader(in);
+        List<String> lines = read(reader);
+        assertEquals(expected("x,1\r\ny,2"), lines);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DelimitedTextTokenizerTest {
+
+    private static String[] tokenize(DelimitedTextTokenizer tokenizer, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        String[] fields = new String[tokenizer.tokenize(bytes, 0, bytes.length)];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = tokenizer.getString(i);
+        }
+        return fields;
+    }
+
+    @Test
+    public void testSameAsSplitByWholeSeparator() {
+        String[][] cases = {
+            {",", "a,b,c"},
+            {",", ",a,,b,"},
+            {",", ""},
+            {",", ","},
+            {"||", "中文||b|||c"},
+            {"aa", "aaa"},
+            {"\u0001", "1\u0001\u0001name"},
+        };
+        for (String[] testCase : cases) {
+            DelimitedTextTokenizer tokenizer =
+                    new DelimitedTextTokenizer(testCase[0], StandardCharsets.UTF_8);
+            assertArrayEquals(
+                    StringUtils.splitByWholeSeparatorPreserveAllTokens(testCase[1], testCase[0]),
+                    tokenize(tokenizer, testCase[1]),
+                    testCase[1]);
+        }
+    }
+
+    @Test
+    public void testReuseAndOffset() {
+        DelimitedTextTokenizer tokenizer = new DelimitedTextTokenizer(",", StandardCharsets.UTF_8);
+        for (int i = 0; i < 40; i++) {
+            tokenize(tokenizer, StringUtils.repeat("x", ",", i + 1));
+            assertEquals(i + 1, tokenizer.size());
+        }
+
+        // the backing array of a hadoop Text can be longer than the line
+        byte[] bytes = "##x,y#".getBytes(StandardCharsets.UTF_8);
+        assertEquals(2, tokenizer.tokenize(bytes, 2, 3));
+        assertEquals("x", tokenizer.getString(0));
+        assertEquals("y", tokenizer.getString(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokenizer.getString(2));
+    }
+
+    @Test
+    public void testTrimWhitespaceAndBlank() {
+        DelimitedTextTokenizer tokenizer = new DelimitedTextTokenizer(",", StandardCharsets.UTF_8);
+        tokenize(tokenizer, " a , \tb\t,, \t ,中 文 ");
+        assertTrue(tokenizer.isBlank(2));
+        assertTrue(tokenizer.isBlank(3));
+        assertFalse(tokenizer.isBlank(0));
+        tokenizer.trimWhitespace();
+        assertArrayEquals(new String[] {"a", "b", "", "", "中 文"}, tokenizer.toStringArray());
+
+        // full-width space is whitespace to StringUtils.isBlank as well
+        tokenize(tokenizer, "\u3000,\u00a0");
+        assertTrue(tokenizer.isBlank(0));
+        assertFalse(tokenizer.isBlank(1));
+        assertEquals(0, tokenizer.tokenize(new byte[0], 0, 0));
+        assertEquals(0, tokenizer.toStringArray().length);
+    }
+
+    @Test
+    public void testTypedAccessors() {
+        DelimitedTextTokenizer tokenizer = new DelimitedTextTokenizer(",", StandardCharsets.UTF_8);
+        tokenize(tokenizer, "123,-45,+6,9223372036854775807,-2147483648,TrUe,truex,\\N,,abc,-");
+        assertEquals(123L, tokenizer.getLong(0));
+        assertEquals(-45, tokenizer.getInt(1));
+        assertEquals(6L, tokenizer.getLong(2));
+        assertEquals(Long.MAX_VALUE, tokenizer.getLong(3));
+        assertEquals(Integer.MIN_VALUE, tokenizer.getInt(4));
+        assertTrue(tokenizer.getBoolean(5));
+        assertFalse(tokenizer.getBoolean(6));
+        assertTrue(tokenizer.fieldEquals(7, "\\N".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(tokenizer.fieldEquals(9, "\\N".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(tokenizer.isEmpty(8));
+        assertThrows(NumberFormatException.class, () -> tokenizer.getInt(9));
+        assertThrows(NumberFormatException.class, () -> tokenizer.getLong(10));
+        assertThrows(NumberFormatException.class, () -> tokenizer.getInt(3));
+    }
+}
@@ -23,14 +23,29 @@ import com.dtstack.chunjun.config.TypeConfig;
 import com.dtstack.chunjun.converter.RawTypeMapper;
 
 import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
+import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.CloseableIterator;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -73,6 +88,43 @@ public class TableUtilTest {
         assertEquals(1, typeInformation.getTotalFields());
     }
 
+    @Test
+    public void testChangelogStreamKeepsRowKind() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(1);
+        StreamTableEnvironment tableEnv = StreamTableEnvironment.create(env);
+
+        RowType rowType =
+                RowType.of(
+                        new LogicalType[] {new IntType(), new VarCharType(VarCharType.MAX_LENGTH)},
+                        new String[] {"id", "name"});
+        List<RowData> rows =
+                Arrays.asList(
+                        GenericRowData.ofKind(RowKind.INSERT, 1, StringData.fromString("a")),
+                        GenericRowData.ofKind(RowKind.INSERT, 2, StringData.fromString("b")),
+                        GenericRowData.ofKind(RowKind.UPDATE_BEFORE, 2, StringData.fromString("b")),
+                        GenericRowData.ofKind(RowKind.UPDATE_AFTER, 2, StringData.fromString("c")),
+                        GenericRowData.ofKind(RowKind.DELETE, 2, StringData.fromString("c")));
+        DataStream<RowData> source = env.fromCollection(rows, InternalTypeInfo.of(rowType));
+
+        tableEnv.createTemporaryView("src", TableUtil.fromChangelogStream(tableEnv, source));
+        Table table = tableEnv.sqlQuery("select name, id + 1 as next_id from src where id > 1");
+        DataStream<RowData> result = TableUtil.toChangelogStream(tableEnv, table);
+
+        List<String> actual = new ArrayList<>();
+        try (CloseableIterator<RowData> iterator = result.executeAndCollect()) {
+            while (iterator.hasNext()) {
+                RowData rowData = iterator.next();
+                actual.add(
+                        rowData.getRowKind().shortString()
+                                + rowData.getString(0)
+                                + ","
+                                + rowData.getInt(1));
+            }
+        }
+        assertEquals(Arrays.asList("+Ib,3", "-Ub,3", "+Uc,3", "-Dc,3"), actual);
+    }
+
     private class MockRawTypeMapper implements RawTypeMapper {
 
         @Override
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtstack.chunjun.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TextSplitUtilTest {
+
+    private static final byte[] LF = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testFindRecordStartWithoutQuote() {
+        byte[] data = "abc,\"d\ne\",f\n1,2,3\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(
+                7,
+                TextSplitUtil.findRecordStart(
+                        data, data.length, LF, COMMA, TextSplitUtil.NO_QUOTE));
+    }
+
+    @Test
+    public void testFindRecordStartSkipsQuotedLineBreak() {
+        String data = "1,\"first\nsecond \"\"quoted\"\"\",x\n2,\"y\",z\n";
+        byte[] bytes = data.substring(data.indexOf("first")).getBytes(StandardCharsets.UTF_8);
+        int offset = TextSplitUtil.findRecordStart(bytes, bytes.length, LF, COMMA, '"');
+        assertEquals("2,\"y\",z\n", new String(bytes, offset, bytes.length - offset));
+    }
+
+    @Test
+    public void testFindRecordStartWithCrlf() {
+        byte[] data = "a\",b\r\n3,\"c\"\r\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(6, TextSplitUtil.findRecordStart(data, data.length, LF, COMMA, '"'));
+    }
+
+    @Test
+    public void testComputeSplitPoints() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        Set<Long> recordStarts = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            recordStarts.add((long) sb.length());
+            sb.append(i).append(',');
+            if (i % 3 == 0) {
+                sb.append("\"multi\nline, \"\"").append(i).append("\"\"\n\"");
+            } else {
+                sb.append("plain").append(i);
+            }
+            sb.append(',').append(i * 7).append('\n');
+        }
+        byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        long[] points =
+                TextSplitUtil.computeSplitPoints(
+                        data.length,
+                        16,
+                        position ->
+                                new ByteArrayInputStream(
+                                        data, (int) position, data.length - (int) position),
+                        LF,
+                        COMMA,
+                        '"',
+                        4096);
+
+        assertEquals(17, points.length);
+        assertEquals(0, points[0]);
+        assertEquals(data.length, points[points.length - 1]);
+        for (int i = 1; i < points.length - 1; i++) {
+            assertTrue(points[i] > points[i - 1]);
+            assertTrue(recordStarts.contains(points[i]), "not a record start: " + points[i]);
+        }
+    }
+
+    @Test
+    public void testComputeSplitPointsMergesLongRecord() throws IOException {
+        byte[] data =
+                "1,2\n3333333333333333333333333333333333333,4\n5,6\n"
+                        .getBytes(StandardCharsets.UTF_8);
+        long[] points =
+                TextSplitUtil.computeSplitPoints(
+                        data.length,
+                        4,
+                        position ->
+                                new ByteArrayInputStream(
+                                        data, (int) position, data.length - (int) position),
+                        LF,
+                        COMMA,
+                        TextSplitUtil.NO_QUOTE,
+                        8);
+        assertEquals(0, points[0]);
+        assertEquals(data.length, points[points.length - 1]);
+        for (int i = 1; i < points.length - 1; i++) {
+            assertEquals('\n', data[(int) points[i] - 1]);
+        }
+    }
+}